@@ -0,0 +1,84 @@
+package com.earcutj.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.earcutj.Earcut;
+import com.earcutj.EarcutContext;
+
+/** Measures triangulation throughput over the PolygonFixture corpus. Run with "-prof gc" to report the allocation rate of each entry point; the "vertices" counter reports throughput in vertices, the inverse of which is the per-vertex cost. **/
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class EarcutBenchmark {
+
+	@Param({ "QUAD", "GLYPH_W", "BUILDING_1K", "BUILDING_10K", "WATER_100_HOLES", "WATER_2500_HOLES", "COASTLINE_100K", "SELF_INTERSECTING", "DEGENERATE" })
+	public PolygonFixture mFixture;
+
+	/* Member Variables. */
+	private float[]       mCoordinates;
+	private int[]         mHoleIndices;
+	private float[][][]   mRings;
+	private EarcutContext mContext;
+
+	/** Counts the vertices triangulated by each benchmark invocation. **/
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	public static class VertexCounter {
+
+		public long vertices;
+
+		@Setup(Level.Iteration)
+		public void onReset() {
+			this.vertices = 0;
+		}
+
+	}
+
+	@Setup(Level.Trial)
+	public void onSetup() {
+		this.mCoordinates = this.mFixture.getCoordinates();
+		this.mHoleIndices = this.mFixture.getHoleIndices();
+		this.mRings       = this.mFixture.getRings();
+		this.mContext     = new EarcutContext();
+	}
+
+	/** The nested float[][][] entry point, returning a List of triangle co-ordinates. **/
+	@Benchmark
+	public List<float[][]> earcut(final VertexCounter pCounter) {
+		pCounter.vertices += this.mCoordinates.length >> 1;
+		return Earcut.earcut(this.mRings, true);
+	}
+
+	/** The flat array entry point, returning a fresh array of vertex indices. **/
+	@Benchmark
+	public int[] triangulate(final VertexCounter pCounter) {
+		pCounter.vertices += this.mCoordinates.length >> 1;
+		return Earcut.triangulate(this.mCoordinates, this.mHoleIndices, 2);
+	}
+
+	/** A reused EarcutContext, which should allocate nothing once warmed up. **/
+	@Benchmark
+	public int triangulateWithContext(final VertexCounter pCounter) {
+		pCounter.vertices += this.mCoordinates.length >> 1;
+		return this.mContext.triangulate(this.mCoordinates, this.mHoleIndices, 2);
+	}
+
+}
@@ -0,0 +1,227 @@
+package com.earcutj.benchmark;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/** A corpus of polygons of increasing size and difficulty. Each fixture is generated deterministically as a flat co-ordinate array with hole indices. **/
+public enum PolygonFixture {
+
+	/** A single convex quad. **/
+	QUAD {
+		@Override protected void onGenerate(final Builder pBuilder, final Random pRandom) {
+			pBuilder.onVertex(10, 0).onVertex(0, 50).onVertex(60, 60).onVertex(70, 10);
+		}
+	},
+	/** The outline of a letter W. (Font: Pacifico.ttf) **/
+	GLYPH_W {
+		@Override protected void onGenerate(final Builder pBuilder, final Random pRandom) {
+			for(int i = 0; i < PolygonFixture.LETTER_W.length; i += 2) {
+				pBuilder.onVertex(PolygonFixture.LETTER_W[i], PolygonFixture.LETTER_W[i + 1]);
+			}
+		}
+	},
+	/** A rectilinear building footprint with 1000 vertices, made up of many small recesses. **/
+	BUILDING_1K {
+		@Override protected void onGenerate(final Builder pBuilder, final Random pRandom) {
+			PolygonFixture.onBuilding(pBuilder, pRandom, 250);
+		}
+	},
+	/** A rectilinear building footprint with 10000 vertices. **/
+	BUILDING_10K {
+		@Override protected void onGenerate(final Builder pBuilder, final Random pRandom) {
+			PolygonFixture.onBuilding(pBuilder, pRandom, 2500);
+		}
+	},
+	/** A lake with a 5000 vertex shoreline and 100 islands. **/
+	WATER_100_HOLES {
+		@Override protected void onGenerate(final Builder pBuilder, final Random pRandom) {
+			PolygonFixture.onWater(pBuilder, pRandom, 5000, 10);
+		}
+	},
+	/** A lake with a 20000 vertex shoreline and 2500 islands. **/
+	WATER_2500_HOLES {
+		@Override protected void onGenerate(final Builder pBuilder, final Random pRandom) {
+			PolygonFixture.onWater(pBuilder, pRandom, 20000, 50);
+		}
+	},
+	/** A 100000 vertex coastline, digitized at a fine spacing. **/
+	COASTLINE_100K {
+		@Override protected void onGenerate(final Builder pBuilder, final Random pRandom) {
+			PolygonFixture.onStar(pBuilder, pRandom, 100000, 10000.0, 0.8);
+		}
+	},
+	/** A ring of random points which crosses itself repeatedly, forcing the CURE and SPLIT stages of the ear slicing loop. **/
+	SELF_INTERSECTING {
+		@Override protected void onGenerate(final Builder pBuilder, final Random pRandom) {
+			for(int i = 0; i < 200; i++) {
+				pBuilder.onVertex(pRandom.nextInt(100), pRandom.nextInt(100));
+			}
+		}
+	},
+	/** A ring containing duplicate, collinear and self-touching vertices. **/
+	DEGENERATE {
+		@Override protected void onGenerate(final Builder pBuilder, final Random pRandom) {
+			/* A comb whose teeth touch the spine at shared vertices, with every point repeated. */
+			for(int i = 0; i < 100; i++) {
+				pBuilder.onVertex(i * 10, 0).onVertex(i * 10, 0).onVertex(i * 10 + 5, 0).onVertex(i * 10 + 5, 50).onVertex(i * 10 + 5, 0);
+			}
+			pBuilder.onVertex(1000, 0).onVertex(1000, 100).onVertex(500, 100).onVertex(0, 100);
+		}
+	};
+
+	/* Default Declarations. */
+	private static final long SEED = 0x5EEDL;
+
+	private static final float[] LETTER_W = new float[]{
+		864,1542, 859,1499, 847,1441, 828,1369, 806,1288, 781,1201, 752,1099, 723,997,
+		698,892, 673,787, 656,685, 640,584, 640,497, 640,426, 649,364, 659,303,
+		679,257, 699,212, 729,186, 759,160, 800,160, 841,160, 879,184, 918,208,
+		954,250, 990,292, 1023,350, 1056,408, 1086,475, 1117,543, 1144,617, 1171,692,
+		1195,768, 1279,1036, 1344,1377, 1357,1427, 1372,1469, 1390,1502, 1412,1528, 1436,1546,
+		1465,1559, 1498,1565, 1536,1568, 1570,1566, 1598,1561, 1620,1552, 1637,1542, 1649,1528,
+		1658,1513, 1662,1495, 1664,1475, 1662,1456, 1656,1416, 1646,1357, 1635,1284, 1623,1204,
+		1608,1102, 1594,1000, 1581,892, 1569,785, 1561,680, 1553,575, 1553,487, 1553,397,
+		1559,324, 1566,252, 1581,201, 1597,150, 1622,123, 1647,96, 1684,96, 1748,96,
+		1800,146, 1853,196, 1896,279, 1940,363, 1974,473, 2009,583, 2035,703, 2062,823,
+		2081,945, 2101,1067, 2114,1175, 2127,1284, 2134,1370, 2142,1457, 2145,1506, 2151,1552,
+		2163,1588, 2181,1615, 2203,1636, 2228,1650, 2257,1658, 2288,1662, 2320,1664, 2343,1662,
+		2365,1658, 2384,1650, 2401,1639, 2414,1623, 2424,1603, 2430,1577, 2432,1546, 2428,1445,
+		2419,1336, 2405,1223, 2388,1111, 2369,999, 2348,891, 2327,789, 2308,698, 2291,618,
+		2277,553, 2265,494, 2265,478, 2265,439, 2276,411, 2287,384, 2305,366, 2324,348,
+		2349,340, 2375,332, 2404,332, 2433,332, 2463,345, 2494,359, 2522,383, 2550,407,
+		2573,440, 2597,474, 2613,515, 2630,308, 2554,232, 2477,174, 2401,137, 2330,125,
+		2298,127, 2268,135, 2240,148, 2216,168, 2195,193, 2179,225, 2166,263, 2158,308,
+		2106,219, 2050,140, 1991,71, 1928,13, 1862,-33, 1793,-67, 1721,-88, 1648,-96,
+		1560,-83, 1486,-46, 1426,13, 1378,90, 1342,183, 1318,292, 1303,411, 1299,539,
+		1300,585, 1304,629, 1309,671, 1312,704, 1271,494, 1221,322, 1162,184, 1093,76,
+		1014,-3, 925,-56, 825,-86, 716,-96, 651,-85, 590,-52, 533,1, 484,77,
+		443,173, 411,292, 390,432, 384,595, 387,702, 396,812, 410,924, 430,1036,
+		455,1147, 486,1258, 521,1366, 561,1472, 586,1523, 611,1562, 636,1590, 662,1610,
+		688,1622, 714,1629, 741,1631, 768,1632, 789,1631, 808,1629, 824,1624, 838,1616,
+		849,1604, 857,1589, 862,1568, 864,1542,
+	};
+
+	/* Member Variables. */
+	private float[] mCoordinates;
+	private int[]   mHoleIndices;
+
+	/** Generates the fixture's rings into the supplied Builder. **/
+	protected abstract void onGenerate(final Builder pBuilder, final Random pRandom);
+
+	/** Returns the fixture as an array of interleaved x, y co-ordinates. **/
+	public final synchronized float[] getCoordinates() {
+		this.onEnsureGenerated();
+		return this.mCoordinates;
+	}
+
+	/** Returns the vertex index at which each hole begins. **/
+	public final synchronized int[] getHoleIndices() {
+		this.onEnsureGenerated();
+		return this.mHoleIndices;
+	}
+
+	public final int getVertexCount() {
+		return this.getCoordinates().length / 2;
+	}
+
+	/** Returns the fixture as an array of rings, where the first is the outer ring and others are holes. **/
+	public final float[][][] getRings() {
+		final float[] lCoordinates = this.getCoordinates();
+		final int[]   lHoleIndices = this.getHoleIndices();
+		final float[][][] lRings   = new float[lHoleIndices.length + 1][][];
+		for(int i = 0; i < lRings.length; i++) {
+			final int lStart = i == 0 ? 0 : lHoleIndices[i - 1];
+			final int lEnd   = i == lHoleIndices.length ? lCoordinates.length / 2 : lHoleIndices[i];
+			lRings[i] = new float[lEnd - lStart][];
+			for(int j = lStart; j < lEnd; j++) {
+				lRings[i][j - lStart] = new float[]{ lCoordinates[j * 2], lCoordinates[j * 2 + 1] };
+			}
+		}
+		return lRings;
+	}
+
+	private final void onEnsureGenerated() {
+		if(this.mCoordinates == null) {
+			final Builder lBuilder = new Builder();
+			this.onGenerate(lBuilder, new Random(PolygonFixture.SEED));
+			this.mCoordinates = lBuilder.getCoordinates();
+			this.mHoleIndices = lBuilder.getHoleIndices();
+		}
+	}
+
+	/** Generates a jittered star-shaped ring of pCount vertices. **/
+	private static final void onStar(final Builder pBuilder, final Random pRandom, final int pCount, final double pRadius, final double pJitter) {
+		for(int i = 0; i < pCount; i++) {
+			final double lAngle  = -2 * Math.PI * i / pCount;
+			final double lRadius = pRadius * (pJitter + (1 - pJitter) * pRandom.nextDouble());
+			pBuilder.onVertex((float)Math.rint(lRadius * Math.cos(lAngle)), (float)Math.rint(lRadius * Math.sin(lAngle)));
+		}
+	}
+
+	/** Generates a rectangular footprint whose long sides are cut by pRecesses rectangular recesses of random depth. **/
+	private static final void onBuilding(final Builder pBuilder, final Random pRandom, final int pRecesses) {
+		final int lWidth = pRecesses * 4;
+		/* The lower edge, cut by recesses, from left to right. */
+		for(int i = 0; i < pRecesses; i++) {
+			final int lDepth = 1 + pRandom.nextInt(20);
+			pBuilder.onVertex(i * 4 + 1, 0).onVertex(i * 4 + 1, lDepth).onVertex(i * 4 + 3, lDepth).onVertex(i * 4 + 3, 0);
+		}
+		pBuilder.onVertex(lWidth, 0).onVertex(lWidth, 100).onVertex(0, 100).onVertex(0, 0);
+	}
+
+	/** Generates a lake with a shoreline of pShoreline vertices and a pGrid x pGrid lattice of irregular islands. **/
+	private static final void onWater(final Builder pBuilder, final Random pRandom, final int pShoreline, final int pGrid) {
+		final double lRadius = 100.0 * pGrid;
+		PolygonFixture.onStar(pBuilder, pRandom, pShoreline, lRadius, 0.95);
+		/* Fit the lattice of islands inside the inscribed square of the shoreline. */
+		final double lSpacing = 1.2 * lRadius / pGrid;
+		for(int i = 0; i < pGrid; i++) {
+			for(int j = 0; j < pGrid; j++) {
+				final double lCenterX = -0.6 * lRadius + (i + 0.5) * lSpacing;
+				final double lCenterY = -0.6 * lRadius + (j + 0.5) * lSpacing;
+				final int    lCount   = 4 + pRandom.nextInt(12);
+				pBuilder.onHole();
+				for(int k = 0; k < lCount; k++) {
+					final double lAngle  = 2 * Math.PI * k / lCount;
+					final double lExtent = lSpacing * (0.15 + 0.2 * pRandom.nextDouble());
+					pBuilder.onVertex((float)(lCenterX + lExtent * Math.cos(lAngle)), (float)(lCenterY + lExtent * Math.sin(lAngle)));
+				}
+			}
+		}
+	}
+
+	/** Accumulates the co-ordinates and hole indices of a fixture. **/
+	protected static final class Builder {
+
+		/* Member Variables. */
+		private float[] mCoordinates = new float[64];
+		private int     mSize        = 0;
+		private int[]   mHoleIndices = new int[0];
+
+		protected final Builder onVertex(final float pX, final float pY) {
+			if(this.mSize + 2 > this.mCoordinates.length) {
+				this.mCoordinates = Arrays.copyOf(this.mCoordinates, this.mCoordinates.length << 1);
+			}
+			this.mCoordinates[this.mSize++] = pX;
+			this.mCoordinates[this.mSize++] = pY;
+			return this;
+		}
+
+		/** Begins a new hole at the next vertex. **/
+		protected final Builder onHole() {
+			this.mHoleIndices = Arrays.copyOf(this.mHoleIndices, this.mHoleIndices.length + 1);
+			this.mHoleIndices[this.mHoleIndices.length - 1] = this.mSize / 2;
+			return this;
+		}
+
+		protected final float[] getCoordinates() {
+			return Arrays.copyOf(this.mCoordinates, this.mSize);
+		}
+
+		protected final int[] getHoleIndices() {
+			return this.mHoleIndices;
+		}
+
+	}
+
+}
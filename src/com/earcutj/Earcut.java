@@ -1,8 +1,7 @@
 package com.earcutj;
 
+import java.nio.FloatBuffer;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
 
 import com.earcutj.exception.EarcutException;
@@ -10,162 +9,413 @@ import com.earcutj.exception.EarcutException;
 public final class Earcut {
 
 	private static final boolean NATIVE_FORCE_OPTIMIZATION = true;
-	
+
 	static {
 		if(Earcut.NATIVE_FORCE_OPTIMIZATION) {
 			/** TODO: Force JIT runtime compilation to native code. **/
 		}
 	}
-	
-	private static final Comparator<Node> COMPARATOR_SORT_BY_X         = new Comparator<Node>() { @Override public int compare(final Node pNodeA, final Node pNodeB) { return pNodeA.getX() < pNodeB.getX() ? -1 : pNodeA.getX() == pNodeB.getX() ? 0 : 1; } };
+
 	private static final int 			  CONTRACT_HOLES_INDEX		   = 1;
-	private static final int              DEFAULT_THRESHOLD_SIMPLICITY = 80;
-	private static final int			  DEFAULT_COORDINATE_RANGE     = 1000;
-	
+	private static final int              DEFAULT_THRESHOLD_HOLES      = 16;
+	private static final int              DEFAULT_THRESHOLD_SPLIT      = 64;
+	private static final int              DEFAULT_SPLIT_NEIGHBOURS     = 8;
+	private static final int			  DEFAULT_COORDINATE_RANGE     = 32767;
+	private static final int              NULL                         = NodePool.NULL;
+	static final int                      MAXIMUM_EXACT_COORDINATE     = 1 << 24;
+	private static final int[]            MORTON_SPREAD                = Earcut.onCreateMortonSpread();
+
 	private static enum EEarcutState {
 		INIT, CURE, SPLIT;
 	}
-	
+
 	/** Produces an array of vertices representing the triangulated result set of the Points array. **/
 	public static final List<float[][]> earcut(final float[][][] pPoints, final boolean pIsClockwise) {
-		/* Attempt to establish a doubly-linked list of the provided Points set, and then filter instances of intersections. */
-		Node lOuterNode = Earcut.onFilterPoints(Earcut.onCreateDoublyLinkedList(pPoints[0], pIsClockwise), null, false);
+		/* Flatten the rings into a single co-ordinate array. */
+		final int[]           lHoleIndices  = Earcut.getHoleIndices(pPoints);
+		final float[]         lCoordinates  = Earcut.getCoordinates(pPoints);
+		/* Triangulate the flattened rings. */
+		final int[]           lIndices      = Earcut.onTriangulate(lCoordinates, lHoleIndices, 2, pIsClockwise);
+		/* Define the TriangleList. */
+		final List<float[][]> lTriangleList = new ArrayList<float[][]>(lIndices.length / 3);
+		/* Convert each triangle's vertex indices back into co-ordinates. */
+		for(int i = 0; i < lIndices.length; i += 3) {
+			final int a = lIndices[i] << 1, b = lIndices[i + 1] << 1, c = lIndices[i + 2] << 1;
+			lTriangleList.add(new float[][]{ new float[]{ lCoordinates[a], lCoordinates[a + 1] }, new float[]{ lCoordinates[b], lCoordinates[b + 1] }, new float[]{ lCoordinates[c], lCoordinates[c + 1] } });
+		}
+		return lTriangleList;
+	}
+
+	/** Triangulates the Points array into an EarcutMesh, which stores each distinct vertex once alongside the triangle indices. Vertices shared between rings, such as a hole touching the outline, collapse onto a single mesh vertex. **/
+	public static final EarcutMesh earcutMesh(final float[][][] pPoints, final boolean pIsClockwise) {
+		/* Flatten the rings into a single co-ordinate array. */
+		final float[]       lCoordinates = Earcut.getCoordinates(pPoints);
+		final EarcutContext lContext     = new EarcutContext(lCoordinates.length >> 1);
+		/* Triangulate the flattened rings. */
+		Earcut.onTriangulate(lContext, lCoordinates, Earcut.getHoleIndices(pPoints), 2, pIsClockwise, lContext.getIndexBuffer());
+		/* Index the distinct vertices. */
+		return lContext.toMesh(lCoordinates, 2);
+	}
+
+	/** Triangulates a flat array of vertex co-ordinates into an EarcutMesh. **/
+	public static final EarcutMesh mesh(final float[] pCoordinates, final int[] pHoleIndices, final int pDimensions) {
+		/* Allocate a context sized to fit this polygon. */
+		final EarcutContext lContext = new EarcutContext(pCoordinates.length / pDimensions);
+		/* Triangulate the polygon. */
+		lContext.triangulate(pCoordinates, pHoleIndices, pDimensions);
+		/* Index the distinct vertices. */
+		return lContext.toMesh(pCoordinates, pDimensions);
+	}
+
+	/** Returns the vertex index at which each hole of the Points array begins, once its rings are flattened. **/
+	private static final int[] getHoleIndices(final float[][][] pPoints) {
+		final int[] lHoleIndices  = new int[Math.max(pPoints.length - Earcut.CONTRACT_HOLES_INDEX, 0)];
+		int         lVertexCount  = 0;
+		for(int i = 0; i < pPoints.length; i++) {
+			if(i >= Earcut.CONTRACT_HOLES_INDEX) {
+				lHoleIndices[i - Earcut.CONTRACT_HOLES_INDEX] = lVertexCount;
+			}
+			lVertexCount += pPoints[i].length;
+		}
+		return lHoleIndices;
+	}
+
+	/** Flattens the rings of the Points array into a single array of interleaved x and y co-ordinates. **/
+	private static final float[] getCoordinates(final float[][][] pPoints) {
+		int lVertexCount = 0;
+		for(int i = 0; i < pPoints.length; i++) {
+			lVertexCount += pPoints[i].length;
+		}
+		final float[] lCoordinates = new float[lVertexCount * 2];
+		for(int i = 0, j = 0; i < pPoints.length; i++) {
+			for(int k = 0; k < pPoints[i].length; k++) {
+				lCoordinates[j++] = pPoints[i][k][0];
+				lCoordinates[j++] = pPoints[i][k][1];
+			}
+		}
+		return lCoordinates;
+	}
+
+	/** Triangulates a flat array of vertex co-ordinates, where each vertex occupies pDimensions elements and only the first two are used. Holes begin at each vertex index in pHoleIndices (which may be null). Returns the vertex indices of the resulting triangles, three per triangle. **/
+	public static final int[] triangulate(final float[] pCoordinates, final int[] pHoleIndices, final int pDimensions) {
+		return Earcut.onTriangulate(pCoordinates, pHoleIndices, pDimensions, true);
+	}
+
+	/** Triangulates a flat array of vertex co-ordinates using the supplied EarcutOptions. **/
+	public static final int[] triangulate(final float[] pCoordinates, final int[] pHoleIndices, final int pDimensions, final EarcutOptions pOptions) {
+		/* Allocate a context sized to fit this polygon. */
+		final EarcutContext lContext = new EarcutContext(pCoordinates.length / pDimensions);
+		lContext.setOptions(pOptions);
+		/* Triangulate the polygon. */
+		lContext.triangulate(pCoordinates, pHoleIndices, pDimensions);
+		/* Return the vertex indices of the triangulation. */
+		return lContext.toIndexArray();
+	}
+
+	/** Triangulates a flat array of double precision vertex co-ordinates. Co-ordinates are evaluated at float precision, like the rest of the library. **/
+	public static final int[] triangulate(final double[] pCoordinates, final int[] pHoleIndices, final int pDimensions) {
+		/* Allocate a context sized to fit this polygon. */
+		final EarcutContext lContext = new EarcutContext(pCoordinates.length / pDimensions);
+		/* Triangulate the polygon. */
+		lContext.triangulate(pCoordinates, pHoleIndices, pDimensions);
+		/* Return the vertex indices of the triangulation. */
+		return lContext.toIndexArray();
+	}
+
+	/** Triangulates a flat array of integer vertex co-ordinates, such as the quantized geometry of a vector tile. Orientation and area tests are made exactly, in long arithmetic; co-ordinates must lie within +/-2^24. **/
+	public static final int[] triangulate(final int[] pCoordinates, final int[] pHoleIndices, final int pDimensions) {
+		/* Allocate a context sized to fit this polygon. */
+		final EarcutContext lContext = new EarcutContext(pCoordinates.length / pDimensions);
+		/* Triangulate the polygon. */
+		lContext.triangulate(pCoordinates, pHoleIndices, pDimensions);
+		/* Return the vertex indices of the triangulation. */
+		return lContext.toIndexArray();
+	}
+
+	/** Triangulates a flat array of vertex co-ordinates, passing each triangle to the TriangleSink as soon as it is cut rather than collecting the result. **/
+	public static final void triangulate(final float[] pCoordinates, final int[] pHoleIndices, final int pDimensions, final TriangleSink pTriangleSink) {
+		/* The context's own IndexBuffer goes unused, so it needn't be sized for the polygon. */
+		new EarcutContext(0).triangulate(pCoordinates, pHoleIndices, pDimensions, pTriangleSink);
+	}
+
+	/** Triangulates a flat array of co-ordinates, linking the outer ring in the specified winding order. **/
+	private static final int[] onTriangulate(final float[] pCoordinates, final int[] pHoleIndices, final int pDimensions, final boolean pIsClockwise) {
+		/* Allocate a context sized to fit this polygon. */
+		final EarcutContext lContext = new EarcutContext(pCoordinates.length / pDimensions);
+		/* Triangulate the polygon. */
+		Earcut.onTriangulate(lContext, pCoordinates, pHoleIndices, pDimensions, pIsClockwise, lContext.getIndexBuffer());
+		/* Return the vertex indices of the triangulation. */
+		return lContext.toIndexArray();
+	}
+
+	/** Triangulates a flat array of co-ordinates using the buffers of the supplied EarcutContext, which receives the resulting vertex indices. **/
+	static final void onTriangulate(final EarcutContext pContext, final float[] pCoordinates, final int[] pHoleIndices, final int pDimensions, final boolean pIsClockwise, final TriangleSink pTriangleSink) {
+		/* Express the outer ring and holes as a table of ring offsets. */
+		final int[] lRingOffsets = pContext.onFetchRingOffsets(pHoleIndices, pCoordinates.length / pDimensions);
+		Earcut.onTriangulate(pContext, pCoordinates, lRingOffsets, 0, pHoleIndices == null ? 1 : pHoleIndices.length + 1, pDimensions, pIsClockwise, pTriangleSink);
+	}
+
+	/** Triangulates the rings pFirstRing (the outer ring) to pLastRing (exclusive) of a flat co-ordinate array, where ring r spans the vertices pRingOffsets[r] to pRingOffsets[r + 1]. Vertex indices are relative to the start of pCoordinates. **/
+	static final void onTriangulate(final EarcutContext pContext, final float[] pCoordinates, final int[] pRingOffsets, final int pFirstRing, final int pLastRing, final int pDimensions, final boolean pIsClockwise, final TriangleSink pTriangleSink) {
+		Earcut.onTriangulate(pContext, pCoordinates, pRingOffsets, null, pFirstRing, pLastRing, pDimensions, pIsClockwise, pTriangleSink);
+	}
+
+	/** Triangulates the rings listed by pRings, from pFirstRing (the outer ring) to pLastRing (exclusive), of a flat co-ordinate array. The rings of a polygon needn't be adjacent within the array, nor in order. If pRings is null, the rings pFirstRing to pLastRing are used directly. **/
+	static final void onTriangulate(final EarcutContext pContext, final float[] pCoordinates, final int[] pRingOffsets, final int[] pRings, final int pFirstRing, final int pLastRing, final int pDimensions, final boolean pIsClockwise, final TriangleSink pTriangleSink) {
+		Earcut.onTriangulate(pContext, new VertexSource.FloatArray(pCoordinates, pDimensions), pRingOffsets, pRings, pFirstRing, pLastRing, pIsClockwise, pTriangleSink);
+	}
+
+	/** Triangulates the rings listed by pRings, from pFirstRing (the outer ring) to pLastRing (exclusive), of the vertices read through a VertexSource. If pRings is null, the rings pFirstRing to pLastRing are used directly. **/
+	private static final void onTriangulate(final EarcutContext pContext, final VertexSource pSource, final int[] pRingOffsets, final int[] pRings, final int pFirstRing, final int pLastRing, final boolean pIsClockwise, final TriangleSink pTriangleSink) {
+		try {
+			/* A polygon without an outer ring is malformed. */
+			if(pLastRing <= pFirstRing) {
+				throw new EarcutException("Could not process shape!");
+			}
+			/* Prepare the context's buffers for this polygon. */
+			final int      lVertexCount = Earcut.getVertexCount(pRingOffsets, pRings, pFirstRing, pLastRing);
+			pContext.onPrepare(lVertexCount, pLastRing - pFirstRing - 1);
+			final EarcutTrace lTrace  = pContext.onBeginTrace(lVertexCount, pLastRing - pFirstRing - 1);
+			final NodePool lPool      = pContext.getNodePool();
+			lPool.mIsExact            = pSource.isExact();
+			/* Establish the outer ring. */
+			final int      lOuterRing = pRings == null ? pFirstRing : pRings[pFirstRing];
+			final int      lOuterNode = Earcut.onFilterPoints(lPool, Earcut.onCreateDoublyLinkedList(lPool, pSource, pRingOffsets[lOuterRing], pRingOffsets[lOuterRing + 1], pIsClockwise), Earcut.NULL, false);
+			/* Use the context's queue to hold a node of each filtered hole. */
+			final int[]    lHoleQueue = pContext.getHoleQueue();
+			int            lQueueSize = 0;
+			for(int i = pFirstRing + 1; i < pLastRing; i++) {
+				final int lRing     = pRings == null ? i : pRings[i];
+				final int lListNode = Earcut.onFilterPoints(lPool, Earcut.onCreateDoublyLinkedList(lPool, pSource, pRingOffsets[lRing], pRingOffsets[lRing + 1], false), Earcut.NULL, false);
+				if(lListNode != Earcut.NULL) {
+					lHoleQueue[lQueueSize++] = lListNode;
+				}
+			}
+			Earcut.onEarcut(pContext, lTrace, lOuterNode, lQueueSize, lVertexCount, pTriangleSink);
+		}
+		catch(final EarcutException pEarcutException) {
+			/* Every triangulation passes through here, so each failure is counted once, wherever it was thrown. */
+			EarcutMetrics.onFailed();
+			throw pEarcutException;
+		}
+	}
+
+	/** Returns the number of vertices within the rings pFirstRing to pLastRing (exclusive), listed by pRings if it isn't null. **/
+	static final int getVertexCount(final int[] pRingOffsets, final int[] pRings, final int pFirstRing, final int pLastRing) {
+		if(pRings == null) {
+			return pRingOffsets[pLastRing] - pRingOffsets[pFirstRing];
+		}
+		int lVertexCount = 0;
+		for(int i = pFirstRing; i < pLastRing; i++) {
+			lVertexCount += pRingOffsets[pRings[i] + 1] - pRingOffsets[pRings[i]];
+		}
+		return lVertexCount;
+	}
+
+	/** Triangulates a flat array of double precision co-ordinates using the buffers of the supplied EarcutContext. **/
+	static final void onTriangulate(final EarcutContext pContext, final double[] pCoordinates, final int[] pHoleIndices, final int pDimensions, final boolean pIsClockwise, final TriangleSink pTriangleSink) {
+		/* Express the outer ring and holes as a table of ring offsets. */
+		final int[] lRingOffsets = pContext.onFetchRingOffsets(pHoleIndices, pCoordinates.length / pDimensions);
+		Earcut.onTriangulate(pContext, new VertexSource.DoubleArray(pCoordinates, pDimensions), lRingOffsets, null, 0, pHoleIndices == null ? 1 : pHoleIndices.length + 1, pIsClockwise, pTriangleSink);
+	}
+
+	/** Triangulates a flat array of integer co-ordinates using the buffers of the supplied EarcutContext. Every co-ordinate is exactly representable as a float, so the pool holds them unrounded and is marked exact, which selects the long arithmetic predicates. **/
+	static final void onTriangulate(final EarcutContext pContext, final int[] pCoordinates, final int[] pHoleIndices, final int pDimensions, final boolean pIsClockwise, final TriangleSink pTriangleSink) {
+		/* Express the outer ring and holes as a table of ring offsets. */
+		final int[] lRingOffsets = pContext.onFetchRingOffsets(pHoleIndices, pCoordinates.length / pDimensions);
+		Earcut.onTriangulate(pContext, new VertexSource.IntArray(pCoordinates, pDimensions), lRingOffsets, null, 0, pHoleIndices == null ? 1 : pHoleIndices.length + 1, pIsClockwise, pTriangleSink);
+	}
+
+	/** Triangulates vertex co-ordinates read from a FloatBuffer, where vertex i has its x and y co-ordinates at absolute positions pOffset + i * pStride and the element after it. Holes begin at each vertex index in pHoleIndices (which may be null). **/
+	static final void onTriangulate(final EarcutContext pContext, final FloatBuffer pCoordinates, final int pOffset, final int pStride, final int pVertexCount, final int[] pHoleIndices, final boolean pIsClockwise, final TriangleSink pTriangleSink) {
+		/* Express the outer ring and holes as a table of ring offsets. */
+		final int[] lRingOffsets = pContext.onFetchRingOffsets(pHoleIndices, pVertexCount);
+		Earcut.onTriangulate(pContext, pCoordinates, pOffset, pStride, lRingOffsets, 0, pHoleIndices == null ? 1 : pHoleIndices.length + 1, pIsClockwise, pTriangleSink);
+	}
+
+	/** Triangulates the rings pFirstRing (the outer ring) to pLastRing (exclusive) of vertex co-ordinates read from a FloatBuffer, where ring r spans the vertices pRingOffsets[r] to pRingOffsets[r + 1]. **/
+	static final void onTriangulate(final EarcutContext pContext, final FloatBuffer pCoordinates, final int pOffset, final int pStride, final int[] pRingOffsets, final int pFirstRing, final int pLastRing, final boolean pIsClockwise, final TriangleSink pTriangleSink) {
+		Earcut.onTriangulate(pContext, new VertexSource.Buffer(pCoordinates, pOffset, pStride), pRingOffsets, null, pFirstRing, pLastRing, pIsClockwise, pTriangleSink);
+	}
+
+	/** Triangulates a filtered outer ring along with its filtered holes, a node of each held in the context's hole queue. The rings are first simplified if the context's options call for it. Each triangle is passed to the TriangleSink as it is cut. The time spent in each phase is recorded by the EarcutTrace, unless it's null. **/
+	private static final void onEarcut(final EarcutContext pContext, final EarcutTrace pTrace, int lOuterNode, final int pQueueSize, final int pVertexCount, final TriangleSink pTriangleSink) {
 		/* If an outer node hasn't been detected, the input array is malformed. */
-		if(lOuterNode == null) {
+		if(lOuterNode == Earcut.NULL) {
 			throw new EarcutException("Could not process shape!");
 		}
-		/* Define the TriangleList. */
-		final List<float[][]> lTriangleList = new ArrayList<float[][]>();
+		final NodePool    lPool        = pContext.getNodePool();
+		final int[]       lHoleQueue   = pContext.getHoleQueue();
+		int               lVertexCount = pVertexCount;
+		/* Simplify the rings while they're still separate, so that every later phase benefits from the smaller count. */
+		final float lTolerance = pContext.getOptions().getSimplificationTolerance();
+		if(lTolerance > 0) {
+			lVertexCount -= pContext.getRingSimplifier().onSimplify(lPool, lOuterNode, lHoleQueue, pQueueSize, lTolerance);
+			lOuterNode    = RingSimplifier.getLiveNode(lPool, lOuterNode);
+		}
+		/* Holes are bridged from their leftmost node. */
+		for(int i = 0; i < pQueueSize; i++) {
+			lHoleQueue[i] = Earcut.onFetchLeftmost(lPool, lHoleQueue[i]);
+		}
 		/* Declare method dependencies. */
-		Node lNode            = null;
+		final float[] lX      = lPool.mX;
+		final float[] lY      = lPool.mY;
 		float  lMinimumX        = 0;
 		float  lMinimumY        = 0;
-		float  lMaximumX        = 0;
-		float  lMaximumY        = 0;
-		float  lCurrentX        = 0; 
-		float  lCurrentY        = 0;
-		float  lBoundingBoxSize = 0; 
-        int  lThreshold       = Earcut.DEFAULT_THRESHOLD_SIMPLICITY;
-        
-        /* Determine whether the specified array of points crosses the simplicity threshold. */
-        for(int i = 0; lThreshold >= 0 && i < pPoints.length; i++) {
-        	lThreshold -= pPoints[i].length;
+		float  lInverseSize     = 0;
+        /* Determine whether the specified array of points crosses the context's z-order threshold. */
+        final boolean lIsZIndexed = lVertexCount > pContext.getOptions().getZOrderThreshold();
+
+        /* If the shape crosses the threshold, we will use z-order curve hashing, which requires calculation the bounding box for the polygon. */
+        if (lIsZIndexed) {
+        	/* Every node of every ring lies within the pool, so its bounds are found by a flat scan of the co-ordinate arrays rather than a walk of the list. Nodes which filtering has removed lie on the ring's outline, and can't widen the bounds of a simple polygon. */
+        	final int lSize = lPool.mSize;
+        	lMinimumX = Earcut.getMinimum(lX, lSize);
+        	lMinimumY = Earcut.getMinimum(lY, lSize);
+        	/* Calculate the scale which maps the larger side of the bounding box onto the z-order co-ordinate range. */
+        	final float lBoundingBoxSize = Math.max(Earcut.getMaximum(lX, lSize) - lMinimumX, Earcut.getMaximum(lY, lSize) - lMinimumY);
+        	lInverseSize = lBoundingBoxSize != 0 ? Earcut.DEFAULT_COORDINATE_RANGE / lBoundingBoxSize : 0;
+        	/* Integer co-ordinates are scaled by a power of two instead, so that each code is a shift of the quantized offsets and involves no rounding. */
+        	if (lPool.mIsExact && lInverseSize != 0) {
+        		lInverseSize = Math.scalb(1.0f, Math.getExponent(lInverseSize));
+        	}
         }
-        
-        /* If the shape crosses THRESHOLD_SIMPLICITY, we will use z-order curve hashing, which requires calculation the bounding box for the polygon. */
-        if (lThreshold < 0) {
-            lNode = lOuterNode.getNextNode();
-            lMinimumX = lMaximumX = lNode.getX();
-            lMinimumY = lMaximumY = lNode.getY();
-            /* Iterate through the doubly-linked list. */
-            do {
-                lCurrentX = lNode.getX();
-                lCurrentY = lNode.getY();
-                if (lCurrentX < lMinimumX) {
-                	lMinimumX = lCurrentX;
-                }
-                if (lCurrentY < lMinimumY) {
-                	lMinimumY = lCurrentY;
-                }
-                if (lCurrentX > lMaximumX) {
-                	lMaximumX = lCurrentX;
-                }
-                if (lCurrentY > lMaximumY) {
-                	lMaximumY = lCurrentY;
-                }
-                /* Iterate through to the mNextNode node in the doubly-linked list. */
-                lNode = lNode.getNextNode();
-                /* Ensure that the doubly-linked list has not yet wrapped around. */
-            } while (lNode != lOuterNode);
-            
-            /* Calculate the BoundingBoxSize. (MinX, MinY and Size are used to tansform co-ordinates into integers for the Z-Order calculation. */
-            lBoundingBoxSize = Math.max(lMaximumX - lMinimumX, lMaximumY - lMinimumY);
+        if (pTrace != null) {
+        	pTrace.mIsZIndexed = lIsZIndexed;
+        	pTrace.mLinkTime   = pTrace.onLap();
         }
-        
+
         /* Determine if the specified list of points contains holes. */
-        if (pPoints.length > Earcut.CONTRACT_HOLES_INDEX) {
+        if (pQueueSize > 0) {
         	/* Eliminate the hole triangulation. */
-        	lOuterNode = Earcut.onEliminateHoles(pPoints, lOuterNode, lThreshold < 0);
+        	lOuterNode = Earcut.onEliminateHoles(lPool, lHoleQueue, pContext.getHoleScratch(), pQueueSize, lOuterNode, lIsZIndexed, pQueueSize > Earcut.DEFAULT_THRESHOLD_HOLES ? pContext.getHoleIndex() : null);
+        	if (pTrace != null) {
+        		pTrace.mHoleTime = pTrace.onLap();
+        	}
         }
-        
-	    if(lThreshold < 0) {
+
+	    if(lIsZIndexed) {
 	        /* Link polygon nodes in Z-Order. */
-	    	Earcut.onZIndexCurve(lOuterNode, lMinimumX, lMinimumY, lBoundingBoxSize);
+	    	Earcut.onZIndexCurve(lPool, pContext.getZOrderBuffer(), lOuterNode, lMinimumX, lMinimumY, lInverseSize);
+	    	if (pTrace != null) {
+	    		pTrace.mZOrderTime = pTrace.onLap();
+	    	}
 	    }
         /* Calculate an Earcut operation on the generated LinkedList. */
-        return Earcut.onEarcutLinkedList(lOuterNode, lTriangleList, lMinimumX, lMinimumY, lBoundingBoxSize, EEarcutState.INIT, lThreshold < 0);
-	}
-	
-	/** Links every hole into the outer loop, producing a single-ring polygon without holes. **/
-	private static final Node onEliminateHoles(final float[][][] pPoints, Node lOuterNode, final boolean pIsZIndexed) {
-		/* Define a list to hole a reference to each filtered hole list. */
-		final List<Node> lHoleQueue = new ArrayList<Node>();
-		/* Iterate through each array of hole vertices. */
-	    for(int i = Earcut.CONTRACT_HOLES_INDEX; i < pPoints.length; i++) {
-	    	/* Filter the doubly-linked hole list. */
-	        final Node lListNode = Earcut.onFilterPoints(Earcut.onCreateDoublyLinkedList(pPoints[i], false), null, pIsZIndexed);
-	        /* Determine if the resulting hole polygon was successful. */
-	        if(lListNode != null) {
-	        	/* Add the leftmost vertex of the hole. */
-	        	lHoleQueue.add(Earcut.onFetchLeftmost(lListNode));
-	        }
-	    }
+        Earcut.onEarcutLinkedList(lPool, pContext.getRingStack(), pContext.getEdgeGrid(), pTrace, lOuterNode, pTriangleSink, lMinimumX, lMinimumY, lInverseSize, lIsZIndexed);
+        if (pTrace != null) {
+        	pTrace.mSlicingTime = pTrace.onLap();
+        	pContext.onEndTrace(pTrace);
+        }
+	}
+
+	/** Links every hole into the outer loop, producing a single-ring polygon without holes. When a HoleIndex is supplied, bridges are found through it rather than by walking the entire outer ring for each hole; the bridges chosen are identical. **/
+	private static final int onEliminateHoles(final NodePool pPool, final int[] pHoleQueue, final int[] pHoleScratch, final int pQueueSize, int lOuterNode, final boolean pIsZIndexed, HoleIndex pHoleIndex) {
 	    /* Sort the hole vertices by increasing X. */
-	    Collections.sort(lHoleQueue, Earcut.COMPARATOR_SORT_BY_X);
+	    Earcut.onSortByX(pPool, pHoleQueue, pHoleScratch, pQueueSize);
+	    /* Index the outer ring. */
+	    if(pHoleIndex != null && !pHoleIndex.onBuild(pPool, lOuterNode)) {
+	    	pHoleIndex = null;
+	    }
 	    /* Process holes from left to right. */
-	    for(int i = 0; i < lHoleQueue.size(); i++) {
+	    for(int i = 0; i < pQueueSize; i++) {
 	    	/* Eliminate hole triangles from the result set. */
-	    	Earcut.onEliminateHole(lHoleQueue.get(i), lOuterNode, pIsZIndexed);
+	    	Earcut.onEliminateHole(pPool, pHoleIndex, pHoleQueue[i], lOuterNode, pIsZIndexed);
 	    	/* Filter the new polygon. */
-	        lOuterNode = Earcut.onFilterPoints(lOuterNode, lOuterNode.getNextNode(), pIsZIndexed);
+	        lOuterNode = Earcut.onFilterPoints(pPool, lOuterNode, pPool.mNextNode[lOuterNode], pIsZIndexed);
+	        /* A collapsed outer ring can no longer be indexed. */
+	        if(lOuterNode == Earcut.NULL) {
+	        	pHoleIndex = null;
+	        }
 	    }
 	    /* Return a pointer to the list. */
 	    return lOuterNode;
 	}
-	
-	/** Finds a bridge between vertices that connects a hole with an outer ring, and links it. **/
-	private static final void onEliminateHole(final Node pHoleNode, Node pOuterNode, final boolean pIsZIndexed) {
+
+	/** Stable merge sort of a queue of node handles by increasing X, using pScratch as the merge buffer. **/
+	private static final void onSortByX(final NodePool pPool, final int[] pQueue, final int[] pScratch, final int pQueueSize) {
+		final float[] lX       = pPool.mX;
+		int[]         lSource  = pQueue;
+		int[]         lTarget  = pScratch;
+		/* Merge runs of increasing width, alternating between the queue and the scratch array. */
+		for(int lWidth = 1; lWidth < pQueueSize; lWidth <<= 1) {
+			for(int lLeft = 0; lLeft < pQueueSize; lLeft += lWidth << 1) {
+				final int lMiddle = Math.min(lLeft + lWidth, pQueueSize);
+				final int lRight  = Math.min(lLeft + (lWidth << 1), pQueueSize);
+				int i = lLeft, j = lMiddle, k = lLeft;
+				while(i < lMiddle && j < lRight) {
+					lTarget[k++] = lX[lSource[j]] < lX[lSource[i]] ? lSource[j++] : lSource[i++];
+				}
+				while(i < lMiddle) {
+					lTarget[k++] = lSource[i++];
+				}
+				while(j < lRight) {
+					lTarget[k++] = lSource[j++];
+				}
+			}
+			final int[] lSwap = lSource;
+			lSource = lTarget;
+			lTarget = lSwap;
+		}
+		/* If the sorted result landed in the scratch array, copy it back into the queue. */
+		if(lSource != pQueue) {
+			System.arraycopy(lSource, 0, pQueue, 0, pQueueSize);
+		}
+	}
+
+	/** Finds a bridge between vertices that connects a hole with an outer ring, and links it. The HoleIndex, if any, is kept in step with the outer ring. **/
+	private static final void onEliminateHole(final NodePool pPool, final HoleIndex pHoleIndex, final int pHoleNode, int pOuterNode, final boolean pIsZIndexed) {
 		/* Attempt to find a logical bridge between the HoleNode and OuterNode. */
-	    pOuterNode = Earcut.onEberlyFetchHoleBridge(pHoleNode, pOuterNode);
+	    pOuterNode = pHoleIndex == null ? Earcut.onEberlyFetchHoleBridge(pPool, pHoleNode, pOuterNode) : Earcut.onIndexedFetchHoleBridge(pPool, pHoleIndex, pHoleNode, pOuterNode);
 	    /* Determine whether a hole bridge could be fetched. */
-	    if(pOuterNode != null) {
+	    if(pOuterNode != Earcut.NULL) {
+	    	/* The hole is about to join the outer ring. */
+	    	if(pHoleIndex != null) {
+	    		pHoleIndex.onInsertRing(pPool, pHoleNode);
+	    	}
 	    	/* Split the resulting polygon. */
-	        Node lNode = Earcut.onSplitPolygon(pOuterNode, pHoleNode);
+	        int lNode = Earcut.onSplitPolygon(pPool, pOuterNode, pHoleNode);
+	        if(pHoleIndex != null) {
+	        	pHoleIndex.onInsertBridge(pPool, pOuterNode, lNode);
+	        }
 	        /* Filter the split nodes. */
-	        Earcut.onFilterPoints(lNode, lNode.getNextNode(), pIsZIndexed);
+	        Earcut.onFilterPoints(pPool, lNode, pPool.mNextNode[lNode], pIsZIndexed);
 	    }
 	}
-	
+
 	/** David Eberly's algorithm for finding a bridge between a hole and outer polygon. **/
-	private static final Node onEberlyFetchHoleBridge(final Node pHoleNode, final Node pOuterNode) { /** TODO: Update earcut accordingly. **/
-		Node node = pOuterNode;
-		Node		p = pHoleNode;
-		float px = p.getX();
-		float py = p.getY();
+	private static final int onEberlyFetchHoleBridge(final NodePool pPool, final int pHoleNode, final int pOuterNode) { /** TODO: Update earcut accordingly. **/
+		final float[] lX    = pPool.mX;
+		final float[] lY    = pPool.mY;
+		final int[]   lNext = pPool.mNextNode;
+		int node = pOuterNode;
+		int p = pHoleNode;
+		float px = lX[p];
+		float py = lY[p];
 		float qMax = Float.NEGATIVE_INFINITY;
-		Node mNode = null;
-		Node a, b;
+		int mNode = Earcut.NULL;
+		int a, b;
 		// find a segment intersected by a ray from the hole's leftmost point to the left;
 		// segment's endpoint with lesser x will be potential connection point
 		do {
 			a = node;
-			b = node.getNextNode();
-			if (py <= a.getY() && py >= b.getY()) {
-				float qx = a.getX() + (py - a.getY()) * (b.getX() - a.getX()) / (b.getY() - a.getY());
+			b = lNext[node];
+			if (py <= lY[a] && py >= lY[b]) {
+				float qx = lX[a] + (py - lY[a]) * (lX[b] - lX[a]) / (lY[b] - lY[a]);
 				if (qx <= px && qx > qMax) {
 					qMax = qx;
-					mNode = a.getX() < b.getX() ? node : node.getNextNode();
+					mNode = lX[a] < lX[b] ? node : lNext[node];
 				}
 			}
-			node = node.getNextNode();
+			node = lNext[node];
 		} while (node != pOuterNode);
-		
-		if (mNode == null) return null;
+
+		if (mNode == Earcut.NULL) return Earcut.NULL;
 		// look for points strictly inside the triangle of hole point, segment intersection and endpoint;
 		// if there are no points found, we have a valid connection;
 		// otherwise choose the point of the minimum angle with the ray as connection point
-		float bx = mNode.getX(),
-		by = mNode.getY(),
+		float bx = lX[mNode],
+		by = lY[mNode],
 		pbd = px * by - py * bx,
 		pcd = px * py - py * qMax,
 		cpy = py - py,
@@ -174,13 +424,13 @@ public final class Earcut {
 		bpx = bx - px,
 		A = pbd - pcd - (qMax * by - py * bx),
 		sign = A <= 0 ? -1 : 1;
-		Node stop = mNode;
+		int stop = mNode;
 		float tanMin = Float.POSITIVE_INFINITY,
 		mx, my, amx, s, t, tan;
-		node = mNode.getNextNode();
+		node = lNext[mNode];
 		while (node != stop) {
-			mx = node.getX();
-			my = node.getY();
+			mx = lX[node];
+			my = lY[node];
 			amx = px - mx;
 			if (amx >= 0 && mx >= bx) {
 				s = (cpy * mx + pcx * my - pcd) * sign;
@@ -188,101 +438,271 @@ public final class Earcut {
 					t = (pby * mx + bpx * my + pbd) * sign;
 					if (t >= 0 && A * sign - s - t >= 0) {
 						tan = Math.abs(py - my) / amx; // tangential
-						if (tan < tanMin && Earcut.isLocallyInside(node, pHoleNode)) {
+						if (tan < tanMin && Earcut.isLocallyInside(pPool, node, pHoleNode)) {
 							mNode = node;
 							tanMin = tan;
 						}
 					}
 				}
 			}
-			node = node.getNextNode();
+			node = lNext[node];
 		}
 		return mNode;
 	}
-	
+
+	/** Equivalent to onEberlyFetchHoleBridge, but only visits the edges and nodes of the outer ring which the HoleIndex places near the bridge. Where several edges or nodes tie, the walk around the outer ring is resumed from the same starting point as the exhaustive search, so that the same one is chosen. **/
+	private static final int onIndexedFetchHoleBridge(final NodePool pPool, final HoleIndex pHoleIndex, final int pHoleNode, final int pOuterNode) {
+		final float[] lX        = pPool.mX;
+		final float[] lY        = pPool.mY;
+		final int[]   lPrevious = pPool.mPreviousNode;
+		final int[]   lNext     = pPool.mNextNode;
+		final int[]   lStamps   = pHoleIndex.mStamps;
+		final int[]   lCellNext = pHoleIndex.mCellNext;
+		final float   px        = lX[pHoleNode];
+		final float   py        = lY[pHoleNode];
+		float qMax = Float.NEGATIVE_INFINITY;
+		int mNode = Earcut.NULL;
+		// find the segments intersected by a ray from the hole's leftmost point to the left; only edges spanning the ray's band can cross it
+		int lStamp = pHoleIndex.onStamp();
+		pHoleIndex.onClearCandidates();
+		for(int lEntry = pHoleIndex.mBandHeads[pHoleIndex.getBand(py)]; lEntry != HoleIndex.NULL; lEntry = pHoleIndex.mEdgeNext[lEntry]) {
+			/* Follow removed nodes back to the live node whose edge absorbed theirs. */
+			int a = pHoleIndex.mEdgeNodes[lEntry];
+			while(lNext[lPrevious[a]] != a) {
+				a = lPrevious[a];
+			}
+			if(lStamps[a] == lStamp) {
+				continue;
+			}
+			lStamps[a] = lStamp;
+			final int b = lNext[a];
+			if (py <= lY[a] && py >= lY[b]) {
+				float qx = lX[a] + (py - lY[a]) * (lX[b] - lX[a]) / (lY[b] - lY[a]);
+				if (qx <= px && qx > Float.NEGATIVE_INFINITY) {
+					if(qx > qMax) {
+						qMax = qx;
+						pHoleIndex.onClearCandidates();
+					}
+					if(qx == qMax) {
+						pHoleIndex.onAddCandidate(a);
+					}
+				}
+			}
+		}
+		if (pHoleIndex.mCandidateCount == 0) return Earcut.NULL;
+		// the segment's endpoint with lesser x is the potential connection point; if tied segments disagree, take the first reached from the outer node
+		int lEdge = pHoleIndex.mCandidates[0];
+		for(int i = 1; i < pHoleIndex.mCandidateCount; i++) {
+			final int lCandidate = pHoleIndex.mCandidates[i];
+			if((lX[lCandidate] < lX[lNext[lCandidate]] ? lCandidate : lNext[lCandidate]) != (lX[lEdge] < lX[lNext[lEdge]] ? lEdge : lNext[lEdge])) {
+				lEdge = Earcut.onFetchFirstCandidate(pPool, pHoleIndex, pOuterNode);
+				break;
+			}
+		}
+		qMax  = lX[lEdge] + (py - lY[lEdge]) * (lX[lNext[lEdge]] - lX[lEdge]) / (lY[lNext[lEdge]] - lY[lEdge]);
+		mNode = lX[lEdge] < lX[lNext[lEdge]] ? lEdge : lNext[lEdge];
+
+		// look for points strictly inside the triangle of hole point, segment intersection and endpoint;
+		// if there are no points found, we have a valid connection;
+		// otherwise choose the point of the minimum angle with the ray as connection point
+		float bx = lX[mNode],
+		by = lY[mNode],
+		pbd = px * by - py * bx,
+		pcd = px * py - py * qMax,
+		cpy = py - py,
+		pcx = px - qMax,
+		pby = py - by,
+		bpx = bx - px,
+		A = pbd - pcd - (qMax * by - py * bx),
+		sign = A <= 0 ? -1 : 1;
+		final int stop = mNode;
+		float tanMin = Float.POSITIVE_INFINITY,
+		mx, my, amx, s, t, tan;
+		/* Candidates lie in the columns between the bridge and the hole. Rounding can admit points just beyond the triangle's rows, by at most the predicates' error over the triangle's width. */
+		final float lError  = 4 * (2 * pHoleIndex.mMagnitude) * (2 * pHoleIndex.mMagnitude) / 65536;
+		final float lSlack  = pcx > 0 ? lError / pcx : Float.POSITIVE_INFINITY;
+		final int   lFirstColumn = pHoleIndex.getColumn(bx);
+		final int   lLastColumn  = bx <= px ? pHoleIndex.getColumn(px) : lFirstColumn - 1;
+		final int   lFirstRow    = lSlack < Float.POSITIVE_INFINITY ? pHoleIndex.getRow(Math.min(py, by) - lSlack) : 0;
+		final int   lLastRow     = lSlack < Float.POSITIVE_INFINITY ? pHoleIndex.getRow(Math.max(py, by) + lSlack) : pHoleIndex.mRows - 1;
+		pHoleIndex.onClearCandidates();
+		for(int lRow = lFirstRow; lRow <= lLastRow; lRow++) {
+			for(int lColumn = lFirstColumn; lColumn <= lLastColumn; lColumn++) {
+				for(int node = pHoleIndex.mCellHeads[lRow * pHoleIndex.mColumns + lColumn]; node != HoleIndex.NULL; node = lCellNext[node]) {
+					/* Skip the starting point, along with any node removed from the ring. */
+					if(node == stop || lNext[lPrevious[node]] != node) {
+						continue;
+					}
+					mx = lX[node];
+					my = lY[node];
+					amx = px - mx;
+					if (amx >= 0 && mx >= bx) {
+						s = (cpy * mx + pcx * my - pcd) * sign;
+						if (s >= 0) {
+							t = (pby * mx + bpx * my + pbd) * sign;
+							if (t >= 0 && A * sign - s - t >= 0) {
+								tan = Math.abs(py - my) / amx; // tangential
+								if (tan <= tanMin && tan < Float.POSITIVE_INFINITY && Earcut.isLocallyInside(pPool, node, pHoleNode)) {
+									if(tan < tanMin) {
+										tanMin = tan;
+										pHoleIndex.onClearCandidates();
+									}
+									pHoleIndex.onAddCandidate(node);
+								}
+							}
+						}
+					}
+				}
+			}
+		}
+		if(pHoleIndex.mCandidateCount == 1) {
+			mNode = pHoleIndex.mCandidates[0];
+		}
+		else if(pHoleIndex.mCandidateCount > 1) {
+			/* Nodes of equal angle are resolved by their order around the ring, starting after the initial connection point. */
+			mNode = Earcut.onFetchFirstCandidate(pPool, pHoleIndex, lNext[stop]);
+		}
+		return mNode;
+	}
+
+	/** Walks the outer ring from pStart, returning the first node which is one of the HoleIndex's candidates. **/
+	private static final int onFetchFirstCandidate(final NodePool pPool, final HoleIndex pHoleIndex, final int pStart) {
+		/* The most common tie is a ray passing through a vertex, between a pair of consecutive edges; their order is known without a walk. */
+		if(pHoleIndex.mCandidateCount == 2) {
+			final int lA = pHoleIndex.mCandidates[0];
+			final int lB = pHoleIndex.mCandidates[1];
+			if(lA == pStart || lB == pStart) {
+				return pStart;
+			}
+			if(pPool.mNextNode[lA] == lB) {
+				return lA;
+			}
+			if(pPool.mNextNode[lB] == lA) {
+				return lB;
+			}
+		}
+		final int   lStamp  = pHoleIndex.onStamp();
+		final int[] lStamps = pHoleIndex.mStamps;
+		for(int i = 0; i < pHoleIndex.mCandidateCount; i++) {
+			lStamps[pHoleIndex.mCandidates[i]] = lStamp;
+		}
+		int lNode = pStart;
+		while(lStamps[lNode] != lStamp) {
+			lNode = pPool.mNextNode[lNode];
+		}
+		return lNode;
+	}
+
 	/** Finds the left-most hole of a polygon ring. **/
-	private static final Node onFetchLeftmost(final Node pStart) {
-	    Node lNode     = pStart;
-	    Node lLeftMost = pStart;
+	private static final int onFetchLeftmost(final NodePool pPool, final int pStart) {
+	    int lNode     = pStart;
+	    int lLeftMost = pStart;
 	    do {
 	    	/* Determine if the current node possesses a lesser X position. */
-	        if (lNode.getX() < lLeftMost.getX()) {
+	        if (pPool.mX[lNode] < pPool.mX[lLeftMost]) {
 	        	/* Maintain a reference to this Node. */
 	        	lLeftMost = lNode;
 	        }
 	        /* Progress the search to the next node in the doubly-linked list. */
-	        lNode = lNode.getNextNode();
+	        lNode = pPool.mNextNode[lNode];
 	    } while (lNode != pStart);
-	    
+
 	    /* Return the node with the smallest X value. */
 	    return lLeftMost;
 	}
-	
-	/** Main ear slicing loop which triangulates the vertices of a polygon, provided as a doubly-linked list. **/
-	private static final List<float[][]> onEarcutLinkedList(Node lCurrentEar, final List<float[][]> pTriangleList, final float pMinimumX, final float pMinimumY, final float pSize, final EEarcutState pEarcutState, final boolean pIsZIndexed) {
-	    if (lCurrentEar == null) {
-	    	return pTriangleList;
-	    }
 
-	    Node lStop         = lCurrentEar;
-	    Node lPreviousNode = null;
-	    Node lNextNode     = null;
-
-	    /* Iteratively slice ears. */
-	    while (lCurrentEar.getPreviousNode() != lCurrentEar.getNextNode()) {
-	        lPreviousNode = lCurrentEar.getPreviousNode();
-	        lNextNode = lCurrentEar.getNextNode();
-
-	        /* Determine whether the current triangle must be cut off. */
-	        if(Earcut.isEar(lCurrentEar, pMinimumX, pMinimumY, pSize, pIsZIndexed)) {
-	        	/* Return the triangulated data back to the Callback. */
-	        	pTriangleList.add(new float[][]{ new float[]{ lPreviousNode.getX(), lPreviousNode.getY() }, new float[]{ lCurrentEar.getX(), lCurrentEar.getY() }, new float[]{ lNextNode.getX(), lNextNode.getY() } });
-	        	 /* Remove the ear node. */
-	            lNextNode.setPreviousNode(lPreviousNode);
-	            lPreviousNode.setNextNode(lNextNode);
-	            
-	            if (lCurrentEar.getPreviousZNode() != null) { lCurrentEar.getPreviousZNode().setNextZNode(lCurrentEar.getNextZNode());     }
-	            if (lCurrentEar.getNextZNode()     != null) { lCurrentEar.getNextZNode().setPreviousZNode(lCurrentEar.getPreviousZNode()); }
-
-	            /* Skipping to the next node leaves less slither triangles. */
-	            lCurrentEar = lNextNode.getNextNode();
-	            lStop = lNextNode.getNextNode();
-
-	            continue;
-	        }
+	/** Main ear slicing loop which triangulates the vertices of a polygon, provided as a doubly-linked list. Rings produced by splitting are deferred to the RingStack rather than recursed into; the most recently split ring is always triangulated first, so triangles are cut in the same order as a depth-first recursion. **/
+	private static final void onEarcutLinkedList(final NodePool pPool, final RingStack pRingStack, final EdgeGrid pEdgeGrid, final EarcutTrace pTrace, final int pStartNode, final TriangleSink pTriangleSink, final float pMinimumX, final float pMinimumY, final float pInverseSize, final boolean pIsZIndexed) {
+	    pRingStack.push(pStartNode);
+	    while (!pRingStack.isEmpty()) {
+		    int lCurrentEar = pRingStack.pop();
+		    if (lCurrentEar == Earcut.NULL) {
+		    	continue;
+		    }
+		    /* Fetch the link arrays for each ring, since splitting the last may have grown the pool. */
+		    final int[]  lPrevious     = pPool.mPreviousNode;
+		    final int[]  lNext         = pPool.mNextNode;
+		    final int[]  lPreviousZ    = pPool.mPreviousZNode;
+		    final int[]  lNextZ        = pPool.mNextZNode;
+		    final int[]  lIndex        = pPool.mIndex;
+		    EEarcutState lEarcutState  = EEarcutState.INIT;
+		    int          lStop         = lCurrentEar;
+		    int          lPreviousNode = Earcut.NULL;
+		    int          lNextNode     = Earcut.NULL;
+
+		    /* Iteratively slice ears. */
+		    while (lPrevious[lCurrentEar] != lNext[lCurrentEar]) {
+		        lPreviousNode = lPrevious[lCurrentEar];
+		        lNextNode = lNext[lCurrentEar];
+
+		        /* Determine whether the current triangle must be cut off. */
+		        if(Earcut.isEar(pPool, pTrace, lCurrentEar, pMinimumX, pMinimumY, pInverseSize, pIsZIndexed)) {
+		        	/* Return the triangulated data back to the Callback. */
+		        	pTriangleSink.onTriangle(lIndex[lPreviousNode], lIndex[lCurrentEar], lIndex[lNextNode]);
+		        	 /* Remove the ear node. */
+		            lPrevious[lNextNode] = lPreviousNode;
+		            lNext[lPreviousNode] = lNextNode;
+
+		            if (lPreviousZ[lCurrentEar] != Earcut.NULL) { lNextZ[lPreviousZ[lCurrentEar]] = lNextZ[lCurrentEar];     }
+		            if (lNextZ[lCurrentEar]     != Earcut.NULL) { lPreviousZ[lNextZ[lCurrentEar]] = lPreviousZ[lCurrentEar]; }
+
+		            /* Skipping to the next node leaves less slither triangles. */
+		            lCurrentEar = lNext[lNextNode];
+		            lStop = lNext[lNextNode];
+
+		            continue;
+		        }
 
-	        lCurrentEar = lNextNode;
+		        lCurrentEar = lNextNode;
 
-	        /* If the whole polygon has been iterated over and no more ears can be found. */
-	        if (lCurrentEar == lStop) {	            
-	            switch(pEarcutState) {
-		            case INIT :
+		        /* If the whole polygon has been iterated over and no more ears can be found, advance to the next recovery stage in place. */
+		        if (lCurrentEar == lStop) {
+		            if (lEarcutState == EEarcutState.INIT) {
 			            // try filtering points and slicing again
-		            	Earcut.onEarcutLinkedList(Earcut.onFilterPoints(lCurrentEar, null, pIsZIndexed), pTriangleList, pMinimumX, pMinimumY, pSize, EEarcutState.CURE, pIsZIndexed);
-		            break;
-		            case CURE :
+		            	lCurrentEar  = Earcut.onFilterPoints(pPool, lCurrentEar, Earcut.NULL, pIsZIndexed);
+		            	lEarcutState = EEarcutState.CURE;
+		            	if (pTrace != null) {
+		            		pTrace.mCureCount++;
+		            	}
+		            	/* Filtering may collapse the ring entirely, leaving nothing to slice. */
+		            	if (lCurrentEar == Earcut.NULL) {
+		            		break;
+		            	}
+		            }
+		            else if (lEarcutState == EEarcutState.CURE) {
 			            // if this didn't work, try curing all small self-intersections locally
-		                lCurrentEar = Earcut.onCureLocalIntersections(lCurrentEar, pTriangleList);
-		                Earcut.onEarcutLinkedList(lCurrentEar, pTriangleList, pMinimumX, pMinimumY, pSize, EEarcutState.SPLIT, pIsZIndexed);
-		            	
-		            break;
-		            case SPLIT :
+		                lCurrentEar  = Earcut.onCureLocalIntersections(pPool, lCurrentEar, pTriangleSink);
+		                lEarcutState = EEarcutState.SPLIT;
+		                if (pTrace != null) {
+		                	pTrace.mSplitCount++;
+		                }
+		            }
+		            else {
 		            	// as a last resort, try splitting the remaining polygon into two
-		            	Earcut.onSplitEarcut(lCurrentEar, pTriangleList, pMinimumX, pMinimumY, pSize, pIsZIndexed);
-		            break;
+		            	Earcut.onSplitEarcut(pPool, pRingStack, pEdgeGrid, lCurrentEar, pIsZIndexed);
+		            	break;
+		            }
+		            lStop = lCurrentEar;
 		        }
-	            break;
-	        }
+		    }
 	    }
-	    /* Return the calculated triangle vertices. */
-	    return pTriangleList;
 	}
-	
-	/** Determines whether a polygon node forms a valid ear with adjacent nodes. **/
-	private static final boolean isEar(final Node pEar, final float pMinimumX, final float pMinimumY, final float pSize, final boolean pIsZIndexed) {
 
-		float ax = pEar.getPreviousNode().getX(), bx = pEar.getX(), cx = pEar.getNextNode().getX(),
-        ay = pEar.getPreviousNode().getY(), by = pEar.getY(), cy = pEar.getNextNode().getY(),
+	/** Determines whether a polygon node forms a valid ear with adjacent nodes. Tests are only counted against the EarcutTrace when EarcutTrace.IS_COUNTING is set; otherwise the counting is compiled away. **/
+	private static final boolean isEar(final NodePool pPool, final EarcutTrace pTrace, final int pEar, final float pMinimumX, final float pMinimumY, final float pInverseSize, final boolean pIsZIndexed) {
+		if (pPool.mIsExact) {
+			return Earcut.isExactEar(pPool, pTrace, pEar, pMinimumX, pMinimumY, pInverseSize, pIsZIndexed);
+		}
+		if (EarcutTrace.IS_COUNTING && pTrace != null) {
+			pTrace.mEarTestCount++;
+		}
+		final float[] lX = pPool.mX;
+		final float[] lY = pPool.mY;
+		final int     lPreviousNode = pPool.mPreviousNode[pEar];
+		final int     lNextNode     = pPool.mNextNode[pEar];
+
+		float ax = lX[lPreviousNode], bx = lX[pEar], cx = lX[lNextNode],
+        ay = lY[lPreviousNode], by = lY[pEar], cy = lY[lNextNode],
 
         abd = ax * by - ay * bx,
         acd = ax * cy - ay * cx,
@@ -298,95 +718,86 @@ public final class Earcut {
 	        acx = ax - cx,
 	        aby = ay - by,
 	        bax = bx - ax;
-	    //int[] p;
 	    float px, py, s, t, k;
-	    Node node = null;
+	    int node = Earcut.NULL;
 
 	    // if we use z-order curve hashing, iterate through the curve
 	    if (pIsZIndexed) {
+	    	final int[] lZOrder    = pPool.mZOrder;
+	    	final int[] lPreviousZ = pPool.mPreviousZNode;
+	    	final int[] lNextZ     = pPool.mNextZNode;
 
 	        // triangle bbox; min & max are calculated like this for speed
 	    	float minTX = ax < bx ? (ax < cx ? ax : cx) : (bx < cx ? bx : cx),
 	            minTY = ay < by ? (ay < cy ? ay : cy) : (by < cy ? by : cy),
 	            maxTX = ax > bx ? (ax > cx ? ax : cx) : (bx > cx ? bx : cx),
-	            maxTY = ay > by ? (ay > cy ? ay : cy) : (by > cy ? by : cy),
+	            maxTY = ay > by ? (ay > cy ? ay : cy) : (by > cy ? by : cy);
 
 	            // z-order range for the current triangle bbox;
-	            minZ = Earcut.onCalculateZOrder(minTX, minTY, pMinimumX, pMinimumY, pSize),
-	            maxZ = Earcut.onCalculateZOrder(maxTX, maxTY, pMinimumX, pMinimumY, pSize);
+	        int minZ = Earcut.onCalculateZOrder(minTX, minTY, pMinimumX, pMinimumY, pInverseSize),
+	            maxZ = Earcut.onCalculateZOrder(maxTX, maxTY, pMinimumX, pMinimumY, pInverseSize);
 
-	        // first look for points inside the triangle in increasing z-order
-	        node = pEar.getNextZNode();
+	        // look for points inside the triangle in both directions along the curve at once, so a blocking point on either side is found early
+	        int lForward  = lNextZ[pEar];
+	        int lBackward = lPreviousZ[pEar];
 
-	        while (node != null && node.getZOrder() <= maxZ) {
+	        while (lForward != Earcut.NULL || lBackward != Earcut.NULL) {
+	        	/* Take a step along each direction which hasn't yet left the triangle's z-order range. */
+	        	for (int lStep = 0; lStep < 2; lStep++) {
+	        		if (lStep == 0) {
+	        			if (lForward == Earcut.NULL || lZOrder[lForward] > maxZ) {
+	        				lForward = Earcut.NULL;
+	        				continue;
+	        			}
+	        			node     = lForward;
+	        			lForward = lNextZ[lForward];
+	        		}
+	        		else {
+	        			if (lBackward == Earcut.NULL || lZOrder[lBackward] < minZ) {
+	        				lBackward = Earcut.NULL;
+	        				continue;
+	        			}
+	        			node      = lBackward;
+	        			lBackward = lPreviousZ[lBackward];
+	        		}
 
-	            px = node.getX();
-	            py = node.getY();
-	            
-	            node = node.getNextZNode();
-	            
-	            if ((px == ax && py == ay) || (px == cx && py == cy)) continue;
+		            px = lX[node];
+		            py = lY[node];
 
+		            // points outside the triangle's bbox can't be inside it, however close their z-order
+		            if (px < minTX || px > maxTX || py < minTY || py > maxTY) continue;
+		            if ((px == ax && py == ay) || (px == cx && py == cy)) continue;
+		            if (EarcutTrace.IS_COUNTING && pTrace != null) pTrace.mPointTestCount++;
 
-	            s = cay * px + acx * py - acd;
-	            if (s >= 0) {
-	                t = aby * px + bax * py + abd;
-	                if (t >= 0) {
-	                    k = A - s - t;
-	                    
-	                    ;
-	                    
-	                    float term1 = (s == 0 ? s : t);
-	                    float term2 = (s == 0 ? s : k);
-	                    float term3 = (t == 0 ? t : k);
-	                    
-	                    float calculation = (term1 != 0 ? term1 : term2 != 0? term2 : term3); /** TODO: Optimize. **/
-	                    
-	                    if ((k >= 0) && (calculation != 0)) return false;
-	                }
-	            }
-	        }
-
-	        // then look for points in decreasing z-order
-	        node = pEar.getPreviousZNode();
+		            s = cay * px + acx * py - acd;
+		            if (s >= 0) {
+		                t = aby * px + bax * py + abd;
+		                if (t >= 0) {
+		                    k = A - s - t;
 
-	        while (node != null && node.getZOrder() >= minZ) {
-	            
-	            px = node.getX();
-	            py = node.getY();
-	            
-	            node = node.getPreviousZNode();
-	            if ((px == ax && py == ay) || (px == cx && py == cy)) continue;
+		                    float term1 = (s == 0 ? s : t);
+		                    float term2 = (s == 0 ? s : k);
+		                    float term3 = (t == 0 ? t : k);
 
+		                    float calculation = (term1 != 0 ? term1 : term2 != 0? term2 : term3); /** TODO: Optimize. **/
 
-	            s = cay * px + acx * py - acd;
-	            if (s >= 0) {
-	                t = aby * px + bax * py + abd;
-	                if (t >= 0) {
-	                    k = A - s - t;
-	                    
-	                    float term1 = (s == 0 ? s : t);
-	                    float term2 = (s == 0 ? s : k);
-	                    float term3 = (t == 0 ? t : k);
-	                    
-	                    float calculation = (term1 != 0 ? term1 : term2 != 0? term2 : term3);
-	                    
-	                    if ((k >= 0) && (calculation != 0)) return false;
-	                }
-	            }
+		                    if ((k >= 0) && (calculation != 0)) return false;
+		                }
+		            }
+	        	}
 	        }
 
 	    // if we don't use z-order curve hash, simply iterate through all other points
 	    } else {
-	        node = pEar.getNextNode().getNextNode();
+	    	final int[] lNext = pPool.mNextNode;
+	        node = lNext[lNextNode];
 
-	        while (node != pEar.getPreviousNode()) {
-	        	px = node.getX();
-	            py = node.getY();
-	            
-	            node = node.getNextNode();
+	        while (node != lPreviousNode) {
+	        	px = lX[node];
+	            py = lY[node];
 
-	            
+	            node = lNext[node];
+	            if (EarcutTrace.IS_COUNTING && pTrace != null) pTrace.mPointTestCount++;
 
 	            s = cay * px + acx * py - acd;
 	            if (s >= 0) {
@@ -396,9 +807,9 @@ public final class Earcut {
 	                    float term1 = (s == 0 ? s : t);
 	                    float term2 = (s == 0 ? s : k);
 	                    float term3 = (t == 0 ? t : k);
-	                    
+
 	                    float calculation = (term1 != 0 ? term1 : term2 != 0? term2 : term3);
-	                    
+
 	                    if ((k >= 0) && (calculation != 0)) return false;
 	                }
 	            }
@@ -406,329 +817,595 @@ public final class Earcut {
 	    }
 	    return true;
 	}
-	
+
+	/** Equivalent to isEar for a pool of integer co-ordinates, making the area and point-in-triangle tests exactly in long arithmetic. **/
+	private static final boolean isExactEar(final NodePool pPool, final EarcutTrace pTrace, final int pEar, final float pMinimumX, final float pMinimumY, final float pInverseSize, final boolean pIsZIndexed) {
+		if (EarcutTrace.IS_COUNTING && pTrace != null) {
+			pTrace.mEarTestCount++;
+		}
+		final float[] lX = pPool.mX;
+		final float[] lY = pPool.mY;
+		final int     lPreviousNode = pPool.mPreviousNode[pEar];
+		final int     lNextNode     = pPool.mNextNode[pEar];
+		/* Co-ordinates lie within 2^24, so no product or sum below can exceed 2^51. */
+		final long ax = (long)lX[lPreviousNode], bx = (long)lX[pEar], cx = (long)lX[lNextNode],
+		           ay = (long)lY[lPreviousNode], by = (long)lY[pEar], cy = (long)lY[lNextNode],
+		           abd = ax * by - ay * bx,
+		           acd = ax * cy - ay * cx,
+		           cbd = cx * by - cy * bx,
+		           A   = abd - acd - cbd;
+
+		if (A <= 0) return false; // reflex, can't be an ear
+
+		final long cay = cy - ay,
+		           acx = ax - cx,
+		           aby = ay - by,
+		           bax = bx - ax;
+		int node = Earcut.NULL;
+
+		if (pIsZIndexed) {
+			final int[] lZOrder    = pPool.mZOrder;
+			final int[] lPreviousZ = pPool.mPreviousZNode;
+			final int[] lNextZ     = pPool.mNextZNode;
+			/* The triangle's bounds, and their z-order range. */
+			final long minTX = Math.min(ax, Math.min(bx, cx)),
+			           minTY = Math.min(ay, Math.min(by, cy)),
+			           maxTX = Math.max(ax, Math.max(bx, cx)),
+			           maxTY = Math.max(ay, Math.max(by, cy));
+			final int  minZ  = Earcut.onCalculateZOrder(minTX, minTY, pMinimumX, pMinimumY, pInverseSize),
+			           maxZ  = Earcut.onCalculateZOrder(maxTX, maxTY, pMinimumX, pMinimumY, pInverseSize);
+			/* Walk the curve in both directions at once, as isEar does. */
+			int lForward  = lNextZ[pEar];
+			int lBackward = lPreviousZ[pEar];
+			while (lForward != Earcut.NULL || lBackward != Earcut.NULL) {
+				for (int lStep = 0; lStep < 2; lStep++) {
+					if (lStep == 0) {
+						if (lForward == Earcut.NULL || lZOrder[lForward] > maxZ) {
+							lForward = Earcut.NULL;
+							continue;
+						}
+						node     = lForward;
+						lForward = lNextZ[lForward];
+					}
+					else {
+						if (lBackward == Earcut.NULL || lZOrder[lBackward] < minZ) {
+							lBackward = Earcut.NULL;
+							continue;
+						}
+						node      = lBackward;
+						lBackward = lPreviousZ[lBackward];
+					}
+					final long px = (long)lX[node];
+					final long py = (long)lY[node];
+					if (px < minTX || px > maxTX || py < minTY || py > maxTY) continue;
+					if ((px == ax && py == ay) || (px == cx && py == cy)) continue;
+					if (EarcutTrace.IS_COUNTING && pTrace != null) pTrace.mPointTestCount++;
+					if (Earcut.isExactlyInside(A, cay, acx, acd, aby, bax, abd, px, py)) return false;
+				}
+			}
+		} else {
+			final int[] lNext = pPool.mNextNode;
+			node = lNext[lNextNode];
+			while (node != lPreviousNode) {
+				final long px = (long)lX[node];
+				final long py = (long)lY[node];
+				node = lNext[node];
+				if (EarcutTrace.IS_COUNTING && pTrace != null) pTrace.mPointTestCount++;
+				if (Earcut.isExactlyInside(A, cay, acx, acd, aby, bax, abd, px, py)) return false;
+			}
+		}
+		return true;
+	}
+
+	/** The point-in-triangle test of isEar, in long arithmetic. A point on an edge only blocks the ear if it isn't one of the triangle's corners. **/
+	private static final boolean isExactlyInside(final long A, final long cay, final long acx, final long acd, final long aby, final long bax, final long abd, final long px, final long py) {
+		final long s = cay * px + acx * py - acd;
+		if (s < 0) return false;
+		final long t = aby * px + bax * py + abd;
+		if (t < 0) return false;
+		final long k = A - s - t;
+		final long term1 = (s == 0 ? s : t);
+		final long term2 = (s == 0 ? s : k);
+		final long term3 = (t == 0 ? t : k);
+		final long calculation = (term1 != 0 ? term1 : term2 != 0 ? term2 : term3);
+		return (k >= 0) && (calculation != 0);
+	}
+
 	/** Iterates through all polygon nodes and cures small local self-intersections. **/
-	private static final Node onCureLocalIntersections(Node pStartNode, final List<float[][]> pTriangleList) {
-	    Node lNode = pStartNode;
+	private static final int onCureLocalIntersections(final NodePool pPool, int pStartNode, final TriangleSink pTriangleSink) {
+		final float[] lX         = pPool.mX;
+		final float[] lY         = pPool.mY;
+		final int[]   lPrevious  = pPool.mPreviousNode;
+		final int[]   lNext      = pPool.mNextNode;
+		final int[]   lPreviousZ = pPool.mPreviousZNode;
+		final int[]   lNextZ     = pPool.mNextZNode;
+	    int lNode = pStartNode;
 	    do {
-	        Node a = lNode.getPreviousNode(),
-	            b = lNode.getNextNode().getNextNode();
+	        int a = lPrevious[lNode],
+	            b = lNext[lNext[lNode]];
 
 	        // a self-intersection where edge (v[i-1],v[i]) intersects (v[i+1],v[i+2])
-	        if (Earcut.isIntersecting(a.getX(), a.getY(), lNode.getX(), lNode.getY(), lNode.getNextNode().getX(), lNode.getNextNode().getY(), b.getX(), b.getY()) && Earcut.isLocallyInside(a, b) && Earcut.isLocallyInside(b, a)) {
+	        if (Earcut.isIntersecting(pPool.mIsExact, lX[a], lY[a], lX[lNode], lY[lNode], lX[lNext[lNode]], lY[lNext[lNode]], lX[b], lY[b]) && Earcut.isLocallyInside(pPool, a, b) && Earcut.isLocallyInside(pPool, b, a)) {
 	            /* Return the triangulated vertices to the callback. */
-	        	pTriangleList.add(new float[][]{ new float[]{ a.getX(), a.getY() }, new float[]{ lNode.getX(), lNode.getY() }, new float[]{ b.getX(), b.getY() } });
-	        	
+	        	pTriangleSink.onTriangle(pPool.mIndex[a], pPool.mIndex[lNode], pPool.mIndex[b]);
+
 	            // remove two nodes involved
-	            a.setNextNode(b);
-	            b.setPreviousNode(a);
-
-	            Node az = lNode.getPreviousZNode();
-	            
-	            Node bz;
-	            
-	            if(lNode.getNextZNode() == null) {
-	            	bz = lNode.getNextZNode();
+	            lNext[a] = b;
+	            lPrevious[b] = a;
+
+	            int az = lPreviousZ[lNode];
+
+	            int bz;
+
+	            if(lNextZ[lNode] == Earcut.NULL) {
+	            	bz = lNextZ[lNode];
 	            }
 	            else {
-	            	bz = lNode.getNextZNode().getNextZNode();
+	            	bz = lNextZ[lNextZ[lNode]];
 	            }
-	            
 
-	            if (az != null) az.setNextZNode(bz);
-	            if (bz != null) bz.setPreviousZNode(az);
+
+	            if (az != Earcut.NULL) lNextZ[az] = bz;
+	            if (bz != Earcut.NULL) lPreviousZ[bz] = az;
 
 	            lNode = pStartNode = b;
 	        }
-	        lNode = lNode.getNextNode();
+	        lNode = lNext[lNode];
 	    } while (lNode != pStartNode);
 
 	    return lNode;
 	}
-	
-	/** Tries to split a polygon and triangulate each side independently. **/
-	private static final void onSplitEarcut(final Node pStart, final List<float[][]> pTriangleList, final float pMinimumX, final float pMinimumY, final float pSize, final boolean pIsZIndexed) {
+
+	/** Tries to split a polygon in two, pushing each side onto the RingStack to be triangulated independently. Rings of more than DEFAULT_THRESHOLD_SPLIT nodes validate their candidate diagonals against an EdgeGrid and, when z-indexed, first try the diagonals between neighbours along the z-order curve. **/
+	private static final void onSplitEarcut(final NodePool pPool, final RingStack pRingStack, EdgeGrid pEdgeGrid, final int pStart, final boolean pIsZIndexed) {
+		/* Index the ring's edges, unless it's small enough to walk. */
+		int lSize = 0;
+		int lNode = pStart;
+		do {
+			lSize++;
+			lNode = pPool.mNextNode[lNode];
+		} while (lNode != pStart && lSize <= Earcut.DEFAULT_THRESHOLD_SPLIT);
+		if(lSize <= Earcut.DEFAULT_THRESHOLD_SPLIT || !pEdgeGrid.onBuild(pPool, pStart)) {
+			pEdgeGrid = null;
+		}
+		int lSearchNode = pStart;
+		/* Spatial neighbours make short diagonals, which are the likeliest to be valid and the cheapest to validate, so they're tried before a walk of the whole ring. */
+		if(pEdgeGrid != null && pIsZIndexed && Earcut.onSplitNeighbours(pPool, pRingStack, pEdgeGrid, pStart, pIsZIndexed)) {
+			return;
+		}
 	   /* Search for a valid diagonal that divides the polygon into two. */
-		Node lSearchNode = pStart;
 	    do {
-	    	Node lDiagonal = lSearchNode.getNextNode().getNextNode();
-	        while (lDiagonal != lSearchNode.getPreviousNode()) {
-	            if(Earcut.isValidDiagonal(lSearchNode, lDiagonal)) {
-	            	/* Split the polygon into two at the point of the diagonal. */
-	            	Node lSplitNode = Earcut.onSplitPolygon(lSearchNode, lDiagonal);
-	            	/* Filter the resulting polygon. */
-	                lSearchNode = Earcut.onFilterPoints(lSearchNode, lSearchNode.getNextNode(), pIsZIndexed);
-	                lSplitNode  = Earcut.onFilterPoints(lSplitNode, lSplitNode.getNextNode(), pIsZIndexed);
-	                /* Attempt to earcut both of the resulting polygons. */
-	                Earcut.onEarcutLinkedList(lSearchNode, pTriangleList, pMinimumX, pMinimumY, pSize, EEarcutState.INIT, pIsZIndexed);
-	                Earcut.onEarcutLinkedList(lSplitNode,  pTriangleList, pMinimumX, pMinimumY, pSize, EEarcutState.INIT, pIsZIndexed);
+	    	int lDiagonal = pPool.mNextNode[pPool.mNextNode[lSearchNode]];
+	        while (lDiagonal != pPool.mPreviousNode[lSearchNode]) {
+	            if(Earcut.isValidDiagonal(pPool, pEdgeGrid, lSearchNode, lDiagonal)) {
+	            	Earcut.onSplitRing(pPool, pRingStack, lSearchNode, lDiagonal, pIsZIndexed);
 	                /* Finish the iterative search. */
 	                return;
 	            }
-	            lDiagonal = lDiagonal.getNextNode();
+	            lDiagonal = pPool.mNextNode[lDiagonal];
 	        }
-	        lSearchNode = lSearchNode.getNextNode();
+	        lSearchNode = pPool.mNextNode[lSearchNode];
 	    } while (lSearchNode != pStart);
 	}
-	
+
+	/** Splits a polygon in two along the diagonal between pNodeA and pNodeB, pushing each side onto the RingStack. **/
+	private static final void onSplitRing(final NodePool pPool, final RingStack pRingStack, final int pNodeA, final int pNodeB, final boolean pIsZIndexed) {
+		/* Split the polygon into two at the point of the diagonal. */
+		int lSearchNode = pNodeA;
+		int lSplitNode  = Earcut.onSplitPolygon(pPool, pNodeA, pNodeB);
+		/* Filter the resulting polygon. */
+		lSearchNode = Earcut.onFilterPoints(pPool, lSearchNode, pPool.mNextNode[lSearchNode], pIsZIndexed);
+		lSplitNode  = Earcut.onFilterPoints(pPool, lSplitNode, pPool.mNextNode[lSplitNode], pIsZIndexed);
+		/* Defer both of the resulting polygons; the stack is last-in, first-out, so the search side is triangulated first. */
+		pRingStack.push(lSplitNode);
+		pRingStack.push(lSearchNode);
+	}
+
+	/** Tries to split a ring indexed by the EdgeGrid along a diagonal from one of its nodes to one of that node's nearest DEFAULT_SPLIT_NEIGHBOURS neighbours either way along the z-order curve. Of the valid diagonals, the one dividing the ring most evenly is taken, though the search ends at the first which leaves at least a quarter of the ring on either side; balanced splits keep the halves from being re-sliced over and over. Neighbours in other rings, or at the same position, are passed over. Returns false if no neighbour forms a valid diagonal. **/
+	private static final boolean onSplitNeighbours(final NodePool pPool, final RingStack pRingStack, final EdgeGrid pEdgeGrid, final int pStart, final boolean pIsZIndexed) {
+		final float[] lX          = pPool.mX;
+		final float[] lY          = pPool.mY;
+		final int[]   lNext       = pPool.mNextNode;
+		final int[]   lNextZ      = pPool.mNextZNode;
+		final int[]   lPreviousZ  = pPool.mPreviousZNode;
+		final int     lEnough     = pEdgeGrid.mSize >> 2;
+		int           lBestNode   = Earcut.NULL;
+		int           lBestOther  = Earcut.NULL;
+		int           lBestSpan   = 1;
+		int           lNode       = pStart;
+		search : do {
+			int lForward  = lNextZ[lNode];
+			int lBackward = lPreviousZ[lNode];
+			for(int i = 0; i < Earcut.DEFAULT_SPLIT_NEIGHBOURS && (lForward != Earcut.NULL || lBackward != Earcut.NULL); i++) {
+				/* Alternate between the two directions, so the nearest candidates are tried first. */
+				for(int lStep = 0; lStep < 2; lStep++) {
+					final int lCandidate = lStep == 0 ? lForward : lBackward;
+					if(lCandidate == Earcut.NULL) {
+						continue;
+					}
+					if(lStep == 0) {
+						lForward  = lNextZ[lForward];
+					}
+					else {
+						lBackward = lPreviousZ[lBackward];
+					}
+					if(!pEdgeGrid.isMember(lCandidate) || (lX[lCandidate] == lX[lNode] && lY[lCandidate] == lY[lNode])) {
+						continue;
+					}
+					/* Only a diagonal which improves on the best so far is worth validating; adjacent nodes span a single edge. */
+					final int lSpan = pEdgeGrid.getSpan(lNode, lCandidate);
+					if(lSpan > lBestSpan && Earcut.isValidDiagonal(pPool, pEdgeGrid, lNode, lCandidate)) {
+						lBestNode  = lNode;
+						lBestOther = lCandidate;
+						lBestSpan  = lSpan;
+						if(lSpan >= lEnough) {
+							break search;
+						}
+					}
+				}
+			}
+			lNode = lNext[lNode];
+		} while (lNode != pStart);
+		if(lBestNode == Earcut.NULL) {
+			return false;
+		}
+		Earcut.onSplitRing(pPool, pRingStack, lBestNode, lBestOther, pIsZIndexed);
+		return true;
+	}
+
 	/** Links two polygon vertices using a bridge. **/
-	private static final Node onSplitPolygon(final Node pNodeA, final Node pNodeB) {
-		final Node a2 = new Node(pNodeA.getX(), pNodeA.getY());
-		final Node b2 = new Node(pNodeB.getX(), pNodeB.getY());
-		final Node an = pNodeA.getNextNode();
-		final Node bp = pNodeB.getPreviousNode();
-
-	    pNodeA.setNextNode(pNodeB);
-	    pNodeB.setPreviousNode(pNodeA);
-	    a2.setNextNode(an);
-	    an.setPreviousNode(a2);
-	    b2.setNextNode(a2);
-	    a2.setPreviousNode(b2);
-	    bp.setNextNode(b2);
-	    b2.setPreviousNode(bp);
+	private static final int onSplitPolygon(final NodePool pPool, final int pNodeA, final int pNodeB) {
+		final int a2 = pPool.onCreateNode(pPool.mIndex[pNodeA], pPool.mX[pNodeA], pPool.mY[pNodeA]);
+		final int b2 = pPool.onCreateNode(pPool.mIndex[pNodeB], pPool.mX[pNodeB], pPool.mY[pNodeB]);
+		/* Fetch the link arrays only once the new nodes have been allocated, since the pool may have grown. */
+		final int[] lPrevious = pPool.mPreviousNode;
+		final int[] lNext     = pPool.mNextNode;
+		final int   an        = lNext[pNodeA];
+		final int   bp        = lPrevious[pNodeB];
+
+	    lNext[pNodeA] = pNodeB;
+	    lPrevious[pNodeB] = pNodeA;
+	    lNext[a2] = an;
+	    lPrevious[an] = a2;
+	    lNext[b2] = a2;
+	    lPrevious[a2] = b2;
+	    lNext[bp] = b2;
+	    lPrevious[b2] = bp;
 
 	    return b2;
 	}
-	
-	/** Determines whether a diagonal between two polygon nodes lies within a polygon interior. (This determines the validity of the ray.) **/
-	private static final boolean isValidDiagonal(final Node pNodeA, final Node pNodeB) {
-	    return !Earcut.isIntersectingPolygon(pNodeA, pNodeA.getX(), pNodeA.getY(), pNodeB.getX(), pNodeB.getY()) && Earcut.isLocallyInside(pNodeA, pNodeB) && Earcut.isLocallyInside(pNodeB, pNodeA) && Earcut.onMiddleInsert(pNodeA, pNodeA.getX(), pNodeA.getY(), pNodeB.getX(), pNodeB.getY());
+
+	/** Determines whether a diagonal between two polygon nodes lies within a polygon interior. (This determines the validity of the ray.) The constant-time local tests are made first; the ring-wide tests are answered through the EdgeGrid when one is supplied. **/
+	private static final boolean isValidDiagonal(final NodePool pPool, final EdgeGrid pEdgeGrid, final int pNodeA, final int pNodeB) {
+		if(!Earcut.isLocallyInside(pPool, pNodeA, pNodeB) || !Earcut.isLocallyInside(pPool, pNodeB, pNodeA)) {
+			return false;
+		}
+		if(pEdgeGrid != null) {
+			return !Earcut.isIntersectingPolygon(pPool, pEdgeGrid, pPool.mX[pNodeA], pPool.mY[pNodeA], pPool.mX[pNodeB], pPool.mY[pNodeB]) && Earcut.onMiddleInsert(pPool, pEdgeGrid, pPool.mX[pNodeA], pPool.mY[pNodeA], pPool.mX[pNodeB], pPool.mY[pNodeB]);
+		}
+	    return !Earcut.isIntersectingPolygon(pPool, pNodeA, pPool.mX[pNodeA], pPool.mY[pNodeA], pPool.mX[pNodeB], pPool.mY[pNodeB]) && Earcut.onMiddleInsert(pPool, pNodeA, pPool.mX[pNodeA], pPool.mY[pNodeA], pPool.mX[pNodeB], pPool.mY[pNodeB]);
 	}
-	
+
 	/** Determines whether a polygon diagonal rests locally within a polygon. **/
-	private static final boolean isLocallyInside(final Node pNodeA, final Node pNodeB) {
-	    return Earcut.onCalculateWindingOrder(pNodeA.getPreviousNode().getX(), pNodeA.getPreviousNode().getY(), pNodeA.getX(), pNodeA.getY(), pNodeA.getNextNode().getX(), pNodeA.getNextNode().getY()) == EWindingOrder.CCW ? Earcut.onCalculateWindingOrder(pNodeA.getX(), pNodeA.getY(), pNodeB.getX(), pNodeB.getY(), pNodeA.getNextNode().getX(), pNodeA.getNextNode().getY()) != EWindingOrder.CCW && Earcut.onCalculateWindingOrder(pNodeA.getX(), pNodeA.getY(), pNodeA.getPreviousNode().getX(), pNodeA.getPreviousNode().getY(), pNodeB.getX(), pNodeB.getY()) != EWindingOrder.CCW : Earcut.onCalculateWindingOrder(pNodeA.getX(), pNodeA.getY(), pNodeB.getX(), pNodeB.getY(), pNodeA.getPreviousNode().getX(), pNodeA.getPreviousNode().getY()) == EWindingOrder.CCW || Earcut.onCalculateWindingOrder(pNodeA.getX(), pNodeA.getY(), pNodeA.getNextNode().getX(), pNodeA.getNextNode().getY(), pNodeB.getX(), pNodeB.getY()) == EWindingOrder.CCW;
+	private static final boolean isLocallyInside(final NodePool pPool, final int pNodeA, final int pNodeB) {
+		final int     lPreviousNode = pPool.mPreviousNode[pNodeA];
+		final int     lNextNode     = pPool.mNextNode[pNodeA];
+	    return Earcut.getWindingOrder(pPool, lPreviousNode, pNodeA, lNextNode) == EWindingOrder.CCW ? Earcut.getWindingOrder(pPool, pNodeA, pNodeB, lNextNode) != EWindingOrder.CCW && Earcut.getWindingOrder(pPool, pNodeA, lPreviousNode, pNodeB) != EWindingOrder.CCW : Earcut.getWindingOrder(pPool, pNodeA, pNodeB, lPreviousNode) == EWindingOrder.CCW || Earcut.getWindingOrder(pPool, pNodeA, lNextNode, pNodeB) == EWindingOrder.CCW;
 	}
-	
+
 	/** Determines whether the middle point of a polygon diagonal is contained within the polygon. **/
-	private static final boolean onMiddleInsert(final Node pPolygonStart, final float pX0, final float pY0, final float pX1, final float pY1) {
-	    Node    lNode     = pPolygonStart;
+	private static final boolean onMiddleInsert(final NodePool pPool, final int pPolygonStart, final float pX0, final float pY0, final float pX1, final float pY1) {
+		final float[] lX    = pPool.mX;
+		final float[] lY    = pPool.mY;
+		final int[]   lNext = pPool.mNextNode;
+	    int     lNode     = pPolygonStart;
 	    boolean lIsInside = false;
 	    float lDx = (pX0 + pX1) / 2.0f;
 	    float lDy = (pY0 + pY1) / 2.0f;
 	    do {
-	        if (((lNode.getY() > lDy) != (lNode.getNextNode().getY() > lDy)) && (lDx < (lNode.getNextNode().getX() - lNode.getX()) * (lDy - lNode.getY()) / (lNode.getNextNode().getY() - lNode.getY()) + lNode.getX())) {
+	    	final int lNextNode = lNext[lNode];
+	        if (((lY[lNode] > lDy) != (lY[lNextNode] > lDy)) && (lDx < (lX[lNextNode] - lX[lNode]) * (lDy - lY[lNode]) / (lY[lNextNode] - lY[lNode]) + lX[lNode])) {
 	        	lIsInside = !lIsInside;
 	        }
-	        lNode = lNode.getNextNode();
+	        lNode = lNextNode;
 	    } while (lNode != pPolygonStart);
 	    return lIsInside;
 	}
-	
+
 	/** Determines if the diagonal of a polygon is intersecting with any polygon elements. **/
-	private static final boolean isIntersectingPolygon(final Node pStartNode, final float pX0, final float pY0, final float pX1, final float pY1) {
-	    Node lNode = pStartNode;
+	private static final boolean isIntersectingPolygon(final NodePool pPool, final int pStartNode, final float pX0, final float pY0, final float pX1, final float pY1) {
+		final float[] lX    = pPool.mX;
+		final float[] lY    = pPool.mY;
+		final int[]   lNext = pPool.mNextNode;
+	    int lNode = pStartNode;
 	    do {
-	        if(lNode.getX() != pX0 && lNode.getY() != pY0 && lNode.getNextNode().getX() != pX0 && lNode.getNextNode().getY() != pY0 && lNode.getX() != pX1 && lNode.getY() != pY1 && lNode.getNextNode().getX() != pX1 && lNode.getNextNode().getY() != pY1 && Earcut.isIntersecting(lNode.getX(), lNode.getY(), lNode.getNextNode().getX(), lNode.getNextNode().getY(), pX0, pY0, pX1, pY1)) {
+	    	final int lNextNode = lNext[lNode];
+	        if(lX[lNode] != pX0 && lY[lNode] != pY0 && lX[lNextNode] != pX0 && lY[lNextNode] != pY0 && lX[lNode] != pX1 && lY[lNode] != pY1 && lX[lNextNode] != pX1 && lY[lNextNode] != pY1 && Earcut.isIntersecting(pPool.mIsExact, lX[lNode], lY[lNode], lX[lNextNode], lY[lNextNode], pX0, pY0, pX1, pY1)) {
 	        	return true;
 	        }
-	        lNode = lNode.getNextNode();
+	        lNode = lNextNode;
 	    } while (lNode != pStartNode);
 
 	    return false;
 	}
-	
-	/** Determines whether two segments intersect. **/
-	private static final boolean isIntersecting(final float pX0, final float pY0, final float pX1, final float pY1, final float pX2, final float pY2, final float pX3, final float pY3) {
-	    return Earcut.onCalculateWindingOrder(pX0, pY0, pX1, pY1, pX2, pY2) != Earcut.onCalculateWindingOrder(pX0, pY0, pX1, pY1, pX3, pY3) && Earcut.onCalculateWindingOrder(pX2, pY2, pX3, pY3, pX0, pY0) != Earcut.onCalculateWindingOrder(pX2, pY2, pX3, pY3, pX1, pY1);
+
+	/** Determines whether the middle point of a polygon diagonal is contained within the polygon, counting only the edges in the EdgeGrid's row through that point. An edge occupies every column of its bounding box, so it is counted only in the first. **/
+	private static final boolean onMiddleInsert(final NodePool pPool, final EdgeGrid pEdgeGrid, final float pX0, final float pY0, final float pX1, final float pY1) {
+		final float[] lX    = pPool.mX;
+		final float[] lY    = pPool.mY;
+		final int[]   lNext = pPool.mNextNode;
+	    boolean lIsInside = false;
+	    float lDx = (pX0 + pX1) / 2.0f;
+	    float lDy = (pY0 + pY1) / 2.0f;
+	    final int lRow = pEdgeGrid.getRow(lDy);
+	    for(int lColumn = 0; lColumn < pEdgeGrid.mColumns; lColumn++) {
+	    	for(int lEntry = pEdgeGrid.mCellHeads[lRow * pEdgeGrid.mColumns + lColumn]; lEntry != EdgeGrid.NULL; lEntry = pEdgeGrid.mEntryNext[lEntry]) {
+	    		final int lNode     = pEdgeGrid.mEntryNodes[lEntry];
+	    		final int lNextNode = lNext[lNode];
+	    		if(pEdgeGrid.getColumn(Math.min(lX[lNode], lX[lNextNode])) != lColumn) {
+	    			continue;
+	    		}
+		        if (((lY[lNode] > lDy) != (lY[lNextNode] > lDy)) && (lDx < (lX[lNextNode] - lX[lNode]) * (lDy - lY[lNode]) / (lY[lNextNode] - lY[lNode]) + lX[lNode])) {
+		        	lIsInside = !lIsInside;
+		        }
+	    	}
+	    }
+	    return lIsInside;
 	}
-	
-	/** Interlinks polygon nodes in Z-Order. **/
-	private static final void onZIndexCurve(Node pStartNode, final float pMinimumX, final float pMinimumY, final float pSize) {
-	    Node lNode = pStartNode;
-	    
-	    do {
-	    	lNode.setZOrder(Earcut.onCalculateZOrder(lNode.getX(), lNode.getY(), pMinimumX, pMinimumY, pSize));
-	        lNode.setPreviousZNode(lNode.getPreviousNode());
-	        lNode.setNextZNode(lNode.getNextNode());
-	        lNode = lNode.getNextNode();
-	    } while (lNode != pStartNode);
 
-	    lNode.getPreviousZNode().setNextZNode(null);
-	    lNode.setPreviousZNode(null);
-	    
-	    /* Sort the generated ring using Z ordering. */
-	    Earcut.onTathamZSortList(lNode);
-	}
-	
-	/** Simon Tatham's doubly-linked list merge/sort algorithm. (http://www.chiark.greenend.org.uk/~sgtatham/algorithms/listsort.html) **/
-	private static final Node onTathamZSortList(Node pList) {
-	    int i;
-	    Node p;
-	    Node q;
-	    Node e; 
-	    Node tail;
-	    int numMerges;
-	    int pSize;
-	    int qSize;
-	    int inSize = 1;
-
-	    while (true) {
-	        p = pList;
-	        pList = null;
-	        tail = null;
-	        numMerges = 0;
-
-	        while(p != null) {
-	            numMerges++;
-	            q = p;
-	            pSize = 0;
-	            for (i = 0; i < inSize; i++) {
-	                pSize++;
-	                q = q.getNextZNode();
-	                if (q == null) break;
-	            }
+	/** Determines if the diagonal of a polygon is intersecting with any polygon elements, visiting only the EdgeGrid cells along the diagonal. Within each column the diagonal crosses, the span of X considered is widened by half a cell and the rows by one either side, so that rounding can't hide a crossing. **/
+	private static final boolean isIntersectingPolygon(final NodePool pPool, final EdgeGrid pEdgeGrid, final float pX0, final float pY0, final float pX1, final float pY1) {
+		final float[] lX           = pPool.mX;
+		final float[] lY           = pPool.mY;
+		final int[]   lNext        = pPool.mNextNode;
+		final int[]   lStamps      = pEdgeGrid.mStamps;
+		final int     lStamp       = pEdgeGrid.onStamp();
+		final float   lMinimumX    = Math.min(pX0, pX1);
+		final float   lMaximumX    = Math.max(pX0, pX1);
+		final int     lFirstColumn = pEdgeGrid.getColumn(lMinimumX);
+		final int     lLastColumn  = pEdgeGrid.getColumn(lMaximumX);
+		for(int lColumn = lFirstColumn; lColumn <= lLastColumn; lColumn++) {
+			/* Find the rows the diagonal spans within this column. */
+			float lMinimumY = Math.min(pY0, pY1);
+			float lMaximumY = Math.max(pY0, pY1);
+			if(lFirstColumn != lLastColumn && pX0 != pX1) {
+				final float lLeft  = Math.max(lMinimumX, pEdgeGrid.mMinimumX + (lColumn - 0.5f) / pEdgeGrid.mInverseCellWidth);
+				final float lRight = Math.min(lMaximumX, pEdgeGrid.mMinimumX + (lColumn + 1.5f) / pEdgeGrid.mInverseCellWidth);
+				final float lYLeft  = pY0 + (lLeft  - pX0) * (pY1 - pY0) / (pX1 - pX0);
+				final float lYRight = pY0 + (lRight - pX0) * (pY1 - pY0) / (pX1 - pX0);
+				lMinimumY = Math.min(lYLeft, lYRight);
+				lMaximumY = Math.max(lYLeft, lYRight);
+			}
+			final int lFirstRow = Math.max(pEdgeGrid.getRow(lMinimumY) - 1, 0);
+			final int lLastRow  = Math.min(pEdgeGrid.getRow(lMaximumY) + 1, pEdgeGrid.mRows - 1);
+			for(int lRow = lFirstRow; lRow <= lLastRow; lRow++) {
+				for(int lEntry = pEdgeGrid.mCellHeads[lRow * pEdgeGrid.mColumns + lColumn]; lEntry != EdgeGrid.NULL; lEntry = pEdgeGrid.mEntryNext[lEntry]) {
+					final int lNode = pEdgeGrid.mEntryNodes[lEntry];
+					if(lStamps[lNode] == lStamp) {
+						continue;
+					}
+					lStamps[lNode] = lStamp;
+			    	final int lNextNode = lNext[lNode];
+			        if(lX[lNode] != pX0 && lY[lNode] != pY0 && lX[lNextNode] != pX0 && lY[lNextNode] != pY0 && lX[lNode] != pX1 && lY[lNode] != pY1 && lX[lNextNode] != pX1 && lY[lNextNode] != pY1 && Earcut.isIntersecting(pPool.mIsExact, lX[lNode], lY[lNode], lX[lNextNode], lY[lNextNode], pX0, pY0, pX1, pY1)) {
+			        	return true;
+			        }
+				}
+			}
+		}
+	    return false;
+	}
 
-	            qSize = inSize;
-
-	            while (pSize > 0 || (qSize > 0 && q != null)) {
-
-	                if (pSize == 0) {
-	                    e = q;
-	                    q = q.getNextZNode();
-	                    qSize--;
-	                } else if (qSize == 0 || q == null) {
-	                    e = p;
-	                    p = p.getNextZNode();
-	                    pSize--;
-	                } else if (p.getZOrder() <= q.getZOrder()) {
-	                    e = p;
-	                    p = p.getNextZNode();
-	                    pSize--;
-	                } else {
-	                    e = q;
-	                    q = q.getNextZNode();
-	                    qSize--;
-	                }
+	/** Determines whether two segments intersect. The orientations are found exactly if pIsExact is set. **/
+	private static final boolean isIntersecting(final boolean pIsExact, final float pX0, final float pY0, final float pX1, final float pY1, final float pX2, final float pY2, final float pX3, final float pY3) {
+		if (pIsExact) {
+			return Earcut.onCalculateExactWindingOrder(pX0, pY0, pX1, pY1, pX2, pY2) != Earcut.onCalculateExactWindingOrder(pX0, pY0, pX1, pY1, pX3, pY3) && Earcut.onCalculateExactWindingOrder(pX2, pY2, pX3, pY3, pX0, pY0) != Earcut.onCalculateExactWindingOrder(pX2, pY2, pX3, pY3, pX1, pY1);
+		}
+	    return Earcut.onCalculateWindingOrder(pX0, pY0, pX1, pY1, pX2, pY2) != Earcut.onCalculateWindingOrder(pX0, pY0, pX1, pY1, pX3, pY3) && Earcut.onCalculateWindingOrder(pX2, pY2, pX3, pY3, pX0, pY0) != Earcut.onCalculateWindingOrder(pX2, pY2, pX3, pY3, pX1, pY1);
+	}
 
-	                if (tail != null) tail.setNextZNode(e);
-	                else pList = e;
+	/** Interlinks polygon nodes in z-order. Codes are computed for every node of the pool in a single flat pass, then gathered into the ZOrderBuffer alongside their nodes, in ring order from pStartNode, and radix sorted; equal codes keep their ring order. **/
+	private static final void onZIndexCurve(final NodePool pPool, final ZOrderBuffer pZOrderBuffer, final int pStartNode, final float pMinimumX, final float pMinimumY, final float pInverseSize) {
+		final float[] lX         = pPool.mX;
+		final float[] lY         = pPool.mY;
+		final int[]   lZOrder    = pPool.mZOrder;
+		final int[]   lNext      = pPool.mNextNode;
+		final int[]   lPreviousZ = pPool.mPreviousZNode;
+		final int[]   lNextZ     = pPool.mNextZNode;
+		/* Hash the nodes in pool order, which keeps the loop free of the list's dependent loads. */
+		Earcut.onCalculateZOrders(lX, lY, lZOrder, pPool.mSize, pMinimumX, pMinimumY, pInverseSize);
+		/* Gather the ring along with the z-order of each node. */
+		int lSize = 0;
+		int lNode = pStartNode;
+		do {
+			lSize++;
+			lNode = lNext[lNode];
+		} while (lNode != pStartNode);
+		pZOrderBuffer.ensureCapacity(lSize);
+		final int[] lGatheredNodes = pZOrderBuffer.mNodes;
+		final int[] lGatheredKeys  = pZOrderBuffer.mKeys;
+		for(int i = 0; i < lSize; i++) {
+			lGatheredNodes[i] = lNode;
+			lGatheredKeys[i]  = lZOrder[lNode];
+			lNode = lNext[lNode];
+		}
+	    /* Sort the nodes by z-order, then link them in sequence. */
+		pZOrderBuffer.onSort(lSize);
+		final int[] lNodes = pZOrderBuffer.mNodes;
+		int lPreviousNode = Earcut.NULL;
+		for(int i = 0; i < lSize; i++) {
+			lNode = lNodes[i];
+			lPreviousZ[lNode] = lPreviousNode;
+			if(lPreviousNode != Earcut.NULL) {
+				lNextZ[lPreviousNode] = lNode;
+			}
+			lPreviousNode = lNode;
+		}
+		lNextZ[lPreviousNode] = Earcut.NULL;
+	}
 
-	                e.setPreviousZNode(tail);
-	                tail = e;
-	            }
+	/** Calculates the z-order of every one of the first pSize points of the co-ordinate arrays, storing each into pZOrder. The loop is kept flat and branch-free, so that the JIT can unroll and pipeline it. **/
+	private static final void onCalculateZOrders(final float[] pX, final float[] pY, final int[] pZOrder, final int pSize, final float pMinimumX, final float pMinimumY, final float pInverseSize) {
+		final int[] lSpread = Earcut.MORTON_SPREAD;
+		for(int i = 0; i < pSize; i++) {
+			final int lX = (int)((pX[i] - pMinimumX) * pInverseSize);
+			final int lY = (int)((pY[i] - pMinimumY) * pInverseSize);
+			pZOrder[i] = lSpread[lX & 0xFF] | (lSpread[(lX >>> 8) & 0xFF] << 16) | (lSpread[lY & 0xFF] << 1) | (lSpread[(lY >>> 8) & 0xFF] << 17);
+		}
+	}
 
-	            p = q;
-	        }
+	/** Calculates the Z-Order of a given point given the vertex co-ordinates and the inverse size of the bounding box, scaled by the co-ordinate range. **/
+	static final int onCalculateZOrder(final float pX, final float pY, final float pMinimumX, final float pMinimumY, final float pInverseSize) {
+		/* Transform the co-ordinate set onto a (0 -> DEFAULT_COORDINATE_RANGE) Integer range; fifteen bits per axis interleave into a non-negative code, a byte at a time. */
+	    final int lX = (int)((pX - pMinimumX) * pInverseSize);
+	    final int lY = (int)((pY - pMinimumY) * pInverseSize);
+	    /* Returned the scaled co-ordinates. */
+	    return Earcut.MORTON_SPREAD[lX & 0xFF] | (Earcut.MORTON_SPREAD[(lX >>> 8) & 0xFF] << 16) | (Earcut.MORTON_SPREAD[lY & 0xFF] << 1) | (Earcut.MORTON_SPREAD[(lY >>> 8) & 0xFF] << 17);
+	}
 
-	        tail.setNextZNode(null);
+	/** Creates the table which spreads the eight bits of a byte across the even bits of a short, so that a z-order code is interleaved a byte at a time. **/
+	private static final int[] onCreateMortonSpread() {
+		final int[] lSpread = new int[256];
+		for(int i = 0; i < lSpread.length; i++) {
+			int lBits = i;
+			lBits = (lBits | (lBits << 4)) & 0x0F0F;
+			lBits = (lBits | (lBits << 2)) & 0x3333;
+			lBits = (lBits | (lBits << 1)) & 0x5555;
+			lSpread[i] = lBits;
+		}
+		return lSpread;
+	}
 
-	        if (numMerges <= 1) return pList;
+	/** Returns the least of the first pSize values, which must be at least one. The comparison is written as a select, so that the JIT can vectorize the reduction. **/
+	private static final float getMinimum(final float[] pValues, final int pSize) {
+		float lMinimum = pValues[0];
+		for(int i = 1; i < pSize; i++) {
+			final float lValue = pValues[i];
+			lMinimum = lValue < lMinimum ? lValue : lMinimum;
+		}
+		return lMinimum;
+	}
 
-	        inSize *= 2;
-	    }
+	/** Returns the greatest of the first pSize values, which must be at least one. **/
+	private static final float getMaximum(final float[] pValues, final int pSize) {
+		float lMaximum = pValues[0];
+		for(int i = 1; i < pSize; i++) {
+			final float lValue = pValues[i];
+			lMaximum = lValue > lMaximum ? lValue : lMaximum;
+		}
+		return lMaximum;
 	}
-	
-	/** Calculates the Z-Order of a given point given the vertex co-ordinates and size of the bounding box. **/
-	private static final int onCalculateZOrder(final float pX, final float pY, final float pMinimumX, final float pMinimumY, final float pSize) {
-		/* Transform the co-ordinate set onto a (0 -> DEFAULT_COORDINATE_RANGE) Integer range. */
-	    int lX = (int)(Earcut.DEFAULT_COORDINATE_RANGE * (pX - pMinimumX) / pSize);
-	    lX = (lX | (lX << 8)) & 0x00FF00FF;
-	    lX = (lX | (lX << 4)) & 0x0F0F0F0F;
-	    lX = (lX | (lX << 2)) & 0x33333333;
-	    lX = (lX | (lX << 1)) & 0x55555555;
-	    int lY = (int)(Earcut.DEFAULT_COORDINATE_RANGE * (pY - pMinimumY) / pSize);
-	    lY = (lY | (lY << 8)) & 0x00FF00FF;
-	    lY = (lY | (lY << 4)) & 0x0F0F0F0F;
-	    lY = (lY | (lY << 2)) & 0x33333333;
-	    lY = (lY | (lY << 1)) & 0x55555555;
-	    /* Returned the scaled co-ordinates. */
-	    return lX | (lY << 1);
-	}
-	
-	/** Creates a circular doubly linked list using polygon points. The order is governed by the specified winding order. **/
-	private static final Node onCreateDoublyLinkedList(final float[][] pPoints, final boolean pIsClockwise) {
-		int lWindingSum = 0;
-		float[] p1;
-		float[] p2;
-		Node lLastNode = null;
-		
-		/* Calculate the original order of the Polygon ring. */
-	    for(int i = 0, j = pPoints.length - 1; i < pPoints.length; j = i++) {
-	        p1 = pPoints[i];
-	        p2 = pPoints[j];
-	        lWindingSum += (p2[0] - p1[0]) * (p1[1] + p2[1]);
-	    }
+
+	/** Creates a circular doubly linked list using the vertices pStart to pEnd (exclusive) read through a VertexSource. The order is governed by the specified winding order. **/
+	private static final int onCreateDoublyLinkedList(final NodePool pPool, final VertexSource pSource, final int pStart, final int pEnd, final boolean pIsClockwise) {
+		int lLastNode = Earcut.NULL;
 	    /* Link points into the circular doubly-linked list in the specified winding order. */
-	    if (pIsClockwise == (lWindingSum > 0)) {
-	        for(int i = 0; i < pPoints.length; i++) {
-	        	lLastNode = Earcut.onInsertNode(pPoints[i][0], pPoints[i][1], lLastNode);
+	    if (pIsClockwise == (pSource.getWindingSum(pStart, pEnd) > 0)) {
+	        for(int i = pStart; i < pEnd; i++) {
+	        	lLastNode = Earcut.onInsertNode(pPool, i, pSource.getX(i), pSource.getY(i), lLastNode);
 	        }
 	    } else {
-	        for(int i = pPoints.length - 1; i >= 0; i--) {
-	        	lLastNode = Earcut.onInsertNode(pPoints[i][0], pPoints[i][1], lLastNode);
+	        for(int i = pEnd - 1; i >= pStart; i--) {
+	        	lLastNode = Earcut.onInsertNode(pPool, i, pSource.getX(i), pSource.getY(i), lLastNode);
 	        }
 	    }
 	    /* Return the last node in the Doubly-Linked List. */
 	    return lLastNode;
 	}
-	
+
 	/** Eliminates colinear/duplicate points. **/
-	private static final Node onFilterPoints(final Node pStartNode, Node pEndNode, final boolean pIsZIndexed) {
-		if(pEndNode == null) {
+	private static final int onFilterPoints(final NodePool pPool, final int pStartNode, int pEndNode, final boolean pIsZIndexed) {
+		/* An empty ring has nothing to filter. */
+		if(pStartNode == Earcut.NULL) {
+			return Earcut.NULL;
+		}
+		if(pEndNode == Earcut.NULL) {
 			pEndNode = pStartNode;
 		}
 
-	    Node    lNode              = pStartNode;
+		final float[] lX         = pPool.mX;
+		final float[] lY         = pPool.mY;
+		final int[]   lPrevious  = pPool.mPreviousNode;
+		final int[]   lNext      = pPool.mNextNode;
+		final int[]   lPreviousZ = pPool.mPreviousZNode;
+		final int[]   lNextZ     = pPool.mNextZNode;
+	    int     lNode              = pStartNode;
 	    boolean lContinueIteration = false;
-	    
+
 	    do {
 	        lContinueIteration = false;
+	        final int lPreviousNode = lPrevious[lNode];
+	        final int lNextNode     = lNext[lNode];
 
-	        if (Earcut.isVertexEquals(lNode.getX(), lNode.getY(), lNode.getNextNode().getX(), lNode.getNextNode().getY()) || Earcut.onCalculateWindingOrder(lNode.getPreviousNode().getX(), lNode.getPreviousNode().getY(), lNode.getX(), lNode.getY(), lNode.getNextNode().getX(), lNode.getNextNode().getY()) == EWindingOrder.COLINEAR) {
+	        if (Earcut.isVertexEquals(lX[lNode], lY[lNode], lX[lNextNode], lY[lNextNode]) || Earcut.getWindingOrder(pPool, lPreviousNode, lNode, lNextNode) == EWindingOrder.COLINEAR) {
 
 	        	/* Remove the node. */
-	            lNode.getPreviousNode().setNextNode(lNode.getNextNode());
-	            lNode.getNextNode().setPreviousNode(lNode.getPreviousNode());
+	            lNext[lPreviousNode] = lNextNode;
+	            lPrevious[lNextNode] = lPreviousNode;
 	            /* Remove the corresponding Z-Index nodes. */
-	            
-	            if(lNode.getPreviousZNode() != null) {
-	            	lNode.getPreviousZNode().setNextZNode(lNode.getNextZNode()); 
+
+	            if(lPreviousZ[lNode] != Earcut.NULL) {
+	            	lNextZ[lPreviousZ[lNode]] = lNextZ[lNode];
 	            }
-	            if(lNode.getNextZNode() != null) {
-	            	lNode.getNextZNode().setPreviousZNode(lNode.getPreviousZNode());
+	            if(lNextZ[lNode] != Earcut.NULL) {
+	            	lPreviousZ[lNextZ[lNode]] = lPreviousZ[lNode];
 	            }
 
-	            lNode = pEndNode = lNode.getPreviousNode();
+	            lNode = pEndNode = lPreviousNode;
 
-	            if (lNode == lNode.getNextNode()) return null;
+	            if (lNode == lNext[lNode]) return Earcut.NULL;
 	            lContinueIteration = true;
 
 	        } else {
-	            lNode = lNode.getNextNode();
+	            lNode = lNextNode;
 	        }
 	    } while (lContinueIteration || lNode != pEndNode);
 
 	    return pEndNode;
 	}
-	
+
 	/** Creates a node and optionally links it with a previous node in a circular doubly-linked list. **/
-	private static final Node onInsertNode(final float pX, final float pY, final Node pLastNode) {
-	    final Node lNode = new Node(pX, pY);
-	    if(pLastNode == null) {
-	        lNode.setPreviousNode(lNode);
-	        lNode.setNextNode(lNode);
+	private static final int onInsertNode(final NodePool pPool, final int pIndex, final float pX, final float pY, final int pLastNode) {
+	    final int lNode = pPool.onCreateNode(pIndex, pX, pY);
+	    if(pLastNode == Earcut.NULL) {
+	        pPool.mPreviousNode[lNode] = lNode;
+	        pPool.mNextNode[lNode] = lNode;
 
 	    } else {
-	        lNode.setNextNode(pLastNode.getNextNode());
-	        lNode.setPreviousNode(pLastNode);
-	        pLastNode.getNextNode().setPreviousNode(lNode);
-	        pLastNode.setNextNode(lNode);
+	        pPool.mNextNode[lNode] = pPool.mNextNode[pLastNode];
+	        pPool.mPreviousNode[lNode] = pLastNode;
+	        pPool.mPreviousNode[pPool.mNextNode[pLastNode]] = lNode;
+	        pPool.mNextNode[pLastNode] = lNode;
 	    }
 	    return lNode;
 	}
-	
+
 	/** Determines if two point vertices are equal. **/
 	private static final boolean isVertexEquals(final float pX0, final float pY0, final float pX1, final float pY1) {
 	    return pX0 == pX1 && pY0 == pY1;
 	}
-	
+
+	/** Returns the winding order of three nodes, found exactly if the pool holds integer co-ordinates. **/
+	private static final EWindingOrder getWindingOrder(final NodePool pPool, final int pNode0, final int pNode1, final int pNode2) {
+		final float[] lX = pPool.mX;
+		final float[] lY = pPool.mY;
+		if (pPool.mIsExact) {
+			return Earcut.onCalculateExactWindingOrder(lX[pNode0], lY[pNode0], lX[pNode1], lY[pNode1], lX[pNode2], lY[pNode2]);
+		}
+		return Earcut.onCalculateWindingOrder(lX[pNode0], lY[pNode0], lX[pNode1], lY[pNode1], lX[pNode2], lY[pNode2]);
+	}
+
+	/** Equivalent to onCalculateWindingOrder for integer co-ordinates held as floats, with the cross product evaluated exactly in long arithmetic. **/
+	private static final EWindingOrder onCalculateExactWindingOrder(final float pX0, final float pY0, final float pX1, final float pY1, final float pX2, final float pY2) {
+	    final long lCross = ((long)pY1 - (long)pY0) * ((long)pX2 - (long)pX1) - ((long)pX1 - (long)pX0) * ((long)pY2 - (long)pY1);
+	    return      lCross > 0 ? EWindingOrder.CW : lCross < 0 ? EWindingOrder.CCW : EWindingOrder.COLINEAR;
+	}
+
 	/** Calculates the WindingOrder for a set of vertices. **/
 	private static final EWindingOrder onCalculateWindingOrder(final float pX0, final float pY0, final float pX1, final float pY1, final float pX2, final float pY2) {
 	    final float lCross = (pY1 - pY0) * (pX2 - pX1) - (pX1 - pX0) * (pY2 - pY1);
 	    return      lCross > 0 ? EWindingOrder.CW : lCross < 0 ? EWindingOrder.CCW : EWindingOrder.COLINEAR;
 	}
-	
+
 	/* Prevent instantiation of this class. */
 	private Earcut() {}
 
@@ -0,0 +1,180 @@
+package com.earcutj;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.earcutj.exception.EarcutException;
+
+/** Triangulates collections of independent polygons in parallel. Polygons are supplied in a packed form: a single co-ordinate array, a table of ring offsets (the vertex index at which each ring begins, terminated by the total vertex count) and a table of polygon offsets (the ring at which each polygon begins, terminated by the total ring count). The first ring of each polygon is its outer ring; any others are holes. **/
+public final class EarcutBatch {
+
+	/* Default Declarations. */
+	private static final int DEFAULT_GRAIN_VERTICES = 8192;
+	private static final int DEFAULT_TRIM_VERTICES  = 1 << 20;
+
+	/* Each worker thread triangulates through its own EarcutContext. */
+	private static final ThreadLocal<EarcutContext> CONTEXT = new ThreadLocal<EarcutContext>() { @Override protected EarcutContext initialValue() { return new EarcutContext(); } };
+
+	/** Triangulates every polygon of the batch using the common ForkJoinPool. **/
+	public static final Result triangulate(final float[] pCoordinates, final int pDimensions, final int[] pRingOffsets, final int[] pPolygonOffsets) {
+		return EarcutBatch.triangulate(pCoordinates, pDimensions, pRingOffsets, pPolygonOffsets, ForkJoinPool.commonPool());
+	}
+
+	/** Triangulates every polygon of the batch using the supplied ForkJoinPool. Work is divided by vertex count rather than polygon count, so a single large polygon occupies one worker while the small polygons around it are shared between the others. A polygon which cannot be processed contributes no triangles. **/
+	public static final Result triangulate(final float[] pCoordinates, final int pDimensions, final int[] pRingOffsets, final int[] pPolygonOffsets, final ForkJoinPool pForkJoinPool) {
+		return EarcutBatch.triangulate(pCoordinates, pDimensions, pRingOffsets, null, pPolygonOffsets, pForkJoinPool);
+	}
+
+	/** Triangulates every polygon of a batch whose rings are listed, rather than stored in order, using the common ForkJoinPool. Polygon i is formed of the rings pRings[pPolygonOffsets[i]] to pRings[pPolygonOffsets[i + 1] - 1], the first of which is its outer ring. **/
+	public static final Result triangulate(final float[] pCoordinates, final int pDimensions, final int[] pRingOffsets, final int[] pRings, final int[] pPolygonOffsets) {
+		return EarcutBatch.triangulate(pCoordinates, pDimensions, pRingOffsets, pRings, pPolygonOffsets, ForkJoinPool.commonPool());
+	}
+
+	/** Triangulates every polygon of a batch whose rings are listed by pRings using the supplied ForkJoinPool. If pRings is null, polygon i is formed of the rings pPolygonOffsets[i] to pPolygonOffsets[i + 1] - 1. **/
+	public static final Result triangulate(final float[] pCoordinates, final int pDimensions, final int[] pRingOffsets, final int[] pRings, final int[] pPolygonOffsets, final ForkJoinPool pForkJoinPool) {
+		final int   lPolygonCount  = pPolygonOffsets.length - 1;
+		/* Reserve the maximum number of indices each polygon can produce; each ring beyond the first bridges in another pair of triangles. */
+		final int[] lOffsets       = new int[lPolygonCount + 1];
+		/* Accumulate the vertices which precede each polygon, so that the vertex count of any range is found in constant time. */
+		final int[] lVertexOffsets = new int[lPolygonCount + 1];
+		for(int i = 0; i < lPolygonCount; i++) {
+			final int lVertexCount = Earcut.getVertexCount(pRingOffsets, pRings, pPolygonOffsets[i], pPolygonOffsets[i + 1]);
+			final int lHoleCount   = Math.max(pPolygonOffsets[i + 1] - pPolygonOffsets[i] - 1, 0);
+			lOffsets[i + 1]       = lOffsets[i] + Math.max(lVertexCount + (lHoleCount << 1) - 2, 0) * 3;
+			lVertexOffsets[i + 1] = lVertexOffsets[i] + lVertexCount;
+		}
+		final int[] lIndices = new int[lOffsets[lPolygonCount]];
+		final int[] lCounts  = new int[lPolygonCount];
+		/* Triangulate each polygon into its reserved region. */
+		pForkJoinPool.invoke(new TriangulateAction(pCoordinates, pDimensions, pRingOffsets, pRings, pPolygonOffsets, lVertexOffsets, lIndices, lOffsets, lCounts, 0, lPolygonCount));
+		/* Compact the regions, so that the triangles of each polygon immediately follow those of the last. */
+		int lSize = 0;
+		for(int i = 0; i < lPolygonCount; i++) {
+			System.arraycopy(lIndices, lOffsets[i], lIndices, lSize, lCounts[i]);
+			lOffsets[i] = lSize;
+			lSize      += lCounts[i];
+		}
+		lOffsets[lPolygonCount] = lSize;
+		return new Result(lIndices, lSize, lOffsets);
+	}
+
+	/** Recursively divides a range of polygons into halves of roughly equal vertex count. **/
+	@SuppressWarnings("serial")
+	private static final class TriangulateAction extends RecursiveAction {
+
+		/* Member Variables. */
+		private final float[] mCoordinates;
+		private final int     mDimensions;
+		private final int[]   mRingOffsets;
+		private final int[]   mRings;
+		private final int[]   mPolygonOffsets;
+		private final int[]   mVertexOffsets;
+		private final int[]   mIndices;
+		private final int[]   mOffsets;
+		private final int[]   mCounts;
+		private final int     mFrom;
+		private final int     mTo;
+
+		protected TriangulateAction(final float[] pCoordinates, final int pDimensions, final int[] pRingOffsets, final int[] pRings, final int[] pPolygonOffsets, final int[] pVertexOffsets, final int[] pIndices, final int[] pOffsets, final int[] pCounts, final int pFrom, final int pTo) {
+			/* Initialize Member Variables. */
+			this.mCoordinates    = pCoordinates;
+			this.mDimensions     = pDimensions;
+			this.mRingOffsets    = pRingOffsets;
+			this.mRings          = pRings;
+			this.mPolygonOffsets = pPolygonOffsets;
+			this.mVertexOffsets  = pVertexOffsets;
+			this.mIndices        = pIndices;
+			this.mOffsets        = pOffsets;
+			this.mCounts         = pCounts;
+			this.mFrom           = pFrom;
+			this.mTo             = pTo;
+		}
+
+		@Override
+		protected final void compute() {
+			/* Fetch the vertices preceding each polygon bound; since these ascend, this gives the vertex count of any range in constant time. */
+			final int lStart = this.mVertexOffsets[this.mFrom];
+			final int lEnd   = this.mVertexOffsets[this.mTo];
+			if(this.mTo - this.mFrom > 1 && lEnd - lStart > EarcutBatch.DEFAULT_GRAIN_VERTICES) {
+				/* Binary search for the polygon which divides the vertices of this range in half. */
+				final int lMiddleVertex = lStart + ((lEnd - lStart) >>> 1);
+				int lLow  = this.mFrom + 1;
+				int lHigh = this.mTo - 1;
+				while(lLow < lHigh) {
+					final int lMiddle = (lLow + lHigh) >>> 1;
+					if(this.mVertexOffsets[lMiddle] < lMiddleVertex) {
+						lLow = lMiddle + 1;
+					}
+					else {
+						lHigh = lMiddle;
+					}
+				}
+				RecursiveAction.invokeAll(new TriangulateAction(this.mCoordinates, this.mDimensions, this.mRingOffsets, this.mRings, this.mPolygonOffsets, this.mVertexOffsets, this.mIndices, this.mOffsets, this.mCounts, this.mFrom, lLow), new TriangulateAction(this.mCoordinates, this.mDimensions, this.mRingOffsets, this.mRings, this.mPolygonOffsets, this.mVertexOffsets, this.mIndices, this.mOffsets, this.mCounts, lLow, this.mTo));
+				return;
+			}
+			/* Triangulate the range sequentially. */
+			final EarcutContext lContext = EarcutBatch.CONTEXT.get();
+			for(int i = this.mFrom; i < this.mTo; i++) {
+				/* Ignore polygons without an outer ring. */
+				if(this.mPolygonOffsets[i + 1] <= this.mPolygonOffsets[i]) {
+					continue;
+				}
+				try {
+					final int lCount = lContext.triangulate(this.mCoordinates, this.mRingOffsets, this.mRings, this.mPolygonOffsets[i], this.mPolygonOffsets[i + 1], this.mDimensions);
+					System.arraycopy(lContext.getIndices(), 0, this.mIndices, this.mOffsets[i], lCount);
+					this.mCounts[i] = lCount;
+				}
+				catch(final EarcutException pEarcutException) {
+					/* The polygon is malformed; it contributes no triangles. */
+					this.mCounts[i] = 0;
+				}
+				finally {
+					/* Release the buffers grown by an unusually large polygon, rather than pinning them to the worker thread. */
+					if(this.mVertexOffsets[i + 1] - this.mVertexOffsets[i] > EarcutBatch.DEFAULT_TRIM_VERTICES) {
+						lContext.trim();
+					}
+				}
+			}
+		}
+
+	}
+
+	/** The triangulation of a batch: a single array of vertex indices, with the triangles of polygon i found between getOffsets()[i] and getOffsets()[i + 1]. **/
+	public static final class Result {
+
+		/* Member Variables. */
+		private final int[] mIndices;
+		private final int   mIndexCount;
+		private final int[] mOffsets;
+
+		protected Result(final int[] pIndices, final int pIndexCount, final int[] pOffsets) {
+			/* Initialize Member Variables. */
+			this.mIndices    = pIndices;
+			this.mIndexCount = pIndexCount;
+			this.mOffsets    = pOffsets;
+		}
+
+		/** Returns the vertex indices of every polygon. Only the first getIndexCount() elements are valid. **/
+		public final int[] getIndices() {
+			return this.mIndices;
+		}
+
+		public final int getIndexCount() {
+			return this.mIndexCount;
+		}
+
+		/** Returns the offset of each polygon's indices, terminated by getIndexCount(). **/
+		public final int[] getOffsets() {
+			return this.mOffsets;
+		}
+
+		public final int getPolygonCount() {
+			return this.mOffsets.length - 1;
+		}
+
+	}
+
+	/* Prevent instantiation of this class. */
+	private EarcutBatch() {}
+
+}
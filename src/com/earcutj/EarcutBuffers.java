@@ -0,0 +1,53 @@
+package com.earcutj;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
+
+/** Triangulates directly between NIO buffers, such as those used to upload vertex and index data to the GPU, without copying through the heap. The index width is chosen by vertex count: unsigned shorts where every vertex can be addressed by one, otherwise ints. **/
+public final class EarcutBuffers {
+
+	/* Default Declarations. */
+	public static final int MAXIMUM_SHORT_VERTICES = 1 << 16;
+
+	/** Determines whether a polygon of pVertexCount vertices can be indexed using unsigned shorts. **/
+	public static final boolean isShortIndexable(final int pVertexCount) {
+		return pVertexCount <= EarcutBuffers.MAXIMUM_SHORT_VERTICES;
+	}
+
+	/** Allocates a direct index buffer in native byte order, large enough to hold the triangulation of a polygon of pVertexCount vertices and pHoleCount holes. Returns a ShortBuffer when the vertices can be indexed using unsigned shorts, otherwise an IntBuffer. **/
+	public static final Buffer allocateIndexBuffer(final int pVertexCount, final int pHoleCount) {
+		/* Each hole bridge introduces another pair of triangles. */
+		final int        lIndexCount = Math.max(pVertexCount + (pHoleCount << 1) - 2, 0) * 3;
+		final ByteBuffer lByteBuffer;
+		if(EarcutBuffers.isShortIndexable(pVertexCount)) {
+			lByteBuffer = ByteBuffer.allocateDirect(lIndexCount << 1).order(ByteOrder.nativeOrder());
+			return lByteBuffer.asShortBuffer();
+		}
+		lByteBuffer = ByteBuffer.allocateDirect(lIndexCount << 2).order(ByteOrder.nativeOrder());
+		return lByteBuffer.asIntBuffer();
+	}
+
+	/** Triangulates vertex co-ordinates read from a FloatBuffer, where vertex i has its x and y co-ordinates at absolute positions pOffset + i * pStride and the element after it. Indices are written from the current position of pIndices, which must be a ShortBuffer or an IntBuffer; any other Buffer is refused with an IllegalArgumentException. Returns the number of indices written. **/
+	public static final int triangulate(final FloatBuffer pCoordinates, final int pOffset, final int pStride, final int pVertexCount, final int[] pHoleIndices, final Buffer pIndices) {
+		return EarcutBuffers.triangulate(new EarcutContext(0), pCoordinates, pOffset, pStride, pVertexCount, pHoleIndices, pIndices);
+	}
+
+	/** Triangulates between NIO buffers using the scratch buffers of an existing EarcutContext. **/
+	public static final int triangulate(final EarcutContext pContext, final FloatBuffer pCoordinates, final int pOffset, final int pStride, final int pVertexCount, final int[] pHoleIndices, final Buffer pIndices) {
+		if(pIndices instanceof ShortBuffer) {
+			return pContext.triangulate(pCoordinates, pOffset, pStride, pVertexCount, pHoleIndices, (ShortBuffer)pIndices);
+		}
+		if(pIndices instanceof IntBuffer) {
+			return pContext.triangulate(pCoordinates, pOffset, pStride, pVertexCount, pHoleIndices, (IntBuffer)pIndices);
+		}
+		throw new IllegalArgumentException("Indices must be written to a ShortBuffer or an IntBuffer!");
+	}
+
+	/* Prevent instantiation of this class. */
+	private EarcutBuffers() {}
+
+}
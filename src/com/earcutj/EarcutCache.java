@@ -0,0 +1,277 @@
+package com.earcutj;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/** A thread-safe cache of triangulations, for geometry which is triangulated repeatedly, such as building footprints and glyph outlines redrawn across zoom levels. Polygons are keyed by a hash of their co-ordinates, hole indices, dimensions and winding flag, and compared in full on a hit, so a hash collision never returns the wrong triangles. The cache is divided into independently locked segments which share a single byte budget. Once an insertion exceeds the budget, the least recently used entries of the inserting segment are evicted first, followed by those of the other segments in turn. A polygon whose entry alone would exceed the budget isn't cached at all; such refusals are counted by getRejectionCount. **/
+public final class EarcutCache {
+
+	/* Default Declarations. */
+	private static final int DEFAULT_CONCURRENCY   = 16;
+	private static final int DEFAULT_TRIM_VERTICES = 1 << 20;
+	/* The approximate cost in bytes of an entry besides its arrays: the entry itself, its map node and four array headers. */
+	private static final int ENTRY_OVERHEAD        = 160;
+
+	/* Each thread triangulates misses through its own EarcutContext. */
+	private static final ThreadLocal<EarcutContext> CONTEXT = new ThreadLocal<EarcutContext>() { @Override protected EarcutContext initialValue() { return new EarcutContext(); } };
+
+	/* Member Variables. */
+	private final Segment[]  mSegments;
+	private final long       mMaximumBytes;
+	private final AtomicLong mHitCount;
+	private final AtomicLong mMissCount;
+	private final AtomicLong mEvictionCount;
+	private final AtomicLong mRejectionCount;
+	private final AtomicLong mSize;
+
+	public EarcutCache(final long pMaximumBytes) {
+		this(pMaximumBytes, EarcutCache.DEFAULT_CONCURRENCY);
+	}
+
+	/** Creates a cache holding up to roughly pMaximumBytes of geometry and indices, divided into enough segments for pConcurrency threads to access it without contention. Any single entry may use the whole budget; only a polygon whose co-ordinates, hole indices and triangle indices together exceed pMaximumBytes is refused. **/
+	public EarcutCache(final long pMaximumBytes, final int pConcurrency) {
+		if(pMaximumBytes < 0) {
+			throw new IllegalArgumentException("The size of the cache cannot be negative!");
+		}
+		if(pConcurrency < 1) {
+			throw new IllegalArgumentException("The concurrency of the cache must be positive!");
+		}
+		/* Initialize Member Variables. */
+		final int lSegmentCount = Integer.highestOneBit(Math.min(pConcurrency, 1 << 16) * 2 - 1);
+		this.mSegments          = new Segment[lSegmentCount];
+		this.mMaximumBytes      = pMaximumBytes;
+		this.mHitCount          = new AtomicLong();
+		this.mMissCount         = new AtomicLong();
+		this.mEvictionCount     = new AtomicLong();
+		this.mRejectionCount    = new AtomicLong();
+		this.mSize              = new AtomicLong();
+		for(int i = 0; i < lSegmentCount; i++) {
+			this.mSegments[i] = new Segment();
+		}
+	}
+
+	/** Returns the triangulation of a flat array of vertex co-ordinates, as Earcut.triangulate(float[], int[], int) would. The returned array is shared with other callers and must not be modified. **/
+	public final int[] triangulate(final float[] pCoordinates, final int[] pHoleIndices, final int pDimensions) {
+		return this.triangulate(pCoordinates, pHoleIndices, pDimensions, true);
+	}
+
+	/** Returns the triangulation of a flat array of vertex co-ordinates, linking the outer ring in the specified winding order. The returned array is shared with other callers and must not be modified. **/
+	public final int[] triangulate(final float[] pCoordinates, final int[] pHoleIndices, final int pDimensions, final boolean pIsClockwise) {
+		final int     lHash    = EarcutCache.getHash(pCoordinates, pHoleIndices, pDimensions, pIsClockwise);
+		final int     lIndex   = (lHash >>> 16) & (this.mSegments.length - 1);
+		final Segment lSegment = this.mSegments[lIndex];
+		/* Look up the polygon using the caller's arrays, which are only copied if the polygon is inserted. */
+		final Key     lKey     = new Key(lHash, pCoordinates, pHoleIndices, pDimensions, pIsClockwise);
+		int[]         lIndices = lSegment.get(lKey);
+		if(lIndices != null) {
+			this.mHitCount.incrementAndGet();
+			return lIndices;
+		}
+		this.mMissCount.incrementAndGet();
+		/* Triangulate outside of the lock, so that other threads may continue to read the segment. */
+		final EarcutContext lContext = EarcutCache.CONTEXT.get();
+		try {
+			Earcut.onTriangulate(lContext, pCoordinates, pHoleIndices, pDimensions, pIsClockwise, lContext.getIndexBuffer());
+			lIndices = lContext.toIndexArray();
+		}
+		finally {
+			/* Release the buffers grown by an unusually large polygon, rather than pinning them to the calling thread. */
+			if(pDimensions > 0 && pCoordinates.length / pDimensions > EarcutCache.DEFAULT_TRIM_VERTICES) {
+				lContext.trim();
+			}
+			else {
+				lContext.reset();
+			}
+		}
+		final long lSize = Segment.getSize(lKey, lIndices);
+		/* A polygon which would never fit isn't cached at all. */
+		if(lSize > this.mMaximumBytes) {
+			this.mRejectionCount.incrementAndGet();
+			return lIndices;
+		}
+		final Key   lCopy   = new Key(lHash, pCoordinates.clone(), pHoleIndices == null ? null : pHoleIndices.clone(), pDimensions, pIsClockwise);
+		final int[] lResult = lSegment.put(lCopy, lIndices, lSize, this.mSize);
+		this.onEvict(lIndex, lCopy);
+		return lResult;
+	}
+
+	/** Evicts the least recently used entries until the cache fits its budget, beginning with the segment at pIndex and moving on to each of the others in turn. The entry for pKey, which was just inserted, is kept. Segments are locked one at a time, so no thread ever holds two locks. **/
+	private final void onEvict(final int pIndex, final Key pKey) {
+		final int lMask = this.mSegments.length - 1;
+		for(int i = 0; i < this.mSegments.length && this.mSize.get() > this.mMaximumBytes; i++) {
+			final Segment lSegment = this.mSegments[(pIndex + i) & lMask];
+			long lFreed;
+			while(this.mSize.get() > this.mMaximumBytes && (lFreed = lSegment.onEvict(pKey)) > 0) {
+				this.mSize.addAndGet(-lFreed);
+				this.mEvictionCount.incrementAndGet();
+			}
+		}
+	}
+
+	/** Removes every entry. The counters are left untouched. **/
+	public final void clear() {
+		for(final Segment lSegment : this.mSegments) {
+			this.mSize.addAndGet(-lSegment.clear());
+		}
+	}
+
+	/** Hashes every element which determines a triangulation. Co-ordinates are hashed by their bits, matching the exact comparison made by Key. **/
+	private static final int getHash(final float[] pCoordinates, final int[] pHoleIndices, final int pDimensions, final boolean pIsClockwise) {
+		int lHash = pDimensions * 31 + (pIsClockwise ? 1 : 0);
+		for(int i = 0; i < pCoordinates.length; i++) {
+			lHash = (lHash ^ Float.floatToIntBits(pCoordinates[i])) * 0x9E3779B1;
+		}
+		if(pHoleIndices != null) {
+			for(int i = 0; i < pHoleIndices.length; i++) {
+				lHash = (lHash ^ pHoleIndices[i]) * 0x85EBCA6B;
+			}
+		}
+		return lHash ^ (lHash >>> 15);
+	}
+
+	public final long getHitCount() {
+		return this.mHitCount.get();
+	}
+
+	public final long getMissCount() {
+		return this.mMissCount.get();
+	}
+
+	public final long getEvictionCount() {
+		return this.mEvictionCount.get();
+	}
+
+	/** Returns the number of triangulations which weren't cached because their entry alone would exceed the budget of the cache. **/
+	public final long getRejectionCount() {
+		return this.mRejectionCount.get();
+	}
+
+	/** Returns the approximate number of bytes currently held by the cache. **/
+	public final long getSize() {
+		return this.mSize.get();
+	}
+
+	public final long getMaximumSize() {
+		return this.mMaximumBytes;
+	}
+
+	public final int getEntryCount() {
+		int lCount = 0;
+		for(final Segment lSegment : this.mSegments) {
+			lCount += lSegment.getEntryCount();
+		}
+		return lCount;
+	}
+
+	@Override
+	public final String toString() {
+		return "EarcutCache[entries=" + this.getEntryCount() + ", bytes=" + this.getSize() + "/" + this.mMaximumBytes + ", hits=" + this.getHitCount() + ", misses=" + this.getMissCount() + ", evictions=" + this.getEvictionCount() + ", rejections=" + this.getRejectionCount() + "]";
+	}
+
+	/** Identifies a polygon by the inputs to its triangulation. **/
+	private static final class Key {
+
+		/* Member Variables. */
+		private final int     mHash;
+		private final float[] mCoordinates;
+		private final int[]   mHoleIndices;
+		private final int     mDimensions;
+		private final boolean mIsClockwise;
+
+		private Key(final int pHash, final float[] pCoordinates, final int[] pHoleIndices, final int pDimensions, final boolean pIsClockwise) {
+			/* Initialize Member Variables. */
+			this.mHash        = pHash;
+			this.mCoordinates = pCoordinates;
+			this.mHoleIndices = pHoleIndices;
+			this.mDimensions  = pDimensions;
+			this.mIsClockwise = pIsClockwise;
+		}
+
+		/** Returns the approximate number of bytes retained by this key. **/
+		private final long getSize() {
+			return ((long)this.mCoordinates.length << 2) + (this.mHoleIndices == null ? 0 : (long)this.mHoleIndices.length << 2);
+		}
+
+		@Override
+		public final int hashCode() {
+			return this.mHash;
+		}
+
+		@Override
+		public final boolean equals(final Object pObject) {
+			if(!(pObject instanceof Key)) {
+				return false;
+			}
+			final Key lKey = (Key)pObject;
+			/* Arrays.equals(float[], float[]) compares bits, in agreement with the hash. */
+			return this.mHash == lKey.mHash && this.mDimensions == lKey.mDimensions && this.mIsClockwise == lKey.mIsClockwise && Arrays.equals(this.mHoleIndices, lKey.mHoleIndices) && Arrays.equals(this.mCoordinates, lKey.mCoordinates);
+		}
+
+	}
+
+	/** An independently locked region of the cache, ordered from least to most recently used. The bytes held by every segment are counted together by the cache. **/
+	private static final class Segment {
+
+		/* Member Variables. */
+		private final LinkedHashMap<Key, int[]> mEntries;
+		private       long                      mSize;
+
+		private Segment() {
+			/* Initialize Member Variables. */
+			this.mEntries = new LinkedHashMap<Key, int[]>(16, 0.75f, true);
+			this.mSize    = 0;
+		}
+
+		private final synchronized int[] get(final Key pKey) {
+			return this.mEntries.get(pKey);
+		}
+
+		/** Inserts a triangulation of pSize bytes, adding them to pTotalSize, unless another thread got there first. Returns the triangulation held by the cache. **/
+		private final synchronized int[] put(final Key pKey, final int[] pIndices, final long pSize, final AtomicLong pTotalSize) {
+			final int[] lExisting = this.mEntries.get(pKey);
+			if(lExisting != null) {
+				return lExisting;
+			}
+			this.mEntries.put(pKey, pIndices);
+			this.mSize += pSize;
+			pTotalSize.addAndGet(pSize);
+			return pIndices;
+		}
+
+		/** Evicts the least recently used entry other than the one held for pKey. Returns the number of bytes freed, or zero if there was nothing to evict. **/
+		private final synchronized long onEvict(final Key pKey) {
+			final Iterator<Map.Entry<Key, int[]>> lIterator = this.mEntries.entrySet().iterator();
+			while(lIterator.hasNext()) {
+				final Map.Entry<Key, int[]> lEntry = lIterator.next();
+				if(lEntry.getKey() != pKey) {
+					final long lSize = Segment.getSize(lEntry.getKey(), lEntry.getValue());
+					lIterator.remove();
+					this.mSize -= lSize;
+					return lSize;
+				}
+			}
+			return 0;
+		}
+
+		/** Removes every entry, returning the number of bytes freed. **/
+		private final synchronized long clear() {
+			final long lSize = this.mSize;
+			this.mEntries.clear();
+			this.mSize = 0;
+			return lSize;
+		}
+
+		private final synchronized int getEntryCount() {
+			return this.mEntries.size();
+		}
+
+		private static final long getSize(final Key pKey, final int[] pIndices) {
+			return EarcutCache.ENTRY_OVERHEAD + pKey.getSize() + ((long)pIndices.length << 2);
+		}
+
+	}
+
+}
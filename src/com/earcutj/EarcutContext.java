@@ -0,0 +1,281 @@
+package com.earcutj;
+
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
+
+/** A reusable triangulator which owns the scratch buffers used by Earcut. Buffers grow to fit the largest polygon seen and are kept between calls, so once warmed up, repeated triangulation produces no garbage. A context is not thread-safe; confine each instance to a single thread. **/
+public final class EarcutContext {
+
+	/* Default Declarations. */
+	private static final int DEFAULT_CAPACITY = 64;
+
+	/* Member Variables. */
+	private final int             mCapacity;
+	private final NodePool        mNodePool;
+	private final IndexBuffer     mIndexBuffer;
+	private final RingStack       mRingStack;
+	private final HoleIndex       mHoleIndex;
+	private final ZOrderBuffer    mZOrderBuffer;
+	private final EdgeGrid        mEdgeGrid;
+	private final RingSimplifier  mRingSimplifier;
+	private       int[]           mHoleQueue;
+	private       int[]           mHoleScratch;
+	private       int[]           mRingOffsets;
+	private final ShortBufferSink mShortBufferSink;
+	private final IntBufferSink   mIntBufferSink;
+	private final EarcutTrace     mTrace;
+	private       EarcutOptions   mOptions;
+
+	public EarcutContext() {
+		this(EarcutContext.DEFAULT_CAPACITY);
+	}
+
+	/** Creates a context whose buffers are initially sized for polygons of pCapacity vertices. trim() shrinks the buffers back to this size. **/
+	public EarcutContext(final int pCapacity) {
+		/* Initialize Member Variables. */
+		this.mCapacity        = Math.max(pCapacity, 0);
+		this.mNodePool        = new NodePool(this.mCapacity);
+		this.mIndexBuffer     = new IndexBuffer(this.mCapacity * 3);
+		this.mRingStack       = new RingStack(RingStack.DEFAULT_CAPACITY);
+		this.mHoleIndex       = new HoleIndex(HoleIndex.DEFAULT_CAPACITY);
+		this.mZOrderBuffer    = new ZOrderBuffer(ZOrderBuffer.DEFAULT_CAPACITY);
+		this.mEdgeGrid        = new EdgeGrid(EdgeGrid.DEFAULT_CAPACITY);
+		this.mRingSimplifier  = new RingSimplifier(RingSimplifier.DEFAULT_CAPACITY);
+		this.mHoleQueue       = new int[0];
+		this.mHoleScratch     = new int[0];
+		this.mRingOffsets     = new int[2];
+		this.mShortBufferSink = new ShortBufferSink();
+		this.mIntBufferSink   = new IntBufferSink();
+		this.mTrace           = new EarcutTrace();
+		this.mOptions         = EarcutOptions.DEFAULT;
+	}
+
+	/** Triangulates a flat array of vertex co-ordinates, where each vertex occupies pDimensions elements and holes begin at each vertex index in pHoleIndices (which may be null). Returns the number of indices written; these are read through getIndices() and remain valid until the next call. **/
+	public final int triangulate(final float[] pCoordinates, final int[] pHoleIndices, final int pDimensions) {
+		this.onPrepareIndexBuffer(pCoordinates.length / pDimensions, pHoleIndices == null ? 0 : pHoleIndices.length);
+		Earcut.onTriangulate(this, pCoordinates, pHoleIndices, pDimensions, true, this.mIndexBuffer);
+		return this.mIndexBuffer.size();
+	}
+
+	/** Triangulates a flat array of double precision vertex co-ordinates. Co-ordinates are evaluated at float precision. **/
+	public final int triangulate(final double[] pCoordinates, final int[] pHoleIndices, final int pDimensions) {
+		this.onPrepareIndexBuffer(pCoordinates.length / pDimensions, pHoleIndices == null ? 0 : pHoleIndices.length);
+		Earcut.onTriangulate(this, pCoordinates, pHoleIndices, pDimensions, true, this.mIndexBuffer);
+		return this.mIndexBuffer.size();
+	}
+
+	/** Triangulates a flat array of integer vertex co-ordinates, such as quantized tile geometry, making every orientation and area test exactly. Co-ordinates must lie within +/-2^24. Returns the number of indices written. **/
+	public final int triangulate(final int[] pCoordinates, final int[] pHoleIndices, final int pDimensions) {
+		this.onPrepareIndexBuffer(pCoordinates.length / pDimensions, pHoleIndices == null ? 0 : pHoleIndices.length);
+		Earcut.onTriangulate(this, pCoordinates, pHoleIndices, pDimensions, true, this.mIndexBuffer);
+		return this.mIndexBuffer.size();
+	}
+
+	/** Triangulates a flat array of integer vertex co-ordinates, passing each triangle to the TriangleSink as it is cut. **/
+	public final void triangulate(final int[] pCoordinates, final int[] pHoleIndices, final int pDimensions, final TriangleSink pTriangleSink) {
+		Earcut.onTriangulate(this, pCoordinates, pHoleIndices, pDimensions, true, pTriangleSink);
+	}
+
+	/** Triangulates the rings pFirstRing to pLastRing (exclusive) of a flat co-ordinate array, where ring r spans the vertices pRingOffsets[r] to pRingOffsets[r + 1] and the first ring is the outer ring. Indices refer to vertices of the whole co-ordinate array. Returns the number of indices written. **/
+	public final int triangulate(final float[] pCoordinates, final int[] pRingOffsets, final int pFirstRing, final int pLastRing, final int pDimensions) {
+		this.onPrepareIndexBuffer(pRingOffsets[pLastRing] - pRingOffsets[pFirstRing], pLastRing - pFirstRing - 1);
+		Earcut.onTriangulate(this, pCoordinates, pRingOffsets, pFirstRing, pLastRing, pDimensions, true, this.mIndexBuffer);
+		return this.mIndexBuffer.size();
+	}
+
+	/** Triangulates the rings pRings[pFirstRing] to pRings[pLastRing - 1] of a flat co-ordinate array, where ring r spans the vertices pRingOffsets[r] to pRingOffsets[r + 1] and the first listed ring is the outer ring. The listed rings needn't be adjacent, so a polygon can be triangulated without gathering its rings together; if pRings is null, the rings pFirstRing to pLastRing are used directly. Returns the number of indices written. **/
+	public final int triangulate(final float[] pCoordinates, final int[] pRingOffsets, final int[] pRings, final int pFirstRing, final int pLastRing, final int pDimensions) {
+		this.onPrepareIndexBuffer(Earcut.getVertexCount(pRingOffsets, pRings, pFirstRing, pLastRing), pLastRing - pFirstRing - 1);
+		Earcut.onTriangulate(this, pCoordinates, pRingOffsets, pRings, pFirstRing, pLastRing, pDimensions, true, this.mIndexBuffer);
+		return this.mIndexBuffer.size();
+	}
+
+	/** Triangulates a flat array of vertex co-ordinates, passing each triangle to the TriangleSink as it is cut. Nothing is retained by the context's index buffer. **/
+	public final void triangulate(final float[] pCoordinates, final int[] pHoleIndices, final int pDimensions, final TriangleSink pTriangleSink) {
+		Earcut.onTriangulate(this, pCoordinates, pHoleIndices, pDimensions, true, pTriangleSink);
+	}
+
+	/** Triangulates the rings pFirstRing to pLastRing (exclusive) of a flat co-ordinate array, passing each triangle to the TriangleSink as it is cut. **/
+	public final void triangulate(final float[] pCoordinates, final int[] pRingOffsets, final int pFirstRing, final int pLastRing, final int pDimensions, final TriangleSink pTriangleSink) {
+		Earcut.onTriangulate(this, pCoordinates, pRingOffsets, pFirstRing, pLastRing, pDimensions, true, pTriangleSink);
+	}
+
+	/** Triangulates vertex co-ordinates read from a FloatBuffer, where vertex i has its x and y co-ordinates at absolute positions pOffset + i * pStride and the element after it. The buffer's position is left untouched. Each triangle is passed to the TriangleSink as it is cut. **/
+	public final void triangulate(final FloatBuffer pCoordinates, final int pOffset, final int pStride, final int pVertexCount, final int[] pHoleIndices, final TriangleSink pTriangleSink) {
+		Earcut.onTriangulate(this, pCoordinates, pOffset, pStride, pVertexCount, pHoleIndices, true, pTriangleSink);
+	}
+
+	/** Triangulates the rings pFirstRing to pLastRing (exclusive) of vertex co-ordinates read from a FloatBuffer, where ring r spans the vertices pRingOffsets[r] to pRingOffsets[r + 1] and the first ring is the outer ring. Each triangle is passed to the TriangleSink as it is cut. **/
+	public final void triangulate(final FloatBuffer pCoordinates, final int pOffset, final int pStride, final int[] pRingOffsets, final int pFirstRing, final int pLastRing, final TriangleSink pTriangleSink) {
+		Earcut.onTriangulate(this, pCoordinates, pOffset, pStride, pRingOffsets, pFirstRing, pLastRing, true, pTriangleSink);
+	}
+
+	/** Triangulates vertex co-ordinates read from a FloatBuffer, writing vertex indices as unsigned shorts from the current position of pIndices, which is advanced. Returns the number of indices written. A polygon of more than EarcutBuffers.MAXIMUM_SHORT_VERTICES vertices can't be indexed this way, and is refused with an IllegalArgumentException. **/
+	public final int triangulate(final FloatBuffer pCoordinates, final int pOffset, final int pStride, final int pVertexCount, final int[] pHoleIndices, final ShortBuffer pIndices) {
+		/* Ensure every vertex can be addressed by an unsigned short. */
+		if(pVertexCount > EarcutBuffers.MAXIMUM_SHORT_VERTICES) {
+			throw new IllegalArgumentException("Too many vertices for 16-bit indices!");
+		}
+		final int lPosition = pIndices.position();
+		this.mShortBufferSink.setShortBuffer(pIndices);
+		try {
+			Earcut.onTriangulate(this, pCoordinates, pOffset, pStride, pVertexCount, pHoleIndices, true, this.mShortBufferSink);
+		}
+		finally {
+			this.mShortBufferSink.setShortBuffer(null);
+		}
+		return pIndices.position() - lPosition;
+	}
+
+	/** Triangulates vertex co-ordinates read from a FloatBuffer, writing vertex indices from the current position of pIndices, which is advanced. Returns the number of indices written. **/
+	public final int triangulate(final FloatBuffer pCoordinates, final int pOffset, final int pStride, final int pVertexCount, final int[] pHoleIndices, final IntBuffer pIndices) {
+		final int lPosition = pIndices.position();
+		this.mIntBufferSink.setIntBuffer(pIndices);
+		try {
+			Earcut.onTriangulate(this, pCoordinates, pOffset, pStride, pVertexCount, pHoleIndices, true, this.mIntBufferSink);
+		}
+		finally {
+			this.mIntBufferSink.setIntBuffer(null);
+		}
+		return pIndices.position() - lPosition;
+	}
+
+	/** Sets the options used by every subsequent triangulation through this context. **/
+	public final void setOptions(final EarcutOptions pOptions) {
+		if(pOptions == null) {
+			throw new NullPointerException("Options cannot be null!");
+		}
+		this.mOptions = pOptions;
+	}
+
+	public final EarcutOptions getOptions() {
+		return this.mOptions;
+	}
+
+	/** Returns the backing array of the most recent triangulation. Only the first getIndexCount() elements are valid, and the array is overwritten by the next call. **/
+	public final int[] getIndices() {
+		return this.mIndexBuffer.getIndices();
+	}
+
+	public final int getIndexCount() {
+		return this.mIndexBuffer.size();
+	}
+
+	/** Returns a compact copy of the vertex indices of the most recent triangulation. **/
+	public final int[] toIndexArray() {
+		return this.mIndexBuffer.toArray();
+	}
+
+	/** Returns the most recent triangulation of pCoordinates as an EarcutMesh, in which each distinct vertex is stored once. pCoordinates and pDimensions must be those that were triangulated. **/
+	public final EarcutMesh toMesh(final float[] pCoordinates, final int pDimensions) {
+		return EarcutMesh.onCreate(pCoordinates, pDimensions, this.mIndexBuffer.getIndices(), this.mIndexBuffer.size());
+	}
+
+	/** Discards the result of the most recent triangulation, retaining every buffer for reuse. **/
+	public final void reset() {
+		this.mNodePool.clear();
+		this.mIndexBuffer.clear();
+		this.mRingStack.clear();
+	}
+
+	/** Discards the most recent result and releases any buffer which has grown beyond the capacity this context was created with. Useful after triangulating an unusually large polygon. **/
+	public final void trim() {
+		this.reset();
+		this.mNodePool.trim(this.mCapacity);
+		this.mIndexBuffer.trim(this.mCapacity * 3);
+		this.mRingStack.trim(RingStack.DEFAULT_CAPACITY);
+		this.mHoleIndex.trim(HoleIndex.DEFAULT_CAPACITY);
+		this.mZOrderBuffer.trim(this.mCapacity);
+		this.mEdgeGrid.trim(EdgeGrid.DEFAULT_CAPACITY);
+		this.mRingSimplifier.trim(RingSimplifier.DEFAULT_CAPACITY);
+		this.mHoleQueue   = new int[0];
+		this.mHoleScratch = new int[0];
+		this.mRingOffsets = new int[2];
+	}
+
+	/** Prepares the buffers for a polygon of pVertexCount vertices and pHoleCount holes. **/
+	final void onPrepare(final int pVertexCount, final int pHoleCount) {
+		this.reset();
+		/* Each hole bridge introduces a pair of nodes. */
+		this.mNodePool.ensureCapacity(pVertexCount + (pHoleCount << 1));
+		if(this.mHoleQueue.length < pHoleCount) {
+			this.mHoleQueue   = new int[pHoleCount];
+			this.mHoleScratch = new int[pHoleCount];
+		}
+	}
+
+	/** Sizes the IndexBuffer for a polygon of pVertexCount vertices and pHoleCount holes; each hole bridge introduces another pair of triangles. **/
+	private final void onPrepareIndexBuffer(final int pVertexCount, final int pHoleCount) {
+		this.mIndexBuffer.ensureCapacity((pVertexCount + (pHoleCount << 1)) * 3);
+	}
+
+	/** Begins tracing a polygon of pVertexCount vertices and pHoleCount holes, returning the trace to fill, or null if the options have no listener, EarcutMetrics aren't registered and nothing is to be traced. **/
+	final EarcutTrace onBeginTrace(final int pVertexCount, final int pHoleCount) {
+		if(this.mOptions.getListener() == null && !EarcutMetrics.isRegistered()) {
+			return null;
+		}
+		this.mTrace.onBegin(pVertexCount, pHoleCount);
+		return this.mTrace;
+	}
+
+	/** Passes a completed trace to the listener and the process-wide metrics. **/
+	final void onEndTrace(final EarcutTrace pTrace) {
+		final EarcutListener lListener = this.mOptions.getListener();
+		if(lListener != null) {
+			lListener.onTriangulated(pTrace);
+		}
+		EarcutMetrics.onTriangulated(pTrace);
+	}
+
+	/** Converts a set of hole indices into a table of ring offsets, terminated by pVertexCount, held in a reusable scratch array. **/
+	final int[] onFetchRingOffsets(final int[] pHoleIndices, final int pVertexCount) {
+		final int lHoleCount = pHoleIndices == null ? 0 : pHoleIndices.length;
+		if(this.mRingOffsets.length < lHoleCount + 2) {
+			this.mRingOffsets = new int[lHoleCount + 2];
+		}
+		this.mRingOffsets[0] = 0;
+		for(int i = 0; i < lHoleCount; i++) {
+			this.mRingOffsets[i + 1] = pHoleIndices[i];
+		}
+		this.mRingOffsets[lHoleCount + 1] = pVertexCount;
+		return this.mRingOffsets;
+	}
+
+	final NodePool getNodePool() {
+		return this.mNodePool;
+	}
+
+	final IndexBuffer getIndexBuffer() {
+		return this.mIndexBuffer;
+	}
+
+	final RingStack getRingStack() {
+		return this.mRingStack;
+	}
+
+	final HoleIndex getHoleIndex() {
+		return this.mHoleIndex;
+	}
+
+	final ZOrderBuffer getZOrderBuffer() {
+		return this.mZOrderBuffer;
+	}
+
+	final EdgeGrid getEdgeGrid() {
+		return this.mEdgeGrid;
+	}
+
+	final RingSimplifier getRingSimplifier() {
+		return this.mRingSimplifier;
+	}
+
+	final int[] getHoleQueue() {
+		return this.mHoleQueue;
+	}
+
+	final int[] getHoleScratch() {
+		return this.mHoleScratch;
+	}
+
+}
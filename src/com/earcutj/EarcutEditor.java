@@ -0,0 +1,816 @@
+package com.earcutj;
+
+import java.util.Arrays;
+
+import com.earcutj.exception.EarcutException;
+
+/** Maintains the triangulation of a polygon while its vertices are moved, inserted and deleted, as in an interactive editor. An edit only re-triangulates its cavity: the triangles incident to the edited vertex, or for an insertion, the triangle on the split edge. The cavity is re-cut by Earcut and spliced into the index buffer. Where the new edges cross triangles beyond the cavity, such as when a vertex is dragged across a diagonal, the cavity grows to take those triangles in. The new edges are checked against the other edges of the polygon through a RingGrid, which each edit keeps up to date, so the cost of an edit depends on the neighbourhood it disturbs rather than the size of the polygon. Only when an edit makes the polygon self-intersect, or the grown cavity would enclose part of the mesh, is the whole polygon triangulated again.
+
+Vertices are identified by stable ids. The vertices of the original polygon keep their input indices, inserted vertices are given the next free id, and deleted ids are never reused; getIndices() refers to vertices by id, and getCoordinates() holds the position of every id. **/
+public final class EarcutEditor {
+
+	/* Default Declarations. */
+	private static final int    NULL            = NodePool.NULL;
+	private static final double AREA_TOLERANCE  = 1e-5;
+	private static final double FLOAT_TOLERANCE = 1e-6;
+
+	/* Member Variables. */
+	private final EarcutContext mContext;
+	/* Per-vertex state, indexed by id. A deleted vertex has no predecessor. */
+	private       float[]       mCoordinates;
+	private       int[]         mNextVertex;
+	private       int[]         mPreviousVertex;
+	private       int[]         mRing;
+	private       int[]         mCornerHead;
+	private       int[]         mVertexStamps;
+	private       int           mVertexCount;
+	/* The first vertex and vertex count of each ring. */
+	private final int[]         mRingHeads;
+	private final int[]         mRingSizes;
+	/* The triangles, three indices apiece. Corner c is the index at mIndices[c]; each vertex threads a doubly linked list through the corners which refer to it. */
+	private       int[]         mIndices;
+	private       int[]         mCornerNext;
+	private       int[]         mCornerPrevious;
+	private       int           mIndexCount;
+	private       int[]         mTriangleStamps;
+	private       int           mStamp;
+	/* The sign shared by the orientation of every triangle. */
+	private       double        mOrientation;
+	/* The ring edges, bucketed by position. */
+	private final RingGrid      mRingGrid;
+	/* The cavity of the current edit: its triangles, and the ring bounding it after the edit. */
+	private       int[]         mFanEdges;
+	private       int[]         mCavityTriangles;
+	private       int           mCavityTriangleCount;
+	private       int[]         mCavity;
+	private       int           mCavitySize;
+	private       int           mChainSize;
+	private       int           mPreviousAnchor;
+	private       int           mNextAnchor;
+	/* The vertex at the centre of the cavity's fan, or NULL if the cavity was collected about an edge. */
+	private       int           mPivot;
+	private       int[]         mRun;
+	private       int[]         mBoundaryNext;
+	private       float[]       mScratch;
+	private       int[]         mRingOffsets;
+	private       long          mRebuildCount;
+
+	/** Triangulates a polygon in the form accepted by Earcut.triangulate(float[], int[], int), ready for editing. **/
+	public EarcutEditor(final float[] pCoordinates, final int[] pHoleIndices, final int pDimensions) {
+		final int lVertexCount = pCoordinates.length / pDimensions;
+		final int lRingCount   = (pHoleIndices == null ? 0 : pHoleIndices.length) + 1;
+		/* Initialize Member Variables. */
+		this.mContext             = new EarcutContext(lVertexCount);
+		this.mCoordinates         = new float[lVertexCount << 1];
+		this.mNextVertex          = new int[lVertexCount];
+		this.mPreviousVertex      = new int[lVertexCount];
+		this.mRing                = new int[lVertexCount];
+		this.mCornerHead          = new int[lVertexCount];
+		this.mVertexStamps        = new int[lVertexCount];
+		this.mVertexCount         = lVertexCount;
+		this.mRingHeads           = new int[lRingCount];
+		this.mRingSizes           = new int[lRingCount];
+		this.mIndices             = new int[Math.max(lVertexCount + (lRingCount << 1), 1) * 3];
+		this.mCornerNext          = new int[this.mIndices.length];
+		this.mCornerPrevious      = new int[this.mIndices.length];
+		this.mIndexCount          = 0;
+		this.mTriangleStamps      = new int[this.mIndices.length / 3];
+		this.mStamp               = 0;
+		this.mOrientation         = 0;
+		this.mRingGrid            = new RingGrid(lVertexCount);
+		this.mFanEdges            = new int[32];
+		this.mCavityTriangles     = new int[16];
+		this.mCavityTriangleCount = 0;
+		this.mCavity              = new int[16];
+		this.mCavitySize          = 0;
+		this.mChainSize           = 0;
+		this.mPreviousAnchor      = EarcutEditor.NULL;
+		this.mNextAnchor          = EarcutEditor.NULL;
+		this.mPivot               = EarcutEditor.NULL;
+		this.mRun                 = new int[16];
+		this.mBoundaryNext        = new int[lVertexCount];
+		this.mScratch             = new float[32];
+		this.mRingOffsets         = new int[lRingCount + 1];
+		this.mRebuildCount        = 0;
+		/* Link each ring in input order. */
+		for(int i = 0; i < lRingCount; i++) {
+			final int lStart = i == 0 ? 0 : pHoleIndices[i - 1];
+			final int lEnd   = i == lRingCount - 1 ? lVertexCount : pHoleIndices[i];
+			this.mRingHeads[i] = lEnd > lStart ? lStart : EarcutEditor.NULL;
+			this.mRingSizes[i] = lEnd - lStart;
+			for(int j = lStart; j < lEnd; j++) {
+				this.mCoordinates[(j << 1)]     = pCoordinates[j * pDimensions];
+				this.mCoordinates[(j << 1) + 1] = pCoordinates[j * pDimensions + 1];
+				this.mNextVertex[j]             = j == lEnd - 1 ? lStart : j + 1;
+				this.mPreviousVertex[j]         = j == lStart ? lEnd - 1 : j - 1;
+				this.mRing[j]                   = i;
+			}
+		}
+		Arrays.fill(this.mBoundaryNext, EarcutEditor.NULL);
+		this.onRebuild();
+	}
+
+	/** Moves a vertex. Returns true if only its cavity was re-triangulated, or false if the whole polygon had to be. **/
+	public final boolean move(final int pVertex, final float pX, final float pY) {
+		this.onCheckVertex(pVertex);
+		final int lPrevious = this.mPreviousVertex[pVertex];
+		this.mRingGrid.onRemove(lPrevious);
+		this.mRingGrid.onRemove(pVertex);
+		this.mCoordinates[(pVertex << 1)]     = pX;
+		this.mCoordinates[(pVertex << 1) + 1] = pY;
+		this.mRingGrid.onInsert(this.mCoordinates, this.mNextVertex, lPrevious);
+		this.mRingGrid.onInsert(this.mCoordinates, this.mNextVertex, pVertex);
+		if(this.onCollect(pVertex) && this.onSplice()) {
+			return true;
+		}
+		this.onRebuild();
+		return false;
+	}
+
+	/** Inserts a new vertex into the ring after pVertex and returns its id. The triangle on the edge being split is re-triangulated; if that isn't possible, the whole polygon is. **/
+	public final int insert(final int pVertex, final float pX, final float pY) {
+		this.onCheckVertex(pVertex);
+		final int lNextVertex = this.mNextVertex[pVertex];
+		final int lVertex     = this.onAllocateVertex();
+		this.mCoordinates[(lVertex << 1)]     = pX;
+		this.mCoordinates[(lVertex << 1) + 1] = pY;
+		this.mRing[lVertex]                   = this.mRing[pVertex];
+		this.mNextVertex[lVertex]             = lNextVertex;
+		this.mPreviousVertex[lVertex]         = pVertex;
+		this.mNextVertex[pVertex]             = lVertex;
+		this.mPreviousVertex[lNextVertex]     = lVertex;
+		this.mRingSizes[this.mRing[pVertex]]++;
+		this.mRingGrid.onRemove(pVertex);
+		this.mRingGrid.onInsert(this.mCoordinates, this.mNextVertex, pVertex);
+		this.mRingGrid.onInsert(this.mCoordinates, this.mNextVertex, lVertex);
+		/* The new vertex belongs to no triangle yet, so its cavity is the triangle on the edge it split. */
+		if(!this.onCollect(lVertex) || !this.onSplice()) {
+			this.onRebuild();
+		}
+		return lVertex;
+	}
+
+	/** Deletes a vertex, joining its neighbours. Returns true if only its cavity was re-triangulated. **/
+	public final boolean delete(final int pVertex) {
+		this.onCheckVertex(pVertex);
+		final int lRing = this.mRing[pVertex];
+		if(this.mRingSizes[lRing] <= 3) {
+			throw new EarcutException("A ring must keep at least three vertices!");
+		}
+		/* A vertex which belongs to no triangle was passed over by Earcut as collinear; the mesh doesn't change. */
+		final boolean lIsPassedOver = this.mCornerHead[pVertex] == EarcutEditor.NULL;
+		/* Collect the fan while the vertex is still linked, then unlink it and close the ring between its neighbours. */
+		final boolean lIsLocal   = lIsPassedOver || this.onCollectFan(pVertex);
+		final int     lNext      = this.mNextVertex[pVertex];
+		final int     lPrevious  = this.mPreviousVertex[pVertex];
+		this.mNextVertex[lPrevious]   = lNext;
+		this.mPreviousVertex[lNext]   = lPrevious;
+		this.mPreviousVertex[pVertex] = EarcutEditor.NULL;
+		this.mRingSizes[lRing]--;
+		if(this.mRingHeads[lRing] == pVertex) {
+			this.mRingHeads[lRing] = lNext;
+		}
+		this.mRingGrid.onRemove(lPrevious);
+		this.mRingGrid.onRemove(pVertex);
+		this.mRingGrid.onInsert(this.mCoordinates, this.mNextVertex, lPrevious);
+		if(lIsPassedOver) {
+			return true;
+		}
+		if(lIsLocal && this.onCollectRun() && this.onSplice()) {
+			return true;
+		}
+		this.onRebuild();
+		return false;
+	}
+
+	/** Collects the cavity of an edit to pVertex: the fan about it if it belongs to any triangle, otherwise the triangle on the edge between the nearest vertices either side of it which do. **/
+	private final boolean onCollect(final int pVertex) {
+		return (this.mCornerHead[pVertex] != EarcutEditor.NULL ? this.onCollectFan(pVertex) : this.onCollectEdge(pVertex)) && this.onCollectRun();
+	}
+
+	/** Finds the anchors of pVertex: the nearest vertices before and after it in its ring which belong to a triangle. Vertices between them were passed over by Earcut as collinear. Returns false if the ring has fewer than two. **/
+	private final boolean onFetchAnchors(final int pVertex) {
+		final int lLimit = this.mRingSizes[this.mRing[pVertex]];
+		int       lNode  = this.mPreviousVertex[pVertex];
+		for(int i = 0; this.mCornerHead[lNode] == EarcutEditor.NULL; i++) {
+			if(i == lLimit) {
+				return false;
+			}
+			lNode = this.mPreviousVertex[lNode];
+		}
+		this.mPreviousAnchor = lNode;
+		lNode = this.mNextVertex[pVertex];
+		for(int i = 0; this.mCornerHead[lNode] == EarcutEditor.NULL; i++) {
+			if(i == lLimit) {
+				return false;
+			}
+			lNode = this.mNextVertex[lNode];
+		}
+		this.mNextAnchor = lNode;
+		return this.mPreviousAnchor != this.mNextAnchor && this.mPreviousAnchor != pVertex;
+	}
+
+	/** Collects the triangles about pVertex, and the chain of vertices opposite it, which runs from one anchor around the fan to the other. Returns false if the fan isn't a single wedge spanning both anchors, such as at a vertex shared by a hole bridge. **/
+	private final boolean onCollectFan(final int pVertex) {
+		if(!this.onFetchAnchors(pVertex)) {
+			return false;
+		}
+		final int[] lIndices = this.mIndices;
+		final int   lStamp   = this.onStamp();
+		this.mCavityTriangleCount = 0;
+		this.mPivot               = pVertex;
+		/* Record, against each vertex opposite pVertex, the vertex which follows it around the fan. */
+		int lCount = 0;
+		for(int lCorner = this.mCornerHead[pVertex]; lCorner != EarcutEditor.NULL; lCorner = this.mCornerNext[lCorner]) {
+			final int lTriangle = lCorner / 3;
+			final int lBase     = lTriangle * 3;
+			final int lFrom     = lIndices[lBase + (lCorner - lBase + 1) % 3];
+			final int lTo       = lIndices[lBase + (lCorner - lBase + 2) % 3];
+			if(this.mVertexStamps[lFrom] == lStamp) {
+				return false;
+			}
+			this.mVertexStamps[lFrom] = lStamp;
+			this.onAddCavityTriangle(lTriangle);
+			if(this.mFanEdges.length < (lCount + 1) << 1) {
+				this.mFanEdges = Arrays.copyOf(this.mFanEdges, this.mFanEdges.length << 1);
+			}
+			this.mFanEdges[(lCount << 1)]     = lFrom;
+			this.mFanEdges[(lCount << 1) + 1] = lTo;
+			lCount++;
+		}
+		/* The chain begins at the anchor which no fan edge ends at. */
+		final int[] lEdges = this.mFanEdges;
+		int         lEdge  = EarcutEditor.NULL;
+		for(int i = 0; i < lCount; i++) {
+			final int lFrom = lEdges[(i << 1)];
+			if(lFrom == this.mPreviousAnchor || lFrom == this.mNextAnchor) {
+				boolean lIsEnd = false;
+				for(int j = 0; j < lCount && !lIsEnd; j++) {
+					lIsEnd = lEdges[(j << 1) + 1] == lFrom;
+				}
+				if(!lIsEnd) {
+					lEdge = i;
+					break;
+				}
+			}
+		}
+		/* Walk the chain edge by edge; a wedge of lCount triangles has lCount + 1 chain vertices. */
+		this.onEnsureCavityCapacity(lCount + 1);
+		this.mCavitySize = 0;
+		for(int i = 0; i < lCount; i++) {
+			if(lEdge == EarcutEditor.NULL) {
+				return false;
+			}
+			final int lTo = lEdges[(lEdge << 1) + 1];
+			this.mCavity[this.mCavitySize++] = lEdges[(lEdge << 1)];
+			lEdge = EarcutEditor.NULL;
+			for(int j = 0; j < lCount; j++) {
+				if(lEdges[(j << 1)] == lTo) {
+					lEdge = j;
+					break;
+				}
+			}
+			if(i == lCount - 1) {
+				/* The chain must end at the other anchor, having visited every fan edge. */
+				if(lEdge != EarcutEditor.NULL || this.mVertexStamps[lTo] == lStamp || lTo == pVertex || (lTo != this.mPreviousAnchor && lTo != this.mNextAnchor)) {
+					return false;
+				}
+				this.mCavity[this.mCavitySize++] = lTo;
+			}
+		}
+		return true;
+	}
+
+	/** Collects the triangle on the edge between the anchors of pVertex, which belongs to no triangle, and the chain of its vertices from one anchor around to the other. **/
+	private final boolean onCollectEdge(final int pVertex) {
+		if(!this.onFetchAnchors(pVertex)) {
+			return false;
+		}
+		final int[] lIndices = this.mIndices;
+		final int   lAnchor  = this.mPreviousAnchor;
+		this.onStamp();
+		this.mCavityTriangleCount = 0;
+		this.mPivot               = EarcutEditor.NULL;
+		for(int lCorner = this.mCornerHead[lAnchor]; lCorner != EarcutEditor.NULL; lCorner = this.mCornerNext[lCorner]) {
+			final int lTriangle = lCorner / 3;
+			final int lBase     = lTriangle * 3;
+			final int lSecond   = lIndices[lBase + (lCorner - lBase + 1) % 3];
+			final int lThird    = lIndices[lBase + (lCorner - lBase + 2) % 3];
+			/* The triangle holds the edge in one direction or the other; following its orientation, the chain runs from the far end of the edge, through the opposite vertex, to the near end. */
+			if(lSecond == this.mNextAnchor || lThird == this.mNextAnchor) {
+				this.onAddCavityTriangle(lTriangle);
+				this.onEnsureCavityCapacity(3);
+				this.mCavitySize = 3;
+				this.mCavity[0]  = lSecond == this.mNextAnchor ? lSecond : lAnchor;
+				this.mCavity[1]  = lSecond == this.mNextAnchor ? lThird  : lSecond;
+				this.mCavity[2]  = lSecond == this.mNextAnchor ? lAnchor : lThird;
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/** Completes the cavity ring by appending the vertices of the ring strictly between the last vertex of the chain and the first, which are those the edit has added, moved or uncovered. **/
+	private final boolean onCollectRun() {
+		final int lChainSize = this.mCavitySize;
+		final int lFirst     = this.mCavity[0];
+		final int lLast      = this.mCavity[lChainSize - 1];
+		final int lLimit     = this.mRingSizes[this.mRing[lLast]];
+		/* The run follows the ring forwards from the previous anchor, or backwards from the next. */
+		final int[] lStep    = lLast == this.mPreviousAnchor ? this.mNextVertex : this.mPreviousVertex;
+		int lNode = lStep[lLast];
+		for(int i = 0; lNode != lFirst; i++) {
+			if(i == lLimit) {
+				return false;
+			}
+			this.onEnsureCavityCapacity(this.mCavitySize + 1);
+			this.mCavity[this.mCavitySize++] = lNode;
+			lNode = lStep[lNode];
+		}
+		this.mChainSize = lChainSize;
+		return true;
+	}
+
+	/** Validates the collected cavity ring against the rest of the mesh, then replaces the cavity's triangles with a triangulation of the ring. The ring is the chain, which is shared with the rest of the mesh, followed by the run, whose vertices and edges are new to it. The cavity is first grown across any triangle which the new edges cross. Returns false, leaving the mesh untouched, if the new edges cross the polygon or the cavity can't be grown to hold them. **/
+	private final boolean onSplice() {
+		final float[] lCoordinates = this.mCoordinates;
+		/* Removing an ear leaves nothing to re-cut. */
+		if(this.mCavitySize == 2) {
+			this.onRemoveCavity();
+			return true;
+		}
+		/* The new edges mustn't cross any other edge of the polygon, which would make it self-intersect. */
+		if(this.isCrossingPolygon()) {
+			return false;
+		}
+		/* Take in the triangles the new edges cross, then trace the ring about them. */
+		final int lTriangleCount = this.mCavityTriangleCount;
+		if(!this.onGrowCavity() || (this.mCavityTriangleCount != lTriangleCount && !this.onTraceChain())) {
+			return false;
+		}
+		final int[] lCavity   = this.mCavity;
+		final int   lSize     = this.mCavitySize;
+		/* The ring must keep the orientation shared by every triangle. */
+		double lNewArea  = 0;
+		float  lMinimumX = Float.POSITIVE_INFINITY, lMinimumY = Float.POSITIVE_INFINITY, lMaximumX = Float.NEGATIVE_INFINITY, lMaximumY = Float.NEGATIVE_INFINITY;
+		for(int i = 0; i < lSize; i++) {
+			final int lA = lCavity[i];
+			final int lB = lCavity[(i + 1) % lSize];
+			lNewArea += (double)lCoordinates[(lA << 1)] * lCoordinates[(lB << 1) + 1] - (double)lCoordinates[(lB << 1)] * lCoordinates[(lA << 1) + 1];
+			lMinimumX = Math.min(lMinimumX, lCoordinates[(lA << 1)]);
+			lMinimumY = Math.min(lMinimumY, lCoordinates[(lA << 1) + 1]);
+			lMaximumX = Math.max(lMaximumX, lCoordinates[(lA << 1)]);
+			lMaximumY = Math.max(lMaximumY, lCoordinates[(lA << 1) + 1]);
+		}
+		if(!(lNewArea * this.mOrientation > 0)) {
+			return false;
+		}
+		/* A triangular ring is its own triangulation, which Earcut might discard as collinear at float precision. */
+		if(lSize == 3) {
+			this.onRemoveCavity();
+			this.onAddTriangle(lCavity[0], lCavity[1], lCavity[2]);
+			return true;
+		}
+		/* Cut the new cavity. */
+		if(this.mScratch.length < lSize << 1) {
+			this.mScratch = new float[lSize << 1];
+		}
+		for(int i = 0; i < lSize; i++) {
+			this.mScratch[(i << 1)]     = lCoordinates[(lCavity[i] << 1)];
+			this.mScratch[(i << 1) + 1] = lCoordinates[(lCavity[i] << 1) + 1];
+		}
+		this.mRingOffsets[0] = 0;
+		this.mRingOffsets[1] = lSize;
+		final int   lCount   = this.mContext.triangulate(this.mScratch, this.mRingOffsets, 0, 1, 2);
+		final int[] lIndices = this.mContext.getIndices();
+		/* Earcut covers a simple ring, less any sliver it judged collinear at float precision; a larger shortfall means the ring was degenerate. */
+		double lCutArea = 0;
+		for(int i = 0; i < lCount; i += 3) {
+			lCutArea += Math.abs(EarcutEditor.getOrientation(this.mScratch, lIndices[i], lIndices[i + 1], lIndices[i + 2]));
+		}
+		final double lMagnitude = Math.max(Math.max(Math.abs(lMinimumX), Math.abs(lMaximumX)), Math.max(Math.abs(lMinimumY), Math.abs(lMaximumY)));
+		if(Math.abs(lCutArea - Math.abs(lNewArea)) > Math.abs(lNewArea) * EarcutEditor.AREA_TOLERANCE + lSize * lMagnitude * lMagnitude * EarcutEditor.FLOAT_TOLERANCE) {
+			return false;
+		}
+		this.onRemoveCavity();
+		for(int i = 0; i < lCount; i += 3) {
+			this.onAddTriangle(lCavity[lIndices[i]], lCavity[lIndices[i + 1]], lCavity[lIndices[i + 2]]);
+		}
+		return true;
+	}
+
+	/** Determines whether a new edge of the cavity ring crosses an edge of the polygon, visiting only the RingGrid cells each new edge passes through. The new edges are themselves edges of the polygon, so this also finds where they cross one another. **/
+	private final boolean isCrossingPolygon() {
+		final float[]  lCoordinates = this.mCoordinates;
+		final int[]    lCavity      = this.mCavity;
+		final int      lSize        = this.mCavitySize;
+		final RingGrid lGrid        = this.mRingGrid;
+		for(int i = this.mChainSize - 1; i < lSize; i++) {
+			final int   lA      = lCavity[i];
+			final int   lB      = lCavity[(i + 1) % lSize];
+			final int[] lStamps = lGrid.mStamps;
+			final int   lStamp  = lGrid.onStamp();
+			lGrid.onTrace(lCoordinates[(lA << 1)], lCoordinates[(lA << 1) + 1], lCoordinates[(lB << 1)], lCoordinates[(lB << 1) + 1]);
+			for(int j = 0; j < lGrid.mCellCount; j++) {
+				for(int lEntry = lGrid.mCellHeads[lGrid.mCells[j]]; lEntry != RingGrid.NULL; lEntry = lGrid.mEntryNext[lEntry]) {
+					final int lVertex = lGrid.mEntryVertices[lEntry];
+					if(lStamps[lVertex] == lStamp) {
+						continue;
+					}
+					lStamps[lVertex] = lStamp;
+					if(this.isCrossing(lA, lB, lVertex, this.mNextVertex[lVertex])) {
+						return true;
+					}
+				}
+			}
+		}
+		return false;
+	}
+
+	/** Grows the cavity across each triangle which the new edges enter. The cavity's triangles serve as a queue: as each is visited, the new edges are tested against those of its sides which aren't shared with another cavity triangle, and the triangle across any side they cross joins the cavity. Returns false if a side they cross belongs to no other triangle. **/
+	private final boolean onGrowCavity() {
+		final int[] lCavity = this.mCavity;
+		final int   lSize   = this.mCavitySize;
+		final int   lFirst  = lCavity[0];
+		final int   lLast   = lCavity[this.mChainSize - 1];
+		/* The new edges leave the chain at its last vertex and return to it at its first, and may set off from either into the triangles beyond the cavity. */
+		this.onGrowWedge(lLast, lCavity[this.mChainSize % lSize], true);
+		this.onGrowWedge(lFirst, lCavity[lSize - 1], false);
+		for(int i = 0; i < this.mCavityTriangleCount; i++) {
+			final int lBase = this.mCavityTriangles[i] * 3;
+			for(int j = 0; j < 3; j++) {
+				final int lA = this.mIndices[lBase + j];
+				final int lB = this.mIndices[lBase + (j + 1) % 3];
+				/* The sides along the edited stretch of ring are replaced by the new edges. */
+				if(lA == this.mPivot || lB == this.mPivot || (lA == lLast && lB == lFirst)) {
+					continue;
+				}
+				final int lTwin = this.getTwin(lA, lB);
+				if((lTwin == EarcutEditor.NULL || this.mTriangleStamps[lTwin] != this.mStamp) && this.isCrossingCavity(lA, lB)) {
+					if(lTwin == EarcutEditor.NULL) {
+						return false;
+					}
+					this.onAddCavityTriangle(lTwin);
+				}
+			}
+		}
+		return true;
+	}
+
+	/** Grows the cavity across the triangles about a vertex at either end of the chain, when the new edge from it to pTarget sets off between them. The triangles are visited in turn from the side of the cavity, and those up to and including the one the new edge enters join it. The walk runs forwards about the last vertex of the chain and backwards about the first. **/
+	private final void onGrowWedge(final int pVertex, final int pTarget, final boolean pIsForward) {
+		final int lNeighbour = this.mCavity[pIsForward ? this.mChainSize - 2 : 1];
+		int lCount = 0;
+		for(int lSide = lNeighbour; lCount < this.mIndexCount / 3; ) {
+			final int lCorner = this.getCorner(pVertex, lSide, pIsForward);
+			if(lCorner == EarcutEditor.NULL) {
+				return;
+			}
+			final int lBase = lCorner - lCorner % 3;
+			final int lP    = this.mIndices[lBase + (lCorner - lBase + 1) % 3];
+			final int lQ    = this.mIndices[lBase + (lCorner - lBase + 2) % 3];
+			lCount++;
+			/* The new edge enters this triangle if it sets off within the triangle's angle at the vertex. */
+			if(EarcutEditor.getOrientation(this.mCoordinates, pVertex, lP, pTarget) * this.mOrientation >= 0 && EarcutEditor.getOrientation(this.mCoordinates, pVertex, pTarget, lQ) * this.mOrientation >= 0) {
+				break;
+			}
+			lSide = pIsForward ? lQ : lP;
+		}
+		for(int lSide = lNeighbour, i = 0; i < lCount; i++) {
+			final int lCorner = this.getCorner(pVertex, lSide, pIsForward);
+			final int lBase   = lCorner - lCorner % 3;
+			this.onAddCavityTriangle(lCorner / 3);
+			lSide = this.mIndices[lBase + (lCorner - lBase + (pIsForward ? 2 : 1)) % 3];
+		}
+	}
+
+	/** Returns the corner at pVertex of the triangle outside the cavity whose side leaving pVertex runs to pSide, if pIsForward, or whose side arriving at pVertex runs from pSide. **/
+	private final int getCorner(final int pVertex, final int pSide, final boolean pIsForward) {
+		for(int lCorner = this.mCornerHead[pVertex]; lCorner != EarcutEditor.NULL; lCorner = this.mCornerNext[lCorner]) {
+			final int lBase = lCorner - lCorner % 3;
+			if(this.mIndices[lBase + (lCorner - lBase + (pIsForward ? 1 : 2)) % 3] == pSide && this.mTriangleStamps[lCorner / 3] != this.mStamp) {
+				return lCorner;
+			}
+		}
+		return EarcutEditor.NULL;
+	}
+
+	/** Returns the triangle holding the side from pB to pA, which lies across the side from pA to pB, or NULL if there's none. **/
+	private final int getTwin(final int pA, final int pB) {
+		for(int lCorner = this.mCornerHead[pB]; lCorner != EarcutEditor.NULL; lCorner = this.mCornerNext[lCorner]) {
+			final int lBase = lCorner - lCorner % 3;
+			if(this.mIndices[lBase + (lCorner - lBase + 1) % 3] == pA) {
+				return lCorner / 3;
+			}
+		}
+		return EarcutEditor.NULL;
+	}
+
+	/** Determines whether any new edge of the cavity ring crosses the segment from pA to pB. **/
+	private final boolean isCrossingCavity(final int pA, final int pB) {
+		final int[] lCavity = this.mCavity;
+		final int   lSize   = this.mCavitySize;
+		for(int i = this.mChainSize - 1; i < lSize; i++) {
+			if(this.isCrossing(lCavity[i], lCavity[(i + 1) % lSize], pA, pB)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/** Traces the chain about the grown cavity. Each side of a cavity triangle which isn't shared with another is linked to the next, and the chain follows them from its first vertex around to its last, the way which avoids the edited stretch of ring; the run is then appended as before. Returns false unless the sides form a single loop, as when the grown cavity would enclose part of the mesh. **/
+	private final boolean onTraceChain() {
+		final int[] lNext     = this.mBoundaryNext;
+		final int   lFirst    = this.mCavity[0];
+		final int   lLast     = this.mCavity[this.mChainSize - 1];
+		final int   lRunSize  = this.mCavitySize - this.mChainSize;
+		/* Set the run aside while the chain is rewritten. */
+		if(this.mRun.length < lRunSize) {
+			this.mRun = new int[Math.max(lRunSize, this.mRun.length << 1)];
+		}
+		System.arraycopy(this.mCavity, this.mChainSize, this.mRun, 0, lRunSize);
+		/* Link the sides; a vertex with two sides leaving it is pinched between parts of the cavity. */
+		boolean lIsLoop    = true;
+		int     lSideCount = 0;
+		for(int i = 0; i < this.mCavityTriangleCount; i++) {
+			final int lBase = this.mCavityTriangles[i] * 3;
+			for(int j = 0; j < 3; j++) {
+				final int lA    = this.mIndices[lBase + j];
+				final int lB    = this.mIndices[lBase + (j + 1) % 3];
+				final int lTwin = this.getTwin(lA, lB);
+				if(lTwin != EarcutEditor.NULL && this.mTriangleStamps[lTwin] == this.mStamp) {
+					continue;
+				}
+				lIsLoop = lIsLoop && lNext[lA] == EarcutEditor.NULL;
+				lNext[lA] = lB;
+				lSideCount++;
+			}
+		}
+		/* Follow the sides from the first vertex of the chain to the last, then back around the edited stretch. */
+		int lChainSize = 0;
+		for(int lVertex = lFirst; lIsLoop; lVertex = lNext[lVertex]) {
+			if(lVertex == EarcutEditor.NULL || lChainSize == lSideCount) {
+				lIsLoop = false;
+				break;
+			}
+			this.onEnsureCavityCapacity(lChainSize + 1);
+			this.mCavity[lChainSize++] = lVertex;
+			if(lVertex == lLast) {
+				final int lClosing = lNext[lLast] == this.mPivot && this.mPivot != EarcutEditor.NULL ? lNext[this.mPivot] : lNext[lLast];
+				lIsLoop = lClosing == lFirst && lChainSize + (lClosing == lNext[lLast] ? 0 : 1) == lSideCount;
+				break;
+			}
+		}
+		/* Release the links. */
+		for(int i = 0; i < this.mCavityTriangleCount; i++) {
+			final int lBase = this.mCavityTriangles[i] * 3;
+			lNext[this.mIndices[lBase]]     = EarcutEditor.NULL;
+			lNext[this.mIndices[lBase + 1]] = EarcutEditor.NULL;
+			lNext[this.mIndices[lBase + 2]] = EarcutEditor.NULL;
+		}
+		if(!lIsLoop) {
+			return false;
+		}
+		this.onEnsureCavityCapacity(lChainSize + lRunSize);
+		System.arraycopy(this.mRun, 0, this.mCavity, lChainSize, lRunSize);
+		this.mChainSize  = lChainSize;
+		this.mCavitySize = lChainSize + lRunSize;
+		return true;
+	}
+
+	/** Triangulates the whole polygon again. **/
+	private final void onRebuild() {
+		this.mRebuildCount++;
+		/* Flatten the rings in order, remembering the id of each flattened vertex. */
+		int lVertexCount = 0;
+		for(int i = 0; i < this.mRingSizes.length; i++) {
+			lVertexCount += this.mRingSizes[i];
+		}
+		if(this.mScratch.length < lVertexCount << 1) {
+			this.mScratch = new float[lVertexCount << 1];
+		}
+		this.onEnsureCavityCapacity(lVertexCount);
+		int lSize = 0;
+		for(int i = 0; i < this.mRingSizes.length; i++) {
+			this.mRingOffsets[i] = lSize;
+			final int lHead = this.mRingHeads[i];
+			if(lHead == EarcutEditor.NULL) {
+				continue;
+			}
+			int lVertex = lHead;
+			do {
+				this.mScratch[(lSize << 1)]     = this.mCoordinates[(lVertex << 1)];
+				this.mScratch[(lSize << 1) + 1] = this.mCoordinates[(lVertex << 1) + 1];
+				this.mCavity[lSize++]           = lVertex;
+				lVertex = this.mNextVertex[lVertex];
+			} while(lVertex != lHead);
+		}
+		this.mRingOffsets[this.mRingSizes.length] = lSize;
+		/* Discard every triangle, then adopt the new triangulation. */
+		Arrays.fill(this.mCornerHead, 0, this.mVertexCount, EarcutEditor.NULL);
+		this.mIndexCount = 0;
+		final int   lCount   = this.mContext.triangulate(this.mScratch, this.mRingOffsets, 0, this.mRingSizes.length, 2);
+		final int[] lIndices = this.mContext.getIndices();
+		for(int i = 0; i < lCount; i += 3) {
+			this.onAddTriangle(this.mCavity[lIndices[i]], this.mCavity[lIndices[i + 1]], this.mCavity[lIndices[i + 2]]);
+		}
+		/* Earcut cuts every triangle in the same orientation, which each cavity must keep. */
+		this.mOrientation = 0;
+		for(int i = 0; i < this.mIndexCount && this.mOrientation == 0; i += 3) {
+			this.mOrientation = Math.signum(EarcutEditor.getOrientation(this.mCoordinates, this.mIndices[i], this.mIndices[i + 1], this.mIndices[i + 2]));
+		}
+		this.mRingGrid.onBuild(this.mCoordinates, this.mNextVertex, this.mPreviousVertex, this.mVertexCount);
+	}
+
+	/** Removes the cavity's triangles, from the highest slot down, so that filling each gap from the end of the buffer never moves another cavity triangle. **/
+	private final void onRemoveCavity() {
+		final int[] lTriangles = this.mCavityTriangles;
+		Arrays.sort(lTriangles, 0, this.mCavityTriangleCount);
+		for(int i = this.mCavityTriangleCount - 1; i >= 0; i--) {
+			this.onRemoveTriangle(lTriangles[i]);
+		}
+		this.mCavityTriangleCount = 0;
+	}
+
+	private final void onAddTriangle(final int pA, final int pB, final int pC) {
+		/* Earcut may cure a three-node sliver into a triangle which repeats a vertex. It covers nothing, and would break the fans about its vertices. */
+		if(pA == pB || pB == pC || pC == pA) {
+			return;
+		}
+		if(this.mIndexCount + 3 > this.mIndices.length) {
+			final int lCapacity  = this.mIndices.length << 1;
+			this.mIndices        = Arrays.copyOf(this.mIndices, lCapacity);
+			this.mCornerNext     = Arrays.copyOf(this.mCornerNext, lCapacity);
+			this.mCornerPrevious = Arrays.copyOf(this.mCornerPrevious, lCapacity);
+			this.mTriangleStamps = Arrays.copyOf(this.mTriangleStamps, lCapacity / 3);
+		}
+		this.mIndices[this.mIndexCount]     = pA;
+		this.mIndices[this.mIndexCount + 1] = pB;
+		this.mIndices[this.mIndexCount + 2] = pC;
+		this.mTriangleStamps[this.mIndexCount / 3] = 0;
+		for(int i = 0; i < 3; i++) {
+			this.onLinkCorner(this.mIndexCount++);
+		}
+	}
+
+	/** Removes a triangle by moving the last triangle into its slot. **/
+	private final void onRemoveTriangle(final int pTriangle) {
+		final int lBase = pTriangle * 3;
+		final int lLast = this.mIndexCount - 3;
+		for(int i = 0; i < 3; i++) {
+			this.onUnlinkCorner(lBase + i);
+		}
+		if(lBase != lLast) {
+			for(int i = 0; i < 3; i++) {
+				this.onUnlinkCorner(lLast + i);
+				this.mIndices[lBase + i] = this.mIndices[lLast + i];
+				this.onLinkCorner(lBase + i);
+			}
+			this.mTriangleStamps[pTriangle] = this.mTriangleStamps[lLast / 3];
+		}
+		this.mIndexCount -= 3;
+	}
+
+	private final void onLinkCorner(final int pCorner) {
+		final int lVertex = this.mIndices[pCorner];
+		final int lHead   = this.mCornerHead[lVertex];
+		this.mCornerNext[pCorner]     = lHead;
+		this.mCornerPrevious[pCorner] = EarcutEditor.NULL;
+		if(lHead != EarcutEditor.NULL) {
+			this.mCornerPrevious[lHead] = pCorner;
+		}
+		this.mCornerHead[lVertex] = pCorner;
+	}
+
+	private final void onUnlinkCorner(final int pCorner) {
+		final int lNext     = this.mCornerNext[pCorner];
+		final int lPrevious = this.mCornerPrevious[pCorner];
+		if(lPrevious == EarcutEditor.NULL) {
+			this.mCornerHead[this.mIndices[pCorner]] = lNext;
+		}
+		else {
+			this.mCornerNext[lPrevious] = lNext;
+		}
+		if(lNext != EarcutEditor.NULL) {
+			this.mCornerPrevious[lNext] = lPrevious;
+		}
+	}
+
+	private final void onAddCavityTriangle(final int pTriangle) {
+		if(this.mCavityTriangleCount == this.mCavityTriangles.length) {
+			this.mCavityTriangles = Arrays.copyOf(this.mCavityTriangles, this.mCavityTriangleCount << 1);
+		}
+		this.mTriangleStamps[pTriangle] = this.mStamp;
+		this.mCavityTriangles[this.mCavityTriangleCount++] = pTriangle;
+	}
+
+	private final void onEnsureCavityCapacity(final int pCapacity) {
+		if(this.mCavity.length < pCapacity) {
+			this.mCavity = Arrays.copyOf(this.mCavity, Math.max(pCapacity, this.mCavity.length << 1));
+		}
+	}
+
+	/** Allocates the id of a new vertex. **/
+	private final int onAllocateVertex() {
+		if(this.mVertexCount == this.mNextVertex.length) {
+			final int lCapacity = Math.max(this.mVertexCount << 1, 16);
+			this.mCoordinates    = Arrays.copyOf(this.mCoordinates, lCapacity << 1);
+			this.mNextVertex     = Arrays.copyOf(this.mNextVertex, lCapacity);
+			this.mPreviousVertex = Arrays.copyOf(this.mPreviousVertex, lCapacity);
+			this.mRing           = Arrays.copyOf(this.mRing, lCapacity);
+			this.mCornerHead     = Arrays.copyOf(this.mCornerHead, lCapacity);
+			this.mVertexStamps   = Arrays.copyOf(this.mVertexStamps, lCapacity);
+			this.mBoundaryNext   = Arrays.copyOf(this.mBoundaryNext, lCapacity);
+		}
+		this.mCornerHead[this.mVertexCount]   = EarcutEditor.NULL;
+		this.mVertexStamps[this.mVertexCount] = 0;
+		this.mBoundaryNext[this.mVertexCount] = EarcutEditor.NULL;
+		return this.mVertexCount++;
+	}
+
+	/** Returns a fresh stamp, which marks the triangles and vertices of the current edit. **/
+	private final int onStamp() {
+		if(++this.mStamp == Integer.MAX_VALUE) {
+			Arrays.fill(this.mTriangleStamps, 0);
+			Arrays.fill(this.mVertexStamps, 0);
+			this.mStamp = 1;
+		}
+		return this.mStamp;
+	}
+
+	private final void onCheckVertex(final int pVertex) {
+		if(pVertex < 0 || pVertex >= this.mVertexCount || this.mPreviousVertex[pVertex] == EarcutEditor.NULL) {
+			throw new EarcutException("No such vertex: " + pVertex + "!");
+		}
+	}
+
+	/** Determines whether the segment from pA to pB meets the segment from pC to pD anywhere but at a vertex they share. **/
+	private final boolean isCrossing(final int pA, final int pB, final int pC, final int pD) {
+		final float[] lCoordinates = this.mCoordinates;
+		/* Segments sharing a vertex only meet elsewhere if they overlap along a line. */
+		if(pA == pC || pA == pD || pB == pC || pB == pD) {
+			if((pA == pC || pA == pD) && (pB == pC || pB == pD)) {
+				return false;
+			}
+			final int lShared = (pA == pC || pA == pD) ? pA : pB;
+			final int lP      = lShared == pA ? pB : pA;
+			final int lQ      = (pC == lShared) ? pD : pC;
+			return EarcutEditor.getOrientation(lCoordinates, lShared, lP, lQ) == 0 && ((double)lCoordinates[(lP << 1)] - lCoordinates[(lShared << 1)]) * ((double)lCoordinates[(lQ << 1)] - lCoordinates[(lShared << 1)]) + ((double)lCoordinates[(lP << 1) + 1] - lCoordinates[(lShared << 1) + 1]) * ((double)lCoordinates[(lQ << 1) + 1] - lCoordinates[(lShared << 1) + 1]) > 0;
+		}
+		final double lO1 = Math.signum(EarcutEditor.getOrientation(lCoordinates, pA, pB, pC));
+		final double lO2 = Math.signum(EarcutEditor.getOrientation(lCoordinates, pA, pB, pD));
+		final double lO3 = Math.signum(EarcutEditor.getOrientation(lCoordinates, pC, pD, pA));
+		final double lO4 = Math.signum(EarcutEditor.getOrientation(lCoordinates, pC, pD, pB));
+		if(lO1 != lO2 && lO3 != lO4) {
+			return true;
+		}
+		/* Touching counts as crossing, since the new cavity would then meet the mesh at a point which isn't a vertex of either. */
+		return (lO1 == 0 && EarcutEditor.isOnSegment(lCoordinates, pA, pC, pB)) || (lO2 == 0 && EarcutEditor.isOnSegment(lCoordinates, pA, pD, pB)) || (lO3 == 0 && EarcutEditor.isOnSegment(lCoordinates, pC, pA, pD)) || (lO4 == 0 && EarcutEditor.isOnSegment(lCoordinates, pC, pB, pD));
+	}
+
+	/** Determines whether pQ, known to be collinear with pP and pR, lies between them. **/
+	private static final boolean isOnSegment(final float[] pCoordinates, final int pP, final int pQ, final int pR) {
+		final float lX = pCoordinates[(pQ << 1)], lY = pCoordinates[(pQ << 1) + 1];
+		return lX <= Math.max(pCoordinates[(pP << 1)], pCoordinates[(pR << 1)]) && lX >= Math.min(pCoordinates[(pP << 1)], pCoordinates[(pR << 1)]) && lY <= Math.max(pCoordinates[(pP << 1) + 1], pCoordinates[(pR << 1) + 1]) && lY >= Math.min(pCoordinates[(pP << 1) + 1], pCoordinates[(pR << 1) + 1]);
+	}
+
+	/** Returns twice the signed area of the triangle pA, pB, pC, evaluated in double precision. **/
+	private static final double getOrientation(final float[] pCoordinates, final int pA, final int pB, final int pC) {
+		final double lAx = pCoordinates[(pA << 1)], lAy = pCoordinates[(pA << 1) + 1];
+		return (pCoordinates[(pB << 1)] - lAx) * (pCoordinates[(pC << 1) + 1] - lAy) - (pCoordinates[(pB << 1) + 1] - lAy) * (pCoordinates[(pC << 1)] - lAx);
+	}
+
+	/** Returns the positions of every vertex id, interleaved. Deleted ids keep their last position. **/
+	public final float[] getCoordinates() {
+		return this.mCoordinates;
+	}
+
+	/** Returns the number of vertex ids allocated, including those since deleted. **/
+	public final int getVertexCount() {
+		return this.mVertexCount;
+	}
+
+	/** Returns the vertex ids of each triangle, three per triangle. Only the first getIndexCount() elements are valid, and the array is modified by each edit. **/
+	public final int[] getIndices() {
+		return this.mIndices;
+	}
+
+	public final int getIndexCount() {
+		return this.mIndexCount;
+	}
+
+	/** Returns a compact copy of the current triangle indices. **/
+	public final int[] toIndexArray() {
+		return Arrays.copyOf(this.mIndices, this.mIndexCount);
+	}
+
+	public final boolean isDeleted(final int pVertex) {
+		return this.mPreviousVertex[pVertex] == EarcutEditor.NULL;
+	}
+
+	/** Returns the number of times the whole polygon has been triangulated, including by the constructor. **/
+	public final long getRebuildCount() {
+		return this.mRebuildCount;
+	}
+
+}
@@ -0,0 +1,45 @@
+package com.earcutj;
+
+/** Interfaces for asynchronous streams with non-blocking backpressure, matching java.util.concurrent.Flow method for method. Flow first appeared in Java 9, so they're declared here for Java 8 and Android; on later platforms each adapts to its Flow counterpart with a single forwarding method per signal. **/
+public final class EarcutFlow {
+
+	/** A producer of items, which are delivered to each Subscriber as it requests them. **/
+	public static interface Publisher<T> {
+
+		public abstract void subscribe(final Subscriber<? super T> pSubscriber);
+
+	}
+
+	/** A receiver of items. onSubscribe() is called first; onNext() then receives no more items than have been requested through the Subscription, and the stream ends with onError() or onComplete(). Signals are never delivered concurrently. **/
+	public static interface Subscriber<T> {
+
+		public abstract void onSubscribe(final Subscription pSubscription);
+
+		public abstract void onNext(final T pItem);
+
+		public abstract void onError(final Throwable pThrowable);
+
+		public abstract void onComplete();
+
+	}
+
+	/** The link between a Publisher and one Subscriber. **/
+	public static interface Subscription {
+
+		/** Adds pCount items to the outstanding demand. A count which isn't positive fails the stream. **/
+		public abstract void request(final long pCount);
+
+		/** Stops the delivery of items, eventually. **/
+		public abstract void cancel();
+
+	}
+
+	/** A stage which subscribes to items of one type and publishes items of another. **/
+	public static interface Processor<T, R> extends Subscriber<T>, Publisher<R> {
+
+	}
+
+	/* Prevent instantiation of this class. */
+	private EarcutFlow() {}
+
+}
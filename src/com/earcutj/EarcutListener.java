@@ -0,0 +1,9 @@
+package com.earcutj;
+
+/** Receives a trace of each triangulation performed with the EarcutOptions it was set upon. Set a listener only while investigating; without one, no trace is gathered at all. **/
+public interface EarcutListener {
+
+	/** Called once a polygon has been triangulated, on the triangulating thread. The trace is reused by the next triangulation through the same context, so copy out anything which must be kept. **/
+	public abstract void onTriangulated(final EarcutTrace pTrace);
+
+}
@@ -0,0 +1,97 @@
+package com.earcutj;
+
+import java.util.Arrays;
+
+/** An indexed triangle mesh, holding each distinct vertex exactly once. Vertices are numbered in the order they're first referenced by a triangle; input vertices which no triangle uses are dropped, and input vertices which share a position collapse onto a single vertex. **/
+public final class EarcutMesh {
+
+	/* Default Declarations. */
+	private static final int NULL = -1;
+
+	/** Builds a mesh from the first pIndexCount triangle indices of pIndices, which refer to vertices of a flat co-ordinate array of pDimensions elements per vertex. **/
+	static final EarcutMesh onCreate(final float[] pCoordinates, final int pDimensions, final int[] pIndices, final int pIndexCount) {
+		final int   lVertexCount = pCoordinates.length / pDimensions;
+		/* Map every input vertex onto its mesh vertex, which is assigned the first time the vertex or a copy of its position is referenced. */
+		final int[] lRemap       = new int[lVertexCount];
+		Arrays.fill(lRemap, EarcutMesh.NULL);
+		/* An open addressed table of mesh vertices, keyed by position. */
+		final int   lMask        = Integer.highestOneBit(Math.max(Math.min(lVertexCount, pIndexCount), 1)) * 4 - 1;
+		final int[] lTable       = new int[lMask + 1];
+		Arrays.fill(lTable, EarcutMesh.NULL);
+		float[]     lVertices    = new float[Math.min(lVertexCount, pIndexCount) << 1];
+		int[]       lSources     = new int[Math.min(lVertexCount, pIndexCount)];
+		final int[] lIndices     = new int[pIndexCount];
+		int         lCount       = 0;
+		for(int i = 0; i < pIndexCount; i++) {
+			final int lInput = pIndices[i];
+			int       lMesh  = lRemap[lInput];
+			if(lMesh == EarcutMesh.NULL) {
+				/* Adding zero folds negative zero onto positive zero, so they hash alike. */
+				final float lX    = pCoordinates[lInput * pDimensions] + 0.0f;
+				final float lY    = pCoordinates[lInput * pDimensions + 1] + 0.0f;
+				int         lSlot = EarcutMesh.getHash(lX, lY) & lMask;
+				while(lTable[lSlot] != EarcutMesh.NULL && (lVertices[lTable[lSlot] << 1] != lX || lVertices[(lTable[lSlot] << 1) + 1] != lY)) {
+					lSlot = (lSlot + 1) & lMask;
+				}
+				if(lTable[lSlot] == EarcutMesh.NULL) {
+					lTable[lSlot]                = lCount;
+					lVertices[lCount << 1]       = lX;
+					lVertices[(lCount << 1) + 1] = lY;
+					lSources[lCount]             = lInput;
+					lCount++;
+				}
+				lMesh          = lTable[lSlot];
+				lRemap[lInput] = lMesh;
+			}
+			lIndices[i] = lMesh;
+		}
+		/* Trim the vertices to the number actually referenced. */
+		if(lCount != lSources.length) {
+			lVertices = Arrays.copyOf(lVertices, lCount << 1);
+			lSources  = Arrays.copyOf(lSources,  lCount);
+		}
+		return new EarcutMesh(lVertices, lIndices, lSources);
+	}
+
+	/** Mixes the bits of a position. NaN positions never compare equal, so each remains a vertex of its own. **/
+	private static final int getHash(final float pX, final float pY) {
+		final int lHash = (Float.floatToIntBits(pX) * 0x9E3779B1) ^ Float.floatToIntBits(pY);
+		return (lHash ^ (lHash >>> 16)) * 0x85EBCA6B;
+	}
+
+	/* Member Variables. */
+	private final float[] mVertices;
+	private final int[]   mIndices;
+	private final int[]   mSourceIndices;
+
+	private EarcutMesh(final float[] pVertices, final int[] pIndices, final int[] pSourceIndices) {
+		/* Initialize Member Variables. */
+		this.mVertices      = pVertices;
+		this.mIndices       = pIndices;
+		this.mSourceIndices = pSourceIndices;
+	}
+
+	/** Returns the x and y co-ordinates of each mesh vertex, interleaved. **/
+	public final float[] getVertices() {
+		return this.mVertices;
+	}
+
+	/** Returns the mesh vertex indices of each triangle, three per triangle. **/
+	public final int[] getIndices() {
+		return this.mIndices;
+	}
+
+	/** Returns, for each mesh vertex, the index of the input vertex it was taken from. Useful for carrying per-vertex attributes such as texture co-ordinates across to the mesh. **/
+	public final int[] getSourceIndices() {
+		return this.mSourceIndices;
+	}
+
+	public final int getVertexCount() {
+		return this.mSourceIndices.length;
+	}
+
+	public final int getTriangleCount() {
+		return this.mIndices.length / 3;
+	}
+
+}
@@ -0,0 +1,295 @@
+package com.earcutj;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/** Process-wide triangulation metrics, published over JMX. Once registered, every triangulation in the process, through any EarcutContext, is counted and timed; until then, the only cost to a triangulation is a single volatile read. Counters are LongAdders, which stripe their updates across cells under contention, so that many triangulating threads don't serialise on a shared counter. **/
+public final class EarcutMetrics implements EarcutMetricsMBean {
+
+	/* Default Declarations. */
+	public  static final String OBJECT_NAME     = "com.earcutj:type=EarcutMetrics";
+	/* Polygons are classed by vertex count, in powers of four. */
+	private static final int[]  SIZE_CLASSES    = { 16, 64, 256, 1024, 4096, 16384, 65536 };
+	/* Latencies are bucketed logarithmically from a microsecond up, with four buckets to each power of two, bounding the error of a percentile to a quarter. */
+	private static final int    MINIMUM_SHIFT   = 10;
+	private static final int    BUCKET_COUNT    = ((Long.SIZE - 1 - EarcutMetrics.MINIMUM_SHIFT) << 2) + 1;
+	private static final long   SAMPLE_INTERVAL = 1000000000L;
+
+	/* The registered instance, or null if metrics are disabled. */
+	private static volatile EarcutMetrics sInstance;
+
+	/** Begins gathering metrics and registers them with the platform MBeanServer under OBJECT_NAME. Returns the registered instance; registering again returns the same one. **/
+	public static final synchronized EarcutMetrics register() {
+		if(EarcutMetrics.sInstance == null) {
+			final EarcutMetrics lMetrics = new EarcutMetrics();
+			try {
+				ManagementFactory.getPlatformMBeanServer().registerMBean(lMetrics, new ObjectName(EarcutMetrics.OBJECT_NAME));
+			}
+			catch(final JMException pJMException) {
+				throw new IllegalStateException("Could not register " + EarcutMetrics.OBJECT_NAME + "!", pJMException);
+			}
+			EarcutMetrics.sInstance = lMetrics;
+		}
+		return EarcutMetrics.sInstance;
+	}
+
+	/** Stops gathering metrics and removes them from the platform MBeanServer. **/
+	public static final synchronized void unregister() {
+		if(EarcutMetrics.sInstance == null) {
+			return;
+		}
+		EarcutMetrics.sInstance = null;
+		try {
+			final MBeanServer lServer = ManagementFactory.getPlatformMBeanServer();
+			final ObjectName  lName   = new ObjectName(EarcutMetrics.OBJECT_NAME);
+			if(lServer.isRegistered(lName)) {
+				lServer.unregisterMBean(lName);
+			}
+		}
+		catch(final JMException pJMException) {
+			throw new IllegalStateException("Could not unregister " + EarcutMetrics.OBJECT_NAME + "!", pJMException);
+		}
+	}
+
+	static final boolean isRegistered() {
+		return EarcutMetrics.sInstance != null;
+	}
+
+	/** Records a completed triangulation, if metrics are being gathered. **/
+	static final void onTriangulated(final EarcutTrace pTrace) {
+		final EarcutMetrics lMetrics = EarcutMetrics.sInstance;
+		if(lMetrics != null) {
+			lMetrics.onRecord(pTrace);
+		}
+	}
+
+	/** Records a triangulation which failed, if metrics are being gathered. **/
+	static final void onFailed() {
+		final EarcutMetrics lMetrics = EarcutMetrics.sInstance;
+		if(lMetrics != null) {
+			lMetrics.mFailureCount.increment();
+		}
+	}
+
+	/** Returns the histogram bucket holding a latency of pNanoseconds. **/
+	private static final int getBucket(final long pNanoseconds) {
+		final int lShift = 63 - Long.numberOfLeadingZeros(pNanoseconds);
+		if(lShift < EarcutMetrics.MINIMUM_SHIFT) {
+			return 0;
+		}
+		/* Take the two bits below the leading bit to divide each power of two in four. */
+		return ((lShift - EarcutMetrics.MINIMUM_SHIFT) << 2) + (int)((pNanoseconds >>> (lShift - 2)) & 3) + 1;
+	}
+
+	/** Returns the largest latency held by a bucket. **/
+	private static final long getBucketLimit(final int pBucket) {
+		if(pBucket == 0) {
+			return (1L << EarcutMetrics.MINIMUM_SHIFT) - 1;
+		}
+		final int lShift = ((pBucket - 1) >> 2) + EarcutMetrics.MINIMUM_SHIFT;
+		final int lQuarter = (pBucket - 1) & 3;
+		return lShift == 62 && lQuarter == 3 ? Long.MAX_VALUE : ((5L + lQuarter) << (lShift - 2)) - 1;
+	}
+
+	private static final int getSizeClass(final int pVertexCount) {
+		int i = 0;
+		while(i < EarcutMetrics.SIZE_CLASSES.length && pVertexCount > EarcutMetrics.SIZE_CLASSES[i]) {
+			i++;
+		}
+		return i;
+	}
+
+	/* Member Variables. */
+	private final LongAdder     mCallCount;
+	private final LongAdder     mVertexCount;
+	private final LongAdder     mFailureCount;
+	private final LongAdder     mCureCount;
+	private final LongAdder     mSplitCount;
+	private final LongAdder[][] mLatencies;
+	private       long          mSampleTime;
+	private       long          mSampleCalls;
+	private       long          mSampleVertices;
+	private       double        mCallsPerSecond;
+	private       double        mVerticesPerSecond;
+
+	private EarcutMetrics() {
+		/* Initialize Member Variables. */
+		this.mCallCount    = new LongAdder();
+		this.mVertexCount  = new LongAdder();
+		this.mFailureCount = new LongAdder();
+		this.mCureCount    = new LongAdder();
+		this.mSplitCount   = new LongAdder();
+		this.mLatencies    = new LongAdder[EarcutMetrics.SIZE_CLASSES.length + 1][EarcutMetrics.BUCKET_COUNT];
+		for(int i = 0; i < this.mLatencies.length; i++) {
+			for(int j = 0; j < EarcutMetrics.BUCKET_COUNT; j++) {
+				this.mLatencies[i][j] = new LongAdder();
+			}
+		}
+		this.mSampleTime = System.nanoTime();
+	}
+
+	private final void onRecord(final EarcutTrace pTrace) {
+		this.mCallCount.increment();
+		this.mVertexCount.add(pTrace.getVertexCount());
+		if(pTrace.getCureCount() > 0) {
+			this.mCureCount.increment();
+		}
+		if(pTrace.getSplitCount() > 0) {
+			this.mSplitCount.increment();
+		}
+		this.mLatencies[EarcutMetrics.getSizeClass(pTrace.getVertexCount())][EarcutMetrics.getBucket(Math.max(pTrace.getTotalTime(), 0))].increment();
+	}
+
+	@Override
+	public final long getCallCount() {
+		return this.mCallCount.sum();
+	}
+
+	@Override
+	public final long getVertexCount() {
+		return this.mVertexCount.sum();
+	}
+
+	@Override
+	public final long getFailureCount() {
+		return this.mFailureCount.sum();
+	}
+
+	@Override
+	public final long getCureCount() {
+		return this.mCureCount.sum();
+	}
+
+	@Override
+	public final long getSplitCount() {
+		return this.mSplitCount.sum();
+	}
+
+	@Override
+	public final synchronized double getCallsPerSecond() {
+		this.onSample();
+		return this.mCallsPerSecond;
+	}
+
+	@Override
+	public final synchronized double getVerticesPerSecond() {
+		this.onSample();
+		return this.mVerticesPerSecond;
+	}
+
+	/** Updates the rates, once at least SAMPLE_INTERVAL has passed since they were last updated. **/
+	private final synchronized void onSample() {
+		final long lTime = System.nanoTime();
+		if(lTime - this.mSampleTime < EarcutMetrics.SAMPLE_INTERVAL) {
+			return;
+		}
+		final long   lCalls    = this.mCallCount.sum();
+		final long   lVertices = this.mVertexCount.sum();
+		final double lSeconds  = (lTime - this.mSampleTime) / 1e9;
+		this.mCallsPerSecond    = (lCalls - this.mSampleCalls) / lSeconds;
+		this.mVerticesPerSecond = (lVertices - this.mSampleVertices) / lSeconds;
+		this.mSampleTime        = lTime;
+		this.mSampleCalls       = lCalls;
+		this.mSampleVertices    = lVertices;
+	}
+
+	@Override
+	public final int[] getSizeClasses() {
+		return EarcutMetrics.SIZE_CLASSES.clone();
+	}
+
+	@Override
+	public final long[] getCallCounts() {
+		final long[] lCounts = new long[this.mLatencies.length];
+		for(int i = 0; i < lCounts.length; i++) {
+			for(int j = 0; j < EarcutMetrics.BUCKET_COUNT; j++) {
+				lCounts[i] += this.mLatencies[i][j].sum();
+			}
+		}
+		return lCounts;
+	}
+
+	@Override
+	public final long[] getMedianLatencies() {
+		return this.getLatencyPercentiles(50);
+	}
+
+	@Override
+	public final long[] getP90Latencies() {
+		return this.getLatencyPercentiles(90);
+	}
+
+	@Override
+	public final long[] getP99Latencies() {
+		return this.getLatencyPercentiles(99);
+	}
+
+	private final long[] getLatencyPercentiles(final double pPercentile) {
+		final long[] lLatencies = new long[this.mLatencies.length];
+		for(int i = 0; i < lLatencies.length; i++) {
+			lLatencies[i] = this.getLatencyPercentile(i, pPercentile);
+		}
+		return lLatencies;
+	}
+
+	/** Returns the upper bound of the bucket in which the percentile falls, or 0 if the size class is empty. The histogram is read while it may be updated, so the result is approximate under load. **/
+	@Override
+	public final long getLatencyPercentile(final int pSizeClass, final double pPercentile) {
+		if(pSizeClass < 0 || pSizeClass >= this.mLatencies.length) {
+			throw new IllegalArgumentException("No such size class: " + pSizeClass + "!");
+		}
+		if(!(pPercentile >= 0 && pPercentile <= 100)) {
+			throw new IllegalArgumentException("A percentile must lie between 0 and 100!");
+		}
+		final LongAdder[] lBuckets = this.mLatencies[pSizeClass];
+		final long[]      lCounts  = new long[EarcutMetrics.BUCKET_COUNT];
+		long              lTotal   = 0;
+		for(int i = 0; i < EarcutMetrics.BUCKET_COUNT; i++) {
+			lCounts[i] = lBuckets[i].sum();
+			lTotal    += lCounts[i];
+		}
+		if(lTotal == 0) {
+			return 0;
+		}
+		final long lRank = Math.max((long)Math.ceil(lTotal * pPercentile / 100), 1);
+		long       lSum  = 0;
+		for(int i = 0; i < EarcutMetrics.BUCKET_COUNT; i++) {
+			lSum += lCounts[i];
+			if(lSum >= lRank) {
+				return EarcutMetrics.getBucketLimit(i);
+			}
+		}
+		return EarcutMetrics.getBucketLimit(EarcutMetrics.BUCKET_COUNT - 1);
+	}
+
+	@Override
+	public final void reset() {
+		this.mCallCount.reset();
+		this.mVertexCount.reset();
+		this.mFailureCount.reset();
+		this.mCureCount.reset();
+		this.mSplitCount.reset();
+		for(final LongAdder[] lBuckets : this.mLatencies) {
+			for(final LongAdder lBucket : lBuckets) {
+				lBucket.reset();
+			}
+		}
+		synchronized(this) {
+			this.mSampleTime        = System.nanoTime();
+			this.mSampleCalls       = 0;
+			this.mSampleVertices    = 0;
+			this.mCallsPerSecond    = 0;
+			this.mVerticesPerSecond = 0;
+		}
+	}
+
+	@Override
+	public final String toString() {
+		return "EarcutMetrics[calls=" + this.getCallCount() + ", vertices=" + this.getVertexCount() + ", failures=" + this.getFailureCount() + ", cures=" + this.getCureCount() + ", splits=" + this.getSplitCount() + "]";
+	}
+
+}
@@ -0,0 +1,40 @@
+package com.earcutj;
+
+/** The management interface of EarcutMetrics. Latencies are in nanoseconds, reported per polygon size class; class i holds polygons of up to getSizeClasses()[i] vertices, and the last class holds every larger polygon. **/
+public interface EarcutMetricsMBean {
+
+	public abstract long getCallCount();
+
+	public abstract long getVertexCount();
+
+	/** Returns the number of triangulations which failed with an EarcutException. **/
+	public abstract long getFailureCount();
+
+	/** Returns the number of polygons whose slicing entered the CURE recovery stage. **/
+	public abstract long getCureCount();
+
+	/** Returns the number of polygons whose slicing entered the SPLIT recovery stage. **/
+	public abstract long getSplitCount();
+
+	/** Returns the rate of triangulations over the interval between this read and the one before it, or at least the last second. **/
+	public abstract double getCallsPerSecond();
+
+	public abstract double getVerticesPerSecond();
+
+	public abstract int[] getSizeClasses();
+
+	public abstract long[] getCallCounts();
+
+	public abstract long[] getMedianLatencies();
+
+	public abstract long[] getP90Latencies();
+
+	public abstract long[] getP99Latencies();
+
+	/** Returns the latency below which pPercentile percent of the triangulations of a size class completed. **/
+	public abstract long getLatencyPercentile(final int pSizeClass, final double pPercentile);
+
+	/** Zeroes every counter and histogram. **/
+	public abstract void reset();
+
+}
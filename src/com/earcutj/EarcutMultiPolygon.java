@@ -0,0 +1,59 @@
+package com.earcutj;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/** Triangulates MultiPolygons, and sets of rings whose roles aren't known, such as those read from GeoJSON and shapefiles. Rings are supplied as a single co-ordinate array and a table of ring offsets (the vertex index at which each ring begins, terminated by the total vertex count), in any order. Each ring is placed within the smallest ring which contains it: rings nested at an even depth become outer rings, and those at an odd depth holes of the ring containing them. Rings may wind either way, since shapefiles wind outer rings clockwise and GeoJSON anticlockwise; each is rewound as its role requires. Rings must not cross one another, though they may touch. **/
+public final class EarcutMultiPolygon {
+
+	/** Classifies the rings and triangulates each polygon using the common ForkJoinPool. **/
+	public static final EarcutBatch.Result triangulate(final float[] pCoordinates, final int pDimensions, final int[] pRingOffsets) {
+		return EarcutMultiPolygon.triangulate(pCoordinates, pDimensions, pRingOffsets, ForkJoinPool.commonPool());
+	}
+
+	/** Classifies the rings and triangulates each polygon using the supplied ForkJoinPool, as EarcutBatch does: large polygons are each given their own worker, while small ones are shared out. Polygon i of the result is polygon i of classify(); indices refer to vertices of the co-ordinate array. **/
+	public static final EarcutBatch.Result triangulate(final float[] pCoordinates, final int pDimensions, final int[] pRingOffsets, final ForkJoinPool pForkJoinPool) {
+		final Classification lClassification = EarcutMultiPolygon.classify(pCoordinates, pDimensions, pRingOffsets);
+		return EarcutBatch.triangulate(pCoordinates, pDimensions, pRingOffsets, lClassification.mRings, lClassification.mPolygonOffsets, pForkJoinPool);
+	}
+
+	/** Sorts the rings into polygons, without triangulating them. Containing rings are found through an R-tree over the bounds of the rings, so each ring is only tested against those whose bounds enclose it, rather than against every other. Rings which enclose no area are omitted. **/
+	public static final Classification classify(final float[] pCoordinates, final int pDimensions, final int[] pRingOffsets) {
+		final RingClassifier lRingClassifier = new RingClassifier(pRingOffsets.length - 1);
+		lRingClassifier.onClassify(pCoordinates, pDimensions, pRingOffsets);
+		return new Classification(Arrays.copyOf(lRingClassifier.mRings, lRingClassifier.mRingListSize), Arrays.copyOf(lRingClassifier.mPolygonOffsets, lRingClassifier.mPolygonCount + 1));
+	}
+
+	/** The polygons formed from a set of rings: polygon i is formed of the rings getRings()[getPolygonOffsets()[i]] to getRings()[getPolygonOffsets()[i + 1] - 1], the first of which is its outer ring. Polygons follow the order of their outer rings within the input, and holes follow their own order. These tables can be passed straight to EarcutBatch. **/
+	public static final class Classification {
+
+		/* Member Variables. */
+		private final int[] mRings;
+		private final int[] mPolygonOffsets;
+
+		protected Classification(final int[] pRings, final int[] pPolygonOffsets) {
+			/* Initialize Member Variables. */
+			this.mRings          = pRings;
+			this.mPolygonOffsets = pPolygonOffsets;
+		}
+
+		/** Returns the rings of every polygon, each outer ring followed by its holes. **/
+		public final int[] getRings() {
+			return this.mRings;
+		}
+
+		/** Returns the position within getRings() of each polygon's outer ring, terminated by the number of rings listed. **/
+		public final int[] getPolygonOffsets() {
+			return this.mPolygonOffsets;
+		}
+
+		public final int getPolygonCount() {
+			return this.mPolygonOffsets.length - 1;
+		}
+
+	}
+
+	/* Prevent instantiation of this class. */
+	private EarcutMultiPolygon() {}
+
+}
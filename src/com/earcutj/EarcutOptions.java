@@ -0,0 +1,130 @@
+package com.earcutj;
+
+import java.util.Random;
+
+/** Immutable tuning parameters for triangulation. Instances are safe to share between threads; each with...() method returns a modified copy. **/
+public final class EarcutOptions {
+
+	/* Default Declarations. */
+	public  static final int           DEFAULT_Z_ORDER_THRESHOLD = 80;
+	public  static final EarcutOptions DEFAULT                   = new EarcutOptions(EarcutOptions.DEFAULT_Z_ORDER_THRESHOLD);
+
+	/* Calibration Declarations. */
+	private static final int[] CALIBRATION_SIZES       = { 16, 24, 32, 48, 64, 96, 128, 192, 256, 384, 512 };
+	private static final int   CALIBRATION_WORK        = 1 << 13;
+	private static final int   CALIBRATION_ROUNDS      = 3;
+	private static final long  CALIBRATION_SEED        = 0x45415243L;
+
+	/* Member Variables. */
+	private final int            mZOrderThreshold;
+	private final EarcutListener mListener;
+	private final float          mSimplificationTolerance;
+
+	/** Creates options where polygons of more than pZOrderThreshold vertices are indexed along a z-order curve. **/
+	public EarcutOptions(final int pZOrderThreshold) {
+		this(pZOrderThreshold, null, 0);
+	}
+
+	private EarcutOptions(final int pZOrderThreshold, final EarcutListener pListener, final float pSimplificationTolerance) {
+		if(pZOrderThreshold < 0) {
+			throw new IllegalArgumentException("The z-order threshold cannot be negative!");
+		}
+		if(!(pSimplificationTolerance >= 0 && pSimplificationTolerance < Float.POSITIVE_INFINITY)) {
+			throw new IllegalArgumentException("The simplification tolerance must be finite and not negative!");
+		}
+		/* Initialize Member Variables. */
+		this.mZOrderThreshold         = pZOrderThreshold;
+		this.mListener                = pListener;
+		this.mSimplificationTolerance = pSimplificationTolerance;
+	}
+
+	/** Returns a copy of these options with the specified z-order threshold. 0 always hashes; Integer.MAX_VALUE never does. **/
+	public final EarcutOptions withZOrderThreshold(final int pZOrderThreshold) {
+		return new EarcutOptions(pZOrderThreshold, this.mListener, this.mSimplificationTolerance);
+	}
+
+	/** Returns a copy of these options which passes an EarcutTrace of every triangulation to pListener, or which traces nothing if pListener is null. **/
+	public final EarcutOptions withListener(final EarcutListener pListener) {
+		return new EarcutOptions(this.mZOrderThreshold, pListener, this.mSimplificationTolerance);
+	}
+
+	/** Returns a copy of these options which simplifies each polygon before triangulating it, dropping vertices which deviate from the outline by a triangle of less than pTolerance squared in area. Vertices are only dropped where no other vertex lies within the shortcut, so rings stay simple and holes keep their place. Triangle indices still refer to the input vertices; dropped vertices are simply never referenced. 0 disables simplification. **/
+	public final EarcutOptions withSimplificationTolerance(final float pTolerance) {
+		return new EarcutOptions(this.mZOrderThreshold, this.mListener, pTolerance);
+	}
+
+	/** Returns the vertex count above which z-order hashing is used to accelerate ear tests. **/
+	public final int getZOrderThreshold() {
+		return this.mZOrderThreshold;
+	}
+
+	/** Returns the listener which receives a trace of each triangulation, or null if none is traced. **/
+	public final EarcutListener getListener() {
+		return this.mListener;
+	}
+
+	/** Returns the tolerance polygons are simplified to before triangulation, or 0 if they aren't simplified. **/
+	public final float getSimplificationTolerance() {
+		return this.mSimplificationTolerance;
+	}
+
+	/** Measures where z-order hashing starts to pay off on the current machine and returns options using that threshold. Synthetic star-shaped rings of increasing size are triangulated with and without hashing; the threshold is placed below the first size at which hashing wins twice in succession. Takes a few hundred milliseconds on a cold JVM, so call it once at startup and keep the result. **/
+	public static final EarcutOptions calibrate() {
+		final EarcutContext lContext = new EarcutContext(EarcutOptions.CALIBRATION_SIZES[EarcutOptions.CALIBRATION_SIZES.length - 1]);
+		final EarcutOptions lHashed  = new EarcutOptions(0);
+		final EarcutOptions lLinear  = new EarcutOptions(Integer.MAX_VALUE);
+		int lWins = 0;
+		for(int i = 0; i < EarcutOptions.CALIBRATION_SIZES.length; i++) {
+			final int     lSize        = EarcutOptions.CALIBRATION_SIZES[i];
+			final float[] lCoordinates = EarcutOptions.onCreateRing(lSize);
+			/* Spread a constant amount of work over each size, so that small rings are timed over many repetitions. */
+			final int     lRepetitions = Math.max(EarcutOptions.CALIBRATION_WORK / lSize, 1);
+			long          lHashedTime  = Long.MAX_VALUE;
+			long          lLinearTime  = Long.MAX_VALUE;
+			/* Alternate between the two paths, keeping the best of several rounds to filter out interference. */
+			for(int j = 0; j < EarcutOptions.CALIBRATION_ROUNDS; j++) {
+				lHashedTime = Math.min(lHashedTime, EarcutOptions.onTime(lContext, lHashed, lCoordinates, lRepetitions));
+				lLinearTime = Math.min(lLinearTime, EarcutOptions.onTime(lContext, lLinear, lCoordinates, lRepetitions));
+			}
+			if(lHashedTime < lLinearTime) {
+				if(++lWins == 2) {
+					return new EarcutOptions(EarcutOptions.CALIBRATION_SIZES[i - 1] - 1);
+				}
+			}
+			else {
+				lWins = 0;
+			}
+		}
+		/* Hashing never paid off within the calibrated range. */
+		return new EarcutOptions(lWins == 1 ? EarcutOptions.CALIBRATION_SIZES[EarcutOptions.CALIBRATION_SIZES.length - 1] - 1 : EarcutOptions.CALIBRATION_SIZES[EarcutOptions.CALIBRATION_SIZES.length - 1]);
+	}
+
+	/** Returns the nanoseconds taken to triangulate a ring pRepetitions times. **/
+	private static final long onTime(final EarcutContext pContext, final EarcutOptions pOptions, final float[] pCoordinates, final int pRepetitions) {
+		pContext.setOptions(pOptions);
+		final long lStart = System.nanoTime();
+		for(int i = 0; i < pRepetitions; i++) {
+			pContext.triangulate(pCoordinates, null, 2);
+		}
+		return System.nanoTime() - lStart;
+	}
+
+	/** Creates a jagged star-shaped ring of pSize vertices, whose reflex vertices make ear tests representative of real outlines. **/
+	private static final float[] onCreateRing(final int pSize) {
+		final Random  lRandom      = new Random(EarcutOptions.CALIBRATION_SEED + pSize);
+		final float[] lCoordinates = new float[pSize << 1];
+		for(int i = 0; i < pSize; i++) {
+			final double lAngle  = -2 * Math.PI * i / pSize;
+			final double lRadius = 100 * (0.5 + 0.5 * lRandom.nextDouble());
+			lCoordinates[(i << 1)]     = (float)(lRadius * Math.cos(lAngle));
+			lCoordinates[(i << 1) + 1] = (float)(lRadius * Math.sin(lAngle));
+		}
+		return lCoordinates;
+	}
+
+	@Override
+	public final String toString() {
+		return "EarcutOptions[zOrderThreshold=" + this.mZOrderThreshold + ", listener=" + this.mListener + ", simplificationTolerance=" + this.mSimplificationTolerance + "]";
+	}
+
+}
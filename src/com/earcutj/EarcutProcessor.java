@@ -0,0 +1,349 @@
+package com.earcutj;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/** An asynchronous stage which triangulates a stream of polygons on an Executor, such as a bounded pool or, on Java 21, one virtual thread per task. Polygons are requested from upstream one at a time, and only while the vertices of those accepted but not yet delivered fall below a limit, so memory in flight is bounded by vertex count however large or small the polygons are; a single polygon larger than the limit is accepted alone. Results are delivered no faster than the single downstream Subscriber requests them, either in the order their polygons arrived or as soon as each is ready. A polygon which cannot be processed yields a failed Result rather than ending the stream. An error from upstream is delivered once the polygons already accepted have been. **/
+public final class EarcutProcessor implements EarcutFlow.Processor<EarcutProcessor.Polygon, EarcutProcessor.Result> {
+
+	/* Default Declarations. */
+	public  static final long DEFAULT_MAXIMUM_VERTICES = 1L << 20;
+	private static final int  DEFAULT_TRIM_VERTICES    = 1 << 20;
+
+	/* Member Variables. */
+	private final Executor                                                 mExecutor;
+	private final EarcutOptions                                            mOptions;
+	private final boolean                                                  mIsOrdered;
+	private final long                                                     mMaximumVertices;
+	private final ConcurrentLinkedQueue<EarcutContext>                     mContexts;
+	private final ConcurrentLinkedQueue<Result>                            mResults;
+	private final AtomicReference<EarcutFlow.Subscription>                 mUpstream;
+	private final AtomicReference<EarcutFlow.Subscriber<? super Result>>   mDownstream;
+	private final AtomicLong                                               mRequested;
+	private final AtomicLong                                               mVertexCount;
+	private final AtomicLong                                               mPendingCount;
+	private final AtomicBoolean                                            mIsRequesting;
+	private final AtomicInteger                                            mWork;
+	private volatile boolean                                               mIsSubscribed;
+	private volatile boolean                                               mIsDone;
+	private volatile boolean                                               mIsCancelled;
+	private volatile Throwable                                             mError;
+	private volatile Throwable                                             mRequestError;
+	private          boolean                                               mIsTerminated;
+
+	/** Creates a processor which triangulates on pExecutor, delivering results in order and holding at most DEFAULT_MAXIMUM_VERTICES vertices in flight. **/
+	public EarcutProcessor(final Executor pExecutor) {
+		this(pExecutor, EarcutOptions.DEFAULT, true, EarcutProcessor.DEFAULT_MAXIMUM_VERTICES);
+	}
+
+	/** Creates a processor which triangulates on pExecutor using pOptions. When pIsOrdered is set, results are delivered in the order their polygons arrived, so a slow polygon holds back those behind it; otherwise each is delivered as soon as it's ready. Upstream is asked for another polygon only while fewer than pMaximumVertices vertices are in flight. **/
+	public EarcutProcessor(final Executor pExecutor, final EarcutOptions pOptions, final boolean pIsOrdered, final long pMaximumVertices) {
+		if(pMaximumVertices < 1) {
+			throw new IllegalArgumentException("The maximum number of vertices in flight must be positive!");
+		}
+		/* Initialize Member Variables. */
+		this.mExecutor        = pExecutor;
+		this.mOptions         = pOptions;
+		this.mIsOrdered       = pIsOrdered;
+		this.mMaximumVertices = pMaximumVertices;
+		this.mContexts        = new ConcurrentLinkedQueue<EarcutContext>();
+		this.mResults         = new ConcurrentLinkedQueue<Result>();
+		this.mUpstream        = new AtomicReference<EarcutFlow.Subscription>();
+		this.mDownstream      = new AtomicReference<EarcutFlow.Subscriber<? super Result>>();
+		this.mRequested       = new AtomicLong();
+		this.mVertexCount     = new AtomicLong();
+		this.mPendingCount    = new AtomicLong();
+		this.mIsRequesting    = new AtomicBoolean();
+		this.mWork            = new AtomicInteger();
+	}
+
+	@Override
+	public final void onSubscribe(final EarcutFlow.Subscription pSubscription) {
+		/* Only the first upstream subscription is used. */
+		if(!this.mUpstream.compareAndSet(null, pSubscription) || this.mIsCancelled) {
+			pSubscription.cancel();
+			return;
+		}
+		this.onRequestUpstream();
+	}
+
+	@Override
+	public final void onNext(final Polygon pPolygon) {
+		/* The outstanding request has been met. */
+		this.mIsRequesting.set(false);
+		if(this.mIsDone || this.mIsCancelled) {
+			return;
+		}
+		final Result lResult = new Result(pPolygon);
+		this.mVertexCount.addAndGet(pPolygon.getVertexCount());
+		this.mPendingCount.incrementAndGet();
+		/* Ordered results queue up as their polygons arrive; unordered ones as they complete. */
+		if(this.mIsOrdered) {
+			this.mResults.offer(lResult);
+		}
+		try {
+			this.mExecutor.execute(new Runnable() { @Override public final void run() { EarcutProcessor.this.onTriangulate(lResult); } });
+		}
+		catch(final RejectedExecutionException pRejectedExecutionException) {
+			this.onFinish(lResult, null, pRejectedExecutionException);
+		}
+		this.onRequestUpstream();
+	}
+
+	@Override
+	public final void onError(final Throwable pThrowable) {
+		if(pThrowable == null) {
+			throw new NullPointerException("The error cannot be null!");
+		}
+		this.mError  = pThrowable;
+		this.mIsDone = true;
+		this.onDrain();
+	}
+
+	@Override
+	public final void onComplete() {
+		this.mIsDone = true;
+		this.onDrain();
+	}
+
+	@Override
+	public final void subscribe(final EarcutFlow.Subscriber<? super Result> pSubscriber) {
+		if(pSubscriber == null) {
+			throw new NullPointerException("The subscriber cannot be null!");
+		}
+		if(!this.mDownstream.compareAndSet(null, pSubscriber)) {
+			pSubscriber.onSubscribe(new EarcutFlow.Subscription() {
+				@Override public final void request(final long pCount) {}
+				@Override public final void cancel() {}
+			});
+			pSubscriber.onError(new IllegalStateException("An EarcutProcessor accepts a single subscriber!"));
+			return;
+		}
+		pSubscriber.onSubscribe(new EarcutFlow.Subscription() {
+			@Override public final void request(final long pCount) { EarcutProcessor.this.onRequest(pCount); }
+			@Override public final void cancel() { EarcutProcessor.this.onCancel(); }
+		});
+		/* Results are held back until onSubscribe() has returned. */
+		this.mIsSubscribed = true;
+		this.onDrain();
+	}
+
+	/** Returns the number of vertices accepted from upstream but not yet delivered downstream. **/
+	public final long getVertexCount() {
+		return this.mVertexCount.get();
+	}
+
+	/** Triangulates a polygon through a pooled EarcutContext, on the executor's thread. **/
+	private final void onTriangulate(final Result pResult) {
+		final Polygon lPolygon = pResult.mPolygon;
+		EarcutContext lContext = this.mContexts.poll();
+		if(lContext == null) {
+			lContext = new EarcutContext();
+			lContext.setOptions(this.mOptions);
+		}
+		int[]     lIndices   = null;
+		Throwable lException = null;
+		try {
+			final int lCount = lContext.triangulate(lPolygon.mCoordinates, lPolygon.mHoleIndices, lPolygon.mDimensions);
+			lIndices = Arrays.copyOf(lContext.getIndices(), lCount);
+		}
+		catch(final Throwable pThrowable) {
+			/* Errors, such as an OutOfMemoryError, fail the result too, since a result left incomplete would stall the stream. */
+			lException = pThrowable;
+		}
+		/* A context which an Error escaped from may have been left part way through growing its buffers, so it isn't pooled again. */
+		if(!(lException instanceof Error)) {
+			/* Release the buffers grown by an unusually large polygon. */
+			if(lPolygon.getVertexCount() > EarcutProcessor.DEFAULT_TRIM_VERTICES) {
+				lContext.trim();
+			}
+			this.mContexts.offer(lContext);
+		}
+		this.onFinish(pResult, lIndices, lException);
+	}
+
+	/** Completes a result, and delivers whatever has become deliverable. **/
+	private final void onFinish(final Result pResult, final int[] pIndices, final Throwable pException) {
+		pResult.mIndices    = pIndices;
+		pResult.mException  = pException;
+		pResult.mIsComplete = true;
+		if(!this.mIsOrdered) {
+			this.mResults.offer(pResult);
+		}
+		this.onDrain();
+	}
+
+	/** Requests another polygon from upstream, unless one is already requested or the vertices in flight have reached the limit. **/
+	private final void onRequestUpstream() {
+		final EarcutFlow.Subscription lUpstream = this.mUpstream.get();
+		if(lUpstream != null && !this.mIsDone && !this.mIsCancelled && this.mVertexCount.get() < this.mMaximumVertices && this.mIsRequesting.compareAndSet(false, true)) {
+			lUpstream.request(1);
+		}
+	}
+
+	private final void onRequest(final long pCount) {
+		if(pCount <= 0) {
+			this.mRequestError = new IllegalArgumentException("The number of results requested must be positive!");
+			this.onCancelUpstream();
+		}
+		else {
+			/* Accumulate demand, saturating at Long.MAX_VALUE, which stands for unbounded demand. */
+			long lRequested;
+			long lNext;
+			do {
+				lRequested = this.mRequested.get();
+				lNext      = lRequested + pCount < 0 ? Long.MAX_VALUE : lRequested + pCount;
+			} while(lRequested != Long.MAX_VALUE && !this.mRequested.compareAndSet(lRequested, lNext));
+		}
+		this.onDrain();
+	}
+
+	private final void onCancel() {
+		this.mIsCancelled = true;
+		this.onCancelUpstream();
+		this.onDrain();
+	}
+
+	private final void onCancelUpstream() {
+		final EarcutFlow.Subscription lUpstream = this.mUpstream.get();
+		if(lUpstream != null) {
+			lUpstream.cancel();
+		}
+	}
+
+	/** Delivers results from whichever thread arrives first; threads which arrive while it's delivering leave it to pick up their work, so the subscriber is never called concurrently. **/
+	private final void onDrain() {
+		if(this.mWork.getAndIncrement() != 0) {
+			return;
+		}
+		int lMissed = 1;
+		do {
+			this.onEmit();
+			lMissed = this.mWork.addAndGet(-lMissed);
+		} while(lMissed != 0);
+	}
+
+	/** Delivers as many completed results as have been requested, then ends the stream once upstream has ended and nothing remains. Only called from within onDrain(). **/
+	private final void onEmit() {
+		if(this.mIsTerminated || this.mIsCancelled) {
+			this.mResults.clear();
+			return;
+		}
+		if(!this.mIsSubscribed) {
+			return;
+		}
+		final EarcutFlow.Subscriber<? super Result> lDownstream = this.mDownstream.get();
+		if(this.mRequestError != null) {
+			this.mIsTerminated = true;
+			this.mResults.clear();
+			lDownstream.onError(this.mRequestError);
+			return;
+		}
+		final long lRequested = this.mRequested.get();
+		long       lEmitted   = 0;
+		while(lEmitted != lRequested && !this.mIsCancelled) {
+			final Result lResult = this.mResults.peek();
+			if(lResult == null || !lResult.mIsComplete) {
+				break;
+			}
+			this.mResults.poll();
+			this.mVertexCount.addAndGet(-lResult.mPolygon.getVertexCount());
+			this.mPendingCount.decrementAndGet();
+			lDownstream.onNext(lResult);
+			lEmitted++;
+		}
+		if(lEmitted != 0) {
+			if(lRequested != Long.MAX_VALUE) {
+				this.mRequested.addAndGet(-lEmitted);
+			}
+			/* Delivered vertices no longer count against the limit. */
+			this.onRequestUpstream();
+		}
+		if(this.mIsDone && this.mPendingCount.get() == 0 && !this.mIsCancelled) {
+			this.mIsTerminated = true;
+			if(this.mError != null) {
+				lDownstream.onError(this.mError);
+			}
+			else {
+				lDownstream.onComplete();
+			}
+		}
+	}
+
+	/** A polygon submitted for triangulation: a flat array of vertex co-ordinates, where each vertex occupies pDimensions elements and holes begin at each vertex index in pHoleIndices (which may be null). The arrays are read on another thread, so they must not be modified once submitted. **/
+	public static final class Polygon {
+
+		/* Member Variables. */
+		private final float[] mCoordinates;
+		private final int[]   mHoleIndices;
+		private final int     mDimensions;
+
+		public Polygon(final float[] pCoordinates, final int[] pHoleIndices, final int pDimensions) {
+			/* Initialize Member Variables. */
+			this.mCoordinates = pCoordinates;
+			this.mHoleIndices = pHoleIndices;
+			this.mDimensions  = pDimensions;
+		}
+
+		public final float[] getCoordinates() {
+			return this.mCoordinates;
+		}
+
+		public final int[] getHoleIndices() {
+			return this.mHoleIndices;
+		}
+
+		public final int getDimensions() {
+			return this.mDimensions;
+		}
+
+		public final int getVertexCount() {
+			return this.mCoordinates.length / this.mDimensions;
+		}
+
+	}
+
+	/** The triangulation of a submitted Polygon, or the reason it failed. **/
+	public static final class Result {
+
+		/* Member Variables. */
+		private final    Polygon          mPolygon;
+		private          int[]            mIndices;
+		private          Throwable        mException;
+		private volatile boolean          mIsComplete;
+
+		protected Result(final Polygon pPolygon) {
+			/* Initialize Member Variables. */
+			this.mPolygon    = pPolygon;
+			this.mIndices    = null;
+			this.mException  = null;
+			this.mIsComplete = false;
+		}
+
+		public final Polygon getPolygon() {
+			return this.mPolygon;
+		}
+
+		/** Returns the vertex indices of the triangulation, or null if it failed. **/
+		public final int[] getIndices() {
+			return this.mIndices;
+		}
+
+		/** Returns the exception which prevented triangulation, or null if it succeeded. An EarcutException marks a malformed polygon; a RejectedExecutionException, a polygon which the executor refused; an Error, such as an OutOfMemoryError, a polygon too large for the executor's thread to triangulate. **/
+		public final Throwable getException() {
+			return this.mException;
+		}
+
+		public final boolean isSuccessful() {
+			return this.mException == null;
+		}
+
+	}
+
+}
@@ -0,0 +1,611 @@
+package com.earcutj;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.earcutj.exception.EarcutException;
+
+/** Clips a polygon against a grid of tiles and triangulates each tile's share of it independently, for geometry such as oceans and country boundaries which would otherwise be triangulated whole only for most of its triangles to be clipped away. The grid is halved recursively, clipping the rings to each half along the dividing line, so each level costs time linear in the geometry which survives it; regions the polygon doesn't reach are dropped as soon as they're separated from it, and halves are processed in parallel. **/
+public final class EarcutTiler {
+
+	/* Default Declarations. */
+	private static final int DEFAULT_GRAIN_VERTICES = 8192;
+	private static final int DEFAULT_TRIM_VERTICES  = 1 << 20;
+	private static final int NULL                   = -1;
+
+	/* Each worker thread triangulates through its own EarcutContext. */
+	private static final ThreadLocal<EarcutContext> CONTEXT = new ThreadLocal<EarcutContext>() { @Override protected EarcutContext initialValue() { return new EarcutContext(); } };
+
+	/** Clips the Points array, an outer ring followed by any holes, to a grid of pColumns by pRows tiles of pTileWidth by pTileHeight, whose first tile has its minimum corner at pMinimumX, pMinimumY, and triangulates each tile using the common ForkJoinPool. **/
+	public static final Result triangulate(final float[][][] pPoints, final float pMinimumX, final float pMinimumY, final float pTileWidth, final float pTileHeight, final int pColumns, final int pRows) {
+		return EarcutTiler.triangulate(pPoints, pMinimumX, pMinimumY, pTileWidth, pTileHeight, pColumns, pRows, ForkJoinPool.commonPool());
+	}
+
+	/** Clips the Points array to a grid of tiles and triangulates each tile using the supplied ForkJoinPool. Geometry beyond the grid is discarded. A tile whose share of the polygon cannot be processed contributes no triangles. **/
+	public static final Result triangulate(final float[][][] pPoints, final float pMinimumX, final float pMinimumY, final float pTileWidth, final float pTileHeight, final int pColumns, final int pRows, final ForkJoinPool pForkJoinPool) {
+		if(pColumns < 1 || pRows < 1) {
+			throw new IllegalArgumentException("The grid must have at least one tile!");
+		}
+		if(!(pTileWidth > 0) || !(pTileHeight > 0)) {
+			throw new IllegalArgumentException("The size of a tile must be positive!");
+		}
+		final Tile[] lTiles = new Tile[pColumns * pRows];
+		/* Clip away anything beyond the grid once, before dividing it. */
+		final Part   lPart  = EarcutTiler.onClipRange(Part.onCreate(pPoints), pMinimumX, pMinimumY, pMinimumX + pColumns * pTileWidth, pMinimumY + pRows * pTileHeight);
+		if(lPart != null) {
+			pForkJoinPool.invoke(new ClipAction(lPart, pMinimumX, pMinimumY, pTileWidth, pTileHeight, pColumns, lTiles, 0, pColumns, 0, pRows));
+		}
+		return new Result(lTiles, pColumns, pRows);
+	}
+
+	/** A set of polygons held in the packed form used by EarcutBatch: a flat array of interleaved x and y co-ordinates, a table of ring offsets and a table of polygon offsets, the first ring of each polygon being its outer ring. Outer rings wind anticlockwise and holes clockwise, which clipping relies upon. **/
+	private static final class Part {
+
+		/** Flattens the Points array, omitting any ring too small to enclose an area, and winds its rings consistently. Returns null if the outer ring is one of them. **/
+		private static final Part onCreate(final float[][][] pPoints) {
+			if(pPoints.length == 0 || pPoints[0].length < 3) {
+				return null;
+			}
+			int lVertexCount = 0;
+			for(int i = 0; i < pPoints.length; i++) {
+				lVertexCount += pPoints[i].length;
+			}
+			final Part lPart = new Part(lVertexCount, pPoints.length);
+			for(int i = 0; i < pPoints.length; i++) {
+				final float[][] lRing = pPoints[i];
+				if(lRing.length < 3) {
+					continue;
+				}
+				double lArea = 0;
+				for(int j = 0, k = lRing.length - 1; j < lRing.length; k = j++) {
+					lArea += ((double)lRing[k][0] - lRing[j][0]) * ((double)lRing[k][1] + lRing[j][1]);
+				}
+				/* Read the ring backwards if it winds the wrong way for its role. */
+				final boolean lIsReversed = (lArea < 0) != (i == 0);
+				for(int j = 0; j < lRing.length; j++) {
+					final float[] lPoint = lRing[lIsReversed ? lRing.length - 1 - j : j];
+					lPart.onAddVertex(lPoint[0], lPoint[1]);
+				}
+				lPart.onCloseRing();
+			}
+			lPart.onClosePolygon();
+			return lPart;
+		}
+
+		/* Member Variables. */
+		private float[] mCoordinates;
+		private int[]   mRingOffsets;
+		private int[]   mPolygonOffsets;
+		private int     mVertexCount;
+		private int     mRingCount;
+		private int     mPolygonCount;
+		private float   mMinimumX;
+		private float   mMinimumY;
+		private float   mMaximumX;
+		private float   mMaximumY;
+
+		private Part(final int pVertexCount, final int pRingCount) {
+			/* Initialize Member Variables. */
+			this.mCoordinates    = new float[Math.max(pVertexCount, 4) << 1];
+			this.mRingOffsets    = new int[Math.max(pRingCount, 1) + 1];
+			this.mPolygonOffsets = new int[2];
+			this.mVertexCount    = 0;
+			this.mRingCount      = 0;
+			this.mPolygonCount   = 0;
+			this.mMinimumX       = Float.POSITIVE_INFINITY;
+			this.mMinimumY       = Float.POSITIVE_INFINITY;
+			this.mMaximumX       = Float.NEGATIVE_INFINITY;
+			this.mMaximumY       = Float.NEGATIVE_INFINITY;
+		}
+
+		private final void onAddVertex(final float pX, final float pY) {
+			if(this.mCoordinates.length < (this.mVertexCount + 1) << 1) {
+				this.mCoordinates = Arrays.copyOf(this.mCoordinates, this.mCoordinates.length << 1);
+			}
+			this.mCoordinates[(this.mVertexCount << 1)]     = pX;
+			this.mCoordinates[(this.mVertexCount << 1) + 1] = pY;
+			this.mVertexCount++;
+			this.mMinimumX = Math.min(this.mMinimumX, pX);
+			this.mMinimumY = Math.min(this.mMinimumY, pY);
+			this.mMaximumX = Math.max(this.mMaximumX, pX);
+			this.mMaximumY = Math.max(this.mMaximumY, pY);
+		}
+
+		/** Copies the vertices pStart to pEnd (exclusive) of another part onto the ring being built. **/
+		private final void onAddVertices(final Part pPart, final int pStart, final int pEnd) {
+			for(int i = pStart; i < pEnd; i++) {
+				this.onAddVertex(pPart.mCoordinates[(i << 1)], pPart.mCoordinates[(i << 1) + 1]);
+			}
+		}
+
+		/** Ends the ring begun after the last ring closed. A ring of fewer than three vertices encloses nothing, and is discarded. **/
+		private final void onCloseRing() {
+			final int lStart = this.mRingOffsets[this.mRingCount];
+			if(this.mVertexCount - lStart < 3) {
+				this.mVertexCount = lStart;
+				return;
+			}
+			if(this.mRingOffsets.length < this.mRingCount + 2) {
+				this.mRingOffsets = Arrays.copyOf(this.mRingOffsets, this.mRingOffsets.length << 1);
+			}
+			this.mRingOffsets[++this.mRingCount] = this.mVertexCount;
+		}
+
+		/** Ends the polygon begun after the last polygon closed, unless it has no rings. **/
+		private final void onClosePolygon() {
+			if(this.mRingCount == this.mPolygonOffsets[this.mPolygonCount]) {
+				return;
+			}
+			if(this.mPolygonOffsets.length < this.mPolygonCount + 2) {
+				this.mPolygonOffsets = Arrays.copyOf(this.mPolygonOffsets, this.mPolygonOffsets.length << 1);
+			}
+			this.mPolygonOffsets[++this.mPolygonCount] = this.mRingCount;
+		}
+
+		/** Returns the part of these polygons on one side of the line at pValue along the x axis (if pIsVertical) or the y axis, below it if pIsLower and above it otherwise, or null if nothing remains. **/
+		private final Part onClip(final boolean pIsVertical, final float pValue, final boolean pIsLower) {
+			/* Polygons wholly to one side are shared rather than copied. */
+			final float lMinimum = pIsVertical ? this.mMinimumX : this.mMinimumY;
+			final float lMaximum = pIsVertical ? this.mMaximumX : this.mMaximumY;
+			if(pIsLower ? lMaximum <= pValue : lMinimum >= pValue) {
+				return this;
+			}
+			if(pIsLower ? lMinimum >= pValue : lMaximum <= pValue) {
+				return null;
+			}
+			final Part lPart = new Part(this.mVertexCount >> 1, this.mRingCount);
+			final Arcs lArcs = new Arcs();
+			for(int i = 0; i < this.mPolygonCount; i++) {
+				this.onClip(lPart, lArcs, i, pIsVertical ? 0 : 1, pValue, pIsLower);
+			}
+			return lPart.mPolygonCount == 0 ? null : lPart;
+		}
+
+		/** Clips a single polygon onto pPart. Each ring crossing the line is broken into arcs, each running from the point where the ring enters the kept side of the line to the point where it leaves. Sorted along the line, these points pair off into the intervals of the line which lie inside the polygon; joining each arc's exit to the entry it pairs with traces the clipped polygon's outer rings, which absorb any hole the line cut open. Rings wholly on the kept side survive unchanged, with each hole assigned to the new outer ring which contains it. **/
+		private final void onClip(final Part pPart, final Arcs pArcs, final int pPolygon, final int pAxis, final float pValue, final boolean pIsLower) {
+			final float[] lCoordinates = this.mCoordinates;
+			final int     lFirstRing   = this.mPolygonOffsets[pPolygon];
+			final int     lLastRing    = this.mPolygonOffsets[pPolygon + 1];
+			pArcs.clear();
+			int[] lHoles     = null;
+			int   lHoleCount = 0;
+			for(int i = lFirstRing; i < lLastRing; i++) {
+				final int lStart = this.mRingOffsets[i];
+				final int lEnd   = this.mRingOffsets[i + 1];
+				/* Find a vertex on the far side, from which to begin reading arcs. */
+				int lOutside = EarcutTiler.NULL;
+				for(int j = lStart; j < lEnd && lOutside == EarcutTiler.NULL; j++) {
+					if(!Part.isInside(lCoordinates[(j << 1) + pAxis], pValue, pIsLower)) {
+						lOutside = j;
+					}
+				}
+				if(lOutside == EarcutTiler.NULL) {
+					/* The outer ring is kept whole, and so then are the holes within it. */
+					if(i == lFirstRing) {
+						for(int j = lFirstRing; j < lLastRing; j++) {
+							pPart.onAddVertices(this, this.mRingOffsets[j], this.mRingOffsets[j + 1]);
+							pPart.onCloseRing();
+						}
+						pPart.onClosePolygon();
+						return;
+					}
+					if(lHoles == null) {
+						lHoles = new int[lLastRing - lFirstRing];
+					}
+					lHoles[lHoleCount++] = i;
+					continue;
+				}
+				final int lLength = lEnd - lStart;
+				for(int j = 1, lPrevious = lOutside; j <= lLength; j++) {
+					final int     lVertex      = lStart + (lOutside - lStart + j) % lLength;
+					final boolean lWasInside   = Part.isInside(lCoordinates[(lPrevious << 1) + pAxis], pValue, pIsLower);
+					final boolean lIsInside    = Part.isInside(lCoordinates[(lVertex << 1) + pAxis], pValue, pIsLower);
+					if(lWasInside != lIsInside) {
+						/* The crossing is placed exactly on the line, so that neighbouring tiles share their boundary, and found in double precision, so that it stays between the ends of thin spikes. */
+						final float lX0 = lCoordinates[(lPrevious << 1)], lY0 = lCoordinates[(lPrevious << 1) + 1];
+						final float lX1 = lCoordinates[(lVertex << 1)],   lY1 = lCoordinates[(lVertex << 1) + 1];
+						final float lT  = (float)(pAxis == 0 ? lY0 + ((double)pValue - lX0) * ((double)lY1 - lY0) / ((double)lX1 - lX0) : lX0 + ((double)pValue - lY0) * ((double)lX1 - lX0) / ((double)lY1 - lY0));
+						if(lIsInside) {
+							pArcs.onBegin(lT, pAxis, pValue);
+						}
+						else {
+							pArcs.onEnd(lT, pAxis, pValue);
+						}
+					}
+					if(lIsInside) {
+						pArcs.onAddVertex(lCoordinates[(lVertex << 1)], lCoordinates[(lVertex << 1) + 1], lCoordinates[(lVertex << 1) + pAxis] == pValue);
+					}
+					lPrevious = lVertex;
+				}
+			}
+			/* Nothing of the outer ring is on the kept side, and so nothing of the polygon. */
+			if(pArcs.mArcCount == 0) {
+				return;
+			}
+			final int lRing = pPart.mRingCount;
+			if(!pArcs.onTrace(pPart)) {
+				/* The rings were malformed, and the polygon is lost. */
+				pPart.mVertexCount = pPart.mRingOffsets[lRing];
+				pPart.mRingCount   = lRing;
+				return;
+			}
+			/* Emit each traced outer ring as a polygon, followed by the holes within it. The traced rings are taken from the end of the part and appended again in order. */
+			final int     lTracedCount = pPart.mRingCount - lRing;
+			final int[]   lOffsets     = Arrays.copyOfRange(pPart.mRingOffsets, lRing, pPart.mRingCount + 1);
+			final float[] lTraced      = Arrays.copyOfRange(pPart.mCoordinates, lOffsets[0] << 1, lOffsets[lTracedCount] << 1);
+			pPart.mVertexCount = lOffsets[0];
+			pPart.mRingCount   = lRing;
+			for(int i = 0; i < lTracedCount; i++) {
+				final int lStart = lOffsets[i] - lOffsets[0];
+				final int lEnd   = lOffsets[i + 1] - lOffsets[0];
+				for(int j = lStart; j < lEnd; j++) {
+					pPart.onAddVertex(lTraced[(j << 1)], lTraced[(j << 1) + 1]);
+				}
+				pPart.onCloseRing();
+				for(int j = 0; j < lHoleCount; j++) {
+					final int lHole = lHoles[j];
+					if(lHole != EarcutTiler.NULL && (lTracedCount == 1 || this.isInside(lTraced, lStart, lEnd, lHole, pAxis, pValue))) {
+						pPart.onAddVertices(this, this.mRingOffsets[lHole], this.mRingOffsets[lHole + 1]);
+						pPart.onCloseRing();
+						lHoles[j] = EarcutTiler.NULL;
+					}
+				}
+				pPart.onClosePolygon();
+			}
+		}
+
+		/** Determines whether a hole of this part lies within the ring held by the vertices pStart to pEnd (exclusive) of pCoordinates. A hole may touch the line, and a point on the line is on the boundary of the ring, where the even-odd rule is unreliable, so the test is made at a vertex away from it. **/
+		private final boolean isInside(final float[] pCoordinates, final int pStart, final int pEnd, final int pHole, final int pAxis, final float pValue) {
+			int lVertex = this.mRingOffsets[pHole];
+			for(int i = lVertex; i < this.mRingOffsets[pHole + 1]; i++) {
+				if(this.mCoordinates[(i << 1) + pAxis] != pValue) {
+					lVertex = i;
+					break;
+				}
+			}
+			return Part.isInside(pCoordinates, pStart, pEnd, this.mCoordinates[(lVertex << 1)], this.mCoordinates[(lVertex << 1) + 1]);
+		}
+
+		/** Determines whether a co-ordinate along the clipping axis lies on the kept side of the line. Points on the line are kept by both sides. **/
+		private static final boolean isInside(final float pCoordinate, final float pValue, final boolean pIsLower) {
+			return pIsLower ? pCoordinate <= pValue : pCoordinate >= pValue;
+		}
+
+		/** Determines whether a point lies within the ring held by the vertices pStart to pEnd (exclusive) of pCoordinates, by the even-odd rule. **/
+		private static final boolean isInside(final float[] pCoordinates, final int pStart, final int pEnd, final float pX, final float pY) {
+			boolean lIsInside = false;
+			for(int i = pStart, j = pEnd - 1; i < pEnd; j = i++) {
+				final float lXi = pCoordinates[(i << 1)], lYi = pCoordinates[(i << 1) + 1];
+				final float lXj = pCoordinates[(j << 1)], lYj = pCoordinates[(j << 1) + 1];
+				if(((lYi > pY) != (lYj > pY)) && (pX < (lXj - lXi) * (pY - lYi) / (lYj - lYi) + lXi)) {
+					lIsInside = !lIsInside;
+				}
+			}
+			return lIsInside;
+		}
+
+	}
+
+	/** The arcs of a polygon's rings which lie on the kept side of a clipping line, each beginning and ending with a point on the line. **/
+	private static final class Arcs {
+
+		/* Member Variables. */
+		private float[] mCoordinates;
+		private int     mVertexCount;
+		private int[]   mArcOffsets;
+		private float[] mEntries;
+		private float[] mExits;
+		private int     mArcCount;
+		private boolean mIsOnLine;
+
+		private Arcs() {
+			/* Initialize Member Variables. */
+			this.mCoordinates = new float[32];
+			this.mVertexCount = 0;
+			this.mArcOffsets  = new int[9];
+			this.mEntries     = new float[8];
+			this.mExits       = new float[8];
+			this.mArcCount    = 0;
+			this.mIsOnLine    = true;
+		}
+
+		private final void clear() {
+			this.mVertexCount = 0;
+			this.mArcCount    = 0;
+		}
+
+		/** Begins an arc at the point pT along the line. **/
+		private final void onBegin(final float pT, final int pAxis, final float pValue) {
+			if(this.mEntries.length == this.mArcCount) {
+				this.mArcOffsets = Arrays.copyOf(this.mArcOffsets, (this.mArcCount << 1) + 1);
+				this.mEntries    = Arrays.copyOf(this.mEntries, this.mArcCount << 1);
+				this.mExits      = Arrays.copyOf(this.mExits, this.mArcCount << 1);
+			}
+			this.mArcOffsets[this.mArcCount] = this.mVertexCount;
+			this.mEntries[this.mArcCount]    = pT;
+			this.mIsOnLine                   = true;
+			this.onAddPoint(pT, pAxis, pValue);
+		}
+
+		/** Ends the current arc at the point pT along the line. An arc which never leaves the line encloses nothing, and is discarded along with its crossings. **/
+		private final void onEnd(final float pT, final int pAxis, final float pValue) {
+			this.onAddPoint(pT, pAxis, pValue);
+			if(this.mIsOnLine) {
+				this.mVertexCount = this.mArcOffsets[this.mArcCount];
+				return;
+			}
+			this.mExits[this.mArcCount] = pT;
+			this.mArcOffsets[++this.mArcCount] = this.mVertexCount;
+		}
+
+		private final void onAddPoint(final float pT, final int pAxis, final float pValue) {
+			if(pAxis == 0) {
+				this.onAddVertex(pValue, pT, true);
+			}
+			else {
+				this.onAddVertex(pT, pValue, true);
+			}
+		}
+
+		private final void onAddVertex(final float pX, final float pY, final boolean pIsOnLine) {
+			if(this.mCoordinates.length < (this.mVertexCount + 1) << 1) {
+				this.mCoordinates = Arrays.copyOf(this.mCoordinates, this.mCoordinates.length << 1);
+			}
+			this.mCoordinates[(this.mVertexCount << 1)]     = pX;
+			this.mCoordinates[(this.mVertexCount << 1) + 1] = pY;
+			this.mVertexCount++;
+			this.mIsOnLine &= pIsOnLine;
+		}
+
+		/** Joins the arcs into rings, appending each to pPart. Returns false if the crossings don't pair off into entries and exits, as happens when the rings self-intersect. **/
+		private final boolean onTrace(final Part pPart) {
+			final int    lCount     = this.mArcCount;
+			/* Sort the crossings along the line. Each is keyed by its position, mapped onto an order-preserving integer, above its index; even indices are entries and odd ones exits. */
+			final long[] lCrossings = new long[lCount << 1];
+			for(int i = 0; i < lCount; i++) {
+				lCrossings[(i << 1)]     = ((long)Arcs.getOrder(this.mEntries[i]) << 32) | (i << 1);
+				lCrossings[(i << 1) + 1] = ((long)Arcs.getOrder(this.mExits[i]) << 32) | ((i << 1) + 1);
+			}
+			Arrays.sort(lCrossings);
+			/* Pair each exit with the entry which shares its interval. Crossings at the same position may be sorted either way, so a pair of like crossings may swap partners with an equal neighbour. */
+			final int[] lNext = new int[lCount];
+			for(int i = 0; i < lCrossings.length; i += 2) {
+				if((lCrossings[i] & 1) == (lCrossings[i + 1] & 1) && i + 2 < lCrossings.length && (lCrossings[i + 1] >> 32) == (lCrossings[i + 2] >> 32) && (lCrossings[i + 2] & 1) != (lCrossings[i] & 1)) {
+					final long lSwap = lCrossings[i + 1];
+					lCrossings[i + 1] = lCrossings[i + 2];
+					lCrossings[i + 2] = lSwap;
+				}
+				final int lA = (int)lCrossings[i];
+				final int lB = (int)lCrossings[i + 1];
+				if((lA & 1) == (lB & 1)) {
+					return false;
+				}
+				lNext[((lA & 1) == 1 ? lA : lB) >> 1] = ((lA & 1) == 1 ? lB : lA) >> 1;
+			}
+			/* Follow each arc into the next until the ring closes. */
+			final boolean[] lIsVisited = new boolean[lCount];
+			for(int i = 0; i < lCount; i++) {
+				if(lIsVisited[i]) {
+					continue;
+				}
+				for(int lArc = i; !lIsVisited[lArc]; lArc = lNext[lArc]) {
+					lIsVisited[lArc] = true;
+					for(int j = this.mArcOffsets[lArc]; j < this.mArcOffsets[lArc + 1]; j++) {
+						pPart.onAddVertex(this.mCoordinates[(j << 1)], this.mCoordinates[(j << 1) + 1]);
+					}
+				}
+				pPart.onCloseRing();
+			}
+			return true;
+		}
+
+		/** Maps a float onto an int of the same order. **/
+		private static final int getOrder(final float pValue) {
+			final int lBits = Float.floatToIntBits(pValue + 0.0f);
+			return lBits < 0 ? lBits ^ 0x7FFFFFFF : lBits;
+		}
+
+	}
+
+	/** Recursively halves a range of tiles, clipping the polygon to each half, until a single tile remains to be triangulated. **/
+	@SuppressWarnings("serial")
+	private static final class ClipAction extends RecursiveAction {
+
+		/* Member Variables. */
+		private final Part   mPart;
+		private final float  mMinimumX;
+		private final float  mMinimumY;
+		private final float  mTileWidth;
+		private final float  mTileHeight;
+		private final int    mColumns;
+		private final Tile[] mTiles;
+		private final int    mFromColumn;
+		private final int    mToColumn;
+		private final int    mFromRow;
+		private final int    mToRow;
+
+		protected ClipAction(final Part pPart, final float pMinimumX, final float pMinimumY, final float pTileWidth, final float pTileHeight, final int pColumns, final Tile[] pTiles, final int pFromColumn, final int pToColumn, final int pFromRow, final int pToRow) {
+			/* Initialize Member Variables. */
+			this.mPart       = pPart;
+			this.mMinimumX   = pMinimumX;
+			this.mMinimumY   = pMinimumY;
+			this.mTileWidth  = pTileWidth;
+			this.mTileHeight = pTileHeight;
+			this.mColumns    = pColumns;
+			this.mTiles      = pTiles;
+			this.mFromColumn = pFromColumn;
+			this.mToColumn   = pToColumn;
+			this.mFromRow    = pFromRow;
+			this.mToRow      = pToRow;
+		}
+
+		@Override
+		protected final void compute() {
+			final int lColumnCount = this.mToColumn - this.mFromColumn;
+			final int lRowCount    = this.mToRow - this.mFromRow;
+			final Part lPart       = this.mPart;
+			if(lColumnCount == 1 && lRowCount == 1) {
+				this.onTriangulate(lPart);
+				return;
+			}
+			/* Divide the longer side of the range at its middle tile boundary. */
+			final boolean    lIsVertical  = lColumnCount >= lRowCount;
+			final int        lMiddle      = lIsVertical ? this.mFromColumn + (lColumnCount >> 1) : this.mFromRow + (lRowCount >> 1);
+			final float      lValue       = lIsVertical ? this.getColumnX(lMiddle) : this.getRowY(lMiddle);
+			final Part       lLower       = lPart.onClip(lIsVertical, lValue, true);
+			final Part       lUpper       = lPart.onClip(lIsVertical, lValue, false);
+			final ClipAction lLowerAction = lLower == null ? null : new ClipAction(lLower, this.mMinimumX, this.mMinimumY, this.mTileWidth, this.mTileHeight, this.mColumns, this.mTiles, this.mFromColumn, lIsVertical ? lMiddle : this.mToColumn, this.mFromRow, lIsVertical ? this.mToRow : lMiddle);
+			final ClipAction lUpperAction = lUpper == null ? null : new ClipAction(lUpper, this.mMinimumX, this.mMinimumY, this.mTileWidth, this.mTileHeight, this.mColumns, this.mTiles, lIsVertical ? lMiddle : this.mFromColumn, this.mToColumn, lIsVertical ? this.mFromRow : lMiddle, this.mToRow);
+			/* Only fork when both halves hold enough geometry to be worth the overhead. */
+			if(lLowerAction != null && lUpperAction != null && lLower.mVertexCount + lUpper.mVertexCount > EarcutTiler.DEFAULT_GRAIN_VERTICES) {
+				RecursiveAction.invokeAll(lLowerAction, lUpperAction);
+				return;
+			}
+			if(lLowerAction != null) {
+				lLowerAction.compute();
+			}
+			if(lUpperAction != null) {
+				lUpperAction.compute();
+			}
+		}
+
+		/** Triangulates the polygons clipped to a single tile into one index buffer. **/
+		private final void onTriangulate(final Part pPart) {
+			final EarcutContext lContext = EarcutTiler.CONTEXT.get();
+			int[] lIndices = new int[0];
+			int   lSize    = 0;
+			for(int i = 0; i < pPart.mPolygonCount; i++) {
+				try {
+					final int lCount = lContext.triangulate(pPart.mCoordinates, pPart.mRingOffsets, pPart.mPolygonOffsets[i], pPart.mPolygonOffsets[i + 1], 2);
+					if(lIndices.length < lSize + lCount) {
+						lIndices = Arrays.copyOf(lIndices, Math.max(lSize + lCount, lIndices.length << 1));
+					}
+					System.arraycopy(lContext.getIndices(), 0, lIndices, lSize, lCount);
+					lSize += lCount;
+				}
+				catch(final EarcutException pEarcutException) {
+					/* The clipped polygon is malformed; it contributes no triangles. */
+				}
+			}
+			/* Release the buffers grown by an unusually large tile, rather than pinning them to the worker thread. */
+			if(pPart.mVertexCount > EarcutTiler.DEFAULT_TRIM_VERTICES) {
+				lContext.trim();
+			}
+			if(lSize > 0) {
+				this.mTiles[this.mFromRow * this.mColumns + this.mFromColumn] = new Tile(this.mFromColumn, this.mFromRow, Arrays.copyOf(pPart.mCoordinates, pPart.mVertexCount << 1), Arrays.copyOf(lIndices, lSize));
+			}
+		}
+
+		/** Returns the x co-ordinate of the left edge of a column. Every boundary is computed the same way, so the tiles either side of it agree exactly. **/
+		private final float getColumnX(final int pColumn) {
+			return this.mMinimumX + pColumn * this.mTileWidth;
+		}
+
+		private final float getRowY(final int pRow) {
+			return this.mMinimumY + pRow * this.mTileHeight;
+		}
+
+	}
+
+	/** Clips a polygon, which may be null, to a rectangle. Returns null if nothing of it remains. **/
+	private static final Part onClipRange(Part pPart, final float pMinimumX, final float pMinimumY, final float pMaximumX, final float pMaximumY) {
+		pPart = pPart == null ? null : pPart.onClip(true, pMinimumX, false);
+		pPart = pPart == null ? null : pPart.onClip(true, pMaximumX, true);
+		pPart = pPart == null ? null : pPart.onClip(false, pMinimumY, false);
+		return pPart == null ? null : pPart.onClip(false, pMaximumY, true);
+	}
+
+	/** The triangulation of a polygon's share of a single tile. Co-ordinates are those of the clipped polygon, in the same space as the input. **/
+	public static final class Tile {
+
+		/* Member Variables. */
+		private final int     mColumn;
+		private final int     mRow;
+		private final float[] mCoordinates;
+		private final int[]   mIndices;
+
+		protected Tile(final int pColumn, final int pRow, final float[] pCoordinates, final int[] pIndices) {
+			/* Initialize Member Variables. */
+			this.mColumn      = pColumn;
+			this.mRow         = pRow;
+			this.mCoordinates = pCoordinates;
+			this.mIndices     = pIndices;
+		}
+
+		public final int getColumn() {
+			return this.mColumn;
+		}
+
+		public final int getRow() {
+			return this.mRow;
+		}
+
+		/** Returns the x and y co-ordinates of each vertex of the clipped polygon, interleaved. **/
+		public final float[] getCoordinates() {
+			return this.mCoordinates;
+		}
+
+		/** Returns the vertex indices of each triangle, three per triangle, which refer to getCoordinates(). **/
+		public final int[] getIndices() {
+			return this.mIndices;
+		}
+
+		public final int getTriangleCount() {
+			return this.mIndices.length / 3;
+		}
+
+	}
+
+	/** The triangulated tiles of a grid. Tiles which the polygon doesn't cover are absent. **/
+	public static final class Result {
+
+		/* Member Variables. */
+		private final Tile[] mTiles;
+		private final int    mColumns;
+		private final int    mRows;
+
+		protected Result(final Tile[] pTiles, final int pColumns, final int pRows) {
+			/* Initialize Member Variables. */
+			this.mTiles   = pTiles;
+			this.mColumns = pColumns;
+			this.mRows    = pRows;
+		}
+
+		/** Returns the tile at a column and row of the grid, or null if the polygon produced no triangles there. **/
+		public final Tile getTile(final int pColumn, final int pRow) {
+			if(pColumn < 0 || pColumn >= this.mColumns || pRow < 0 || pRow >= this.mRows) {
+				throw new IndexOutOfBoundsException("No such tile: " + pColumn + ", " + pRow + "!");
+			}
+			return this.mTiles[pRow * this.mColumns + pColumn];
+		}
+
+		/** Returns every tile which holds triangles, row by row. **/
+		public final Tile[] getTiles() {
+			int lCount = 0;
+			for(final Tile lTile : this.mTiles) {
+				lCount += lTile == null ? 0 : 1;
+			}
+			final Tile[] lTiles = new Tile[lCount];
+			for(int i = 0, j = 0; i < this.mTiles.length; i++) {
+				if(this.mTiles[i] != null) {
+					lTiles[j++] = this.mTiles[i];
+				}
+			}
+			return lTiles;
+		}
+
+		public final int getColumns() {
+			return this.mColumns;
+		}
+
+		public final int getRows() {
+			return this.mRows;
+		}
+
+	}
+
+	/* Prevent instantiation of this class. */
+	private EarcutTiler() {}
+
+}
@@ -0,0 +1,113 @@
+package com.earcutj;
+
+/** A record of where a single triangulation spent its time: the size of the polygon, the time spent in each phase and how often the ear slicing loop fell back to its recovery stages. Phase times are in nanoseconds. **/
+public final class EarcutTrace {
+
+	/** Whether ear and point-in-triangle tests are counted. Counting happens within the innermost loops, so it's fixed at startup by the system property com.earcutj.trace.counting; left unset, the JIT folds the counting away and those counts read -1. **/
+	static final boolean IS_COUNTING = Boolean.getBoolean("com.earcutj.trace.counting");
+
+	/* Member Variables. */
+	int     mVertexCount;
+	int     mHoleCount;
+	boolean mIsZIndexed;
+	long    mLinkTime;
+	long    mHoleTime;
+	long    mZOrderTime;
+	long    mSlicingTime;
+	long    mEarTestCount;
+	long    mPointTestCount;
+	int     mCureCount;
+	int     mSplitCount;
+	private long mLapTime;
+
+	EarcutTrace() {
+		this.onBegin(0, 0);
+	}
+
+	/** Clears the trace for a polygon of pVertexCount vertices and pHoleCount holes, and starts timing its first phase. **/
+	final void onBegin(final int pVertexCount, final int pHoleCount) {
+		this.mVertexCount    = pVertexCount;
+		this.mHoleCount      = pHoleCount;
+		this.mIsZIndexed     = false;
+		this.mLinkTime       = 0;
+		this.mHoleTime       = 0;
+		this.mZOrderTime     = 0;
+		this.mSlicingTime    = 0;
+		this.mEarTestCount   = EarcutTrace.IS_COUNTING ? 0 : -1;
+		this.mPointTestCount = EarcutTrace.IS_COUNTING ? 0 : -1;
+		this.mCureCount      = 0;
+		this.mSplitCount     = 0;
+		this.mLapTime        = System.nanoTime();
+	}
+
+	/** Returns the nanoseconds since the last lap, and starts the next. **/
+	final long onLap() {
+		final long lTime    = System.nanoTime();
+		final long lElapsed = lTime - this.mLapTime;
+		this.mLapTime = lTime;
+		return lElapsed;
+	}
+
+	public final int getVertexCount() {
+		return this.mVertexCount;
+	}
+
+	public final int getHoleCount() {
+		return this.mHoleCount;
+	}
+
+	/** Returns whether the polygon was large enough for ear tests to be accelerated by z-order hashing. **/
+	public final boolean isZIndexed() {
+		return this.mIsZIndexed;
+	}
+
+	/** Returns the time spent linking, filtering and simplifying the rings, and measuring the outer ring's bounds. **/
+	public final long getLinkTime() {
+		return this.mLinkTime;
+	}
+
+	/** Returns the time spent bridging holes into the outer ring. **/
+	public final long getHoleTime() {
+		return this.mHoleTime;
+	}
+
+	/** Returns the time spent hashing and sorting nodes along the z-order curve. **/
+	public final long getZOrderTime() {
+		return this.mZOrderTime;
+	}
+
+	/** Returns the time spent slicing ears, including any recovery stages. **/
+	public final long getSlicingTime() {
+		return this.mSlicingTime;
+	}
+
+	public final long getTotalTime() {
+		return this.mLinkTime + this.mHoleTime + this.mZOrderTime + this.mSlicingTime;
+	}
+
+	/** Returns the number of candidate ears tested, or -1 if counting is disabled. **/
+	public final long getEarTestCount() {
+		return this.mEarTestCount;
+	}
+
+	/** Returns the number of point-in-triangle tests made by the ear tests, or -1 if counting is disabled. **/
+	public final long getPointTestCount() {
+		return this.mPointTestCount;
+	}
+
+	/** Returns how often slicing ran out of ears and entered the CURE state, filtering the ring before trying again. **/
+	public final int getCureCount() {
+		return this.mCureCount;
+	}
+
+	/** Returns how often slicing entered the SPLIT state, curing small self-intersections before trying again; a ring which still yields no ears is then split in two. **/
+	public final int getSplitCount() {
+		return this.mSplitCount;
+	}
+
+	@Override
+	public final String toString() {
+		return "EarcutTrace[vertices=" + this.mVertexCount + ", holes=" + this.mHoleCount + ", zIndexed=" + this.mIsZIndexed + ", linkTime=" + this.mLinkTime + "ns, holeTime=" + this.mHoleTime + "ns, zOrderTime=" + this.mZOrderTime + "ns, slicingTime=" + this.mSlicingTime + "ns, earTests=" + this.mEarTestCount + ", pointTests=" + this.mPointTestCount + ", cures=" + this.mCureCount + ", splits=" + this.mSplitCount + "]";
+	}
+
+}
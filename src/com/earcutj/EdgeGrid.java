@@ -0,0 +1,180 @@
+package com.earcutj;
+
+import java.util.Arrays;
+
+/** A uniform grid over the edges of a single ring, used to validate candidate diagonals when a ring is split. Each edge, identified by the node at which it begins, is bucketed into every cell covered by its bounding box, and each node of the ring is marked as a member along with its position around the ring. The grid is a snapshot: it must be rebuilt whenever the ring changes. **/
+final class EdgeGrid {
+
+	/* Default Declarations. */
+	protected static final int NULL             = NodePool.NULL;
+	protected static final int DEFAULT_CAPACITY = 16;
+	private   static final int DEFAULT_LOAD     = 2;
+
+	/* Member Variables. */
+	float mMinimumX;
+	float mMinimumY;
+	float mInverseCellWidth;
+	float mInverseCellHeight;
+	int   mColumns;
+	int   mRows;
+	int[] mCellHeads;
+	int[] mEntryNodes;
+	int[] mEntryNext;
+	int   mEntryCount;
+	int[] mStamps;
+	int   mStamp;
+	int[] mMembers;
+	int[] mOrdinals;
+	int   mRing;
+	int   mSize;
+
+	protected EdgeGrid(final int pCapacity) {
+		/* Initialize Member Variables. */
+		final int lCapacity = Math.max(pCapacity, EdgeGrid.DEFAULT_CAPACITY);
+		this.mCellHeads     = new int[0];
+		this.mEntryNodes    = new int[lCapacity];
+		this.mEntryNext     = new int[lCapacity];
+		this.mEntryCount    = 0;
+		this.mStamps        = new int[lCapacity];
+		this.mStamp         = 0;
+		this.mMembers       = new int[lCapacity];
+		this.mOrdinals      = new int[lCapacity];
+		this.mRing          = 0;
+		this.mSize          = 0;
+	}
+
+	/** Indexes every edge of the ring containing pStart. Returns false if the ring's bounds aren't finite, in which case the grid must not be used. **/
+	protected final boolean onBuild(final NodePool pPool, final int pStart) {
+		final float[] lX    = pPool.mX;
+		final float[] lY    = pPool.mY;
+		final int[]   lNext = pPool.mNextNode;
+		/* Measure the ring. */
+		float lMinimumX = Float.POSITIVE_INFINITY;
+		float lMinimumY = Float.POSITIVE_INFINITY;
+		float lMaximumX = Float.NEGATIVE_INFINITY;
+		float lMaximumY = Float.NEGATIVE_INFINITY;
+		int   lSize     = 0;
+		int   lNode     = pStart;
+		do {
+			lMinimumX = Math.min(lMinimumX, lX[lNode]);
+			lMinimumY = Math.min(lMinimumY, lY[lNode]);
+			lMaximumX = Math.max(lMaximumX, lX[lNode]);
+			lMaximumY = Math.max(lMaximumY, lY[lNode]);
+			lSize++;
+			lNode = lNext[lNode];
+		} while(lNode != pStart);
+		final float lWidth  = lMaximumX - lMinimumX;
+		final float lHeight = lMaximumY - lMinimumY;
+		if(!(lWidth >= 0 && lHeight >= 0 && lWidth < Float.POSITIVE_INFINITY && lHeight < Float.POSITIVE_INFINITY)) {
+			return false;
+		}
+		/* Size the grid for a handful of edges per cell, following the aspect ratio of the ring. */
+		final int   lCells      = Math.max(lSize / EdgeGrid.DEFAULT_LOAD, 1);
+		final float lAspect     = lHeight > 0 ? lWidth / lHeight : lCells;
+		this.mColumns           = (int)Math.min(Math.max(Math.sqrt(lCells * (double)lAspect), 1), lCells);
+		this.mRows              = Math.max(lCells / this.mColumns, 1);
+		this.mMinimumX          = lMinimumX;
+		this.mMinimumY          = lMinimumY;
+		this.mInverseCellWidth  = lWidth  > 0 ? this.mColumns / lWidth  : 0;
+		this.mInverseCellHeight = lHeight > 0 ? this.mRows    / lHeight : 0;
+		if(this.mCellHeads.length < this.mColumns * this.mRows) {
+			this.mCellHeads = new int[this.mColumns * this.mRows];
+		}
+		Arrays.fill(this.mCellHeads, 0, this.mColumns * this.mRows, EdgeGrid.NULL);
+		this.mEntryCount = 0;
+		if(this.mStamps.length < pPool.mIndex.length) {
+			this.mStamps = new int[pPool.mIndex.length];
+			this.mStamp  = 0;
+		}
+		if(this.mMembers.length < pPool.mIndex.length) {
+			this.mMembers  = new int[pPool.mIndex.length];
+			this.mOrdinals = new int[pPool.mIndex.length];
+			this.mRing     = 0;
+		}
+		if(++this.mRing == Integer.MAX_VALUE) {
+			Arrays.fill(this.mMembers, 0);
+			this.mRing = 1;
+		}
+		this.mSize = lSize;
+		/* Bucket each edge into the cells covered by its bounding box. */
+		int lOrdinal = 0;
+		lNode = pStart;
+		do {
+			final int lNextNode    = lNext[lNode];
+			final int lFirstColumn = this.getColumn(Math.min(lX[lNode], lX[lNextNode]));
+			final int lLastColumn  = this.getColumn(Math.max(lX[lNode], lX[lNextNode]));
+			final int lFirstRow    = this.getRow(Math.min(lY[lNode], lY[lNextNode]));
+			final int lLastRow     = this.getRow(Math.max(lY[lNode], lY[lNextNode]));
+			this.mMembers[lNode]  = this.mRing;
+			this.mOrdinals[lNode] = lOrdinal++;
+			for(int i = lFirstRow; i <= lLastRow; i++) {
+				for(int j = lFirstColumn; j <= lLastColumn; j++) {
+					this.onInsert(i * this.mColumns + j, lNode);
+				}
+			}
+			lNode = lNextNode;
+		} while(lNode != pStart);
+		return true;
+	}
+
+	/** Prepends an edge to the bucket of pCell. **/
+	private final void onInsert(final int pCell, final int pNode) {
+		if(this.mEntryCount == this.mEntryNodes.length) {
+			this.mEntryNodes = Arrays.copyOf(this.mEntryNodes, this.mEntryCount << 1);
+			this.mEntryNext  = Arrays.copyOf(this.mEntryNext,  this.mEntryCount << 1);
+		}
+		this.mEntryNodes[this.mEntryCount] = pNode;
+		this.mEntryNext[this.mEntryCount]  = this.mCellHeads[pCell];
+		this.mCellHeads[pCell]             = this.mEntryCount++;
+	}
+
+	/** Returns a fresh stamp, which no edge yet carries. Since an edge may occupy several cells, queries stamp the edges they've visited. **/
+	protected final int onStamp() {
+		if(++this.mStamp == Integer.MAX_VALUE) {
+			Arrays.fill(this.mStamps, 0);
+			this.mStamp = 1;
+		}
+		return this.mStamp;
+	}
+
+	/** Determines whether pNode belongs to the ring which was indexed. **/
+	protected final boolean isMember(final int pNode) {
+		return pNode < this.mMembers.length && this.mMembers[pNode] == this.mRing;
+	}
+
+	/** Returns the lesser of the two counts of edges between members pNodeA and pNodeB around the ring; splitting the ring along a diagonal between them leaves a ring of at least this many edges either side. **/
+	protected final int getSpan(final int pNodeA, final int pNodeB) {
+		final int lSpan = Math.abs(this.mOrdinals[pNodeA] - this.mOrdinals[pNodeB]);
+		return Math.min(lSpan, this.mSize - lSpan);
+	}
+
+	/** Returns the column containing pX. The mapping is monotonic, so a range of X maps onto a contiguous range of columns. **/
+	protected final int getColumn(final float pX) {
+		return Math.min(Math.max((int)((pX - this.mMinimumX) * this.mInverseCellWidth), 0), this.mColumns - 1);
+	}
+
+	protected final int getRow(final float pY) {
+		return Math.min(Math.max((int)((pY - this.mMinimumY) * this.mInverseCellHeight), 0), this.mRows - 1);
+	}
+
+	/** Releases any array which has grown beyond pCapacity. **/
+	protected final void trim(final int pCapacity) {
+		final int lCapacity = Math.max(pCapacity, EdgeGrid.DEFAULT_CAPACITY);
+		this.mCellHeads = new int[0];
+		if(this.mEntryNodes.length > lCapacity) {
+			this.mEntryNodes = new int[lCapacity];
+			this.mEntryNext  = new int[lCapacity];
+		}
+		if(this.mStamps.length > lCapacity) {
+			this.mStamps = new int[lCapacity];
+			this.mStamp  = 0;
+		}
+		if(this.mMembers.length > lCapacity) {
+			this.mMembers  = new int[lCapacity];
+			this.mOrdinals = new int[lCapacity];
+			this.mRing     = 0;
+		}
+		this.mEntryCount = 0;
+	}
+
+}
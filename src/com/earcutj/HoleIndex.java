@@ -0,0 +1,207 @@
+package com.earcutj;
+
+import java.util.Arrays;
+
+/** A spatial index over the outer ring of a polygon while its holes are being bridged in. Edges are bucketed into horizontal bands by the range of Y they span, so that a ray cast from a hole only visits the edges at its height; nodes are bucketed into a uniform grid, so that the search for a visible vertex only visits those near the bridge. The index is updated as rings are merged. Nodes removed from the ring are left in place and recognised lazily: a removed node is no longer the successor of its predecessor, and following predecessors from it leads to the node whose edge absorbed its own. **/
+final class HoleIndex {
+
+	/* Default Declarations. */
+	protected static final int NULL              = NodePool.NULL;
+	protected static final int DEFAULT_CAPACITY  = 16;
+	private   static final int DEFAULT_BAND_LOAD = 4;
+	private   static final int DEFAULT_CELL_LOAD = 2;
+
+	/* Member Variables. */
+	float mMinimumX;
+	float mMinimumY;
+	float mInverseBandHeight;
+	float mInverseCellWidth;
+	float mInverseCellHeight;
+	float mMagnitude;
+	int   mBands;
+	int   mColumns;
+	int   mRows;
+	int[] mBandHeads;
+	int[] mEdgeNodes;
+	int[] mEdgeNext;
+	int   mEdgeCount;
+	int[] mCellHeads;
+	int[] mCellNext;
+	int[] mStamps;
+	int   mStamp;
+	int[] mCandidates;
+	int   mCandidateCount;
+
+	protected HoleIndex(final int pCapacity) {
+		/* Initialize Member Variables. */
+		final int lCapacity  = Math.max(pCapacity, HoleIndex.DEFAULT_CAPACITY);
+		this.mBandHeads      = new int[0];
+		this.mEdgeNodes      = new int[lCapacity];
+		this.mEdgeNext       = new int[lCapacity];
+		this.mEdgeCount      = 0;
+		this.mCellHeads      = new int[0];
+		this.mCellNext       = new int[lCapacity];
+		this.mStamps         = new int[lCapacity];
+		this.mStamp          = 0;
+		this.mCandidates     = new int[lCapacity];
+		this.mCandidateCount = 0;
+	}
+
+	/** Sizes the index to the bounds of every node in the pool, then inserts the outer ring. Returns false if the bounds aren't finite, in which case the index must not be used. **/
+	protected final boolean onBuild(final NodePool pPool, final int pOuterNode) {
+		final float[] lX    = pPool.mX;
+		final float[] lY    = pPool.mY;
+		final int     lSize = pPool.mSize;
+		/* Every node which can join the outer ring, including the copies made by bridging, lies within the bounds of the pool. */
+		float lMinimumX = Float.POSITIVE_INFINITY;
+		float lMinimumY = Float.POSITIVE_INFINITY;
+		float lMaximumX = Float.NEGATIVE_INFINITY;
+		float lMaximumY = Float.NEGATIVE_INFINITY;
+		for(int i = 0; i < lSize; i++) {
+			lMinimumX = Math.min(lMinimumX, lX[i]);
+			lMinimumY = Math.min(lMinimumY, lY[i]);
+			lMaximumX = Math.max(lMaximumX, lX[i]);
+			lMaximumY = Math.max(lMaximumY, lY[i]);
+		}
+		final float lWidth  = lMaximumX - lMinimumX;
+		final float lHeight = lMaximumY - lMinimumY;
+		if(!(lWidth >= 0 && lHeight >= 0 && lWidth < Float.POSITIVE_INFINITY && lHeight < Float.POSITIVE_INFINITY)) {
+			return false;
+		}
+		/* Size the bands and grid for a handful of entries apiece. */
+		this.mBands             = Math.max(lSize / HoleIndex.DEFAULT_BAND_LOAD, 1);
+		final int lCells        = Math.max(lSize / HoleIndex.DEFAULT_CELL_LOAD, 1);
+		final float lAspect     = lHeight > 0 ? lWidth / lHeight : lCells;
+		this.mColumns           = (int)Math.min(Math.max(Math.sqrt(lCells * (double)lAspect), 1), lCells);
+		this.mRows              = Math.max(lCells / this.mColumns, 1);
+		this.mMinimumX          = lMinimumX;
+		this.mMinimumY          = lMinimumY;
+		this.mInverseBandHeight = lHeight > 0 ? this.mBands   / lHeight : 0;
+		this.mInverseCellWidth  = lWidth  > 0 ? this.mColumns / lWidth  : 0;
+		this.mInverseCellHeight = lHeight > 0 ? this.mRows    / lHeight : 0;
+		this.mMagnitude         = Math.max(Math.max(Math.abs(lMinimumX), Math.abs(lMaximumX)), Math.max(Math.abs(lMinimumY), Math.abs(lMaximumY)));
+		/* Reset the buckets. */
+		if(this.mBandHeads.length < this.mBands) {
+			this.mBandHeads = new int[this.mBands];
+		}
+		if(this.mCellHeads.length < this.mColumns * this.mRows) {
+			this.mCellHeads = new int[this.mColumns * this.mRows];
+		}
+		Arrays.fill(this.mBandHeads, 0, this.mBands, HoleIndex.NULL);
+		Arrays.fill(this.mCellHeads, 0, this.mColumns * this.mRows, HoleIndex.NULL);
+		this.mEdgeCount = 0;
+		this.onEnsureNodeCapacity(pPool.mIndex.length);
+		this.onInsertRing(pPool, pOuterNode);
+		return true;
+	}
+
+	/** Inserts every node and edge of a ring. **/
+	protected final void onInsertRing(final NodePool pPool, final int pStart) {
+		int lNode = pStart;
+		do {
+			this.onInsertNode(pPool, lNode);
+			this.onInsertEdge(pPool, lNode);
+			lNode = pPool.mNextNode[lNode];
+		} while(lNode != pStart);
+	}
+
+	/** Records the edges and nodes created by splitting the outer ring at pNodeA to join the hole at pNodeB, where pSplitNode is the copy of pNodeB. **/
+	protected final void onInsertBridge(final NodePool pPool, final int pNodeA, final int pSplitNode) {
+		final int lCopyA = pPool.mNextNode[pSplitNode];
+		this.onInsertNode(pPool, lCopyA);
+		this.onInsertNode(pPool, pSplitNode);
+		this.onInsertEdge(pPool, pNodeA);
+		this.onInsertEdge(pPool, pSplitNode);
+		this.onInsertEdge(pPool, lCopyA);
+		this.onInsertEdge(pPool, pPool.mPreviousNode[pSplitNode]);
+	}
+
+	/** Buckets a node into the grid cell which contains it. **/
+	private final void onInsertNode(final NodePool pPool, final int pNode) {
+		this.onEnsureNodeCapacity(pNode + 1);
+		final int lCell = this.getRow(pPool.mY[pNode]) * this.mColumns + this.getColumn(pPool.mX[pNode]);
+		this.mCellNext[pNode]  = this.mCellHeads[lCell];
+		this.mCellHeads[lCell] = pNode;
+	}
+
+	/** Buckets the edge from pNode to its successor into every band it spans. **/
+	private final void onInsertEdge(final NodePool pPool, final int pNode) {
+		final float lY0   = pPool.mY[pNode];
+		final float lY1   = pPool.mY[pPool.mNextNode[pNode]];
+		final int   lLast = this.getBand(Math.max(lY0, lY1));
+		for(int i = this.getBand(Math.min(lY0, lY1)); i <= lLast; i++) {
+			if(this.mEdgeCount == this.mEdgeNodes.length) {
+				this.mEdgeNodes = Arrays.copyOf(this.mEdgeNodes, this.mEdgeCount << 1);
+				this.mEdgeNext  = Arrays.copyOf(this.mEdgeNext,  this.mEdgeCount << 1);
+			}
+			this.mEdgeNodes[this.mEdgeCount] = pNode;
+			this.mEdgeNext[this.mEdgeCount]  = this.mBandHeads[i];
+			this.mBandHeads[i]               = this.mEdgeCount++;
+		}
+	}
+
+	/** Returns a fresh stamp, which no node yet carries. **/
+	protected final int onStamp() {
+		if(++this.mStamp == Integer.MAX_VALUE) {
+			Arrays.fill(this.mStamps, 0);
+			this.mStamp = 1;
+		}
+		return this.mStamp;
+	}
+
+	/** Discards the candidates of the last query. **/
+	protected final void onClearCandidates() {
+		this.mCandidateCount = 0;
+	}
+
+	protected final void onAddCandidate(final int pNode) {
+		if(this.mCandidateCount == this.mCandidates.length) {
+			this.mCandidates = Arrays.copyOf(this.mCandidates, this.mCandidateCount << 1);
+		}
+		this.mCandidates[this.mCandidateCount++] = pNode;
+	}
+
+	/** Returns the band containing pY. The mapping is monotonic, so a range of Y maps onto a contiguous range of bands. **/
+	protected final int getBand(final float pY) {
+		return Math.min(Math.max((int)((pY - this.mMinimumY) * this.mInverseBandHeight), 0), this.mBands - 1);
+	}
+
+	protected final int getColumn(final float pX) {
+		return Math.min(Math.max((int)((pX - this.mMinimumX) * this.mInverseCellWidth), 0), this.mColumns - 1);
+	}
+
+	protected final int getRow(final float pY) {
+		return Math.min(Math.max((int)((pY - this.mMinimumY) * this.mInverseCellHeight), 0), this.mRows - 1);
+	}
+
+	/** Ensures the per-node arrays can address pCapacity nodes. **/
+	private final void onEnsureNodeCapacity(final int pCapacity) {
+		if(pCapacity > this.mCellNext.length) {
+			final int lCapacity = Math.max(pCapacity, this.mCellNext.length << 1);
+			this.mCellNext = Arrays.copyOf(this.mCellNext, lCapacity);
+			this.mStamps   = Arrays.copyOf(this.mStamps,   lCapacity);
+		}
+	}
+
+	/** Releases any array which has grown beyond pCapacity. **/
+	protected final void trim(final int pCapacity) {
+		final int lCapacity = Math.max(pCapacity, HoleIndex.DEFAULT_CAPACITY);
+		this.mBandHeads = new int[0];
+		this.mCellHeads = new int[0];
+		if(this.mEdgeNodes.length > lCapacity) {
+			this.mEdgeNodes = new int[lCapacity];
+			this.mEdgeNext  = new int[lCapacity];
+		}
+		if(this.mCellNext.length > lCapacity) {
+			this.mCellNext = new int[lCapacity];
+			this.mStamps   = new int[lCapacity];
+			this.mStamp    = 0;
+		}
+		if(this.mCandidates.length > lCapacity) {
+			this.mCandidates = new int[lCapacity];
+		}
+		this.mEdgeCount      = 0;
+		this.mCandidateCount = 0;
+	}
+
+}
@@ -0,0 +1,67 @@
+package com.earcutj;
+
+import java.util.Arrays;
+
+/** A growable array of vertex indices, appended to three at a time as triangles are cut. **/
+final class IndexBuffer implements TriangleSink {
+
+	/* Default Declarations. */
+	protected static final int DEFAULT_CAPACITY = 48;
+
+	/* Member Variables. */
+	private int[] mIndices;
+	private int   mSize;
+
+	protected IndexBuffer(final int pCapacity) {
+		/* Initialize Member Variables. */
+		this.mIndices = new int[Math.max(pCapacity, IndexBuffer.DEFAULT_CAPACITY)];
+		this.mSize    = 0;
+	}
+
+	/** Appends the vertex indices of a single triangle. **/
+	@Override
+	public final void onTriangle(final int pA, final int pB, final int pC) {
+		/* Ensure there's enough room for another triangle. */
+		if(this.mSize + 3 > this.mIndices.length) {
+			this.mIndices = Arrays.copyOf(this.mIndices, this.mIndices.length << 1);
+		}
+		this.mIndices[this.mSize++] = pA;
+		this.mIndices[this.mSize++] = pB;
+		this.mIndices[this.mSize++] = pC;
+	}
+
+	/** Ensures that at least pCapacity indices may be appended without growing the backing array. **/
+	protected final void ensureCapacity(final int pCapacity) {
+		if(pCapacity > this.mIndices.length) {
+			this.mIndices = Arrays.copyOf(this.mIndices, Math.max(pCapacity, this.mIndices.length << 1));
+		}
+	}
+
+	/** Discards the appended indices, retaining the backing array for reuse. **/
+	protected final void clear() {
+		this.mSize = 0;
+	}
+
+	/** Releases the backing array if it has grown beyond pCapacity. **/
+	protected final void trim(final int pCapacity) {
+		final int lCapacity = Math.max(Math.max(pCapacity, IndexBuffer.DEFAULT_CAPACITY), this.mSize);
+		if(this.mIndices.length > lCapacity) {
+			this.mIndices = Arrays.copyOf(this.mIndices, lCapacity);
+		}
+	}
+
+	protected final int size() {
+		return this.mSize;
+	}
+
+	/** Returns the backing array; only the first size() elements are valid. **/
+	protected final int[] getIndices() {
+		return this.mIndices;
+	}
+
+	/** Returns a compact copy of the appended indices. **/
+	protected final int[] toArray() {
+		return Arrays.copyOf(this.mIndices, this.mSize);
+	}
+
+}
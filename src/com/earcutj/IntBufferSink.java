@@ -0,0 +1,25 @@
+package com.earcutj;
+
+import java.nio.IntBuffer;
+
+/** A TriangleSink which writes vertex indices at the current position of an IntBuffer. **/
+final class IntBufferSink implements TriangleSink {
+
+	/* Member Variables. */
+	private IntBuffer mIntBuffer;
+
+	protected IntBufferSink() {
+		/* Initialize Member Variables. */
+		this.mIntBuffer = null;
+	}
+
+	protected final void setIntBuffer(final IntBuffer pIntBuffer) {
+		this.mIntBuffer = pIntBuffer;
+	}
+
+	@Override
+	public final void onTriangle(final int pA, final int pB, final int pC) {
+		this.mIntBuffer.put(pA).put(pB).put(pC);
+	}
+
+}
@@ -0,0 +1,94 @@
+package com.earcutj;
+
+import java.util.Arrays;
+
+/** A struct-of-arrays store of polygon nodes. Each node is addressed by an int handle into a set of parallel primitive arrays, so linking and traversing rings never allocates or chases object references. **/
+final class NodePool {
+
+	/* Default Declarations. */
+	protected static final int NULL             = -1;
+	protected static final int DEFAULT_CAPACITY = 16;
+
+	/* Member Variables. */
+	int[]   mIndex;
+	float[] mX;
+	float[] mY;
+	int[]   mZOrder;
+	int[]   mPreviousNode;
+	int[]   mNextNode;
+	int[]   mPreviousZNode;
+	int[]   mNextZNode;
+	int     mSize;
+	boolean mIsExact;
+
+	protected NodePool(final int pCapacity) {
+		/* Initialize Member Variables. */
+		final int lCapacity = Math.max(pCapacity, NodePool.DEFAULT_CAPACITY);
+		this.mIndex         = new int[lCapacity];
+		this.mX             = new float[lCapacity];
+		this.mY             = new float[lCapacity];
+		this.mZOrder        = new int[lCapacity];
+		this.mPreviousNode  = new int[lCapacity];
+		this.mNextNode      = new int[lCapacity];
+		this.mPreviousZNode = new int[lCapacity];
+		this.mNextZNode     = new int[lCapacity];
+		this.mSize          = 0;
+		this.mIsExact       = false;
+	}
+
+	/** Allocates an unlinked node for the vertex at pIndex, returning its handle. **/
+	protected final int onCreateNode(final int pIndex, final float pX, final float pY) {
+		/* Grow the backing arrays once they've been exhausted. */
+		if(this.mSize == this.mIndex.length) {
+			this.onResize(this.mSize << 1);
+		}
+		final int lNode = this.mSize++;
+		this.mIndex[lNode]         = pIndex;
+		this.mX[lNode]             = pX;
+		this.mY[lNode]             = pY;
+		this.mZOrder[lNode]        = 0;
+		this.mPreviousNode[lNode]  = NodePool.NULL;
+		this.mNextNode[lNode]      = NodePool.NULL;
+		this.mPreviousZNode[lNode] = NodePool.NULL;
+		this.mNextZNode[lNode]     = NodePool.NULL;
+		return lNode;
+	}
+
+	/** Ensures that at least pCapacity nodes may be allocated without growing the backing arrays. **/
+	protected final void ensureCapacity(final int pCapacity) {
+		if(pCapacity > this.mIndex.length) {
+			this.onResize(Math.max(pCapacity, this.mIndex.length << 1));
+		}
+	}
+
+	/** Releases every node, retaining the backing arrays for reuse. The pool reverts to holding arbitrary float co-ordinates. **/
+	protected final void clear() {
+		this.mSize    = 0;
+		this.mIsExact = false;
+	}
+
+	/** Releases the backing arrays if they have grown beyond pCapacity. **/
+	protected final void trim(final int pCapacity) {
+		final int lCapacity = Math.max(Math.max(pCapacity, NodePool.DEFAULT_CAPACITY), this.mSize);
+		if(this.mIndex.length > lCapacity) {
+			this.onResize(lCapacity);
+		}
+	}
+
+	/** Reallocates each of the parallel arrays to the specified capacity, preserving allocated nodes. **/
+	private final void onResize(final int pCapacity) {
+		this.mIndex         = Arrays.copyOf(this.mIndex,         pCapacity);
+		this.mX             = Arrays.copyOf(this.mX,             pCapacity);
+		this.mY             = Arrays.copyOf(this.mY,             pCapacity);
+		this.mZOrder        = Arrays.copyOf(this.mZOrder,        pCapacity);
+		this.mPreviousNode  = Arrays.copyOf(this.mPreviousNode,  pCapacity);
+		this.mNextNode      = Arrays.copyOf(this.mNextNode,      pCapacity);
+		this.mPreviousZNode = Arrays.copyOf(this.mPreviousZNode, pCapacity);
+		this.mNextZNode     = Arrays.copyOf(this.mNextZNode,     pCapacity);
+	}
+
+	protected final int size() {
+		return this.mSize;
+	}
+
+}
@@ -0,0 +1,492 @@
+package com.earcutj;
+
+import java.util.Arrays;
+
+/** Sorts an unordered set of rings into polygons. Each ring is placed within the smallest ring which contains it; rings nested at an even depth are outer rings, and those at an odd depth are holes of the ring containing them. Containing rings are found through a packed R-tree over the bounds of the rings, ordered along a z-order curve, so a ring is only tested against those whose bounds enclose it. Large rings which are tested repeatedly are indexed by a table of horizontal bands, so that a point is only compared with the edges at its height. Rings are expected not to cross one another. **/
+final class RingClassifier {
+
+	/* Default Declarations. */
+	protected static final int NULL                   = NodePool.NULL;
+	protected static final int DEFAULT_CAPACITY       = 16;
+	private   static final int DEFAULT_NODE_SIZE      = 16;
+	private   static final int DEFAULT_BAND_LOAD      = 4;
+	private   static final int DEFAULT_BAND_THRESHOLD = 64;
+	private   static final int DEFAULT_BAND_TESTS     = 2;
+	private   static final int OUTSIDE                = 0;
+	private   static final int INSIDE                 = 1;
+	private   static final int BOUNDARY               = 2;
+
+	/* Member Variables. */
+	float[]  mCoordinates;
+	int      mDimensions;
+	int[]    mRingOffsets;
+	int      mRingCount;
+	double[] mAreas;
+	float[]  mRingBounds;
+	int[]    mParents;
+	int[]    mDepths;
+	int[]    mPlaces;
+	float[]  mTreeBounds;
+	int[]    mTreeIndices;
+	int[]    mLevelBounds;
+	int      mLevelCount;
+	int      mTreeSize;
+	int[]    mStack;
+	int[]    mCandidates;
+	int      mCandidateCount;
+	int[]    mTestCounts;
+	int[]    mBandStarts;
+	int[]    mBandOffsets;
+	int      mBandOffsetCount;
+	int[]    mBandEdges;
+	int      mBandEdgeCount;
+	int[]    mRings;
+	int      mRingListSize;
+	int[]    mPolygonOffsets;
+	int      mPolygonCount;
+
+	protected RingClassifier(final int pCapacity) {
+		/* Initialize Member Variables. */
+		final int lCapacity   = Math.max(pCapacity, RingClassifier.DEFAULT_CAPACITY);
+		this.mAreas           = new double[lCapacity];
+		this.mRingBounds      = new float[lCapacity << 2];
+		this.mParents         = new int[lCapacity];
+		this.mDepths          = new int[lCapacity];
+		this.mPlaces          = new int[lCapacity];
+		this.mTreeBounds      = new float[lCapacity << 2];
+		this.mTreeIndices     = new int[lCapacity];
+		this.mLevelBounds     = new int[8];
+		this.mStack           = new int[RingClassifier.DEFAULT_NODE_SIZE << 3];
+		this.mCandidates      = new int[RingClassifier.DEFAULT_CAPACITY];
+		this.mTestCounts      = new int[lCapacity];
+		this.mBandStarts      = new int[lCapacity];
+		this.mBandOffsets     = new int[lCapacity];
+		this.mBandEdges       = new int[lCapacity];
+		this.mRings           = new int[lCapacity];
+		this.mPolygonOffsets  = new int[lCapacity + 1];
+	}
+
+	/** Classifies every ring of a flat co-ordinate array, where ring r spans the vertices pRingOffsets[r] to pRingOffsets[r + 1]. On return, polygon p is formed of the rings mRings[mPolygonOffsets[p]] to mRings[mPolygonOffsets[p + 1] - 1], its outer ring first. Polygons follow the order of their outer rings, and holes the order in which they're found in the array. Rings which enclose no area are omitted. **/
+	protected final void onClassify(final float[] pCoordinates, final int pDimensions, final int[] pRingOffsets) {
+		final int lRingCount = Math.max(pRingOffsets.length - 1, 0);
+		this.mCoordinates     = pCoordinates;
+		this.mDimensions      = pDimensions;
+		this.mRingOffsets     = pRingOffsets;
+		this.mRingCount       = lRingCount;
+		this.mBandOffsetCount = 0;
+		this.mBandEdgeCount   = 0;
+		this.ensureCapacity(lRingCount);
+		/* Measure each ring, and index those which enclose an area. */
+		final int lLeafCount = this.onMeasure();
+		this.onBuildTree(lLeafCount);
+		/* Place each ring within the smallest ring which contains it. */
+		for(int i = 0; i < lRingCount; i++) {
+			this.mParents[i] = this.mAreas[i] > 0 ? this.getParent(i) : RingClassifier.NULL;
+		}
+		/* Resolve the depth of every ring, and count the holes of each outer ring. */
+		Arrays.fill(this.mDepths, 0, lRingCount, RingClassifier.NULL);
+		Arrays.fill(this.mPlaces, 0, lRingCount, 0);
+		int lPolygonCount = 0;
+		for(int i = 0; i < lRingCount; i++) {
+			if(this.mAreas[i] > 0) {
+				if((this.getDepth(i) & 1) == 0) {
+					lPolygonCount++;
+				}
+				else {
+					this.mPlaces[this.mParents[i]]++;
+				}
+			}
+		}
+		/* Reserve a run of the ring list for each polygon, led by its outer ring. */
+		if(this.mPolygonOffsets.length < lPolygonCount + 1) {
+			this.mPolygonOffsets = new int[lPolygonCount + 1];
+		}
+		int lPolygon = 0;
+		int lSize    = 0;
+		for(int i = 0; i < lRingCount; i++) {
+			if(this.mAreas[i] > 0 && (this.mDepths[i] & 1) == 0) {
+				final int lHoleCount = this.mPlaces[i];
+				this.mPolygonOffsets[lPolygon++] = lSize;
+				this.mRings[lSize] = i;
+				this.mPlaces[i]    = lSize + 1;
+				lSize             += lHoleCount + 1;
+			}
+		}
+		this.mPolygonOffsets[lPolygon] = lSize;
+		this.mPolygonCount             = lPolygonCount;
+		this.mRingListSize             = lSize;
+		/* Append each hole to the run of the ring containing it; each outer ring's place now tracks the next free entry of its run. */
+		for(int i = 0; i < lRingCount; i++) {
+			if(this.mAreas[i] > 0 && (this.mDepths[i] & 1) == 1) {
+				this.mRings[this.mPlaces[this.mParents[i]]++] = i;
+			}
+		}
+		/* Release the caller's arrays. */
+		this.mCoordinates = null;
+		this.mRingOffsets = null;
+	}
+
+	/** Returns the depth at which pRing is nested, resolving and recording the depths of its ancestors as it goes. **/
+	private final int getDepth(final int pRing) {
+		/* Climb until reaching a ring whose depth is known, or one which isn't contained. */
+		int lRing  = pRing;
+		int lDepth = 0;
+		while(this.mDepths[lRing] == RingClassifier.NULL && this.mParents[lRing] != RingClassifier.NULL) {
+			lRing = this.mParents[lRing];
+			lDepth++;
+		}
+		final int lBase = this.mDepths[lRing] == RingClassifier.NULL ? 0 : this.mDepths[lRing];
+		/* Descend again, recording each depth. */
+		lRing = pRing;
+		for(int i = lDepth; i > 0; i--) {
+			this.mDepths[lRing] = lBase + i;
+			lRing = this.mParents[lRing];
+		}
+		this.mDepths[lRing] = lBase;
+		return this.mDepths[pRing];
+	}
+
+	/** Computes the area and bounds of every ring. Rings of fewer than three vertices, or which enclose no area, are given an area of 0. Returns the number which remain. **/
+	private final int onMeasure() {
+		final float[] lCoordinates = this.mCoordinates;
+		final int     lDimensions  = this.mDimensions;
+		int lCount = 0;
+		for(int i = 0; i < this.mRingCount; i++) {
+			final int lStart = this.mRingOffsets[i];
+			final int lEnd   = this.mRingOffsets[i + 1];
+			float  lMinimumX = Float.POSITIVE_INFINITY;
+			float  lMinimumY = Float.POSITIVE_INFINITY;
+			float  lMaximumX = Float.NEGATIVE_INFINITY;
+			float  lMaximumY = Float.NEGATIVE_INFINITY;
+			double lArea     = 0;
+			for(int j = lStart, k = lEnd - 1; j < lEnd; k = j++) {
+				final float lX = lCoordinates[j * lDimensions];
+				final float lY = lCoordinates[j * lDimensions + 1];
+				lArea    += ((double)lCoordinates[k * lDimensions] - lX) * ((double)lCoordinates[k * lDimensions + 1] + lY);
+				lMinimumX = Math.min(lMinimumX, lX);
+				lMinimumY = Math.min(lMinimumY, lY);
+				lMaximumX = Math.max(lMaximumX, lX);
+				lMaximumY = Math.max(lMaximumY, lY);
+			}
+			lArea = Math.abs(lArea);
+			/* Discard rings which are degenerate, or whose bounds aren't finite. */
+			if(lEnd - lStart < 3 || !(lArea > 0 && lArea < Double.POSITIVE_INFINITY) || !(lMaximumX - lMinimumX < Float.POSITIVE_INFINITY && lMaximumY - lMinimumY < Float.POSITIVE_INFINITY)) {
+				lArea = 0;
+			}
+			else {
+				lCount++;
+			}
+			this.mAreas[i]                  = lArea;
+			this.mRingBounds[(i << 2)]      = lMinimumX;
+			this.mRingBounds[(i << 2) + 1]  = lMinimumY;
+			this.mRingBounds[(i << 2) + 2]  = lMaximumX;
+			this.mRingBounds[(i << 2) + 3]  = lMaximumY;
+			this.mTestCounts[i]             = 0;
+			this.mBandStarts[i]             = RingClassifier.NULL;
+		}
+		return lCount;
+	}
+
+	/** Packs the bounds of the pLeafCount measured rings into an R-tree. Leaves are sorted along a z-order curve through the centres of their bounds, and each level groups DEFAULT_NODE_SIZE consecutive nodes of the level below. **/
+	private final void onBuildTree(final int pLeafCount) {
+		this.mLevelCount = 0;
+		this.mTreeSize   = 0;
+		if(pLeafCount == 0) {
+			return;
+		}
+		/* Measure the extent of every ring. */
+		float lMinimumX = Float.POSITIVE_INFINITY;
+		float lMinimumY = Float.POSITIVE_INFINITY;
+		float lMaximumX = Float.NEGATIVE_INFINITY;
+		float lMaximumY = Float.NEGATIVE_INFINITY;
+		for(int i = 0; i < this.mRingCount; i++) {
+			if(this.mAreas[i] > 0) {
+				lMinimumX = Math.min(lMinimumX, this.mRingBounds[(i << 2)]);
+				lMinimumY = Math.min(lMinimumY, this.mRingBounds[(i << 2) + 1]);
+				lMaximumX = Math.max(lMaximumX, this.mRingBounds[(i << 2) + 2]);
+				lMaximumY = Math.max(lMaximumY, this.mRingBounds[(i << 2) + 3]);
+			}
+		}
+		final float  lSize        = Math.max(lMaximumX - lMinimumX, lMaximumY - lMinimumY);
+		final float  lInverseSize = lSize > 0 && lSize < Float.POSITIVE_INFINITY ? 32767 / lSize : 0;
+		/* Sort the rings by the z-order of their centres, carrying each ring alongside its code. */
+		final long[] lKeys        = new long[pLeafCount];
+		for(int i = 0, j = 0; i < this.mRingCount; i++) {
+			if(this.mAreas[i] > 0) {
+				final float lX = Math.min(Math.max(this.mRingBounds[(i << 2)]     * 0.5f + this.mRingBounds[(i << 2) + 2] * 0.5f, lMinimumX), lMaximumX);
+				final float lY = Math.min(Math.max(this.mRingBounds[(i << 2) + 1] * 0.5f + this.mRingBounds[(i << 2) + 3] * 0.5f, lMinimumY), lMaximumY);
+				lKeys[j++] = ((long)Earcut.onCalculateZOrder(lX, lY, lMinimumX, lMinimumY, lInverseSize) << 32) | i;
+			}
+		}
+		Arrays.sort(lKeys);
+		/* Size the tree. */
+		int lTreeSize   = pLeafCount;
+		int lLevelCount = 1;
+		for(int lLevelSize = pLeafCount; lLevelSize > 1; lLevelCount++) {
+			lLevelSize = (lLevelSize + RingClassifier.DEFAULT_NODE_SIZE - 1) / RingClassifier.DEFAULT_NODE_SIZE;
+			lTreeSize += lLevelSize;
+		}
+		if(this.mTreeIndices.length < lTreeSize) {
+			this.mTreeIndices = new int[lTreeSize];
+			this.mTreeBounds  = new float[lTreeSize << 2];
+		}
+		if(this.mLevelBounds.length < lLevelCount) {
+			this.mLevelBounds = new int[lLevelCount];
+		}
+		/* A depth-first search holds at most the siblings of each node along its path. */
+		if(this.mStack.length < lLevelCount * RingClassifier.DEFAULT_NODE_SIZE) {
+			this.mStack = new int[lLevelCount * RingClassifier.DEFAULT_NODE_SIZE];
+		}
+		/* Place the leaves. */
+		for(int i = 0; i < pLeafCount; i++) {
+			final int lRing = (int)lKeys[i];
+			this.mTreeIndices[i] = lRing;
+			System.arraycopy(this.mRingBounds, lRing << 2, this.mTreeBounds, i << 2, 4);
+		}
+		/* Build each level above the last, until a single root remains. */
+		int lLevel      = 0;
+		int lLevelStart = 0;
+		int lLevelEnd   = pLeafCount;
+		this.mLevelBounds[lLevel++] = lLevelEnd;
+		int lPosition   = lLevelEnd;
+		while(lLevelEnd - lLevelStart > 1) {
+			for(int i = lLevelStart; i < lLevelEnd; i += RingClassifier.DEFAULT_NODE_SIZE) {
+				final int lEnd = Math.min(i + RingClassifier.DEFAULT_NODE_SIZE, lLevelEnd);
+				float lNodeMinimumX = Float.POSITIVE_INFINITY;
+				float lNodeMinimumY = Float.POSITIVE_INFINITY;
+				float lNodeMaximumX = Float.NEGATIVE_INFINITY;
+				float lNodeMaximumY = Float.NEGATIVE_INFINITY;
+				for(int j = i; j < lEnd; j++) {
+					lNodeMinimumX = Math.min(lNodeMinimumX, this.mTreeBounds[(j << 2)]);
+					lNodeMinimumY = Math.min(lNodeMinimumY, this.mTreeBounds[(j << 2) + 1]);
+					lNodeMaximumX = Math.max(lNodeMaximumX, this.mTreeBounds[(j << 2) + 2]);
+					lNodeMaximumY = Math.max(lNodeMaximumY, this.mTreeBounds[(j << 2) + 3]);
+				}
+				this.mTreeIndices[lPosition]           = i;
+				this.mTreeBounds[(lPosition << 2)]     = lNodeMinimumX;
+				this.mTreeBounds[(lPosition << 2) + 1] = lNodeMinimumY;
+				this.mTreeBounds[(lPosition << 2) + 2] = lNodeMaximumX;
+				this.mTreeBounds[(lPosition << 2) + 3] = lNodeMaximumY;
+				lPosition++;
+			}
+			lLevelStart = lLevelEnd;
+			lLevelEnd   = lPosition;
+			this.mLevelBounds[lLevel++] = lLevelEnd;
+		}
+		this.mLevelCount = lLevel;
+		this.mTreeSize   = lPosition;
+	}
+
+	/** Returns the smallest ring which contains pRing, or NULL if none does. **/
+	private final int getParent(final int pRing) {
+		/* Any ring containing pRing has bounds which contain its first vertex. */
+		final int lVertex = this.mRingOffsets[pRing] * this.mDimensions;
+		this.onQuery(this.mCoordinates[lVertex], this.mCoordinates[lVertex + 1]);
+		int    lParent     = RingClassifier.NULL;
+		double lParentArea = Double.POSITIVE_INFINITY;
+		for(int i = 0; i < this.mCandidateCount; i++) {
+			final int lCandidate = this.mCandidates[i];
+			/* A containing ring is larger, so rings are never found to contain one another. */
+			if(this.mAreas[lCandidate] > this.mAreas[pRing] && this.mAreas[lCandidate] < lParentArea && this.isEnclosing(lCandidate, pRing) && this.isContained(pRing, lCandidate)) {
+				lParent     = lCandidate;
+				lParentArea = this.mAreas[lCandidate];
+			}
+		}
+		return lParent;
+	}
+
+	/** Collects every ring whose bounds contain the point pX, pY into the candidate list. **/
+	private final void onQuery(final float pX, final float pY) {
+		this.mCandidateCount = 0;
+		if(this.mTreeSize == 0) {
+			return;
+		}
+		final int[]   lStack  = this.mStack;
+		final float[] lBounds = this.mTreeBounds;
+		int lStackSize = 0;
+		lStack[lStackSize++] = this.mTreeSize - 1;
+		while(lStackSize > 0) {
+			final int lNode = lStack[--lStackSize];
+			if(pX < lBounds[(lNode << 2)] || pY < lBounds[(lNode << 2) + 1] || pX > lBounds[(lNode << 2) + 2] || pY > lBounds[(lNode << 2) + 3]) {
+				continue;
+			}
+			if(lNode < this.mLevelBounds[0]) {
+				/* Leaves hold rings. */
+				if(this.mCandidateCount == this.mCandidates.length) {
+					this.mCandidates = Arrays.copyOf(this.mCandidates, this.mCandidateCount << 1);
+				}
+				this.mCandidates[this.mCandidateCount++] = this.mTreeIndices[lNode];
+			}
+			else {
+				/* Branches hold the position of their first child; the rest follow it, up to the end of their level. */
+				final int lFirst = this.mTreeIndices[lNode];
+				final int lLast  = Math.min(lFirst + RingClassifier.DEFAULT_NODE_SIZE, this.getLevelEnd(lFirst));
+				for(int i = lFirst; i < lLast; i++) {
+					lStack[lStackSize++] = i;
+				}
+			}
+		}
+	}
+
+	/** Returns the position following the last node of the level holding the node at pPosition. **/
+	private final int getLevelEnd(final int pPosition) {
+		int i = 0;
+		while(this.mLevelBounds[i] <= pPosition) {
+			i++;
+		}
+		return this.mLevelBounds[i];
+	}
+
+	/** Returns whether the bounds of pOuter contain the bounds of pInner. **/
+	private final boolean isEnclosing(final int pOuter, final int pInner) {
+		final float[] lBounds = this.mRingBounds;
+		return lBounds[(pOuter << 2)] <= lBounds[(pInner << 2)] && lBounds[(pOuter << 2) + 1] <= lBounds[(pInner << 2) + 1] && lBounds[(pOuter << 2) + 2] >= lBounds[(pInner << 2) + 2] && lBounds[(pOuter << 2) + 3] >= lBounds[(pInner << 2) + 3];
+	}
+
+	/** Returns whether pInner lies within pOuter, judged by its first vertex which doesn't lie upon pOuter's boundary. Rings may share vertices, so long as they don't cross. **/
+	private final boolean isContained(final int pInner, final int pOuter) {
+		final int lEnd = this.mRingOffsets[pInner + 1];
+		for(int i = this.mRingOffsets[pInner]; i < lEnd; i++) {
+			final int lLocation = this.getLocation(pOuter, this.mCoordinates[i * this.mDimensions], this.mCoordinates[i * this.mDimensions + 1]);
+			if(lLocation != RingClassifier.BOUNDARY) {
+				return lLocation == RingClassifier.INSIDE;
+			}
+		}
+		/* Every vertex lies upon pOuter; the rings coincide. */
+		return false;
+	}
+
+	/** Locates the point pX, pY as INSIDE, OUTSIDE or upon the BOUNDARY of pRing, by counting the edges crossed by a ray cast from it along the positive x axis. **/
+	private final int getLocation(final int pRing, final float pX, final float pY) {
+		final int lStart = this.mRingOffsets[pRing];
+		final int lEnd   = this.mRingOffsets[pRing + 1];
+		int lLocation = RingClassifier.OUTSIDE;
+		if(this.mBandStarts[pRing] == RingClassifier.NULL && (lEnd - lStart <= RingClassifier.DEFAULT_BAND_THRESHOLD || this.mTestCounts[pRing]++ < RingClassifier.DEFAULT_BAND_TESTS)) {
+			/* Small rings are cheaper to test whole than to index, as are large rings which are seldom tested; most enclose only a few others. */
+			for(int i = lStart, j = lEnd - 1; i < lEnd; j = i++) {
+				final int lCrossing = this.getCrossing(j, i, pX, pY);
+				if(lCrossing == RingClassifier.BOUNDARY) {
+					return RingClassifier.BOUNDARY;
+				}
+				lLocation ^= lCrossing;
+			}
+			return lLocation;
+		}
+		if(this.mBandStarts[pRing] == RingClassifier.NULL) {
+			this.onBuildBands(pRing);
+		}
+		/* Only the edges spanning the band at the point's height can cross the ray. */
+		final int lBands = RingClassifier.getBandCount(lEnd - lStart);
+		final int lBand  = RingClassifier.getBand(pY, this.mRingBounds[(pRing << 2) + 1], this.getInverseBandHeight(pRing, lBands), lBands);
+		final int lFirst = this.mBandOffsets[this.mBandStarts[pRing] + lBand];
+		final int lLast  = this.mBandOffsets[this.mBandStarts[pRing] + lBand + 1];
+		for(int i = lFirst; i < lLast; i++) {
+			final int lVertex   = this.mBandEdges[i];
+			final int lCrossing = this.getCrossing(lVertex == lStart ? lEnd - 1 : lVertex - 1, lVertex, pX, pY);
+			if(lCrossing == RingClassifier.BOUNDARY) {
+				return RingClassifier.BOUNDARY;
+			}
+			lLocation ^= lCrossing;
+		}
+		return lLocation;
+	}
+
+	/** Returns INSIDE if the edge from pFrom to pTo crosses the ray cast from pX, pY along the positive x axis, BOUNDARY if the point lies upon it, or OUTSIDE otherwise. An edge is taken to span the height of its upper vertex but not its lower, so that a ray passing through a vertex is counted once. **/
+	private final int getCrossing(final int pFrom, final int pTo, final float pX, final float pY) {
+		final float lAX = this.mCoordinates[pFrom * this.mDimensions];
+		final float lAY = this.mCoordinates[pFrom * this.mDimensions + 1];
+		final float lBX = this.mCoordinates[pTo * this.mDimensions];
+		final float lBY = this.mCoordinates[pTo * this.mDimensions + 1];
+		if(lAX == pX && lAY == pY) {
+			return RingClassifier.BOUNDARY;
+		}
+		if((lAY > pY) != (lBY > pY)) {
+			final double lX = lAX + ((double)pY - lAY) * ((double)lBX - lAX) / ((double)lBY - lAY);
+			return pX == lX ? RingClassifier.BOUNDARY : pX < lX ? RingClassifier.INSIDE : RingClassifier.OUTSIDE;
+		}
+		/* A horizontal edge at the height of the point. */
+		if(lAY == pY && lBY == pY && pX >= Math.min(lAX, lBX) && pX <= Math.max(lAX, lBX)) {
+			return RingClassifier.BOUNDARY;
+		}
+		return RingClassifier.OUTSIDE;
+	}
+
+	/** Buckets the edges of pRing into horizontal bands by the range of y they span. Each edge is identified by the vertex at which it ends. **/
+	private final void onBuildBands(final int pRing) {
+		final int   lStart   = this.mRingOffsets[pRing];
+		final int   lEnd     = this.mRingOffsets[pRing + 1];
+		final int   lBands   = RingClassifier.getBandCount(lEnd - lStart);
+		final float lMinimum = this.mRingBounds[(pRing << 2) + 1];
+		final float lInverse = this.getInverseBandHeight(pRing, lBands);
+		final int   lOffset  = this.mBandOffsetCount;
+		final int   lBase    = this.mBandEdgeCount;
+		if(this.mBandOffsets.length < lOffset + lBands + 1) {
+			this.mBandOffsets = Arrays.copyOf(this.mBandOffsets, Math.max(this.mBandOffsets.length << 1, lOffset + lBands + 1));
+		}
+		Arrays.fill(this.mBandOffsets, lOffset, lOffset + lBands + 1, 0);
+		/* Count the edges spanning each band. */
+		for(int i = lStart, j = lEnd - 1; i < lEnd; j = i++) {
+			final float lAY   = this.mCoordinates[j * this.mDimensions + 1];
+			final float lBY   = this.mCoordinates[i * this.mDimensions + 1];
+			final int   lLast = RingClassifier.getBand(Math.max(lAY, lBY), lMinimum, lInverse, lBands);
+			for(int b = RingClassifier.getBand(Math.min(lAY, lBY), lMinimum, lInverse, lBands); b <= lLast; b++) {
+				this.mBandOffsets[lOffset + b + 1]++;
+			}
+		}
+		/* Accumulate the counts into the first entry of each band. */
+		this.mBandOffsets[lOffset] = lBase;
+		for(int b = 0; b < lBands; b++) {
+			this.mBandOffsets[lOffset + b + 1] += this.mBandOffsets[lOffset + b];
+		}
+		final int lSize = this.mBandOffsets[lOffset + lBands];
+		if(this.mBandEdges.length < lSize) {
+			this.mBandEdges = Arrays.copyOf(this.mBandEdges, Math.max(this.mBandEdges.length << 1, lSize));
+		}
+		/* Place the edges, advancing each band's entry past its edges; it then holds the first entry of the band after it. */
+		for(int i = lStart, j = lEnd - 1; i < lEnd; j = i++) {
+			final float lAY   = this.mCoordinates[j * this.mDimensions + 1];
+			final float lBY   = this.mCoordinates[i * this.mDimensions + 1];
+			final int   lLast = RingClassifier.getBand(Math.max(lAY, lBY), lMinimum, lInverse, lBands);
+			for(int b = RingClassifier.getBand(Math.min(lAY, lBY), lMinimum, lInverse, lBands); b <= lLast; b++) {
+				this.mBandEdges[this.mBandOffsets[lOffset + b]++] = i;
+			}
+		}
+		/* Restore the first entry of each band. */
+		for(int b = lBands; b > 0; b--) {
+			this.mBandOffsets[lOffset + b] = this.mBandOffsets[lOffset + b - 1];
+		}
+		this.mBandOffsets[lOffset] = lBase;
+		this.mBandOffsetCount      = lOffset + lBands + 1;
+		this.mBandEdgeCount        = lSize;
+		this.mBandStarts[pRing]    = lOffset;
+	}
+
+	/** Returns the reciprocal of the height of each of the pBands bands of pRing. **/
+	private final float getInverseBandHeight(final int pRing, final int pBands) {
+		return pBands / (this.mRingBounds[(pRing << 2) + 3] - this.mRingBounds[(pRing << 2) + 1]);
+	}
+
+	private static final int getBandCount(final int pVertexCount) {
+		return Math.max(pVertexCount / RingClassifier.DEFAULT_BAND_LOAD, 1);
+	}
+
+	private static final int getBand(final float pY, final float pMinimum, final float pInverseHeight, final int pBands) {
+		return Math.min(Math.max((int)((pY - pMinimum) * pInverseHeight), 0), pBands - 1);
+	}
+
+	/** Ensures the per-ring arrays can describe pRingCount rings. **/
+	private final void ensureCapacity(final int pRingCount) {
+		if(this.mAreas.length < pRingCount) {
+			final int lCapacity = Math.max(this.mAreas.length << 1, pRingCount);
+			this.mAreas      = new double[lCapacity];
+			this.mRingBounds = new float[lCapacity << 2];
+			this.mParents    = new int[lCapacity];
+			this.mDepths     = new int[lCapacity];
+			this.mPlaces     = new int[lCapacity];
+			this.mTestCounts = new int[lCapacity];
+			this.mBandStarts = new int[lCapacity];
+			this.mRings      = new int[lCapacity];
+		}
+	}
+
+}
@@ -0,0 +1,251 @@
+package com.earcutj;
+
+import java.util.Arrays;
+
+/** A uniform grid over the ring edges of an EarcutEditor, kept up to date as vertices are moved, inserted and deleted. Each edge, identified by the vertex at which it begins, is bucketed into every cell its segment passes through, so a long diagonal edge doesn't crowd the cells of its bounding box. The entries of each edge are chained together, so that it can be removed in time proportional to the cells it occupies, without reference to where its vertices have since moved. Positions beyond the bounds of the grid are clamped onto its border cells, which keeps the grid correct, if slower, as the polygon drifts; it's rebuilt along with the triangulation. **/
+final class RingGrid {
+
+	/* Default Declarations. */
+	protected static final int    NULL             = NodePool.NULL;
+	protected static final int    DEFAULT_CAPACITY = 16;
+	private   static final int    DEFAULT_LOAD     = 2;
+	/* The fraction of a cell by which the span of a segment is widened, so that the rounding of getColumn and getRow can't place a point of the segment beyond the cells it's traced through. */
+	private   static final double DEFAULT_MARGIN   = 1e-3;
+
+	/* Member Variables. */
+	float mMinimumX;
+	float mMinimumY;
+	float mInverseCellWidth;
+	float mInverseCellHeight;
+	int   mColumns;
+	int   mRows;
+	int[] mCellHeads;
+	int[] mEntryVertices;
+	int[] mEntryCells;
+	int[] mEntryNext;
+	int[] mEntryPrevious;
+	/* The next entry belonging to the same edge. */
+	int[] mEntrySiblings;
+	int   mEntryCount;
+	int   mFreeEntry;
+	/* The first entry of the edge beginning at each vertex, or NULL if it isn't indexed. */
+	int[] mVertexEntries;
+	int[] mStamps;
+	int   mStamp;
+	/* The cells found by the last call to onTrace. */
+	int[] mCells;
+	int   mCellCount;
+
+	protected RingGrid(final int pCapacity) {
+		/* Initialize Member Variables. */
+		final int lCapacity = Math.max(pCapacity, RingGrid.DEFAULT_CAPACITY);
+		this.mColumns       = 1;
+		this.mRows          = 1;
+		this.mCellHeads     = new int[] { RingGrid.NULL };
+		this.mEntryVertices = new int[lCapacity];
+		this.mEntryCells    = new int[lCapacity];
+		this.mEntryNext     = new int[lCapacity];
+		this.mEntryPrevious = new int[lCapacity];
+		this.mEntrySiblings = new int[lCapacity];
+		this.mEntryCount    = 0;
+		this.mFreeEntry     = RingGrid.NULL;
+		this.mVertexEntries = new int[lCapacity];
+		this.mStamps        = new int[lCapacity];
+		this.mStamp         = 0;
+		this.mCells         = new int[RingGrid.DEFAULT_CAPACITY];
+		this.mCellCount     = 0;
+		Arrays.fill(this.mVertexEntries, RingGrid.NULL);
+	}
+
+	/** Indexes the edge beginning at each of the first pVertexCount vertices which hasn't been deleted, sizing the grid to their bounds. **/
+	protected final void onBuild(final float[] pCoordinates, final int[] pNextVertex, final int[] pPreviousVertex, final int pVertexCount) {
+		/* Measure the live vertices. */
+		float lMinimumX = Float.POSITIVE_INFINITY;
+		float lMinimumY = Float.POSITIVE_INFINITY;
+		float lMaximumX = Float.NEGATIVE_INFINITY;
+		float lMaximumY = Float.NEGATIVE_INFINITY;
+		int   lSize     = 0;
+		for(int i = 0; i < pVertexCount; i++) {
+			if(pPreviousVertex[i] != RingGrid.NULL) {
+				lMinimumX = Math.min(lMinimumX, pCoordinates[(i << 1)]);
+				lMinimumY = Math.min(lMinimumY, pCoordinates[(i << 1) + 1]);
+				lMaximumX = Math.max(lMaximumX, pCoordinates[(i << 1)]);
+				lMaximumY = Math.max(lMaximumY, pCoordinates[(i << 1) + 1]);
+				lSize++;
+			}
+		}
+		final float lWidth  = lMaximumX - lMinimumX;
+		final float lHeight = lMaximumY - lMinimumY;
+		/* Size the grid for a handful of edges per cell, following the aspect ratio of the polygon. Bounds which aren't finite collapse the grid onto a single cell. */
+		if(lWidth >= 0 && lHeight >= 0 && lWidth < Float.POSITIVE_INFINITY && lHeight < Float.POSITIVE_INFINITY) {
+			final int   lCells      = Math.max(lSize / RingGrid.DEFAULT_LOAD, 1);
+			final float lAspect     = lHeight > 0 ? lWidth / lHeight : lCells;
+			this.mColumns           = (int)Math.min(Math.max(Math.sqrt(lCells * (double)lAspect), 1), lCells);
+			this.mRows              = Math.max(lCells / this.mColumns, 1);
+			this.mMinimumX          = lMinimumX;
+			this.mMinimumY          = lMinimumY;
+			this.mInverseCellWidth  = lWidth  > 0 ? this.mColumns / lWidth  : 0;
+			this.mInverseCellHeight = lHeight > 0 ? this.mRows    / lHeight : 0;
+		}
+		else {
+			this.mColumns           = 1;
+			this.mRows              = 1;
+			this.mMinimumX          = 0;
+			this.mMinimumY          = 0;
+			this.mInverseCellWidth  = 0;
+			this.mInverseCellHeight = 0;
+		}
+		if(this.mCellHeads.length < this.mColumns * this.mRows) {
+			this.mCellHeads = new int[this.mColumns * this.mRows];
+		}
+		Arrays.fill(this.mCellHeads, 0, this.mColumns * this.mRows, RingGrid.NULL);
+		this.mEntryCount = 0;
+		this.mFreeEntry  = RingGrid.NULL;
+		this.ensureCapacity(pVertexCount);
+		Arrays.fill(this.mVertexEntries, RingGrid.NULL);
+		for(int i = 0; i < pVertexCount; i++) {
+			if(pPreviousVertex[i] != RingGrid.NULL) {
+				this.onInsert(pCoordinates, pNextVertex, i);
+			}
+		}
+	}
+
+	/** Indexes the edge from pVertex to the vertex which follows it. **/
+	protected final void onInsert(final float[] pCoordinates, final int[] pNextVertex, final int pVertex) {
+		this.ensureCapacity(pVertex + 1);
+		final int lNextVertex = pNextVertex[pVertex];
+		this.onTrace(pCoordinates[(pVertex << 1)], pCoordinates[(pVertex << 1) + 1], pCoordinates[(lNextVertex << 1)], pCoordinates[(lNextVertex << 1) + 1]);
+		for(int i = 0; i < this.mCellCount; i++) {
+			final int lEntry = this.onAllocateEntry();
+			final int lCell  = this.mCells[i];
+			final int lHead  = this.mCellHeads[lCell];
+			this.mEntryVertices[lEntry] = pVertex;
+			this.mEntryCells[lEntry]    = lCell;
+			this.mEntryNext[lEntry]     = lHead;
+			this.mEntryPrevious[lEntry] = RingGrid.NULL;
+			this.mEntrySiblings[lEntry] = this.mVertexEntries[pVertex];
+			if(lHead != RingGrid.NULL) {
+				this.mEntryPrevious[lHead] = lEntry;
+			}
+			this.mCellHeads[lCell]         = lEntry;
+			this.mVertexEntries[pVertex]   = lEntry;
+		}
+	}
+
+	/** Removes the edge beginning at pVertex from each of the cells it was bucketed into. **/
+	protected final void onRemove(final int pVertex) {
+		if(pVertex >= this.mVertexEntries.length) {
+			return;
+		}
+		int lEntry = this.mVertexEntries[pVertex];
+		while(lEntry != RingGrid.NULL) {
+			final int lNext     = this.mEntryNext[lEntry];
+			final int lPrevious = this.mEntryPrevious[lEntry];
+			final int lSibling  = this.mEntrySiblings[lEntry];
+			if(lPrevious == RingGrid.NULL) {
+				this.mCellHeads[this.mEntryCells[lEntry]] = lNext;
+			}
+			else {
+				this.mEntryNext[lPrevious] = lNext;
+			}
+			if(lNext != RingGrid.NULL) {
+				this.mEntryPrevious[lNext] = lPrevious;
+			}
+			this.mEntryNext[lEntry] = this.mFreeEntry;
+			this.mFreeEntry         = lEntry;
+			lEntry                  = lSibling;
+		}
+		this.mVertexEntries[pVertex] = RingGrid.NULL;
+	}
+
+	/** Collects into mCells each cell through which the segment from (pAx, pAy) to (pBx, pBy) passes. Within each row the segment spans, only the columns covering its span across that row are taken. A segment lying along a row, or with an end beyond the grid, takes every cell of its clamped bounding box instead, which contains the clamped cell of any point along it. **/
+	protected final void onTrace(final float pAx, final float pAy, final float pBx, final float pBy) {
+		this.mCellCount = 0;
+		/* Work in units of cells. */
+		final double lAx = (pAx - (double)this.mMinimumX) * this.mInverseCellWidth;
+		final double lAy = (pAy - (double)this.mMinimumY) * this.mInverseCellHeight;
+		final double lBx = (pBx - (double)this.mMinimumX) * this.mInverseCellWidth;
+		final double lBy = (pBy - (double)this.mMinimumY) * this.mInverseCellHeight;
+		if(!(Math.min(lAx, lBx) >= 0 && Math.max(lAx, lBx) <= this.mColumns && Math.min(lAy, lBy) >= 0 && Math.max(lAy, lBy) <= this.mRows) || lAy == lBy) {
+			final int lFirstColumn = this.getColumn(Math.min(pAx, pBx));
+			final int lLastColumn  = this.getColumn(Math.max(pAx, pBx));
+			final int lFirstRow    = this.getRow(Math.min(pAy, pBy));
+			final int lLastRow     = this.getRow(Math.max(pAy, pBy));
+			for(int i = lFirstRow; i <= lLastRow; i++) {
+				for(int j = lFirstColumn; j <= lLastColumn; j++) {
+					this.onAddCell(i * this.mColumns + j);
+				}
+			}
+			return;
+		}
+		final double lMinimumY = Math.min(lAy, lBy);
+		final double lMaximumY = Math.max(lAy, lBy);
+		final double lSlope    = (lBx - lAx) / (lBy - lAy);
+		final int    lLastRow  = Math.min((int)Math.floor(lMaximumY + RingGrid.DEFAULT_MARGIN), this.mRows - 1);
+		for(int i = Math.max((int)Math.floor(lMinimumY - RingGrid.DEFAULT_MARGIN), 0); i <= lLastRow; i++) {
+			/* Find where the segment enters and leaves the row, widened by the margin. */
+			final double lX0          = lAx + (Math.max(i - RingGrid.DEFAULT_MARGIN,     lMinimumY) - lAy) * lSlope;
+			final double lX1          = lAx + (Math.min(i + 1 + RingGrid.DEFAULT_MARGIN, lMaximumY) - lAy) * lSlope;
+			final int    lFirstColumn = Math.max((int)Math.floor(Math.min(lX0, lX1) - RingGrid.DEFAULT_MARGIN), 0);
+			final int    lLastColumn  = Math.min((int)Math.floor(Math.max(lX0, lX1) + RingGrid.DEFAULT_MARGIN), this.mColumns - 1);
+			for(int j = lFirstColumn; j <= lLastColumn; j++) {
+				this.onAddCell(i * this.mColumns + j);
+			}
+		}
+	}
+
+	private final void onAddCell(final int pCell) {
+		if(this.mCellCount == this.mCells.length) {
+			this.mCells = Arrays.copyOf(this.mCells, this.mCellCount << 1);
+		}
+		this.mCells[this.mCellCount++] = pCell;
+	}
+
+	/** Returns an unused entry, preferring one released by an earlier removal. **/
+	private final int onAllocateEntry() {
+		if(this.mFreeEntry != RingGrid.NULL) {
+			final int lEntry = this.mFreeEntry;
+			this.mFreeEntry  = this.mEntryNext[lEntry];
+			return lEntry;
+		}
+		if(this.mEntryCount == this.mEntryVertices.length) {
+			final int lCapacity = this.mEntryCount << 1;
+			this.mEntryVertices = Arrays.copyOf(this.mEntryVertices, lCapacity);
+			this.mEntryCells    = Arrays.copyOf(this.mEntryCells,    lCapacity);
+			this.mEntryNext     = Arrays.copyOf(this.mEntryNext,     lCapacity);
+			this.mEntryPrevious = Arrays.copyOf(this.mEntryPrevious, lCapacity);
+			this.mEntrySiblings = Arrays.copyOf(this.mEntrySiblings, lCapacity);
+		}
+		return this.mEntryCount++;
+	}
+
+	/** Ensures that the edges beginning at the first pCapacity vertices may be indexed. **/
+	private final void ensureCapacity(final int pCapacity) {
+		if(pCapacity > this.mStamps.length) {
+			final int lCapacity = Math.max(pCapacity, this.mStamps.length << 1);
+			final int lLength   = this.mVertexEntries.length;
+			this.mVertexEntries = Arrays.copyOf(this.mVertexEntries, lCapacity);
+			this.mStamps        = Arrays.copyOf(this.mStamps, lCapacity);
+			Arrays.fill(this.mVertexEntries, lLength, lCapacity, RingGrid.NULL);
+		}
+	}
+
+	/** Returns a fresh stamp, which no edge yet carries. Since an edge may occupy several cells, queries stamp the edges they've visited. **/
+	protected final int onStamp() {
+		if(++this.mStamp == Integer.MAX_VALUE) {
+			Arrays.fill(this.mStamps, 0);
+			this.mStamp = 1;
+		}
+		return this.mStamp;
+	}
+
+	/** Returns the column containing pX. The mapping is monotonic, so a range of X maps onto a contiguous range of columns. **/
+	protected final int getColumn(final float pX) {
+		return Math.min(Math.max((int)((pX - this.mMinimumX) * this.mInverseCellWidth), 0), this.mColumns - 1);
+	}
+
+	protected final int getRow(final float pY) {
+		return Math.min(Math.max((int)((pY - this.mMinimumY) * this.mInverseCellHeight), 0), this.mRows - 1);
+	}
+
+}
@@ -0,0 +1,315 @@
+package com.earcutj;
+
+import java.util.Arrays;
+
+/** Simplifies the rings of a polygon before triangulation by Visvalingam-Whyatt elimination: the vertex forming the smallest triangle with its neighbours is removed, repeatedly, until every remaining triangle is at least the tolerance. A vertex is only removed if no other vertex of any ring lies within or upon its triangle, so that the shortcut between its neighbours can't cross another edge; rings therefore stay simple, holes stay inside the outer ring and no ring is reduced below a triangle. Candidates are held in an indexed min-heap, and vertices are bucketed into a uniform grid so that the emptiness test only visits those near the triangle. Removed nodes are left in place and recognised lazily: a removed node is no longer the successor of its predecessor. **/
+final class RingSimplifier {
+
+	/* Default Declarations. */
+	protected static final int NULL              = NodePool.NULL;
+	protected static final int DEFAULT_CAPACITY  = 16;
+	private   static final int DEFAULT_CELL_SPAN = 2;
+	private   static final int DEFAULT_CELL_LOAD = 4;
+
+	/* Member Variables. */
+	float   mMinimumX;
+	float   mMinimumY;
+	float   mInverseCellWidth;
+	float   mInverseCellHeight;
+	int     mColumns;
+	int     mRows;
+	int[]   mCellHeads;
+	int[]   mCellNext;
+	int[]   mRings;
+	int[]   mRingSizes;
+	int[]   mHeap;
+	int     mHeapSize;
+	int[]   mPositions;
+	float[] mAreas;
+
+	protected RingSimplifier(final int pCapacity) {
+		/* Initialize Member Variables. */
+		final int lCapacity = Math.max(pCapacity, RingSimplifier.DEFAULT_CAPACITY);
+		this.mCellHeads     = new int[0];
+		this.mCellNext      = new int[lCapacity];
+		this.mRings         = new int[lCapacity];
+		this.mRingSizes     = new int[0];
+		this.mHeap          = new int[lCapacity];
+		this.mHeapSize      = 0;
+		this.mPositions     = new int[lCapacity];
+		this.mAreas         = new float[lCapacity];
+	}
+
+	/** Simplifies the outer ring containing pOuterNode and the holes containing each of the first pHoleCount nodes of pHoleNodes, removing vertices whose triangle with their neighbours has less than pTolerance squared of area. Each hole entry is replaced with a node which survives. Returns the number of vertices removed, or 0 if the bounds of the rings aren't finite and nothing was attempted. **/
+	protected final int onSimplify(final NodePool pPool, final int pOuterNode, final int[] pHoleNodes, final int pHoleCount, final float pTolerance) {
+		final float[] lX    = pPool.mX;
+		final float[] lY    = pPool.mY;
+		final int[]   lPrev = pPool.mPreviousNode;
+		final int[]   lNext = pPool.mNextNode;
+		this.onEnsureNodeCapacity(pPool.mSize);
+		if(this.mRingSizes.length < pHoleCount + 1) {
+			this.mRingSizes = new int[pHoleCount + 1];
+		}
+		/* Label each node with its ring, and measure the bounds of every ring. */
+		float lMinimumX = Float.POSITIVE_INFINITY;
+		float lMinimumY = Float.POSITIVE_INFINITY;
+		float lMaximumX = Float.NEGATIVE_INFINITY;
+		float lMaximumY = Float.NEGATIVE_INFINITY;
+		int   lCount    = 0;
+		double lPerimeter = 0;
+		for(int i = 0; i <= pHoleCount; i++) {
+			final int lStart = i == 0 ? pOuterNode : pHoleNodes[i - 1];
+			int lNode = lStart;
+			int lSize = 0;
+			do {
+				this.mRings[lNode] = i;
+				lMinimumX = Math.min(lMinimumX, lX[lNode]);
+				lMinimumY = Math.min(lMinimumY, lY[lNode]);
+				lMaximumX = Math.max(lMaximumX, lX[lNode]);
+				lMaximumY = Math.max(lMaximumY, lY[lNode]);
+				lPerimeter += Math.abs(lX[lNext[lNode]] - lX[lNode]) + Math.abs(lY[lNext[lNode]] - lY[lNode]);
+				lSize++;
+				lNode = lNext[lNode];
+			} while(lNode != lStart);
+			this.mRingSizes[i] = lSize;
+			lCount += lSize;
+		}
+		final float lWidth  = lMaximumX - lMinimumX;
+		final float lHeight = lMaximumY - lMinimumY;
+		if(!(lWidth >= 0 && lHeight >= 0 && lWidth < Float.POSITIVE_INFINITY && lHeight < Float.POSITIVE_INFINITY)) {
+			return 0;
+		}
+		/* Nodes lie along outlines rather than filling the bounds, so size the cells to span a couple of the average edge, up to a limit on their number. */
+		final double lSpan      = Math.max(lPerimeter / lCount * RingSimplifier.DEFAULT_CELL_SPAN, Math.sqrt((double)lWidth * lHeight / Math.max(lCount * RingSimplifier.DEFAULT_CELL_LOAD, 1)));
+		this.mColumns           = lSpan > 0 ? (int)Math.min(Math.max(lWidth  / lSpan, 1), lCount) : 1;
+		this.mRows              = lSpan > 0 ? (int)Math.min(Math.max(lHeight / lSpan, 1), lCount) : 1;
+		this.mMinimumX          = lMinimumX;
+		this.mMinimumY          = lMinimumY;
+		this.mInverseCellWidth  = lWidth  > 0 ? this.mColumns / lWidth  : 0;
+		this.mInverseCellHeight = lHeight > 0 ? this.mRows    / lHeight : 0;
+		if(this.mCellHeads.length < this.mColumns * this.mRows) {
+			this.mCellHeads = new int[this.mColumns * this.mRows];
+		}
+		Arrays.fill(this.mCellHeads, 0, this.mColumns * this.mRows, RingSimplifier.NULL);
+		/* Bucket every node, and queue those whose triangle falls below the tolerance. */
+		final float lThreshold = pTolerance * pTolerance;
+		this.mHeapSize = 0;
+		for(int i = 0; i <= pHoleCount; i++) {
+			final int lStart = i == 0 ? pOuterNode : pHoleNodes[i - 1];
+			int lNode = lStart;
+			do {
+				final int lCell = this.getRow(lY[lNode]) * this.mColumns + this.getColumn(lX[lNode]);
+				this.mCellNext[lNode]  = this.mCellHeads[lCell];
+				this.mCellHeads[lCell] = lNode;
+				this.mPositions[lNode] = RingSimplifier.NULL;
+				final float lArea = RingSimplifier.getArea(pPool, lNode);
+				if(lArea < lThreshold) {
+					this.mAreas[lNode]           = lArea;
+					this.mPositions[lNode]       = this.mHeapSize;
+					this.mHeap[this.mHeapSize++] = lNode;
+				}
+				lNode = lNext[lNode];
+			} while(lNode != lStart);
+		}
+		/* Order the queue in a single pass, rather than sifting up each node as it's added. */
+		for(int i = (this.mHeapSize >> 1) - 1; i >= 0; i--) {
+			this.onSiftDown(i);
+		}
+		/* Eliminate the smallest triangles first. A node which can't be removed leaves the heap; it's reconsidered if either of its neighbours is removed. */
+		int lRemoved = 0;
+		while(this.mHeapSize > 0) {
+			final int lNode = this.onPoll();
+			final int lA    = lPrev[lNode];
+			final int lC    = lNext[lNode];
+			if(this.mRingSizes[this.mRings[lNode]] <= 3 || !this.isEmpty(pPool, lA, lNode, lC)) {
+				continue;
+			}
+			lNext[lA] = lC;
+			lPrev[lC] = lA;
+			this.mRingSizes[this.mRings[lNode]]--;
+			lRemoved++;
+			this.onUpdate(pPool, lA, lThreshold);
+			this.onUpdate(pPool, lC, lThreshold);
+		}
+		/* Replace any hole entry which was removed. */
+		for(int i = 0; i < pHoleCount; i++) {
+			pHoleNodes[i] = RingSimplifier.getLiveNode(pPool, pHoleNodes[i]);
+		}
+		return lRemoved;
+	}
+
+	/** Returns pNode if it's still linked into its ring, otherwise the first successor which is. Nodes removed by simplification keep their own links, so a chain of them always leads back into the ring. **/
+	protected static final int getLiveNode(final NodePool pPool, final int pNode) {
+		final int[] lPrev = pPool.mPreviousNode;
+		final int[] lNext = pPool.mNextNode;
+		int lNode = pNode;
+		while(lNext[lPrev[lNode]] != lNode) {
+			lNode = lNext[lNode];
+		}
+		return lNode;
+	}
+
+	/** Recomputes the triangle of pNode and its neighbours, queueing the node if the triangle falls below pThreshold and dequeueing it otherwise. **/
+	private final void onUpdate(final NodePool pPool, final int pNode, final float pThreshold) {
+		final float lArea     = RingSimplifier.getArea(pPool, pNode);
+		final int   lPosition = this.mPositions[pNode];
+		if(lArea < pThreshold) {
+			this.mAreas[pNode] = lArea;
+			if(lPosition == RingSimplifier.NULL) {
+				this.mHeap[this.mHeapSize]  = pNode;
+				this.mPositions[pNode]      = this.mHeapSize;
+				this.onSiftUp(this.mHeapSize++);
+			}
+			else {
+				this.onSiftUp(lPosition);
+				this.onSiftDown(this.mPositions[pNode]);
+			}
+		}
+		else if(lPosition != RingSimplifier.NULL) {
+			this.onRemoveAt(lPosition);
+		}
+	}
+
+	/** Returns the area of the triangle formed by pNode and its neighbours. **/
+	private static final float getArea(final NodePool pPool, final int pNode) {
+		final float[] lX = pPool.mX;
+		final float[] lY = pPool.mY;
+		final int     lA = pPool.mPreviousNode[pNode];
+		final int     lC = pPool.mNextNode[pNode];
+		return (float)Math.abs(((double)lX[pNode] - lX[lA]) * ((double)lY[lC] - lY[lA]) - ((double)lY[pNode] - lY[lA]) * ((double)lX[lC] - lX[lA])) * 0.5f;
+	}
+
+	/** Returns whether no live node other than the corners lies within or upon the triangle pA, pB, pC. **/
+	private final boolean isEmpty(final NodePool pPool, final int pA, final int pB, final int pC) {
+		final float[] lX    = pPool.mX;
+		final float[] lY    = pPool.mY;
+		final int[]   lPrev = pPool.mPreviousNode;
+		final int[]   lNext = pPool.mNextNode;
+		final double  lAX   = lX[pA];
+		final double  lAY   = lY[pA];
+		final double  lBX   = lX[pB];
+		final double  lBY   = lY[pB];
+		final double  lCX   = lX[pC];
+		final double  lCY   = lY[pC];
+		/* Orient the triangle anticlockwise, so that inside means to the left of each edge. */
+		final boolean lIsClockwise = (lBX - lAX) * (lCY - lAY) - (lBY - lAY) * (lCX - lAX) < 0;
+		final int lFirstColumn = this.getColumn((float)Math.min(lAX, Math.min(lBX, lCX)));
+		final int lLastColumn  = this.getColumn((float)Math.max(lAX, Math.max(lBX, lCX)));
+		final int lFirstRow    = this.getRow((float)Math.min(lAY, Math.min(lBY, lCY)));
+		final int lLastRow     = this.getRow((float)Math.max(lAY, Math.max(lBY, lCY)));
+		for(int lRow = lFirstRow; lRow <= lLastRow; lRow++) {
+			for(int lColumn = lFirstColumn; lColumn <= lLastColumn; lColumn++) {
+				int lNode = this.mCellHeads[lRow * this.mColumns + lColumn];
+				while(lNode != RingSimplifier.NULL) {
+					if(lNode != pA && lNode != pB && lNode != pC && lNext[lPrev[lNode]] == lNode) {
+						final double lPX = lX[lNode];
+						final double lPY = lY[lNode];
+						final double lAB = (lBX - lAX) * (lPY - lAY) - (lBY - lAY) * (lPX - lAX);
+						final double lBC = (lCX - lBX) * (lPY - lBY) - (lCY - lBY) * (lPX - lBX);
+						final double lCA = (lAX - lCX) * (lPY - lCY) - (lAY - lCY) * (lPX - lCX);
+						if(lIsClockwise ? (lAB <= 0 && lBC <= 0 && lCA <= 0) : (lAB >= 0 && lBC >= 0 && lCA >= 0)) {
+							return false;
+						}
+					}
+					lNode = this.mCellNext[lNode];
+				}
+			}
+		}
+		return true;
+	}
+
+	/** Removes and returns the node with the smallest triangle. **/
+	private final int onPoll() {
+		final int lNode = this.mHeap[0];
+		this.onRemoveAt(0);
+		return lNode;
+	}
+
+	private final void onRemoveAt(final int pPosition) {
+		final int lNode = this.mHeap[pPosition];
+		final int lLast = this.mHeap[--this.mHeapSize];
+		this.mPositions[lNode] = RingSimplifier.NULL;
+		if(pPosition < this.mHeapSize) {
+			this.mHeap[pPosition]  = lLast;
+			this.mPositions[lLast] = pPosition;
+			this.onSiftUp(pPosition);
+			this.onSiftDown(this.mPositions[lLast]);
+		}
+	}
+
+	private final void onSiftUp(int pPosition) {
+		final int   lNode = this.mHeap[pPosition];
+		final float lArea = this.mAreas[lNode];
+		while(pPosition > 0) {
+			final int lParent = (pPosition - 1) >> 1;
+			final int lOther  = this.mHeap[lParent];
+			if(this.mAreas[lOther] <= lArea) {
+				break;
+			}
+			this.mHeap[pPosition]  = lOther;
+			this.mPositions[lOther] = pPosition;
+			pPosition = lParent;
+		}
+		this.mHeap[pPosition]  = lNode;
+		this.mPositions[lNode] = pPosition;
+	}
+
+	private final void onSiftDown(int pPosition) {
+		final int   lNode = this.mHeap[pPosition];
+		final float lArea = this.mAreas[lNode];
+		while(true) {
+			int lChild = (pPosition << 1) + 1;
+			if(lChild >= this.mHeapSize) {
+				break;
+			}
+			if(lChild + 1 < this.mHeapSize && this.mAreas[this.mHeap[lChild + 1]] < this.mAreas[this.mHeap[lChild]]) {
+				lChild++;
+			}
+			final int lOther = this.mHeap[lChild];
+			if(this.mAreas[lOther] >= lArea) {
+				break;
+			}
+			this.mHeap[pPosition]   = lOther;
+			this.mPositions[lOther] = pPosition;
+			pPosition = lChild;
+		}
+		this.mHeap[pPosition]  = lNode;
+		this.mPositions[lNode] = pPosition;
+	}
+
+	protected final int getColumn(final float pX) {
+		return Math.min(Math.max((int)((pX - this.mMinimumX) * this.mInverseCellWidth), 0), this.mColumns - 1);
+	}
+
+	protected final int getRow(final float pY) {
+		return Math.min(Math.max((int)((pY - this.mMinimumY) * this.mInverseCellHeight), 0), this.mRows - 1);
+	}
+
+	/** Ensures the per-node arrays can address pCapacity nodes. **/
+	private final void onEnsureNodeCapacity(final int pCapacity) {
+		if(pCapacity > this.mCellNext.length) {
+			final int lCapacity = Math.max(pCapacity, this.mCellNext.length << 1);
+			this.mCellNext  = Arrays.copyOf(this.mCellNext,  lCapacity);
+			this.mRings     = Arrays.copyOf(this.mRings,     lCapacity);
+			this.mHeap      = Arrays.copyOf(this.mHeap,      lCapacity);
+			this.mPositions = Arrays.copyOf(this.mPositions, lCapacity);
+			this.mAreas     = Arrays.copyOf(this.mAreas,     lCapacity);
+		}
+	}
+
+	/** Releases any array which has grown beyond pCapacity. **/
+	protected final void trim(final int pCapacity) {
+		final int lCapacity = Math.max(pCapacity, RingSimplifier.DEFAULT_CAPACITY);
+		this.mCellHeads = new int[0];
+		this.mRingSizes = new int[0];
+		if(this.mCellNext.length > lCapacity) {
+			this.mCellNext  = new int[lCapacity];
+			this.mRings     = new int[lCapacity];
+			this.mHeap      = new int[lCapacity];
+			this.mPositions = new int[lCapacity];
+			this.mAreas     = new float[lCapacity];
+		}
+		this.mHeapSize = 0;
+	}
+
+}
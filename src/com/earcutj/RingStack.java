@@ -0,0 +1,52 @@
+package com.earcutj;
+
+import java.util.Arrays;
+
+/** A growable stack of ring handles awaiting triangulation. Used in place of recursion when a polygon is split in two, so that stack depth is independent of polygon shape. **/
+final class RingStack {
+
+	/* Default Declarations. */
+	protected static final int DEFAULT_CAPACITY = 16;
+
+	/* Member Variables. */
+	private int[] mRings;
+	private int   mSize;
+
+	protected RingStack(final int pCapacity) {
+		/* Initialize Member Variables. */
+		this.mRings = new int[Math.max(pCapacity, RingStack.DEFAULT_CAPACITY)];
+		this.mSize  = 0;
+	}
+
+	/** Pushes a ring, identified by any one of its nodes. **/
+	protected final void push(final int pRing) {
+		/* Grow the backing array once it's been exhausted. */
+		if(this.mSize == this.mRings.length) {
+			this.mRings = Arrays.copyOf(this.mRings, this.mSize << 1);
+		}
+		this.mRings[this.mSize++] = pRing;
+	}
+
+	/** Removes and returns the most recently pushed ring. **/
+	protected final int pop() {
+		return this.mRings[--this.mSize];
+	}
+
+	protected final boolean isEmpty() {
+		return this.mSize == 0;
+	}
+
+	/** Discards every ring, retaining the backing array for reuse. **/
+	protected final void clear() {
+		this.mSize = 0;
+	}
+
+	/** Releases the backing array if it has grown beyond pCapacity. **/
+	protected final void trim(final int pCapacity) {
+		final int lCapacity = Math.max(Math.max(pCapacity, RingStack.DEFAULT_CAPACITY), this.mSize);
+		if(this.mRings.length > lCapacity) {
+			this.mRings = Arrays.copyOf(this.mRings, lCapacity);
+		}
+	}
+
+}
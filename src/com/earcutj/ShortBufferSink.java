@@ -0,0 +1,25 @@
+package com.earcutj;
+
+import java.nio.ShortBuffer;
+
+/** A TriangleSink which writes vertex indices as unsigned shorts, at the current position of a ShortBuffer. **/
+final class ShortBufferSink implements TriangleSink {
+
+	/* Member Variables. */
+	private ShortBuffer mShortBuffer;
+
+	protected ShortBufferSink() {
+		/* Initialize Member Variables. */
+		this.mShortBuffer = null;
+	}
+
+	protected final void setShortBuffer(final ShortBuffer pShortBuffer) {
+		this.mShortBuffer = pShortBuffer;
+	}
+
+	@Override
+	public final void onTriangle(final int pA, final int pB, final int pC) {
+		this.mShortBuffer.put((short)pA).put((short)pB).put((short)pC);
+	}
+
+}
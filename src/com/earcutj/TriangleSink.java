@@ -0,0 +1,8 @@
+package com.earcutj;
+
+/** Receives each triangle as it is cut from a polygon. Vertices are identified by their index in the source co-ordinate array, and arrive in the winding order of the triangulated ring. **/
+public interface TriangleSink {
+
+	public abstract void onTriangle(final int pA, final int pB, final int pC);
+
+}
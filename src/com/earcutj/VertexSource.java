@@ -0,0 +1,153 @@
+package com.earcutj;
+
+import java.nio.FloatBuffer;
+
+import com.earcutj.exception.EarcutException;
+
+/** Reads the x and y co-ordinates of each input vertex, so that rings are linked the same way whatever form the co-ordinates arrive in. Vertices are addressed by their index within the input. Only the winding sum, which decides the order in which a ring is linked, differs between exact and inexact sources. **/
+abstract class VertexSource {
+
+	/** Returns the x co-ordinate of the vertex at pIndex, as held by the NodePool. **/
+	protected abstract float getX(final int pIndex);
+
+	/** Returns the y co-ordinate of the vertex at pIndex, as held by the NodePool. **/
+	protected abstract float getY(final int pIndex);
+
+	/** Returns whether every co-ordinate is held exactly, which selects the long arithmetic predicates. **/
+	protected boolean isExact() {
+		return false;
+	}
+
+	/** Returns twice the signed area of the ring spanning the vertices pStart to pEnd (exclusive), positive when the ring is clockwise. Each term is calculated in float precision and accumulated in double precision. **/
+	protected double getWindingSum(final int pStart, final int pEnd) {
+		double lWindingSum = 0;
+		for(int i = pStart, j = pEnd - 1; i < pEnd; j = i++) {
+			lWindingSum += (this.getX(j) - this.getX(i)) * (this.getY(i) + this.getY(j));
+		}
+		return lWindingSum;
+	}
+
+	/** Reads a flat array of float co-ordinates. **/
+	static final class FloatArray extends VertexSource {
+
+		/* Member Variables. */
+		private final float[] mCoordinates;
+		private final int     mDimensions;
+
+		protected FloatArray(final float[] pCoordinates, final int pDimensions) {
+			/* Initialize Member Variables. */
+			this.mCoordinates = pCoordinates;
+			this.mDimensions  = pDimensions;
+		}
+
+		@Override
+		protected final float getX(final int pIndex) {
+			return this.mCoordinates[pIndex * this.mDimensions];
+		}
+
+		@Override
+		protected final float getY(final int pIndex) {
+			return this.mCoordinates[pIndex * this.mDimensions + 1];
+		}
+
+	}
+
+	/** Reads a flat array of double precision co-ordinates, rounding each to the nearest float. **/
+	static final class DoubleArray extends VertexSource {
+
+		/* Member Variables. */
+		private final double[] mCoordinates;
+		private final int      mDimensions;
+
+		protected DoubleArray(final double[] pCoordinates, final int pDimensions) {
+			/* Initialize Member Variables. */
+			this.mCoordinates = pCoordinates;
+			this.mDimensions  = pDimensions;
+		}
+
+		@Override
+		protected final float getX(final int pIndex) {
+			return (float)this.mCoordinates[pIndex * this.mDimensions];
+		}
+
+		@Override
+		protected final float getY(final int pIndex) {
+			return (float)this.mCoordinates[pIndex * this.mDimensions + 1];
+		}
+
+	}
+
+	/** Reads a flat array of integer co-ordinates. Each must be exactly representable as a float, so that the winding sum, and every later predicate, may be calculated exactly. **/
+	static final class IntArray extends VertexSource {
+
+		/* Member Variables. */
+		private final int[] mCoordinates;
+		private final int   mDimensions;
+
+		protected IntArray(final int[] pCoordinates, final int pDimensions) {
+			/* Initialize Member Variables. */
+			this.mCoordinates = pCoordinates;
+			this.mDimensions  = pDimensions;
+		}
+
+		@Override
+		protected final float getX(final int pIndex) {
+			return this.mCoordinates[pIndex * this.mDimensions];
+		}
+
+		@Override
+		protected final float getY(final int pIndex) {
+			return this.mCoordinates[pIndex * this.mDimensions + 1];
+		}
+
+		@Override
+		protected final boolean isExact() {
+			return true;
+		}
+
+		/** Accumulates the winding sum in long arithmetic, ensuring each vertex can be held exactly. **/
+		@Override
+		protected final double getWindingSum(final int pStart, final int pEnd) {
+			final int[] lCoordinates = this.mCoordinates;
+			final int   lDimensions  = this.mDimensions;
+			long lWindingSum = 0;
+			for(int i = pStart * lDimensions, j = (pEnd - 1) * lDimensions; i < pEnd * lDimensions; j = i, i += lDimensions) {
+				if(Math.abs((long)lCoordinates[i]) > Earcut.MAXIMUM_EXACT_COORDINATE || Math.abs((long)lCoordinates[i + 1]) > Earcut.MAXIMUM_EXACT_COORDINATE) {
+					throw new EarcutException("Integer co-ordinates must lie within +/-" + Earcut.MAXIMUM_EXACT_COORDINATE + "!");
+				}
+				lWindingSum += ((long)lCoordinates[j] - lCoordinates[i]) * ((long)lCoordinates[i + 1] + lCoordinates[j + 1]);
+			}
+			/* The sign is all that's needed, and survives the conversion. */
+			return lWindingSum;
+		}
+
+	}
+
+	/** Reads vertex co-ordinates from a FloatBuffer, where vertex i has its x and y co-ordinates at absolute positions pOffset + i * pStride and the element after it. Absolute gets leave the buffer's position untouched. **/
+	static final class Buffer extends VertexSource {
+
+		/* Member Variables. */
+		private final FloatBuffer mCoordinates;
+		private final int         mOffset;
+		private final int         mStride;
+
+		protected Buffer(final FloatBuffer pCoordinates, final int pOffset, final int pStride) {
+			/* Initialize Member Variables. */
+			this.mCoordinates = pCoordinates;
+			this.mOffset      = pOffset;
+			this.mStride      = pStride;
+		}
+
+		@Override
+		protected final float getX(final int pIndex) {
+			return this.mCoordinates.get(this.mOffset + pIndex * this.mStride);
+		}
+
+		@Override
+		protected final float getY(final int pIndex) {
+			return this.mCoordinates.get(this.mOffset + pIndex * this.mStride + 1);
+		}
+
+	}
+
+}
@@ -0,0 +1,103 @@
+package com.earcutj;
+
+import java.util.Arrays;
+
+/** Parallel arrays of node handles and their z-order codes, sorted by a stable least-significant-digit radix sort. Each of the four byte-wide digits takes a single counting pass; a digit which every code shares is skipped. **/
+final class ZOrderBuffer {
+
+	/* Default Declarations. */
+	protected static final int DEFAULT_CAPACITY = 16;
+	private   static final int RADIX_BITS       = 8;
+	private   static final int RADIX            = 1 << ZOrderBuffer.RADIX_BITS;
+	private   static final int RADIX_PASSES     = Integer.SIZE / ZOrderBuffer.RADIX_BITS;
+
+	/* Member Variables. */
+	int[]         mNodes;
+	int[]         mKeys;
+	private int[] mScratchNodes;
+	private int[] mScratchKeys;
+	private final int[] mCounts;
+
+	protected ZOrderBuffer(final int pCapacity) {
+		/* Initialize Member Variables. */
+		final int lCapacity = Math.max(pCapacity, ZOrderBuffer.DEFAULT_CAPACITY);
+		this.mNodes         = new int[lCapacity];
+		this.mKeys          = new int[lCapacity];
+		this.mScratchNodes  = new int[lCapacity];
+		this.mScratchKeys   = new int[lCapacity];
+		this.mCounts        = new int[ZOrderBuffer.RADIX * ZOrderBuffer.RADIX_PASSES];
+	}
+
+	/** Ensures that at least pCapacity nodes may be sorted without growing the backing arrays. **/
+	protected final void ensureCapacity(final int pCapacity) {
+		if(pCapacity > this.mNodes.length) {
+			final int lCapacity = Math.max(pCapacity, this.mNodes.length << 1);
+			this.mNodes        = new int[lCapacity];
+			this.mKeys         = new int[lCapacity];
+			this.mScratchNodes = new int[lCapacity];
+			this.mScratchKeys  = new int[lCapacity];
+		}
+	}
+
+	/** Sorts the first pSize nodes by increasing key, keeping nodes of equal key in their original order. Keys are compared as signed integers. **/
+	protected final void onSort(final int pSize) {
+		final int[] lCounts = this.mCounts;
+		Arrays.fill(lCounts, 0);
+		/* Build the histogram of every digit in a single pass. Flipping the sign bit orders signed keys as unsigned digits. */
+		for(int i = 0; i < pSize; i++) {
+			final int lKey = this.mKeys[i] ^ Integer.MIN_VALUE;
+			for(int j = 0; j < ZOrderBuffer.RADIX_PASSES; j++) {
+				lCounts[(j << ZOrderBuffer.RADIX_BITS) + ((lKey >>> (j * ZOrderBuffer.RADIX_BITS)) & (ZOrderBuffer.RADIX - 1))]++;
+			}
+		}
+		int[] lNodes        = this.mNodes;
+		int[] lKeys         = this.mKeys;
+		int[] lTargetNodes  = this.mScratchNodes;
+		int[] lTargetKeys   = this.mScratchKeys;
+		for(int j = 0; j < ZOrderBuffer.RADIX_PASSES; j++) {
+			final int lBase  = j << ZOrderBuffer.RADIX_BITS;
+			final int lShift = j * ZOrderBuffer.RADIX_BITS;
+			/* Skip a digit which every key shares. */
+			if(lCounts[lBase + (((lKeys[0] ^ Integer.MIN_VALUE) >>> lShift) & (ZOrderBuffer.RADIX - 1))] == pSize) {
+				continue;
+			}
+			/* Convert the counts into starting offsets. */
+			int lOffset = 0;
+			for(int i = 0; i < ZOrderBuffer.RADIX; i++) {
+				final int lCount = lCounts[lBase + i];
+				lCounts[lBase + i] = lOffset;
+				lOffset += lCount;
+			}
+			/* Scatter the nodes in order, which keeps the sort stable. */
+			for(int i = 0; i < pSize; i++) {
+				final int lKey    = lKeys[i];
+				final int lTarget = lCounts[lBase + (((lKey ^ Integer.MIN_VALUE) >>> lShift) & (ZOrderBuffer.RADIX - 1))]++;
+				lTargetNodes[lTarget] = lNodes[i];
+				lTargetKeys[lTarget]  = lKey;
+			}
+			final int[] lSwapNodes = lNodes;
+			final int[] lSwapKeys  = lKeys;
+			lNodes       = lTargetNodes;
+			lKeys        = lTargetKeys;
+			lTargetNodes = lSwapNodes;
+			lTargetKeys  = lSwapKeys;
+		}
+		/* Keep the sorted arrays as the primary buffers. */
+		this.mScratchNodes = lTargetNodes;
+		this.mScratchKeys  = lTargetKeys;
+		this.mNodes        = lNodes;
+		this.mKeys         = lKeys;
+	}
+
+	/** Releases the backing arrays if they have grown beyond pCapacity. **/
+	protected final void trim(final int pCapacity) {
+		final int lCapacity = Math.max(pCapacity, ZOrderBuffer.DEFAULT_CAPACITY);
+		if(this.mNodes.length > lCapacity) {
+			this.mNodes        = new int[lCapacity];
+			this.mKeys         = new int[lCapacity];
+			this.mScratchNodes = new int[lCapacity];
+			this.mScratchKeys  = new int[lCapacity];
+		}
+	}
+
+}
@@ -0,0 +1,58 @@
+package com.earcutj.io;
+
+import java.io.File;
+import java.io.IOException;
+
+import com.earcutj.EarcutContext;
+import com.earcutj.exception.EarcutException;
+
+/** A command-line driver which triangulates every polygon of a PolygonFile into an IndexFile. The PolygonFile is read through sliding memory mappings, the IndexFile is streamed out through a buffer and polygons are triangulated one at a time through a single EarcutContext, so memory use is bounded by the mapping window and the largest polygon rather than by the size of the input.
+ *   Usage: EarcutTool <polygon file> <index file> [window size in MB]
+ * **/
+public final class EarcutTool {
+
+	/* Default Declarations. */
+	private static final int DEFAULT_TRIM_VERTICES = 1 << 20;
+
+	public static final void main(final String[] pArgs) throws IOException {
+		if(pArgs.length < 2 || pArgs.length > 3) {
+			System.err.println("Usage: EarcutTool <polygon file> <index file> [window size in MB]");
+			System.exit(1);
+			return;
+		}
+		final long lWindowSize = pArgs.length == 3 ? Long.parseLong(pArgs[2]) << 20 : PolygonFile.DEFAULT_WINDOW_SIZE;
+		final long lStart      = System.nanoTime();
+		try(final PolygonFile lPolygonFile = new PolygonFile(new File(pArgs[0]), lWindowSize)) {
+			final long lPolygonCount = lPolygonFile.getPolygonCount();
+			long       lFailures     = 0;
+			long       lIndexCount;
+			try(final IndexFileWriter lIndexFileWriter = new IndexFileWriter(new File(pArgs[1]), lPolygonCount)) {
+				final EarcutContext lContext = new EarcutContext();
+				for(long i = 0; i < lPolygonCount; i++) {
+					lIndexFileWriter.onPolygon();
+					try {
+						lPolygonFile.triangulate(lContext, i, lIndexFileWriter);
+					}
+					catch(final EarcutException pEarcutException) {
+						/* The polygon is malformed; it contributes no triangles. */
+						lIndexFileWriter.onAbandonPolygon();
+						lFailures++;
+					}
+					/* Release the buffers grown by an unusually large polygon. */
+					if(lPolygonFile.getVertexCount(i) > EarcutTool.DEFAULT_TRIM_VERTICES) {
+						lContext.trim();
+					}
+				}
+				lIndexCount = lIndexFileWriter.getIndexCount();
+			}
+			System.out.println("Triangulated " + (lPolygonCount - lFailures) + " of " + lPolygonCount + " polygons (" + lPolygonFile.getVertexCount() + " vertices) into " + (lIndexCount / 3) + " triangles in " + ((System.nanoTime() - lStart) / 1000000L) + "ms.");
+			if(lFailures > 0) {
+				System.out.println(lFailures + " polygons could not be processed.");
+			}
+		}
+	}
+
+	/* Prevent instantiation of this class. */
+	private EarcutTool() {}
+
+}
@@ -0,0 +1,228 @@
+package com.earcutj.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import com.earcutj.EarcutContext;
+import com.earcutj.TriangleSink;
+
+/** Reads the polygons of a stream of features one feature at a time, decoding co-ordinates straight into reusable primitive arrays which are handed to an EarcutContext as they stand. No object is created per feature, ring or vertex, and memory is bounded by the largest feature rather than by the size of the input. Features are read from a ByteBuffer, such as a mapping of the file, or through a fixed buffer from an InputStream.
+ * After each successful call to next(), polygon p of the feature is formed of the rings getPolygonOffsets()[p] to getPolygonOffsets()[p + 1] - 1, the first of which is its outer ring, and ring r spans the vertices getRingOffsets()[r] to getRingOffsets()[r + 1] - 1 of getCoordinates(), stored as x, y pairs. Rings of fewer than three distinct vertices are dropped, along with any polygon whose outer ring is dropped, and the closing vertex which repeats the first is omitted. **/
+public abstract class FeatureReader implements Closeable {
+
+	/* Default Declarations. */
+	static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+	static final int DEFAULT_CAPACITY    = 16;
+	static final int MINIMUM_BUFFER_SIZE = 64;
+
+	/* Member Variables. */
+	final         ByteBuffer  mBuffer;
+	private final InputStream mInputStream;
+	private       float[]     mCoordinates;
+	private       int[]       mRingOffsets;
+	private       int[]       mPolygonOffsets;
+	private       int         mVertexCount;
+	private       int         mRingCount;
+	private       int         mPolygonCount;
+	private       boolean     mIsPolygonDropped;
+	private       long        mFeatureCount;
+
+	/** Reads features from the remaining bytes of pByteBuffer. The buffer's own position is left untouched. **/
+	FeatureReader(final ByteBuffer pByteBuffer) {
+		this(pByteBuffer.duplicate(), null);
+	}
+
+	/** Reads features from pInputStream through a buffer of pBufferSize bytes. Closing the reader closes the stream. **/
+	FeatureReader(final InputStream pInputStream, final int pBufferSize) {
+		this(FeatureReader.onAllocateBuffer(pBufferSize), pInputStream);
+	}
+
+	/** Returns an empty buffer of at least pBufferSize bytes, to be filled from the stream. **/
+	private static final ByteBuffer onAllocateBuffer(final int pBufferSize) {
+		final ByteBuffer lBuffer = ByteBuffer.wrap(new byte[Math.max(pBufferSize, FeatureReader.MINIMUM_BUFFER_SIZE)]);
+		lBuffer.limit(0);
+		return lBuffer;
+	}
+
+	private FeatureReader(final ByteBuffer pBuffer, final InputStream pInputStream) {
+		/* Initialize Member Variables. */
+		this.mBuffer           = pBuffer;
+		this.mInputStream      = pInputStream;
+		this.mCoordinates      = new float[FeatureReader.DEFAULT_CAPACITY << 1];
+		this.mRingOffsets      = new int[FeatureReader.DEFAULT_CAPACITY + 1];
+		this.mPolygonOffsets   = new int[FeatureReader.DEFAULT_CAPACITY + 1];
+		this.mFeatureCount     = 0;
+		this.onClear();
+	}
+
+	/** Reads the next feature, returning false once the input is exhausted. A feature without polygons, such as a point or line, is read as a feature of no polygons. **/
+	public abstract boolean next() throws IOException;
+
+	/** Triangulates every polygon of the current feature, passing each triangle to the TriangleSink. Vertex indices are relative to the first vertex of the feature. **/
+	public final void triangulate(final EarcutContext pContext, final TriangleSink pTriangleSink) {
+		for(int i = 0; i < this.mPolygonCount; i++) {
+			this.triangulate(pContext, i, pTriangleSink);
+		}
+	}
+
+	/** Triangulates polygon pPolygon of the current feature, passing each triangle to the TriangleSink. Vertex indices are relative to the first vertex of the feature. **/
+	public final void triangulate(final EarcutContext pContext, final int pPolygon, final TriangleSink pTriangleSink) {
+		pContext.triangulate(this.mCoordinates, this.mRingOffsets, this.mPolygonOffsets[pPolygon], this.mPolygonOffsets[pPolygon + 1], 2, pTriangleSink);
+	}
+
+	/** Returns the x, y co-ordinates of the current feature. Only the first getVertexCount() pairs are valid, and they're overwritten by the next call to next(). **/
+	public final float[] getCoordinates() {
+		return this.mCoordinates;
+	}
+
+	/** Returns the first vertex of each ring of the current feature, terminated by getVertexCount(). **/
+	public final int[] getRingOffsets() {
+		return this.mRingOffsets;
+	}
+
+	/** Returns the first ring of each polygon of the current feature, terminated by getRingCount(). **/
+	public final int[] getPolygonOffsets() {
+		return this.mPolygonOffsets;
+	}
+
+	public final int getVertexCount() {
+		return this.mVertexCount;
+	}
+
+	public final int getRingCount() {
+		return this.mRingCount;
+	}
+
+	public final int getPolygonCount() {
+		return this.mPolygonCount;
+	}
+
+	/** Returns the number of features read so far. **/
+	public final long getFeatureCount() {
+		return this.mFeatureCount;
+	}
+
+	/** Releases the arrays grown by an unusually large feature. The current feature is discarded. **/
+	public final void trim() {
+		this.mCoordinates    = new float[FeatureReader.DEFAULT_CAPACITY << 1];
+		this.mRingOffsets    = new int[FeatureReader.DEFAULT_CAPACITY + 1];
+		this.mPolygonOffsets = new int[FeatureReader.DEFAULT_CAPACITY + 1];
+		this.onClear();
+	}
+
+	@Override
+	public void close() throws IOException {
+		if(this.mInputStream != null) {
+			this.mInputStream.close();
+		}
+	}
+
+	/** Discards the current feature. **/
+	final void onClear() {
+		this.mVertexCount       = 0;
+		this.mRingCount         = 0;
+		this.mPolygonCount      = 0;
+		this.mIsPolygonDropped  = false;
+		this.mRingOffsets[0]    = 0;
+		this.mPolygonOffsets[0] = 0;
+	}
+
+	/** Completes the current feature. **/
+	final void onFeature() {
+		this.mFeatureCount++;
+	}
+
+	final void onAddVertex(final double pX, final double pY) {
+		if(this.mCoordinates.length < (this.mVertexCount + 1) << 1) {
+			this.mCoordinates = Arrays.copyOf(this.mCoordinates, this.mCoordinates.length << 1);
+		}
+		this.mCoordinates[(this.mVertexCount << 1)]     = (float)pX;
+		this.mCoordinates[(this.mVertexCount << 1) + 1] = (float)pY;
+		this.mVertexCount++;
+	}
+
+	/** Completes the ring formed by the vertices added since the last ring. **/
+	final void onCloseRing() {
+		final int lStart = this.mRingOffsets[this.mRingCount];
+		/* Omit the closing vertex. */
+		if(this.mVertexCount - lStart > 1 && this.mCoordinates[(lStart << 1)] == this.mCoordinates[(this.mVertexCount << 1) - 2] && this.mCoordinates[(lStart << 1) + 1] == this.mCoordinates[(this.mVertexCount << 1) - 1]) {
+			this.mVertexCount--;
+		}
+		/* Drop rings which can't enclose an area; a polygon which loses its outer ring loses its holes with it. */
+		if(this.mVertexCount - lStart < 3 || this.mIsPolygonDropped) {
+			this.mIsPolygonDropped |= this.mRingCount == this.mPolygonOffsets[this.mPolygonCount];
+			this.mVertexCount       = lStart;
+			return;
+		}
+		if(this.mRingOffsets.length < this.mRingCount + 2) {
+			this.mRingOffsets = Arrays.copyOf(this.mRingOffsets, this.mRingOffsets.length << 1);
+		}
+		this.mRingOffsets[++this.mRingCount] = this.mVertexCount;
+	}
+
+	/** Completes the polygon formed by the rings closed since the last polygon. **/
+	final void onClosePolygon() {
+		this.mIsPolygonDropped = false;
+		if(this.mRingCount == this.mPolygonOffsets[this.mPolygonCount]) {
+			return;
+		}
+		if(this.mPolygonOffsets.length < this.mPolygonCount + 2) {
+			this.mPolygonOffsets = Arrays.copyOf(this.mPolygonOffsets, this.mPolygonOffsets.length << 1);
+		}
+		this.mPolygonOffsets[++this.mPolygonCount] = this.mRingCount;
+	}
+
+	/** Discards everything added since the feature held pVertexCount vertices, pRingCount rings and pPolygonCount polygons. **/
+	final void onRollback(final int pVertexCount, final int pRingCount, final int pPolygonCount) {
+		this.mVertexCount      = pVertexCount;
+		this.mRingCount        = pRingCount;
+		this.mPolygonCount     = pPolygonCount;
+		this.mIsPolygonDropped = false;
+	}
+
+	/** Ensures that at least pLength bytes remain within the buffer, reading more from the stream as required. Returns false if the input ends first. **/
+	final boolean ensure(final int pLength) throws IOException {
+		if(this.mBuffer.remaining() >= pLength) {
+			return true;
+		}
+		if(this.mInputStream == null) {
+			return false;
+		}
+		this.mBuffer.compact();
+		try {
+			while(this.mBuffer.position() < pLength) {
+				final int lCount = this.mInputStream.read(this.mBuffer.array(), this.mBuffer.arrayOffset() + this.mBuffer.position(), this.mBuffer.remaining());
+				if(lCount < 0) {
+					return false;
+				}
+				this.mBuffer.position(this.mBuffer.position() + lCount);
+			}
+			return true;
+		}
+		finally {
+			this.mBuffer.flip();
+		}
+	}
+
+	/** Ensures that at least pLength bytes remain, failing if the input ends first. **/
+	final void require(final int pLength) throws IOException {
+		if(!this.ensure(pLength)) {
+			throw new IOException("Unexpected end of input after " + this.mFeatureCount + " features!");
+		}
+	}
+
+	/** Skips pLength bytes of input. **/
+	final void onSkip(final long pLength) throws IOException {
+		long lLength = pLength;
+		while(lLength > this.mBuffer.remaining()) {
+			lLength -= this.mBuffer.remaining();
+			this.mBuffer.position(this.mBuffer.limit());
+			this.require(1);
+		}
+		this.mBuffer.position(this.mBuffer.position() + (int)lLength);
+	}
+
+}
@@ -0,0 +1,404 @@
+package com.earcutj.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/** Reads the features of GeoJSON text a byte at a time, without building a tree of the document. The input may be a FeatureCollection, whose features are read one by one without holding the collection, a single Feature or geometry, an array of them, or a sequence of them as in newline-delimited GeoJSON and GeoJSON text sequences. Polygons and MultiPolygons are read, as are the polygons of GeometryCollections, whatever the order of their members; any other geometry is read as a feature of no polygons. Properties and foreign members are skipped without being decoded. The reader is lenient: separators aren't validated. **/
+public final class GeoJsonReader extends FeatureReader {
+
+	/* Parser States. */
+	private static final int    STATE_VALUES       = 0;
+	private static final int    STATE_MEMBERS      = 1;
+	private static final int    STATE_FEATURES     = 2;
+
+	/* Geometry Types. */
+	private static final int    TYPE_UNKNOWN       = 0;
+	private static final int    TYPE_POLYGON       = 1;
+	private static final int    TYPE_MULTI_POLYGON = 2;
+	private static final int    TYPE_OTHER         = 3;
+
+	/* Names. */
+	private static final byte[] KEY_TYPE           = "type".getBytes(StandardCharsets.US_ASCII);
+	private static final byte[] KEY_COORDINATES    = "coordinates".getBytes(StandardCharsets.US_ASCII);
+	private static final byte[] KEY_GEOMETRY       = "geometry".getBytes(StandardCharsets.US_ASCII);
+	private static final byte[] KEY_GEOMETRIES     = "geometries".getBytes(StandardCharsets.US_ASCII);
+	private static final byte[] KEY_FEATURES       = "features".getBytes(StandardCharsets.US_ASCII);
+	private static final byte[] NAME_POLYGON       = "Polygon".getBytes(StandardCharsets.US_ASCII);
+	private static final byte[] NAME_MULTI_POLYGON = "MultiPolygon".getBytes(StandardCharsets.US_ASCII);
+
+	/* Number Declarations. */
+	private static final int      MAXIMUM_DIGITS   = 18;
+	private static final double[] POWERS_OF_TEN    = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+
+	/* Member Variables. */
+	private final byte[] mName;
+	private       int    mNameLength;
+	private       int    mState;
+	private       int    mReturnState;
+
+	/** Reads GeoJSON from the remaining bytes of pByteBuffer, which is left untouched. **/
+	public GeoJsonReader(final ByteBuffer pByteBuffer) {
+		super(pByteBuffer);
+		/* Initialize Member Variables. */
+		this.mName  = new byte[GeoJsonReader.NAME_MULTI_POLYGON.length];
+		this.mState = GeoJsonReader.STATE_VALUES;
+	}
+
+	/** Reads UTF-8 GeoJSON from pInputStream through a buffer of pBufferSize bytes. **/
+	public GeoJsonReader(final InputStream pInputStream, final int pBufferSize) {
+		super(pInputStream, pBufferSize);
+		/* Initialize Member Variables. */
+		this.mName  = new byte[GeoJsonReader.NAME_MULTI_POLYGON.length];
+		this.mState = GeoJsonReader.STATE_VALUES;
+	}
+
+	public GeoJsonReader(final InputStream pInputStream) {
+		this(pInputStream, FeatureReader.DEFAULT_BUFFER_SIZE);
+	}
+
+	@Override
+	public final boolean next() throws IOException {
+		this.onClear();
+		while(true) {
+			switch(this.mState) {
+				case GeoJsonReader.STATE_FEATURES : {
+					/* Read the next element of an array of features. */
+					final int lToken = this.getToken();
+					if(lToken == ']') {
+						this.mState = this.mReturnState;
+						continue;
+					}
+					if(lToken < 0) {
+						throw this.onUnexpected(lToken);
+					}
+					this.onReadValue(lToken);
+					this.onFeature();
+					return true;
+				}
+				case GeoJsonReader.STATE_MEMBERS : {
+					/* Skip the members of a FeatureCollection which follow its features. */
+					if(this.onReadMembers(true)) {
+						this.mState = GeoJsonReader.STATE_VALUES;
+					}
+					this.onClear();
+					continue;
+				}
+				default : {
+					final int lToken = this.getToken();
+					if(lToken < 0) {
+						return false;
+					}
+					if(lToken == '[') {
+						this.mState       = GeoJsonReader.STATE_FEATURES;
+						this.mReturnState = GeoJsonReader.STATE_VALUES;
+						continue;
+					}
+					if(lToken != '{') {
+						throw this.onUnexpected(lToken);
+					}
+					/* An object is a feature, unless its members lead to an array of features. */
+					if(this.onReadMembers(true)) {
+						this.onFeature();
+						return true;
+					}
+				}
+			}
+		}
+	}
+
+	/** Reads the members of an object whose opening brace has been read, collecting the polygons of any geometry within it. Polygonal co-ordinates are read before the type of the geometry may be known, and discarded at the closing brace if the type doesn't match. Returns true once the closing brace is read, or false if pIsTopLevel is set and a "features" array begins, in which case the parser is left to read its elements. **/
+	private final boolean onReadMembers(final boolean pIsTopLevel) throws IOException {
+		int     lType         = GeoJsonReader.TYPE_UNKNOWN;
+		int     lDepth        = 0;
+		boolean lIsPositioned = false;
+		int     lVertexCount  = 0;
+		int     lRingCount    = 0;
+		int     lPolygonCount = 0;
+		while(true) {
+			final int lToken = this.getToken();
+			if(lToken == '}') {
+				break;
+			}
+			if(lToken != '"') {
+				throw this.onUnexpected(lToken);
+			}
+			this.onReadName();
+			final int lValue = this.getToken();
+			if(this.isName(GeoJsonReader.KEY_COORDINATES) && lType != GeoJsonReader.TYPE_OTHER && !lIsPositioned) {
+				/* Remember where the co-ordinates begin, in case they must be discarded. */
+				lIsPositioned = true;
+				lVertexCount  = this.getVertexCount();
+				lRingCount    = this.getRingCount();
+				lPolygonCount = this.getPolygonCount();
+				lDepth        = this.onReadCoordinates(lValue);
+			}
+			else if(this.isName(GeoJsonReader.KEY_TYPE) && lValue == '"') {
+				this.onReadName();
+				lType = this.isName(GeoJsonReader.NAME_POLYGON) ? GeoJsonReader.TYPE_POLYGON : this.isName(GeoJsonReader.NAME_MULTI_POLYGON) ? GeoJsonReader.TYPE_MULTI_POLYGON : GeoJsonReader.TYPE_OTHER;
+			}
+			else if(this.isName(GeoJsonReader.KEY_GEOMETRY) || this.isName(GeoJsonReader.KEY_GEOMETRIES)) {
+				this.onReadValue(lValue);
+			}
+			else if(pIsTopLevel && lValue == '[' && this.isName(GeoJsonReader.KEY_FEATURES)) {
+				this.mState       = GeoJsonReader.STATE_FEATURES;
+				this.mReturnState = GeoJsonReader.STATE_MEMBERS;
+				return false;
+			}
+			else {
+				this.onSkipValue(lValue);
+			}
+		}
+		/* Polygons are nested three arrays deep, and MultiPolygons four; anything else is discarded. */
+		if(lIsPositioned && !((lType == GeoJsonReader.TYPE_POLYGON && lDepth == 3) || (lType == GeoJsonReader.TYPE_MULTI_POLYGON && lDepth == 4))) {
+			this.onRollback(lVertexCount, lRingCount, lPolygonCount);
+		}
+		return true;
+	}
+
+	/** Reads a value which begins with pToken, collecting the polygons of any geometries within it. **/
+	private final void onReadValue(final int pToken) throws IOException {
+		if(pToken == '{') {
+			this.onReadMembers(false);
+		}
+		else if(pToken == '[') {
+			for(int lToken = this.getToken(); lToken != ']'; lToken = this.getToken()) {
+				if(lToken < 0) {
+					throw this.onUnexpected(lToken);
+				}
+				this.onReadValue(lToken);
+			}
+		}
+		else {
+			this.onSkipValue(pToken);
+		}
+	}
+
+	/** Reads a co-ordinates array which begins with pToken. The depth at which the first number is found is the depth of every position: closing the array above it closes a ring, and the array above that a polygon. Returns that depth, or 0 if the array holds no numbers. **/
+	private final int onReadCoordinates(final int pToken) throws IOException {
+		if(pToken != '[') {
+			this.onSkipValue(pToken);
+			return 0;
+		}
+		int    lLevel    = 1;
+		int    lDepth    = 0;
+		int    lOrdinate = 0;
+		double lX        = 0;
+		while(lLevel > 0) {
+			final int lToken = this.getToken();
+			if(lToken == '[') {
+				lLevel++;
+				lOrdinate = 0;
+			}
+			else if(lToken == ']') {
+				if(lDepth > 0 && lLevel == lDepth - 1) {
+					this.onCloseRing();
+				}
+				else if(lDepth > 2 && lLevel == lDepth - 2) {
+					this.onClosePolygon();
+				}
+				lLevel--;
+			}
+			else if(lToken == '-' || (lToken >= '0' && lToken <= '9')) {
+				if(lDepth == 0) {
+					lDepth = lLevel;
+				}
+				final double lValue = this.getNumber(lToken);
+				/* Keep the first two ordinates of each position. */
+				if(lLevel == lDepth) {
+					if(lOrdinate == 0) {
+						lX = lValue;
+					}
+					else if(lOrdinate == 1) {
+						this.onAddVertex(lX, lValue);
+					}
+					lOrdinate++;
+				}
+			}
+			else if(lToken < 0) {
+				throw this.onUnexpected(lToken);
+			}
+			else {
+				this.onSkipValue(lToken);
+			}
+		}
+		return lDepth;
+	}
+
+	/** Reads a number whose first character is pToken. Up to MAXIMUM_DIGITS significant digits are accumulated exactly and scaled once by a power of ten, which is well within the precision of the float each co-ordinate is stored as. **/
+	private final double getNumber(final int pToken) throws IOException {
+		final boolean lIsNegative = pToken == '-';
+		long lMantissa = 0;
+		int  lDigits   = 0;
+		int  lExponent = 0;
+		/* Accumulate the integral digits; each byte is only read once it's known to belong to the number. */
+		int  lByte     = pToken;
+		if(lIsNegative) {
+			lByte = this.getPeek();
+			if(lByte < '0' || lByte > '9') {
+				throw this.onUnexpected(lByte);
+			}
+			this.onAdvance();
+		}
+		while(true) {
+			if(lDigits < GeoJsonReader.MAXIMUM_DIGITS) {
+				lMantissa = lMantissa * 10 + (lByte - '0');
+				lDigits  += lMantissa == 0 ? 0 : 1;
+			}
+			else {
+				lExponent++;
+			}
+			lByte = this.getPeek();
+			if(lByte < '0' || lByte > '9') {
+				break;
+			}
+			this.onAdvance();
+		}
+		/* Accumulate the fractional digits. */
+		if(lByte == '.') {
+			this.onAdvance();
+			for(lByte = this.getPeek(); lByte >= '0' && lByte <= '9'; lByte = this.getPeek()) {
+				this.onAdvance();
+				if(lDigits < GeoJsonReader.MAXIMUM_DIGITS) {
+					lMantissa = lMantissa * 10 + (lByte - '0');
+					lDigits  += lMantissa == 0 ? 0 : 1;
+					lExponent--;
+				}
+			}
+		}
+		/* Apply any exponent. */
+		if(lByte == 'e' || lByte == 'E') {
+			this.onAdvance();
+			lByte = this.getPeek();
+			final boolean lIsNegativeExponent = lByte == '-';
+			if(lByte == '-' || lByte == '+') {
+				this.onAdvance();
+				lByte = this.getPeek();
+			}
+			int lPower = 0;
+			for(; lByte >= '0' && lByte <= '9'; lByte = this.getPeek()) {
+				this.onAdvance();
+				lPower = Math.min(lPower * 10 + (lByte - '0'), 9999);
+			}
+			lExponent += lIsNegativeExponent ? -lPower : lPower;
+		}
+		double lValue = lMantissa;
+		if(lExponent < 0 && lExponent >= -22) {
+			lValue /= GeoJsonReader.POWERS_OF_TEN[-lExponent];
+		}
+		else if(lExponent > 0 && lExponent <= 22) {
+			lValue *= GeoJsonReader.POWERS_OF_TEN[lExponent];
+		}
+		else if(lExponent != 0) {
+			lValue *= Math.pow(10, lExponent);
+		}
+		return lIsNegative ? -lValue : lValue;
+	}
+
+	/** Reads a string whose opening quote has been read, keeping as much of it as fits in the name buffer. Escaped characters are kept as they stand. **/
+	private final void onReadName() throws IOException {
+		this.mNameLength = 0;
+		for(int lByte = this.getByte(); lByte != '"'; lByte = this.getByte()) {
+			if(lByte == '\\') {
+				lByte = this.getByte();
+			}
+			if(lByte < 0) {
+				throw this.onUnexpected(lByte);
+			}
+			if(this.mNameLength < this.mName.length) {
+				this.mName[this.mNameLength] = (byte)lByte;
+			}
+			this.mNameLength++;
+		}
+	}
+
+	/** Returns whether the last string read was pName. **/
+	private final boolean isName(final byte[] pName) {
+		if(this.mNameLength != pName.length) {
+			return false;
+		}
+		for(int i = 0; i < pName.length; i++) {
+			if(this.mName[i] != pName[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/** Skips a value which begins with pToken. Containers are skipped by counting brackets, strings by finding their closing quote. **/
+	private final void onSkipValue(final int pToken) throws IOException {
+		if(pToken == '"') {
+			this.onSkipString();
+		}
+		else if(pToken == '{' || pToken == '[') {
+			int lLevel = 1;
+			while(lLevel > 0) {
+				final int lByte = this.getByte();
+				if(lByte == '"') {
+					this.onSkipString();
+				}
+				else if(lByte == '{' || lByte == '[') {
+					lLevel++;
+				}
+				else if(lByte == '}' || lByte == ']') {
+					lLevel--;
+				}
+				else if(lByte < 0) {
+					throw this.onUnexpected(lByte);
+				}
+			}
+		}
+		else {
+			/* A number or literal runs until the next delimiter, which is left to be read. */
+			for(int lByte = this.getPeek(); lByte > ' ' && lByte != ',' && lByte != ':' && lByte != '}' && lByte != ']'; lByte = this.getPeek()) {
+				this.onAdvance();
+			}
+		}
+	}
+
+	private final void onSkipString() throws IOException {
+		for(int lByte = this.getByte(); lByte != '"'; lByte = this.getByte()) {
+			if(lByte == '\\') {
+				this.getByte();
+			}
+			else if(lByte < 0) {
+				throw this.onUnexpected(lByte);
+			}
+		}
+	}
+
+	/** Returns the next byte which isn't whitespace or a separator, or -1 at the end of the input. Record separators and byte order marks are treated as whitespace. **/
+	private final int getToken() throws IOException {
+		int lByte = this.getByte();
+		while(lByte == ' ' || lByte == '\n' || lByte == '\r' || lByte == '\t' || lByte == ',' || lByte == ':' || lByte == 0x1E || lByte == 0xEF || lByte == 0xBB || lByte == 0xBF) {
+			lByte = this.getByte();
+		}
+		return lByte;
+	}
+
+	/** Returns the next byte, or -1 at the end of the input. **/
+	private final int getByte() throws IOException {
+		if(!this.mBuffer.hasRemaining() && !this.ensure(1)) {
+			return -1;
+		}
+		return this.mBuffer.get() & 0xFF;
+	}
+
+	/** Returns the next byte without reading it, or -1 at the end of the input. **/
+	private final int getPeek() throws IOException {
+		if(!this.mBuffer.hasRemaining() && !this.ensure(1)) {
+			return -1;
+		}
+		return this.mBuffer.get(this.mBuffer.position()) & 0xFF;
+	}
+
+	private final void onAdvance() {
+		this.mBuffer.position(this.mBuffer.position() + 1);
+	}
+
+	private final IOException onUnexpected(final int pByte) {
+		return new IOException((pByte < 0 ? "Unexpected end of GeoJSON" : "Unexpected '" + (char)pByte + "' in GeoJSON") + " after " + this.getFeatureCount() + " features!");
+	}
+
+}
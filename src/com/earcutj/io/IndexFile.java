@@ -0,0 +1,95 @@
+package com.earcutj.io;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+
+/** A read-only, memory-mapped file of triangle indices, as produced by IndexFileWriter. All values are little-endian. The file opens with a header of HEADER_SIZE bytes:
+ *   int MAGIC, int VERSION, long polygonCount, long indexCount, long offsetTableOffset, long indexOffset.
+ * The offset table holds (polygonCount + 1) longs: the first index of each polygon, followed by indexCount. Indices are ints, relative to the first vertex of their polygon. **/
+public final class IndexFile implements Closeable {
+
+	/* Default Declarations. */
+	public  static final int MAGIC       = 0x46494345;
+	public  static final int VERSION     = 1;
+	static  final int        HEADER_SIZE = 48;
+
+	/* Member Variables. */
+	private final RandomAccessFile mRandomAccessFile;
+	private final long             mPolygonCount;
+	private final long             mIndexCount;
+	private final long             mOffsetTableOffset;
+	private final long             mIndexOffset;
+	private final MappedWindow     mOffsetWindow;
+	private final MappedWindow     mIndexWindow;
+
+	/** Opens an index file, mapping windows of at most pWindowSize bytes at a time. **/
+	public IndexFile(final File pFile, final long pWindowSize) throws IOException {
+		/* Initialize Member Variables. */
+		this.mRandomAccessFile = new RandomAccessFile(pFile, "r");
+		final FileChannel lFileChannel = this.mRandomAccessFile.getChannel();
+		try {
+			/* Read the header. */
+			final ByteBuffer lHeader = lFileChannel.map(FileChannel.MapMode.READ_ONLY, 0, IndexFile.HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+			if(lHeader.getInt(0) != IndexFile.MAGIC || lHeader.getInt(4) != IndexFile.VERSION) {
+				throw new IOException("Not a version " + IndexFile.VERSION + " index file: " + pFile);
+			}
+			this.mPolygonCount      = lHeader.getLong(8);
+			this.mIndexCount        = lHeader.getLong(16);
+			this.mOffsetTableOffset = lHeader.getLong(24);
+			this.mIndexOffset       = lHeader.getLong(32);
+		}
+		catch(final IOException pIOException) {
+			this.mRandomAccessFile.close();
+			throw pIOException;
+		}
+		this.mOffsetWindow = new MappedWindow(lFileChannel, FileChannel.MapMode.READ_ONLY, pWindowSize);
+		this.mIndexWindow  = new MappedWindow(lFileChannel, FileChannel.MapMode.READ_ONLY, pWindowSize);
+	}
+
+	public IndexFile(final File pFile) throws IOException {
+		this(pFile, PolygonFile.DEFAULT_WINDOW_SIZE);
+	}
+
+	public final long getPolygonCount() {
+		return this.mPolygonCount;
+	}
+
+	public final long getIndexCount() {
+		return this.mIndexCount;
+	}
+
+	/** Returns the position of the first index of pPolygon; pPolygon may equal getPolygonCount(), returning getIndexCount(). **/
+	public final long getOffset(final long pPolygon) throws IOException {
+		return this.mOffsetWindow.getLong(this.mOffsetTableOffset + (pPolygon << 3));
+	}
+
+	/** Returns the index at pPosition. **/
+	public final int getIndex(final long pPosition) throws IOException {
+		return this.mIndexWindow.getInt(this.mIndexOffset + (pPosition << 2));
+	}
+
+	/** Copies the indices of pPolygon into pIndices, returning the number copied. pIndices must be large enough to hold them. **/
+	public final int getIndices(final long pPolygon, final int[] pIndices) throws IOException {
+		final long lStart = this.getOffset(pPolygon);
+		final int  lCount = (int)(this.getOffset(pPolygon + 1) - lStart);
+		if(lCount > 0) {
+			final int        lBase   = this.mIndexWindow.onMap(this.mIndexOffset + (lStart << 2), lCount << 2);
+			final ByteBuffer lBuffer = this.mIndexWindow.getBuffer();
+			for(int i = 0; i < lCount; i++) {
+				pIndices[i] = lBuffer.getInt(lBase + (i << 2));
+			}
+		}
+		return lCount;
+	}
+
+	@Override
+	public final void close() throws IOException {
+		this.mRandomAccessFile.close();
+	}
+
+}
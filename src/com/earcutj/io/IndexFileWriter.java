@@ -0,0 +1,149 @@
+package com.earcutj.io;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+
+import com.earcutj.TriangleSink;
+
+/** Writes an IndexFile. The number of polygons must be known up front, since the offset table precedes the indices; offsets and indices are each streamed to their own region of the file through a buffer, so memory use is flat however many polygons are written. Call onPolygon() before triangulating each polygon into this sink; a polygon whose triangulation fails part way through may be rolled back with onAbandonPolygon(). **/
+public final class IndexFileWriter implements TriangleSink, Closeable {
+
+	/* Default Declarations. */
+	private static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+	/* Member Variables. */
+	private final RandomAccessFile mRandomAccessFile;
+	private final FileChannel      mFileChannel;
+	private final ByteBuffer       mOffsetBuffer;
+	private final ByteBuffer       mIndexBuffer;
+	private final long             mPolygonCount;
+	private final long             mIndexOffset;
+	private       long             mOffsetPosition;
+	private       long             mIndexPosition;
+	private       long             mPolygon;
+	private       long             mPolygonStart;
+	private       long             mIndexCount;
+
+	/** Creates a writer for pPolygonCount polygons, replacing any existing file. **/
+	public IndexFileWriter(final File pFile, final long pPolygonCount) throws IOException {
+		/* Initialize Member Variables. */
+		this.mRandomAccessFile = new RandomAccessFile(pFile, "rw");
+		this.mRandomAccessFile.setLength(0);
+		this.mFileChannel      = this.mRandomAccessFile.getChannel();
+		this.mOffsetBuffer     = ByteBuffer.allocateDirect(IndexFileWriter.DEFAULT_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+		this.mIndexBuffer      = ByteBuffer.allocateDirect(IndexFileWriter.DEFAULT_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+		this.mPolygonCount     = pPolygonCount;
+		this.mIndexOffset      = IndexFile.HEADER_SIZE + ((pPolygonCount + 1) << 3);
+		/* Each buffer is written to the file at its own position; the offset table immediately follows the header, and the indices follow the table. */
+		this.mOffsetPosition   = IndexFile.HEADER_SIZE;
+		this.mIndexPosition    = this.mIndexOffset;
+		this.mPolygon          = 0;
+		this.mPolygonStart     = 0;
+		this.mIndexCount       = 0;
+	}
+
+	/** Begins the next polygon; the triangles which follow belong to it. **/
+	public final void onPolygon() throws IOException {
+		if(this.mPolygon == this.mPolygonCount) {
+			throw new IllegalStateException("Too many polygons!");
+		}
+		this.mPolygonStart = this.mIndexCount;
+		this.mPolygon++;
+		this.onPutOffset(this.mPolygonStart);
+	}
+
+	/** Discards every triangle written since the last call to onPolygon(), leaving the current polygon empty. **/
+	public final void onAbandonPolygon() {
+		final long lPosition = this.mIndexOffset + (this.mPolygonStart << 2);
+		if(lPosition >= this.mIndexPosition) {
+			/* The polygon's indices are still buffered. */
+			this.mIndexBuffer.position((int)(lPosition - this.mIndexPosition));
+		}
+		else {
+			/* Some have been written; the indices which follow will overwrite them. */
+			this.mIndexBuffer.clear();
+			this.mIndexPosition = lPosition;
+		}
+		this.mIndexCount = this.mPolygonStart;
+	}
+
+	/** Appends the vertex indices of a single triangle to the current polygon. **/
+	@Override
+	public final void onTriangle(final int pA, final int pB, final int pC) {
+		try {
+			if(this.mIndexBuffer.remaining() < 12) {
+				this.mIndexPosition = this.onFlush(this.mIndexBuffer, this.mIndexPosition);
+			}
+			this.mIndexBuffer.putInt(pA);
+			this.mIndexBuffer.putInt(pB);
+			this.mIndexBuffer.putInt(pC);
+			this.mIndexCount += 3;
+		}
+		catch(final IOException pIOException) {
+			/* TriangleSink cannot declare checked exceptions. */
+			throw new UncheckedIOException(pIOException);
+		}
+	}
+
+	public final long getIndexCount() {
+		return this.mIndexCount;
+	}
+
+	/** Completes the offset table, writes the header and truncates the file to its final size. Polygons which were never begun are left empty. **/
+	@Override
+	public final void close() throws IOException {
+		try {
+			/* Fill in the remaining offsets, along with the terminal entry. */
+			for(long i = this.mPolygon; i <= this.mPolygonCount; i++) {
+				this.onPutOffset(this.mIndexCount);
+			}
+			this.mOffsetPosition = this.onFlush(this.mOffsetBuffer, this.mOffsetPosition);
+			this.mIndexPosition  = this.onFlush(this.mIndexBuffer,  this.mIndexPosition);
+			/* Write the header. */
+			final ByteBuffer lHeader = ByteBuffer.allocate(IndexFile.HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+			lHeader.putInt(IndexFile.MAGIC);
+			lHeader.putInt(IndexFile.VERSION);
+			lHeader.putLong(this.mPolygonCount);
+			lHeader.putLong(this.mIndexCount);
+			lHeader.putLong(IndexFile.HEADER_SIZE);
+			lHeader.putLong(this.mIndexOffset);
+			/* Reserved. */
+			lHeader.putLong(0);
+			lHeader.flip();
+			while(lHeader.hasRemaining()) {
+				this.mFileChannel.write(lHeader, lHeader.position());
+			}
+			/* Indices written for an abandoned polygon may lie beyond the final index; nothing is mapped, so the file may safely be truncated. */
+			this.mFileChannel.truncate(this.mIndexOffset + (this.mIndexCount << 2));
+		}
+		finally {
+			this.mRandomAccessFile.close();
+		}
+	}
+
+	/** Appends an entry to the offset table. **/
+	private final void onPutOffset(final long pOffset) throws IOException {
+		if(this.mOffsetBuffer.remaining() < 8) {
+			this.mOffsetPosition = this.onFlush(this.mOffsetBuffer, this.mOffsetPosition);
+		}
+		this.mOffsetBuffer.putLong(pOffset);
+	}
+
+	/** Writes the bytes buffered by pBuffer to the file at pPosition, returning the position which follows them. **/
+	private final long onFlush(final ByteBuffer pBuffer, final long pPosition) throws IOException {
+		long lPosition = pPosition;
+		pBuffer.flip();
+		while(pBuffer.hasRemaining()) {
+			lPosition += this.mFileChannel.write(pBuffer, lPosition);
+		}
+		pBuffer.clear();
+		return lPosition;
+	}
+
+}
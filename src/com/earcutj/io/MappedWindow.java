@@ -0,0 +1,71 @@
+package com.earcutj.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/** A sliding memory-mapped view of a file. Only a bounded window of the file is mapped at any one time, so files of any size may be traversed with flat memory use; the window is remapped whenever an access falls outside of it. **/
+final class MappedWindow {
+
+	/* Member Variables. */
+	private final FileChannel          mFileChannel;
+	private final FileChannel.MapMode  mMapMode;
+	private final long                 mWindowSize;
+	private       MappedByteBuffer     mBuffer;
+	private       long                 mStart;
+	private       long                 mEnd;
+
+	protected MappedWindow(final FileChannel pFileChannel, final FileChannel.MapMode pMapMode, final long pWindowSize) {
+		/* Initialize Member Variables. */
+		this.mFileChannel = pFileChannel;
+		this.mMapMode     = pMapMode;
+		this.mWindowSize  = pWindowSize;
+		this.mBuffer      = null;
+		this.mStart       = 0;
+		this.mEnd         = 0;
+	}
+
+	/** Ensures that the pLength bytes at pPosition are mapped, returning their offset within getBuffer(). **/
+	protected final int onMap(final long pPosition, final int pLength) throws IOException {
+		if(this.mBuffer == null || pPosition < this.mStart || pPosition + pLength > this.mEnd) {
+			long lSize = Math.max(this.mWindowSize, pLength);
+			/* A read-only mapping cannot extend beyond the end of the file. */
+			if(this.mMapMode == FileChannel.MapMode.READ_ONLY) {
+				lSize = Math.max(Math.min(lSize, this.mFileChannel.size() - pPosition), pLength);
+			}
+			this.mBuffer = this.mFileChannel.map(this.mMapMode, pPosition, lSize);
+			this.mBuffer.order(ByteOrder.LITTLE_ENDIAN);
+			this.mStart  = pPosition;
+			this.mEnd    = pPosition + lSize;
+		}
+		return (int)(pPosition - this.mStart);
+	}
+
+	/** Returns the currently mapped window. **/
+	protected final ByteBuffer getBuffer() {
+		return this.mBuffer;
+	}
+
+	protected final int getInt(final long pPosition) throws IOException {
+		final int lOffset = this.onMap(pPosition, 4);
+		return this.mBuffer.getInt(lOffset);
+	}
+
+	protected final long getLong(final long pPosition) throws IOException {
+		final int lOffset = this.onMap(pPosition, 8);
+		return this.mBuffer.getLong(lOffset);
+	}
+
+	protected final void putInt(final long pPosition, final int pValue) throws IOException {
+		final int lOffset = this.onMap(pPosition, 4);
+		this.mBuffer.putInt(lOffset, pValue);
+	}
+
+	protected final void putLong(final long pPosition, final long pValue) throws IOException {
+		final int lOffset = this.onMap(pPosition, 8);
+		this.mBuffer.putLong(lOffset, pValue);
+	}
+
+}
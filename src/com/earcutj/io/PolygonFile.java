@@ -0,0 +1,165 @@
+package com.earcutj.io;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.channels.FileChannel;
+
+import com.earcutj.EarcutContext;
+import com.earcutj.TriangleSink;
+
+/** A read-only, memory-mapped container of polygons. All values are little-endian. The file opens with a header of HEADER_SIZE bytes:
+ *   int MAGIC, int VERSION, int flags (FLAG_DOUBLE), int reserved,
+ *   long polygonCount, long ringCount, long vertexCount,
+ *   long polygonTableOffset, long ringTableOffset, long coordinateOffset.
+ * The polygon table holds (polygonCount + 1) longs: the first ring of each polygon, followed by ringCount. The ring table holds (ringCount + 1) longs: the first vertex of each ring, followed by vertexCount. The first ring of each polygon is its outer ring; any others are holes. Coordinates are packed x, y pairs of floats, or of doubles when FLAG_DOUBLE is set. **/
+public final class PolygonFile implements Closeable {
+
+	/* Default Declarations. */
+	public  static final int  MAGIC               = 0x46504345;
+	public  static final int  VERSION             = 1;
+	public  static final int  FLAG_DOUBLE         = 1;
+	static  final int         HEADER_SIZE         = 64;
+	static  final long        DEFAULT_WINDOW_SIZE = 64L << 20;
+
+	/* Member Variables. */
+	private final RandomAccessFile mRandomAccessFile;
+	private final boolean          mIsDouble;
+	private final long             mPolygonCount;
+	private final long             mRingCount;
+	private final long             mVertexCount;
+	private final long             mPolygonTableOffset;
+	private final long             mRingTableOffset;
+	private final long             mCoordinateOffset;
+	private final MappedWindow     mPolygonWindow;
+	private final MappedWindow     mRingWindow;
+	private final MappedWindow     mCoordinateWindow;
+	private       ByteBuffer       mViewSource;
+	private       FloatBuffer      mFloatView;
+	private       DoubleBuffer     mDoubleView;
+	private       int[]            mRingOffsets;
+	private       float[]          mCoordinates;
+
+	/** Opens a polygon file, mapping windows of at most pWindowSize bytes at a time. **/
+	public PolygonFile(final File pFile, final long pWindowSize) throws IOException {
+		/* Initialize Member Variables. */
+		this.mRandomAccessFile = new RandomAccessFile(pFile, "r");
+		final FileChannel lFileChannel = this.mRandomAccessFile.getChannel();
+		try {
+			/* Read the header. */
+			final ByteBuffer lHeader = lFileChannel.map(FileChannel.MapMode.READ_ONLY, 0, PolygonFile.HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+			if(lHeader.getInt(0) != PolygonFile.MAGIC || lHeader.getInt(4) != PolygonFile.VERSION) {
+				throw new IOException("Not a version " + PolygonFile.VERSION + " polygon file: " + pFile);
+			}
+			this.mIsDouble           = (lHeader.getInt(8) & PolygonFile.FLAG_DOUBLE) != 0;
+			this.mPolygonCount       = lHeader.getLong(16);
+			this.mRingCount          = lHeader.getLong(24);
+			this.mVertexCount        = lHeader.getLong(32);
+			this.mPolygonTableOffset = lHeader.getLong(40);
+			this.mRingTableOffset    = lHeader.getLong(48);
+			this.mCoordinateOffset   = lHeader.getLong(56);
+		}
+		catch(final IOException pIOException) {
+			this.mRandomAccessFile.close();
+			throw pIOException;
+		}
+		this.mPolygonWindow    = new MappedWindow(lFileChannel, FileChannel.MapMode.READ_ONLY, pWindowSize);
+		this.mRingWindow       = new MappedWindow(lFileChannel, FileChannel.MapMode.READ_ONLY, pWindowSize);
+		this.mCoordinateWindow = new MappedWindow(lFileChannel, FileChannel.MapMode.READ_ONLY, pWindowSize);
+		this.mRingOffsets      = new int[2];
+		this.mCoordinates      = new float[0];
+	}
+
+	public PolygonFile(final File pFile) throws IOException {
+		this(pFile, PolygonFile.DEFAULT_WINDOW_SIZE);
+	}
+
+	public final long getPolygonCount() {
+		return this.mPolygonCount;
+	}
+
+	public final long getRingCount() {
+		return this.mRingCount;
+	}
+
+	public final long getVertexCount() {
+		return this.mVertexCount;
+	}
+
+	public final boolean isDouble() {
+		return this.mIsDouble;
+	}
+
+	/** Returns the number of vertices in every ring of pPolygon. **/
+	public final int getVertexCount(final long pPolygon) throws IOException {
+		return (int)(this.getRingOffset(this.getPolygonOffset(pPolygon + 1)) - this.getRingOffset(this.getPolygonOffset(pPolygon)));
+	}
+
+	/** Returns the number of holes in pPolygon. **/
+	public final int getHoleCount(final long pPolygon) throws IOException {
+		return Math.max((int)(this.getPolygonOffset(pPolygon + 1) - this.getPolygonOffset(pPolygon)) - 1, 0);
+	}
+
+	/** Triangulates pPolygon, passing each triangle to the TriangleSink. Vertex indices are relative to the first vertex of the polygon. Float co-ordinates are read in place from the mapping; double co-ordinates are first narrowed into a reusable scratch array. **/
+	public final void triangulate(final EarcutContext pContext, final long pPolygon, final TriangleSink pTriangleSink) throws IOException {
+		final long lFirstRing   = this.getPolygonOffset(pPolygon);
+		final long lLastRing    = this.getPolygonOffset(pPolygon + 1);
+		if(lLastRing <= lFirstRing) {
+			/* A polygon without rings is malformed. The context refuses it, so the failure is counted along with every other. */
+			pContext.triangulate(this.mCoordinates, this.mRingOffsets, 0, 0, 2, pTriangleSink);
+			return;
+		}
+		final long lFirstVertex = this.getRingOffset(lFirstRing);
+		final int  lVertexCount = (int)(this.getRingOffset(lLastRing) - lFirstVertex);
+		/* Express each ring's first vertex relative to the start of the polygon, in a reusable table of ring offsets. */
+		final int  lRingCount   = (int)(lLastRing - lFirstRing);
+		if(this.mRingOffsets.length < lRingCount + 1) {
+			this.mRingOffsets = new int[Math.max(lRingCount + 1, this.mRingOffsets.length << 1)];
+		}
+		for(int i = 0; i < lRingCount; i++) {
+			this.mRingOffsets[i] = (int)(this.getRingOffset(lFirstRing + i) - lFirstVertex);
+		}
+		this.mRingOffsets[lRingCount] = lVertexCount;
+		/* Map the polygon's co-ordinates. */
+		final int lVertexSize = this.mIsDouble ? 16 : 8;
+		final int lOffset     = this.mCoordinateWindow.onMap(this.mCoordinateOffset + lFirstVertex * lVertexSize, lVertexCount * lVertexSize);
+		if(this.mViewSource != this.mCoordinateWindow.getBuffer()) {
+			this.mViewSource = this.mCoordinateWindow.getBuffer();
+			this.mFloatView  = this.mIsDouble ? null : this.mViewSource.asFloatBuffer();
+			this.mDoubleView = this.mIsDouble ? this.mViewSource.asDoubleBuffer() : null;
+		}
+		if(this.mIsDouble) {
+			/* Narrow the co-ordinates into the scratch array. */
+			if(this.mCoordinates.length < lVertexCount * 2) {
+				this.mCoordinates = new float[lVertexCount * 2];
+			}
+			final int lStart = lOffset / 8;
+			for(int i = 0; i < lVertexCount * 2; i++) {
+				this.mCoordinates[i] = (float)this.mDoubleView.get(lStart + i);
+			}
+			pContext.triangulate(this.mCoordinates, this.mRingOffsets, 0, lRingCount, 2, pTriangleSink);
+		}
+		else {
+			pContext.triangulate(this.mFloatView, lOffset / 4, 2, this.mRingOffsets, 0, lRingCount, pTriangleSink);
+		}
+	}
+
+	private final long getPolygonOffset(final long pPolygon) throws IOException {
+		return this.mPolygonWindow.getLong(this.mPolygonTableOffset + (pPolygon << 3));
+	}
+
+	private final long getRingOffset(final long pRing) throws IOException {
+		return this.mRingWindow.getLong(this.mRingTableOffset + (pRing << 3));
+	}
+
+	@Override
+	public final void close() throws IOException {
+		this.mRandomAccessFile.close();
+	}
+
+}
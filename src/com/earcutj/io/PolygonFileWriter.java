@@ -0,0 +1,158 @@
+package com.earcutj.io;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/** Writes a PolygonFile. Co-ordinates are streamed to disk as they're supplied, while the polygon and ring tables (eight bytes per ring) are held in memory and appended once the writer is closed. Polygons are described by calling onPolygon(), then onRing() before the vertices of each ring. **/
+public final class PolygonFileWriter implements Closeable {
+
+	/* Default Declarations. */
+	private static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+	/* Member Variables. */
+	private final RandomAccessFile mRandomAccessFile;
+	private final FileChannel      mFileChannel;
+	private final boolean          mIsDouble;
+	private final ByteBuffer       mBuffer;
+	private       long[]           mPolygonOffsets;
+	private       long[]           mRingOffsets;
+	private       long             mPolygonCount;
+	private       long             mRingCount;
+	private       long             mVertexCount;
+	private       long             mPosition;
+
+	/** Creates a writer, replacing any existing file. When pIsDouble is set, co-ordinates are stored at double precision. **/
+	public PolygonFileWriter(final File pFile, final boolean pIsDouble) throws IOException {
+		/* Initialize Member Variables. */
+		this.mRandomAccessFile = new RandomAccessFile(pFile, "rw");
+		this.mRandomAccessFile.setLength(0);
+		this.mFileChannel      = this.mRandomAccessFile.getChannel();
+		this.mIsDouble         = pIsDouble;
+		this.mBuffer           = ByteBuffer.allocateDirect(PolygonFileWriter.DEFAULT_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+		this.mPolygonOffsets   = new long[16];
+		this.mRingOffsets      = new long[16];
+		this.mPolygonCount     = 0;
+		this.mRingCount        = 0;
+		this.mVertexCount      = 0;
+		/* Co-ordinates immediately follow the header. */
+		this.mPosition         = PolygonFile.HEADER_SIZE;
+	}
+
+	/** Begins a new polygon. The next ring is its outer ring. **/
+	public final void onPolygon() {
+		this.mPolygonOffsets = PolygonFileWriter.onAppend(this.mPolygonOffsets, this.mPolygonCount++, this.mRingCount);
+	}
+
+	/** Begins a new ring of the current polygon. **/
+	public final void onRing() {
+		if(this.mPolygonCount == 0) {
+			throw new IllegalStateException("A ring must belong to a polygon!");
+		}
+		this.mRingOffsets = PolygonFileWriter.onAppend(this.mRingOffsets, this.mRingCount++, this.mVertexCount);
+	}
+
+	/** Appends a vertex to the current ring. **/
+	public final void onVertex(final double pX, final double pY) throws IOException {
+		if(this.mRingCount == 0) {
+			throw new IllegalStateException("A vertex must belong to a ring!");
+		}
+		if(this.mBuffer.remaining() < 16) {
+			this.onFlush();
+		}
+		if(this.mIsDouble) {
+			this.mBuffer.putDouble(pX);
+			this.mBuffer.putDouble(pY);
+		}
+		else {
+			this.mBuffer.putFloat((float)pX);
+			this.mBuffer.putFloat((float)pY);
+		}
+		this.mVertexCount++;
+	}
+
+	/** Appends an entire polygon, where each element of pRings is a flat array of x, y pairs; the first is the outer ring. **/
+	public final void onPolygon(final float[][] pRings) throws IOException {
+		this.onPolygon();
+		for(final float[] lRing : pRings) {
+			this.onRing();
+			for(int i = 0; i < lRing.length - 1; i += 2) {
+				this.onVertex(lRing[i], lRing[i + 1]);
+			}
+		}
+	}
+
+	/** Writes the offset tables and header, then closes the file. **/
+	@Override
+	public final void close() throws IOException {
+		try {
+			/* Align the tables to a long boundary. */
+			while((this.mPosition + this.mBuffer.position()) % 8 != 0) {
+				this.mBuffer.put((byte)0);
+			}
+			final long lRingTableOffset = this.mPosition + this.mBuffer.position();
+			this.onPutTable(this.mRingOffsets, this.mRingCount, this.mVertexCount);
+			final long lPolygonTableOffset = this.mPosition + this.mBuffer.position();
+			this.onPutTable(this.mPolygonOffsets, this.mPolygonCount, this.mRingCount);
+			this.onFlush();
+			/* Write the header. */
+			final ByteBuffer lHeader = ByteBuffer.allocate(PolygonFile.HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+			lHeader.putInt(PolygonFile.MAGIC);
+			lHeader.putInt(PolygonFile.VERSION);
+			lHeader.putInt(this.mIsDouble ? PolygonFile.FLAG_DOUBLE : 0);
+			lHeader.putInt(0);
+			lHeader.putLong(this.mPolygonCount);
+			lHeader.putLong(this.mRingCount);
+			lHeader.putLong(this.mVertexCount);
+			lHeader.putLong(lPolygonTableOffset);
+			lHeader.putLong(lRingTableOffset);
+			lHeader.putLong(PolygonFile.HEADER_SIZE);
+			lHeader.flip();
+			while(lHeader.hasRemaining()) {
+				this.mFileChannel.write(lHeader, lHeader.position());
+			}
+		}
+		finally {
+			this.mRandomAccessFile.close();
+		}
+	}
+
+	/** Writes the first pCount entries of a table, followed by its terminal entry. **/
+	private final void onPutTable(final long[] pTable, final long pCount, final long pTerminal) throws IOException {
+		for(int i = 0; i < pCount; i++) {
+			if(this.mBuffer.remaining() < 8) {
+				this.onFlush();
+			}
+			this.mBuffer.putLong(pTable[i]);
+		}
+		if(this.mBuffer.remaining() < 8) {
+			this.onFlush();
+		}
+		this.mBuffer.putLong(pTerminal);
+	}
+
+	/** Writes the buffered bytes to the end of the file. **/
+	private final void onFlush() throws IOException {
+		this.mBuffer.flip();
+		while(this.mBuffer.hasRemaining()) {
+			this.mPosition += this.mFileChannel.write(this.mBuffer, this.mPosition);
+		}
+		this.mBuffer.clear();
+	}
+
+	/** Stores pValue at pIndex of pTable, growing the table when required. **/
+	private static final long[] onAppend(final long[] pTable, final long pIndex, final long pValue) {
+		if(pIndex >= Integer.MAX_VALUE - 8) {
+			throw new IllegalStateException("Too many entries!");
+		}
+		final long[] lTable = pIndex < pTable.length ? pTable : Arrays.copyOf(pTable, pTable.length << 1);
+		lTable[(int)pIndex] = pValue;
+		return lTable;
+	}
+
+}
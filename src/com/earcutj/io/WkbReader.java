@@ -0,0 +1,123 @@
+package com.earcutj.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/** Reads a stream of Well-Known Binary geometries, one after another, each geometry being a feature. Polygons and MultiPolygons are read, as are the polygons of GeometryCollections; other geometries are skipped over and read as features of no polygons. Both byte orders are accepted, along with the ISO and PostGIS extended forms of Z, M and ZM geometries, of which only x and y are kept, and PostGIS SRIDs, which are ignored. **/
+public final class WkbReader extends FeatureReader {
+
+	/* Geometry Types. */
+	private static final int TYPE_POINT               = 1;
+	private static final int TYPE_LINE_STRING         = 2;
+	private static final int TYPE_POLYGON             = 3;
+	private static final int TYPE_MULTI_POINT         = 4;
+	private static final int TYPE_MULTI_LINE_STRING   = 5;
+	private static final int TYPE_MULTI_POLYGON       = 6;
+	private static final int TYPE_GEOMETRY_COLLECTION = 7;
+
+	/* Extended Flags. */
+	private static final int FLAG_Z                   = 0x80000000;
+	private static final int FLAG_M                   = 0x40000000;
+	private static final int FLAG_SRID                = 0x20000000;
+
+	/** Reads geometries from the remaining bytes of pByteBuffer, which is left untouched. **/
+	public WkbReader(final ByteBuffer pByteBuffer) {
+		super(pByteBuffer);
+	}
+
+	/** Reads geometries from pInputStream through a buffer of pBufferSize bytes. **/
+	public WkbReader(final InputStream pInputStream, final int pBufferSize) {
+		super(pInputStream, pBufferSize);
+	}
+
+	public WkbReader(final InputStream pInputStream) {
+		this(pInputStream, FeatureReader.DEFAULT_BUFFER_SIZE);
+	}
+
+	@Override
+	public final boolean next() throws IOException {
+		this.onClear();
+		if(!this.ensure(1)) {
+			return false;
+		}
+		this.onReadGeometry();
+		this.onFeature();
+		return true;
+	}
+
+	/** Reads a geometry, and any geometries nested within it. **/
+	private final void onReadGeometry() throws IOException {
+		/* Each geometry declares its own byte order. */
+		this.require(5);
+		final byte lByteOrder = this.mBuffer.get();
+		if(lByteOrder != 0 && lByteOrder != 1) {
+			throw new IOException("Invalid WKB byte order " + lByteOrder + " in feature " + this.getFeatureCount() + "!");
+		}
+		this.mBuffer.order(lByteOrder == 0 ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN);
+		final int lFlags = this.mBuffer.getInt();
+		if((lFlags & WkbReader.FLAG_SRID) != 0) {
+			this.onSkip(4);
+		}
+		/* ISO codes add 1000 for Z, 2000 for M and 3000 for ZM; PostGIS sets a flag for each. */
+		final int lCode       = lFlags & 0x0FFFFFFF;
+		final int lType       = lCode % 1000;
+		final int lDimensions = 2 + ((lCode / 1000) == 3 ? 2 : (lCode / 1000) > 0 ? 1 : 0) + ((lFlags & WkbReader.FLAG_Z) != 0 ? 1 : 0) + ((lFlags & WkbReader.FLAG_M) != 0 ? 1 : 0);
+		switch(lType) {
+			case WkbReader.TYPE_POINT : {
+				this.onSkip(lDimensions << 3);
+			}
+			break;
+			case WkbReader.TYPE_LINE_STRING : {
+				this.onSkip(((long)this.getCount() * lDimensions) << 3);
+			}
+			break;
+			case WkbReader.TYPE_POLYGON : {
+				this.onReadPolygon(lDimensions);
+			}
+			break;
+			case WkbReader.TYPE_MULTI_POINT :
+			case WkbReader.TYPE_MULTI_LINE_STRING :
+			case WkbReader.TYPE_MULTI_POLYGON :
+			case WkbReader.TYPE_GEOMETRY_COLLECTION : {
+				for(int i = this.getCount(); i > 0; i--) {
+					this.onReadGeometry();
+				}
+			}
+			break;
+			default : {
+				throw new IOException("Unsupported WKB geometry type " + lCode + " in feature " + this.getFeatureCount() + "!");
+			}
+		}
+	}
+
+	/** Reads the rings of a polygon whose points have pDimensions ordinates. **/
+	private final void onReadPolygon(final int pDimensions) throws IOException {
+		final ByteBuffer lBuffer   = this.mBuffer;
+		final int        lSkipped  = (pDimensions - 2) << 3;
+		final int        lSize     = pDimensions << 3;
+		for(int i = this.getCount(); i > 0; i--) {
+			for(int j = this.getCount(); j > 0; j--) {
+				this.require(lSize);
+				final double lX = lBuffer.getDouble();
+				final double lY = lBuffer.getDouble();
+				lBuffer.position(lBuffer.position() + lSkipped);
+				this.onAddVertex(lX, lY);
+			}
+			this.onCloseRing();
+		}
+		this.onClosePolygon();
+	}
+
+	/** Reads a count of rings, points or geometries. **/
+	private final int getCount() throws IOException {
+		this.require(4);
+		final int lCount = this.mBuffer.getInt();
+		if(lCount < 0) {
+			throw new IOException("Invalid WKB count " + (lCount & 0xFFFFFFFFL) + " in feature " + this.getFeatureCount() + "!");
+		}
+		return lCount;
+	}
+
+}